@@ -0,0 +1,283 @@
+/*
+ * 길이 접두 바이너리 프레임 프로토콜
+ * CONNECT 핸드셰이크에서 협상된 연결에 한해 텍스트 한 줄 대신 사용
+ *
+ * 프레임 형식: [본문 길이 u16][opcode u8][고정 폭 필드...]
+ * 상수 메시지는 opcode 1바이트, 카운트/점수/구종/구속은 고정 폭 정수로 전송하고
+ * 형식을 알 수 없는 메시지는 OP_TEXT에 UTF-8 원문을 실어 보냄
+ */
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BinaryProtocol {
+
+    // ===== 가변 필드 opcode =====
+    public static final int OP_TEXT = 0x00;        // UTF-8 원문 (기타 메시지)
+    public static final int OP_NICKNAME = 0x01;    // UTF-8 닉네임
+    public static final int OP_PITCH = 0x02;       // 구종 u8
+    public static final int OP_PITCH_INFO = 0x03;  // 구종 u8, 구속 u8
+    public static final int OP_COUNT = 0x04;       // 스트라이크 u8, 볼 u8, 아웃 u8
+    public static final int OP_SCORE = 0x05;       // 내 점수 u16, 상대 점수 u16 [, 승리 확률 천분율 u16, 기대 득점 x100 u16]
+    public static final int OP_INNING = 0x06;      // 이닝 u8
+    public static final int OP_RESULT = 0x07;      // 결과 코드 u8, UTF-8 상세 메시지
+
+    // ===== 상수 메시지 opcode (0x20부터 CONSTANTS 순서대로) =====
+    private static final int OP_CONSTANT_BASE = 0x20;
+    private static final String[] CONSTANTS = {
+        GameProtocol.WAITING_MATCH,
+        GameProtocol.MATCH_FOUND,
+        GameProtocol.MATCH_START,
+        GameProtocol.MATCH_TIMEOUT,
+        GameProtocol.START_BUTTON,
+        GameProtocol.ROLE_PITCHER,
+        GameProtocol.ROLE_BATTER,
+        GameProtocol.GAME_START,
+        GameProtocol.SWITCH_SIDE,
+        GameProtocol.ACTION_PITCH,
+        GameProtocol.PITCH_TIMEOUT,
+        GameProtocol.ACTION_BAT,
+        GameProtocol.SWING_YES,
+        GameProtocol.SWING_NO,
+        GameProtocol.BAT_TIMEOUT,
+        GameProtocol.DISCONNECT,
+        GameProtocol.GAME_END + ":" + GameProtocol.WIN,
+        GameProtocol.GAME_END + ":" + GameProtocol.LOSE,
+        GameProtocol.GAME_END + ":" + GameProtocol.DRAW
+    };
+
+    // 결과 코드는 RESULT:<type>:... 의 type에 해당하는 Outcome의 순서 번호
+
+    private static final Map<String, Integer> CONSTANT_OPCODES = new HashMap<>();
+    static {
+        for (int i = 0; i < CONSTANTS.length; i++) {
+            CONSTANT_OPCODES.put(CONSTANTS[i], OP_CONSTANT_BASE + i);
+        }
+    }
+
+    /** 프레임 본문 최대 길이 (u16) */
+    public static final int MAX_BODY_LENGTH = 0xFFFF;
+
+    /**
+     * 텍스트 프로토콜 메시지를 바이너리 프레임으로 인코딩
+     * @param message GameProtocol 형식의 메시지
+     * @return 길이 헤더를 포함한 프레임
+     */
+    public static byte[] encode(String message) {
+        Integer constant = CONSTANT_OPCODES.get(message);
+        if (constant != null) {
+            return frame(constant);
+        }
+
+        try {
+            if (message.startsWith(GameProtocol.COUNT_UPDATE)) {
+                int p1 = message.indexOf(':', 6);
+                int p2 = message.indexOf(':', p1 + 1);
+                return frame(OP_COUNT,
+                    parseInt(message, 6, p1),
+                    parseInt(message, p1 + 1, p2),
+                    parseInt(message, p2 + 1, message.length()));
+            }
+            if (message.startsWith(GameProtocol.SCORE_UPDATE)) {
+                int p1 = message.indexOf(':', 6);
+                int p2 = message.indexOf(':', p1 + 1);
+                int my = parseInt(message, 6, p1);
+                if (p2 < 0) {
+                    int opp = parseInt(message, p1 + 1, message.length());
+                    return frame(OP_SCORE, my >> 8, my, opp >> 8, opp);
+                }
+                int p3 = message.indexOf(':', p2 + 1);
+                int opp = parseInt(message, p1 + 1, p2);
+                int win = parseInt(message, p2 + 1, p3);
+                int runs = parseInt(message, p3 + 1, message.length());
+                return frame(OP_SCORE, my >> 8, my, opp >> 8, opp, win >> 8, win, runs >> 8, runs);
+            }
+            if (message.startsWith(GameProtocol.PITCH_INFO)) {
+                char type = message.charAt(11);
+                return frame(OP_PITCH_INFO, type, parseInt(message, 13, message.length()));
+            }
+            if (message.startsWith(GameProtocol.INNING_START)) {
+                return frame(OP_INNING, parseInt(message, 7, message.length()));
+            }
+            if (message.startsWith("PITCH:") && message.length() == 7) {
+                return frame(OP_PITCH, message.charAt(6));
+            }
+            if (message.startsWith("RESULT:")) {
+                int p1 = message.indexOf(':', 7);
+                Outcome outcome = Outcome.fromName(message, 7, p1 < 0 ? message.length() : p1);
+                if (outcome != null) {
+                    String detail = p1 < 0 ? "" : message.substring(p1 + 1);
+                    return frameWithText(OP_RESULT, outcome.ordinal(), detail);
+                }
+            }
+            if (message.startsWith(GameProtocol.SET_NICKNAME)) {
+                return frameWithText(OP_NICKNAME, -1, message.substring(GameProtocol.SET_NICKNAME.length()));
+            }
+        } catch (RuntimeException e) {
+            // 형식이 맞지 않으면 원문 그대로 전송
+        }
+        return frameWithText(OP_TEXT, -1, message);
+    }
+
+    /**
+     * 프레임 본문(opcode + 필드)을 텍스트 프로토콜 메시지로 복원
+     * @param body 본문 버퍼
+     * @param offset 시작 위치
+     * @param length 본문 길이
+     * @return GameProtocol 형식의 메시지
+     * @throws ProtocolException 알 수 없는 opcode, opcode에 맞지 않는 본문 길이, 범위 밖의 결과 코드
+     */
+    public static String decode(byte[] body, int offset, int length) throws ProtocolException {
+        if (length < 1 || offset < 0 || offset + length > body.length) {
+            throw new ProtocolException("잘못된 프레임 본문 길이: " + length);
+        }
+        int op = body[offset] & 0xFF;
+        int p = offset + 1;
+
+        if (op >= OP_CONSTANT_BASE && op < OP_CONSTANT_BASE + CONSTANTS.length) {
+            requireLength(op, length, length == 1);
+            return CONSTANTS[op - OP_CONSTANT_BASE];
+        }
+
+        // 상대가 보낸 길이를 그대로 믿지 않고 opcode마다 본문 길이를 확인 (버퍼에 남은 이전 바이트를 읽지 않도록)
+        switch (op) {
+            case OP_COUNT:
+                requireLength(op, length, length == 4);
+                return GameProtocol.Builder.buildCount(body[p] & 0xFF, body[p + 1] & 0xFF, body[p + 2] & 0xFF);
+            case OP_SCORE:
+                requireLength(op, length, length == 5 || length == 9);
+                if (length == 9) {
+                    return GameProtocol.Builder.buildScore(
+                        ((body[p] & 0xFF) << 8) | (body[p + 1] & 0xFF),
+                        ((body[p + 2] & 0xFF) << 8) | (body[p + 3] & 0xFF),
+                        ((body[p + 4] & 0xFF) << 8) | (body[p + 5] & 0xFF),
+                        ((body[p + 6] & 0xFF) << 8) | (body[p + 7] & 0xFF));
+                }
+                return GameProtocol.Builder.buildScore(
+                    ((body[p] & 0xFF) << 8) | (body[p + 1] & 0xFF),
+                    ((body[p + 2] & 0xFF) << 8) | (body[p + 3] & 0xFF));
+            case OP_PITCH_INFO:
+                requireLength(op, length, length == 3);
+                return GameProtocol.Builder.buildPitchInfo((char) (body[p] & 0xFF), body[p + 1] & 0xFF);
+            case OP_INNING:
+                requireLength(op, length, length == 2);
+                return GameProtocol.Builder.buildInning(body[p] & 0xFF);
+            case OP_PITCH:
+                requireLength(op, length, length == 2);
+                return GameProtocol.Builder.buildPitch((char) (body[p] & 0xFF));
+            case OP_RESULT:
+                requireLength(op, length, length >= 2);
+                if ((body[p] & 0xFF) >= Outcome.count()) {
+                    throw new ProtocolException("알 수 없는 결과 코드: " + (body[p] & 0xFF));
+                }
+                return GameProtocol.Builder.buildResult(Outcome.of(body[p] & 0xFF),
+                    new String(body, p + 1, length - 2, StandardCharsets.UTF_8));
+            case OP_NICKNAME:
+                return GameProtocol.Builder.buildNickname(new String(body, p, length - 1, StandardCharsets.UTF_8));
+            case OP_TEXT:
+                return new String(body, p, length - 1, StandardCharsets.UTF_8);
+            default:
+                throw new ProtocolException("알 수 없는 opcode: " + op);
+        }
+    }
+
+    private static void requireLength(int op, int length, boolean valid) throws ProtocolException {
+        if (!valid) {
+            throw new ProtocolException("opcode " + op + "의 본문 길이가 맞지 않음: " + length);
+        }
+    }
+
+    private static int parseInt(String s, int from, int to) {
+        int value = 0;
+        if (from >= to) throw new NumberFormatException(s);
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException(s);
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static byte[] frame(int op, int... fields) {
+        int bodyLength = 1 + fields.length;
+        byte[] frame = new byte[2 + bodyLength];
+        frame[0] = (byte) (bodyLength >> 8);
+        frame[1] = (byte) bodyLength;
+        frame[2] = (byte) op;
+        for (int i = 0; i < fields.length; i++) {
+            frame[3 + i] = (byte) fields[i];
+        }
+        return frame;
+    }
+
+    private static byte[] frameWithText(int op, int code, String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        int header = code >= 0 ? 2 : 1;
+        int bodyLength = Math.min(header + utf8.length, MAX_BODY_LENGTH);
+        byte[] frame = new byte[2 + bodyLength];
+        frame[0] = (byte) (bodyLength >> 8);
+        frame[1] = (byte) bodyLength;
+        frame[2] = (byte) op;
+        if (code >= 0) {
+            frame[3] = (byte) code;
+        }
+        System.arraycopy(utf8, 0, frame, 2 + header, bodyLength - header);
+        return frame;
+    }
+
+    // 테스트용 메인 메서드
+    public static void main(String[] args) throws ProtocolException {
+        System.out.println("=== BinaryProtocol 테스트 ===\n");
+
+        String[] samples = {
+            GameProtocol.ACTION_PITCH,
+            GameProtocol.Builder.buildPitch('S'),
+            GameProtocol.Builder.buildPitchInfo('S', 150),
+            GameProtocol.ACTION_BAT,
+            GameProtocol.SWING_YES,
+            GameProtocol.Builder.buildResult("HIT", "직구 150km/h - 안타!"),
+            GameProtocol.Builder.buildCount(2, 1, 0),
+            GameProtocol.Builder.buildScore(3, 12),
+            GameProtocol.Builder.buildScore(3, 12, 625, 87),
+            GameProtocol.Builder.buildInning(9),
+            GameProtocol.GAME_END + ":WIN",
+            GameProtocol.Builder.buildNickname("이지원"),
+            "HELLO:WORLD"
+        };
+
+        int textTotal = 0;
+        int binaryTotal = 0;
+        for (String message : samples) {
+            byte[] frame = encode(message);
+            String decoded = decode(frame, 2, frame.length - 2);
+            int textBytes = (message + "\n").getBytes(StandardCharsets.UTF_8).length;
+            textTotal += textBytes;
+            binaryTotal += frame.length;
+            System.out.printf("%-40s 텍스트 %3dB -> 바이너리 %3dB  %s\n",
+                message, textBytes, frame.length, decoded.equals(message) ? "OK" : "불일치: " + decoded);
+        }
+        System.out.println("\n합계: 텍스트 " + textTotal + "B -> 바이너리 " + binaryTotal + "B");
+
+        // 본문 길이가 opcode와 맞지 않거나 범위 밖 값인 프레임은 프로토콜 오류
+        byte[][] malformed = {
+            {OP_RESULT},
+            {OP_RESULT, 8, 'x'},
+            {OP_COUNT, 1},
+            {OP_SCORE, 0, 1, 0, 2, 0},
+            {OP_INNING},
+            {(byte) (OP_CONSTANT_BASE + 1), 0},
+            {(byte) 0x1F},
+            {}
+        };
+        int rejected = 0;
+        for (byte[] body : malformed) {
+            try {
+                decode(body, 0, body.length);
+            } catch (ProtocolException e) {
+                rejected++;
+            }
+        }
+        System.out.println("잘못된 프레임 거부: " + rejected + "/" + malformed.length);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * 미리 인코딩된 메시지 테이블
+ * 상수 메시지(ACTION:PITCH, ROLE:*, MATCH:* 등)와 값의 범위가 작은 메시지(COUNT, INNING)를
+ * 서버 시작 시 한 번만 텍스트/바이너리 바이트로 인코딩해 두고, 전송 시에는 그 바이트를 그대로 씀
+ */
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class EncodedMessageTable {
+
+    /**
+     * 한 메시지의 인코딩 결과 (텍스트 줄과 바이너리 프레임 둘 다 보관)
+     * 바이트 배열은 공유되므로 절대 수정하면 안 됨
+     */
+    public static final class Frame {
+        private final String message;
+        private final byte[] text;
+        private final byte[] binary;
+
+        private Frame(String message) {
+            this.message = message;
+            this.text = (message + "\n").getBytes(StandardCharsets.UTF_8);
+            this.binary = BinaryProtocol.encode(message);
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * 연결의 프레이밍 방식에 맞는 바이트 반환
+         * @param binaryFraming 바이너리 프레임 사용 여부
+         * @return 전송할 바이트 (공유 배열)
+         */
+        public byte[] bytes(boolean binaryFraming) {
+            return binaryFraming ? binary : text;
+        }
+    }
+
+    // COUNT 범위: 스트라이크 0~3, 볼 0~4, 아웃 0~3 (삼진/볼넷 직후 값 포함)
+    private static final int MAX_STRIKES = 3;
+    private static final int MAX_BALLS = 4;
+    private static final int MAX_OUTS = 3;
+    private static final int MAX_INNING = 9;
+
+    private static final Map<String, Frame> BY_MESSAGE = new HashMap<>();
+    private static final Frame[] COUNTS = new Frame[(MAX_STRIKES + 1) * (MAX_BALLS + 1) * (MAX_OUTS + 1)];
+    private static final Frame[] INNINGS = new Frame[MAX_INNING + 1];
+
+    // ===== 자주 쓰는 상수 프레임 =====
+    public static final Frame WAITING_MATCH = register(GameProtocol.WAITING_MATCH);
+    public static final Frame MATCH_FOUND = register(GameProtocol.MATCH_FOUND);
+    public static final Frame MATCH_START = register(GameProtocol.MATCH_START);
+    public static final Frame ROLE_PITCHER = register(GameProtocol.ROLE_PITCHER);
+    public static final Frame ROLE_BATTER = register(GameProtocol.ROLE_BATTER);
+    public static final Frame SWITCH_SIDE = register(GameProtocol.SWITCH_SIDE);
+    public static final Frame ACTION_PITCH = register(GameProtocol.ACTION_PITCH);
+    public static final Frame ACTION_BAT = register(GameProtocol.ACTION_BAT);
+    public static final Frame GAME_END_WIN = register(GameProtocol.GAME_END + ":" + GameProtocol.WIN);
+    public static final Frame GAME_END_LOSE = register(GameProtocol.GAME_END + ":" + GameProtocol.LOSE);
+    public static final Frame GAME_END_DRAW = register(GameProtocol.GAME_END + ":" + GameProtocol.DRAW);
+
+    static {
+        register(GameProtocol.CONNECT_SUCCESS);
+        register(GameProtocol.MATCH_TIMEOUT);
+        register(GameProtocol.GAME_START);
+        register(GameProtocol.PITCH_TIMEOUT);
+        register(GameProtocol.BAT_TIMEOUT);
+        register(GameProtocol.SWING_YES);
+        register(GameProtocol.SWING_NO);
+        register(GameProtocol.DISCONNECT);
+
+        for (int s = 0; s <= MAX_STRIKES; s++) {
+            for (int b = 0; b <= MAX_BALLS; b++) {
+                for (int o = 0; o <= MAX_OUTS; o++) {
+                    COUNTS[countIndex(s, b, o)] = register(GameProtocol.Builder.buildCount(s, b, o));
+                }
+            }
+        }
+        for (int i = 1; i <= MAX_INNING; i++) {
+            INNINGS[i] = register(GameProtocol.Builder.buildInning(i));
+        }
+    }
+
+    private static Frame register(String message) {
+        Frame frame = new Frame(message);
+        BY_MESSAGE.put(message, frame);
+        return frame;
+    }
+
+    private static int countIndex(int strikes, int balls, int outs) {
+        return (strikes * (MAX_BALLS + 1) + balls) * (MAX_OUTS + 1) + outs;
+    }
+
+    /**
+     * 카운트 메시지 프레임
+     * @return 테이블 범위를 벗어나면 새로 인코딩한 프레임
+     */
+    public static Frame count(int strikes, int balls, int outs) {
+        if (strikes >= 0 && strikes <= MAX_STRIKES && balls >= 0 && balls <= MAX_BALLS
+                && outs >= 0 && outs <= MAX_OUTS) {
+            return COUNTS[countIndex(strikes, balls, outs)];
+        }
+        return new Frame(GameProtocol.Builder.buildCount(strikes, balls, outs));
+    }
+
+    /**
+     * 이닝 메시지 프레임
+     * @return 테이블 범위를 벗어나면 새로 인코딩한 프레임
+     */
+    public static Frame inning(int inning) {
+        if (inning >= 1 && inning <= MAX_INNING) {
+            return INNINGS[inning];
+        }
+        return new Frame(GameProtocol.Builder.buildInning(inning));
+    }
+
+    /**
+     * 문자열 메시지에 해당하는 미리 인코딩된 프레임 조회
+     * @param message 메시지
+     * @return 프레임 (테이블에 없으면 null)
+     */
+    public static Frame lookup(String message) {
+        return BY_MESSAGE.get(message);
+    }
+
+    // 테스트용 메인 메서드
+    public static void main(String[] args) throws ProtocolException {
+        System.out.println("=== EncodedMessageTable 테스트 ===\n");
+        System.out.println("등록된 메시지 수: " + BY_MESSAGE.size());
+
+        int mismatches = 0;
+        for (Map.Entry<String, Frame> entry : BY_MESSAGE.entrySet()) {
+            Frame frame = entry.getValue();
+            byte[] binary = frame.bytes(true);
+            String decoded = BinaryProtocol.decode(binary, 2, binary.length - 2);
+            String text = new String(frame.bytes(false), StandardCharsets.UTF_8);
+            if (!decoded.equals(entry.getKey()) || !text.equals(entry.getKey() + "\n")) {
+                System.out.println("불일치: " + entry.getKey());
+                mismatches++;
+            }
+        }
+        System.out.println("인코딩 검증: " + (mismatches == 0 ? "통과" : mismatches + "건 실패"));
+        System.out.println("COUNT:2:1:0 -> " + (count(2, 1, 0) == lookup("COUNT:2:1:0") ? "테이블 공유" : "별도 프레임"));
+        System.out.println("INNING:10 -> " + inning(10).getMessage() + " (테이블 밖, 즉석 인코딩)");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * GameServer 실행 모델 비교 벤치마크
+ * 게임 하나당 태스크 3개(ClientHandler 2 + EnhancedGameThread 1)가 대기 상태로 머무는 상황을 흉내 내어
+ * 스레드-per-핸들러 모델과 가상 스레드 모델의 최대 동시 게임 수와 게임당 메모리를 비교
+ *
+ * 실행: java ExecutionModeBenchmark [platform|virtual|all] [최대 게임 수]
+ * (모드별로 JVM을 따로 실행해야 측정값이 서로 섞이지 않음)
+ */
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutionModeBenchmark {
+    private static volatile boolean running;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "all";
+        int maxGames = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        System.out.println("=== 실행 모델 비교 (게임당 태스크 3개, 최대 " + maxGames + "게임) ===");
+        System.out.printf("%-10s %8s %8s %14s %14s\n", "모드", "게임 수", "스레드", "RSS/게임(KB)", "힙/게임(KB)");
+
+        if (mode.equals("platform") || mode.equals("all")) {
+            run("platform", Executors.newCachedThreadPool(), maxGames);
+        }
+        if (mode.equals("virtual") || mode.equals("all")) {
+            if (supportsVirtualThreads()) {
+                run("virtual", GameServer.newVirtualThreadExecutor(), maxGames);
+            } else {
+                System.out.println("virtual    (이 JDK는 가상 스레드를 지원하지 않음 - JDK 21 이상에서 실행)");
+            }
+        }
+    }
+
+    private static boolean supportsVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void run(String name, ExecutorService executor, int maxGames) throws Exception {
+        running = true;
+        AtomicInteger started = new AtomicInteger();
+
+        System.gc();
+        long rssBefore = readRssKb();
+        long heapBefore = usedHeapKb();
+
+        int games = 0;
+        try {
+            for (; games < maxGames; games++) {
+                // 두 플레이어의 ClientHandler: 연결이 닫힐 때까지 1초 간격으로 대기
+                executor.execute(() -> idleHandler(started));
+                executor.execute(() -> idleHandler(started));
+                // 게임 루프: 입력을 타임아웃으로 기다리고 진행 간격만큼 sleep
+                executor.execute(() -> idleGame(started));
+            }
+        } catch (OutOfMemoryError | RejectedExecutionException e) {
+            System.out.println(name + ": " + games + "게임에서 스레드 생성 실패 - " + e.getMessage());
+        }
+
+        // 모든 태스크가 실제로 대기 상태에 들어갈 때까지 대기
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (started.get() < games * 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(500);
+
+        System.gc();
+        long rssAfter = readRssKb();
+        long heapAfter = usedHeapKb();
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        System.out.printf("%-10s %8d %8d %14.1f %14.1f\n",
+            name, games, threads,
+            games == 0 ? 0.0 : (double) (rssAfter - rssBefore) / games,
+            games == 0 ? 0.0 : (double) (heapAfter - heapBefore) / games);
+
+        running = false;
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private static void idleHandler(AtomicInteger started) {
+        started.incrementAndGet();
+        try {
+            while (running) {
+                Thread.sleep(1000);
+            }
+        } catch (InterruptedException e) {
+            // 종료
+        }
+    }
+
+    private static void idleGame(AtomicInteger started) {
+        BlockingQueue<String> inbox = new LinkedBlockingQueue<>();
+        started.incrementAndGet();
+        try {
+            while (running) {
+                inbox.poll(5500, TimeUnit.MILLISECONDS);
+                Thread.sleep(500);
+            }
+        } catch (InterruptedException e) {
+            // 종료
+        }
+    }
+
+    /**
+     * 프로세스 상주 메모리(VmRSS) 조회 (Linux 전용, 그 외에는 0)
+     */
+    private static long readRssKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 지원하지 않는 플랫폼
+        }
+        return 0;
+    }
+
+    private static long usedHeapKb() {
+        Runtime rt = Runtime.getRuntime();
+        return (rt.totalMemory() - rt.freeMemory()) / 1024;
+    }
+}
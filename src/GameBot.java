@@ -0,0 +1,330 @@
+/*
+ * 화면 없이 GameProtocol로 경기를 진행하는 봇 클라이언트
+ * 닉네임 등록 후 매칭을 기다리고, 투수일 때는 PITCH:x, 타자일 때는 SWING:YES/NO를 보냄
+ * 경기가 끝나거나 상대가 끊기면 START:READY로 다시 매칭 대기열에 들어감
+ *
+ * 수신 메시지는 GameDataStreamManager의 수신 스레드에서 콜백으로 처리하고,
+ * 생각 시간이 있는 응답은 공용 스케줄러로 지연 전송함 (봇 하나당 스레드 1개)
+ * 부하 측정은 LoadTestDriver에서 여러 봇을 동시에 실행하여 수행
+ */
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GameBot implements MessageChannel.Receiver {
+
+    /**
+     * 봇의 투구/스윙 결정 방식
+     */
+    public interface Strategy {
+        /**
+         * 투구할 구종 선택
+         */
+        PitchType choosePitch(Random random);
+
+        /**
+         * 스윙 여부 결정
+         * @param pitchType 구종 (PITCH_INFO를 받지 못했으면 null)
+         * @param speed 구속 (PITCH_INFO를 받지 못했으면 0)
+         */
+        boolean chooseSwing(PitchType pitchType, int speed, Random random);
+    }
+
+    // 구종 무작위, 스윙 50%
+    public static final Strategy RANDOM = new Strategy() {
+        public PitchType choosePitch(Random random) {
+            return PitchType.of(random.nextInt(PitchType.count()));
+        }
+        public boolean chooseSwing(PitchType pitchType, int speed, Random random) {
+            return random.nextBoolean();
+        }
+    };
+
+    // 직구만 던지고 항상 스윙
+    public static final Strategy AGGRESSIVE = new Strategy() {
+        public PitchType choosePitch(Random random) {
+            return PitchType.FASTBALL;
+        }
+        public boolean chooseSwing(PitchType pitchType, int speed, Random random) {
+            return true;
+        }
+    };
+
+    // 구종 무작위, 스트라이크 비율이 높은 직구/슬라이더 중 느린 공에만 스윙
+    public static final Strategy SELECTIVE = new Strategy() {
+        public PitchType choosePitch(Random random) {
+            return PitchType.of(random.nextInt(PitchType.count()));
+        }
+        public boolean chooseSwing(PitchType pitchType, int speed, Random random) {
+            return (pitchType == PitchType.FASTBALL || pitchType == PitchType.SLIDER) && speed < 145;
+        }
+    };
+
+    /**
+     * 이름으로 전략 조회
+     * @param name random, aggressive, selective
+     * @return 전략 (알 수 없는 이름이면 null)
+     */
+    public static Strategy strategyOf(String name) {
+        switch (name) {
+            case "random": return RANDOM;
+            case "aggressive": return AGGRESSIVE;
+            case "selective": return SELECTIVE;
+            default: return null;
+        }
+    }
+
+    /**
+     * 여러 봇이 함께 쌓는 부하 측정 지표
+     */
+    public static class Stats {
+        final LongAdder connected = new LongAdder();
+        final LongAdder matchesFound = new LongAdder();   // 봇 기준 (경기당 2회)
+        final LongAdder gamesEnded = new LongAdder();     // 봇 기준 (경기당 2회)
+        final LongAdder pitches = new LongAdder();        // 투수 봇이 받은 첫 판정 기준
+        final LongAdder errors = new LongAdder();
+        final LongAdder opponentDrops = new LongAdder();
+        final LongAdder pitchTimeouts = new LongAdder();  // 서버가 투구 시간 초과로 판정한 횟수
+        final LongAdder idleTimeouts = new LongAdder();   // 경기 중 봇이 응답을 받지 못한 횟수
+
+        // ACTION:PITCH 수신부터 첫 RESULT 수신까지 걸린 시간 (나노초)
+        private long[] latencies = new long[1024];
+        private int latencyCount = 0;
+
+        synchronized void recordLatency(long nanos) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = nanos;
+        }
+
+        /**
+         * 정렬된 지연 시간 복사본
+         */
+        public synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        public long getErrors() {
+            return errors.sum() + opponentDrops.sum();
+        }
+
+        public long getTimeouts() {
+            return pitchTimeouts.sum() + idleTimeouts.sum();
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private final String nickname;
+    private final Strategy strategy;
+    private final int thinkMinMillis;
+    private final int thinkMaxMillis;
+    private final boolean binary;
+    private final ScheduledExecutorService scheduler;
+    private final Stats stats;
+    private final Random random;
+
+    private Socket socket;
+    private GameDataStreamManager streamManager;
+
+    // 수신 스레드만 변경하는 경기 상태
+    private boolean pitcher = false;
+    private long pitchRequestedAt = 0; // 0이면 판정 대기 중 아님
+    private final int[] pitchFields = new int[2];
+
+    private volatile boolean inGame = false;
+    private volatile boolean stopping = false;
+    private volatile long lastMessageAt = System.nanoTime();
+
+    /**
+     * @param host 서버 주소
+     * @param port 서버 포트
+     * @param nickname 봇 닉네임 (서버 안에서 고유해야 함)
+     * @param strategy 투구/스윙 전략
+     * @param thinkMinMillis 응답 전 최소 생각 시간
+     * @param thinkMaxMillis 응답 전 최대 생각 시간
+     * @param binary 바이너리 프레임 협상 여부
+     * @param scheduler 생각 시간 뒤 응답을 보낼 공용 스케줄러
+     * @param stats 지표를 쌓을 공용 객체
+     */
+    public GameBot(String host, int port, String nickname, Strategy strategy,
+                   int thinkMinMillis, int thinkMaxMillis, boolean binary,
+                   ScheduledExecutorService scheduler, Stats stats) {
+        this.host = host;
+        this.port = port;
+        this.nickname = nickname;
+        this.strategy = strategy;
+        this.thinkMinMillis = thinkMinMillis;
+        this.thinkMaxMillis = Math.max(thinkMinMillis, thinkMaxMillis);
+        this.binary = binary;
+        this.scheduler = scheduler;
+        this.stats = stats;
+        this.random = new Random(nickname.hashCode());
+    }
+
+    /**
+     * 서버에 접속하여 닉네임을 등록하고 매칭 대기 시작
+     * @param readerExecutor 수신 루프를 실행할 실행기
+     * @throws IOException 접속 또는 핸드셰이크 실패 시
+     */
+    public void connect(Executor readerExecutor) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        streamManager = new GameDataStreamManager(socket);
+        streamManager.startReader(readerExecutor);
+
+        if (binary) {
+            streamManager.sendMessage(GameProtocol.CONNECT_BINARY);
+            String reply = streamManager.receiveMessage(3000);
+            if (!GameProtocol.CONNECT_SUCCESS.equals(reply)) {
+                close();
+                throw new IOException("바이너리 협상 실패: " + reply);
+            }
+            streamManager.enableBinaryFraming();
+        }
+
+        streamManager.setReceiver(this);
+        streamManager.sendMessage(GameProtocol.Builder.buildNickname(nickname));
+        stats.connected.increment();
+    }
+
+    @Override
+    public void onMessage(String message) {
+        lastMessageAt = System.nanoTime();
+
+        if (message.equals(GameProtocol.ACTION_PITCH)) {
+            pitchRequestedAt = System.nanoTime();
+            PitchType pitchType = strategy.choosePitch(random);
+            respond(GameProtocol.Builder.buildPitch(pitchType));
+        } else if (message.equals(GameProtocol.ACTION_BAT)) {
+            boolean swing = strategy.chooseSwing(PitchType.fromCode((char) pitchFields[0]), pitchFields[1], random);
+            respond(swing ? GameProtocol.SWING_YES : GameProtocol.SWING_NO);
+        } else if (message.startsWith(GameProtocol.PITCH_INFO)) {
+            if (!GameProtocol.Parser.parsePitchInfo(message, pitchFields)) {
+                pitchFields[0] = ' ';
+                pitchFields[1] = 0;
+            }
+        } else if (message.startsWith("RESULT:")) {
+            onResult(message);
+        } else if (message.equals(GameProtocol.ROLE_PITCHER)) {
+            pitcher = true;
+        } else if (message.equals(GameProtocol.ROLE_BATTER)) {
+            pitcher = false;
+        } else if (message.equals(GameProtocol.SWITCH_SIDE)) {
+            pitcher = !pitcher;
+        } else if (message.equals(GameProtocol.MATCH_FOUND)) {
+            inGame = true;
+            stats.matchesFound.increment();
+        } else if (message.startsWith(GameProtocol.GAME_END)) {
+            stats.gamesEnded.increment();
+            requeue();
+        } else if (message.equals(GameProtocol.DISCONNECT)) {
+            stats.opponentDrops.increment();
+            requeue();
+        } else if (message.equals(GameProtocol.NICKNAME_DUPLICATE) || message.startsWith(GameProtocol.ERROR)) {
+            System.err.println("[봇 " + nickname + "] 서버 오류: " + message);
+            stats.errors.increment();
+        }
+    }
+
+    private void onResult(String message) {
+        // 한 투구에 판정이 여러 개 올 수 있으므로(삼진, 볼넷) 첫 판정만 측정
+        if (!pitcher || pitchRequestedAt == 0) {
+            return;
+        }
+        stats.recordLatency(System.nanoTime() - pitchRequestedAt);
+        stats.pitches.increment();
+        pitchRequestedAt = 0;
+        if (message.contains("시간 초과")) {
+            stats.pitchTimeouts.increment();
+        }
+    }
+
+    /**
+     * 경기가 끝난 뒤 재대결 요청 (서버의 재대결 대기 시간 안에 보내야 함)
+     */
+    private void requeue() {
+        inGame = false;
+        pitchRequestedAt = 0;
+        if (!stopping) {
+            respond(GameProtocol.START_BUTTON);
+        }
+    }
+
+    @Override
+    public void onClose() {
+        inGame = false;
+        if (!stopping) {
+            System.err.println("[봇 " + nickname + "] 서버가 연결을 종료함");
+            stats.errors.increment();
+            stopping = true;
+        }
+    }
+
+    /**
+     * 생각 시간만큼 기다린 뒤 메시지 전송
+     */
+    private void respond(String message) {
+        int think = thinkMinMillis + (thinkMaxMillis > thinkMinMillis
+            ? random.nextInt(thinkMaxMillis - thinkMinMillis + 1) : 0);
+        if (think == 0) {
+            streamManager.sendMessage(message);
+        } else {
+            scheduler.schedule(() -> {
+                if (!stopping) {
+                    streamManager.sendMessage(message);
+                }
+            }, think, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 경기 중에 지정한 시간 이상 아무 메시지도 받지 못했는지 확인
+     * 대기열에서 상대를 기다리는 동안은 검사하지 않음
+     * @param idleMillis 허용 대기 시간 (밀리초)
+     * @return 응답 없음으로 판단되어 연결을 닫았으면 true
+     */
+    public boolean checkIdle(long idleMillis) {
+        if (!inGame || stopping
+            || System.nanoTime() - lastMessageAt < TimeUnit.MILLISECONDS.toNanos(idleMillis)) {
+            return false;
+        }
+        System.err.println("[봇 " + nickname + "] " + idleMillis + "ms 동안 응답 없음");
+        stats.idleTimeouts.increment();
+        close();
+        return true;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public boolean isClosed() {
+        return stopping;
+    }
+
+    /**
+     * 연결 종료 (이후 종료 통지는 오류로 세지 않음)
+     */
+    public void close() {
+        stopping = true;
+        inGame = false;
+        try {
+            if (streamManager != null) {
+                streamManager.close();
+            } else if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // 이미 닫힌 연결
+        }
+    }
+}
@@ -6,8 +6,12 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.IOException;
 import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class GameClient extends JFrame {
+    private static final long serialVersionUID = 1L;
+    
     private Socket socket;
     private GameDataStreamManager streamManager;
     private String nickname;
@@ -26,16 +30,27 @@ public class GameClient extends JFrame {
     private boolean isMyTurn = false;
     private boolean waitingForInput = false;
     
+    // 수신 메시지 필드를 담는 재사용 배열 (메시지마다 배열을 만들지 않음)
+    private final int[] messageFields = new int[4];
+    
+    // 서버의 첫 응답으로 프로토콜이 정해지면 열림 (닉네임은 결정된 프레이밍으로 보내야 함)
+    private final CountDownLatch negotiation = new CountDownLatch(1);
+    // 첫 응답을 기다리는 최대 시간 - 넘으면 텍스트로 바꾸지 않고 연결을 끊음
+    // (서버는 CONNECT:BINARY를 받자마자 바이너리로 전환하므로 추측해서 텍스트를 보내면 프레임 헤더로 읽힘)
+    private static final long NEGOTIATION_TIMEOUT = 10_000;
+    
     public GameClient(String serverAddress, int port) {
         super("Hit & Run - 야구 게임");
         
         try {
             socket = new Socket(serverAddress, port);
             streamManager = new GameDataStreamManager(socket);
+            // 협상 응답은 수신 스레드가 처리하므로 UI는 기다리지 않음
+            streamManager.sendMessage(GameProtocol.CONNECT_BINARY);
             
             initUI();
-            showNicknameDialog();
             startMessageListener();
+            showNicknameDialog();
             
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, 
@@ -46,6 +61,47 @@ public class GameClient extends JFrame {
         }
     }
     
+    /**
+     * 바이너리 프레임 협상 응답 처리 (수신 스레드에서 서버의 첫 메시지로 호출)
+     * CONNECT:SUCCESS가 아니면 텍스트 프로토콜로 정하고 그 메시지는 평소처럼 처리
+     * 응답이 늦게 와도 항상 여기서 처리하므로 CONNECT:SUCCESS면 바이너리로 전환됨
+     * @param reply 서버의 첫 메시지 (연결 종료 시 null)
+     * @return 일반 메시지로 처리해야 하면 true
+     */
+    private boolean negotiateBinaryProtocol(String reply) {
+        boolean binary = GameProtocol.CONNECT_SUCCESS.equals(reply);
+        if (binary) {
+            streamManager.enableBinaryFraming();
+            System.out.println("바이너리 프로토콜 사용");
+        } else {
+            System.out.println("텍스트 프로토콜 사용 (서버 응답: " + reply + ")");
+        }
+        negotiation.countDown();
+        return !binary && reply != null;
+    }
+    
+    /**
+     * 닉네임을 보내기 전에 서버의 첫 응답을 기다림
+     * 보통은 사용자가 닉네임을 입력하는 동안 끝나 있음
+     * CONNECT:BINARY를 이미 보냈으므로 응답 없이 텍스트로 진행하지 않고, 제한 시간이 지나면 연결을 끊음
+     * @return 프로토콜이 정해졌으면 true
+     */
+    private boolean awaitNegotiation() {
+        try {
+            if (negotiation.await(NEGOTIATION_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            streamManager.close();
+        } catch (IOException e) {
+            // 이미 끊어진 연결
+        }
+        return false;
+    }
+    
     private void initUI() {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(800, 600);
@@ -68,10 +124,10 @@ public class GameClient extends JFrame {
                 
                 if (waitingForInput && role != null) {
                     if (role.equals("PITCHER")) {
-                        if (keyCode == KeyEvent.VK_A) { sendPitch('A'); return true; }
-                        if (keyCode == KeyEvent.VK_S) { sendPitch('S'); return true; }
-                        if (keyCode == KeyEvent.VK_D) { sendPitch('D'); return true; }
-                        if (keyCode == KeyEvent.VK_F) { sendPitch('F'); return true; }
+                        if (keyCode == KeyEvent.VK_A) { sendPitch(PitchType.FORK); return true; }
+                        if (keyCode == KeyEvent.VK_S) { sendPitch(PitchType.FASTBALL); return true; }
+                        if (keyCode == KeyEvent.VK_D) { sendPitch(PitchType.CURVE); return true; }
+                        if (keyCode == KeyEvent.VK_F) { sendPitch(PitchType.SLIDER); return true; }
                     } else if (role.equals("BATTER")) {
                         if (keyCode == KeyEvent.VK_H) { sendSwing(); return true; }
                     }
@@ -101,6 +157,14 @@ public class GameClient extends JFrame {
             nickname = "Player" + System.currentTimeMillis() % 1000;
         }
         
+        if (!awaitNegotiation()) {
+            JOptionPane.showMessageDialog(this,
+                "서버가 프로토콜 협상에 응답하지 않습니다.",
+                "연결 오류",
+                JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+        
         try {
             streamManager.sendMessage(GameProtocol.Builder.buildNickname(nickname));
         } catch (Exception e) {
@@ -111,10 +175,14 @@ public class GameClient extends JFrame {
     private void startMessageListener() {
         new Thread(() -> {
             try {
-                while (true) {
-                    String message = streamManager.receiveMessage();
-                    if (message == null) break;
+                // 첫 메시지는 협상 응답 (CONNECT:SUCCESS가 아니면 일반 메시지로 처리)
+                String message = streamManager.receiveMessage();
+                if (!negotiateBinaryProtocol(message) && message != null) {
+                    message = streamManager.receiveMessage();
+                }
+                while (message != null) {
                     handleServerMessage(message);
+                    message = streamManager.receiveMessage();
                 }
             } catch (IOException e) {
                 e.printStackTrace();
@@ -166,8 +234,6 @@ public class GameClient extends JFrame {
             }
             
             if (message.startsWith("PITCH_INFO:")) {
-                String[] pitchData = GameProtocol.Parser.parsePitchInfo(message);
-                
                 if (role != null && role.equals("BATTER")) {
                     waitingForInput = true;
                     isMyTurn = true;
@@ -185,19 +251,23 @@ public class GameClient extends JFrame {
             }
             
             if (message.startsWith("COUNT:")) {
-                int[] count = GameProtocol.Parser.parseCount(message);
-                strikes = count[0];
-                balls = count[1];
-                outs = count[2];
+                if (!GameProtocol.Parser.parseCount(message, messageFields)) return;
+                strikes = messageFields[0];
+                balls = messageFields[1];
+                outs = messageFields[2];
                 gamePanel.updateCount(strikes, balls, outs);
                 return;
             }
             
             if (message.startsWith("SCORE:")) {
-                int[] scores = GameProtocol.Parser.parseScore(message);
-                myScore = scores[0];
-                opponentScore = scores[1];
+                if (!GameProtocol.Parser.parseScore(message, messageFields)) return;
+                myScore = messageFields[0];
+                opponentScore = messageFields[1];
                 gamePanel.updateScore(myScore, opponentScore, currentInning);
+                // 승리 확률/기대 득점이 붙어 있으면 함께 표시
+                if (GameProtocol.Parser.parseScoreDetail(message, messageFields)) {
+                    gamePanel.updateWinProbability(messageFields[2], messageFields[3]);
+                }
                 return;
             }
             
@@ -215,32 +285,26 @@ public class GameClient extends JFrame {
     }
     
     private void handleResult(String message) {
-        String data = GameProtocol.Parser.getData(message);
-        String[] parts = data.split(":", 2);
-        String resultType = parts[0];
+        Outcome result = GameProtocol.Parser.parseResult(message);
+        if (result == null) return;
         
         // 결과 이펙트 표시
-        gamePanel.showResult(resultType);
+        gamePanel.showResult(result);
         
-        switch(resultType) {
-            case "HIT": 
-                gamePanel.advanceRunners("HIT");
-                gamePanel.startSwingAnimation();
-                break;
-            case "HOMERUN": 
-                gamePanel.advanceRunners("HOMERUN");
+        switch(result) {
+            case HIT: 
+            case HOMERUN: 
+                gamePanel.advanceRunners(result);
                 gamePanel.startSwingAnimation();
                 break;
-            case "WALK": 
-                gamePanel.advanceRunners("WALK");
+            case WALK: 
+                gamePanel.advanceRunners(result);
                 break;
-            case "OUT":
+            case OUT:
                 gamePanel.startSwingAnimation();
                 break;
-            case "STRIKE":
-            case "BALL":
-            case "FOUL":
-                // 스트라이크/볼/파울은 이펙트만 표시
+            default:
+                // 스트라이크/볼/파울/삼진은 이펙트만 표시
                 break;
         }
     }
@@ -256,17 +320,7 @@ public class GameClient extends JFrame {
             JOptionPane.INFORMATION_MESSAGE);
     }
     
-    private String getPitchName(char type) {
-        switch(type) {
-            case 'A': return "포크";
-            case 'S': return "직구";
-            case 'D': return "커브";
-            case 'F': return "슬라이더";
-            default: return "알 수 없음";
-        }
-    }
-    
-    public void sendPitch(char pitchType) {
+    public void sendPitch(PitchType pitchType) {
         if (!waitingForInput || role == null || !role.equals("PITCHER")) return;
         
         try {
@@ -308,6 +362,8 @@ public class GameClient extends JFrame {
  * 게임 화면 패널 - 완전한 UI
  */
 class GamePanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+    
     private GameClient client;
     
     // 이미지
@@ -322,6 +378,9 @@ class GamePanel extends JPanel {
     private int myScore = 0;
     private int oppScore = 0;
     private int inning = 1;
+    // 내 승리 확률 (천분율, 받기 전에는 -1)과 이번 반 이닝 기대 득점 x 100
+    private int winPermille = -1;
+    private int expectedRunsX100 = 0;
     private boolean isTopInning = true; // true: 초(▲), false: 말(▼)
     private String role = "";
     
@@ -346,7 +405,7 @@ class GamePanel extends JPanel {
     private boolean showBall = false;
     
     // 타격 이펙트
-    private String lastResult = "";
+    private Outcome lastResult = null;
     private int resultDisplayFrame = 0;
     private int maxResultFrames = 60;
     
@@ -371,10 +430,10 @@ class GamePanel extends JPanel {
                 }
             }
             
-            if (!lastResult.isEmpty()) {
+            if (lastResult != null) {
                 resultDisplayFrame++;
                 if (resultDisplayFrame >= maxResultFrames) {
-                    lastResult = "";
+                    lastResult = null;
                     resultDisplayFrame = 0;
                 }
                 repaint();
@@ -433,7 +492,7 @@ class GamePanel extends JPanel {
         }
         
         // 결과 이펙트 그리기
-        if (!lastResult.isEmpty()) {
+        if (lastResult != null) {
             drawResultEffect(g2);
         }
         
@@ -502,6 +561,17 @@ class GamePanel extends JPanel {
         g.setColor(Color.WHITE);
         g.setFont(new Font("Impact", Font.BOLD, 32));
         g.drawString(String.valueOf(defenseScore), x + 115, scoreY + 20);
+        
+        // 승리 확률 / 기대 득점 (스코어보드 아래)
+        if (winPermille >= 0) {
+            int barY = y + h + 6;
+            g.setColor(new Color(15, 32, 60, 220));
+            g.fillRoundRect(x, barY, w, 26, 8, 8);
+            g.setColor(Color.WHITE);
+            g.setFont(new Font("맑은 고딕", Font.BOLD, 13));
+            g.drawString(String.format("승리 확률 %.1f%%  기대 득점 %.2f", winPermille / 10.0, expectedRunsX100 / 100.0),
+                x + 12, barY + 18);
+        }
     }
     
     private void drawBaseDiamond(Graphics2D g) {
@@ -715,22 +785,30 @@ class GamePanel extends JPanel {
         repaint();
     }
     
-    public void advanceRunners(String result) {
+    public void updateWinProbability(int winPermille, int expectedRunsX100) {
+        this.winPermille = winPermille;
+        this.expectedRunsX100 = expectedRunsX100;
+        repaint();
+    }
+    
+    public void advanceRunners(Outcome result) {
         switch(result) {
-            case "HIT":
+            case HIT:
                 if (runner3rd) runner3rd = false;
                 if (runner2nd) { runner3rd = true; runner2nd = false; }
                 if (runner1st) { runner2nd = true; }
                 runner1st = true;
                 break;
-            case "HOMERUN":
+            case HOMERUN:
                 runner1st = runner2nd = runner3rd = false;
                 break;
-            case "WALK":
+            case WALK:
                 if (runner1st && runner2nd) runner3rd = true;
                 if (runner1st) runner2nd = true;
                 runner1st = true;
                 break;
+            default:
+                break;
         }
         repaint();
     }
@@ -879,42 +957,42 @@ class GamePanel extends JPanel {
         int fontSize = 60;
         
         switch (lastResult) {
-            case "HIT":
+            case HIT:
                 displayText = "안타!";
                 effectColor = new Color(76, 175, 80);
                 break;
-            case "HOMERUN":
+            case HOMERUN:
                 displayText = "홈런!!!";
                 effectColor = new Color(255, 193, 7);
                 fontSize = 80;
                 // 폭죽 효과
                 drawFireworks(g, centerX, centerY, resultDisplayFrame);
                 break;
-            case "OUT":
+            case OUT:
                 displayText = "아웃!";
                 effectColor = new Color(244, 67, 54);
                 break;
-            case "STRIKEOUT":
+            case STRIKEOUT:
                 displayText = "삼진!";
                 effectColor = new Color(244, 67, 54);
                 fontSize = 70;
                 break;
-            case "STRIKE":
+            case STRIKE:
                 displayText = "스트라이크!";
                 effectColor = new Color(255, 152, 0);
                 fontSize = 50;
                 break;
-            case "BALL":
+            case BALL:
                 displayText = "볼!";
                 effectColor = new Color(76, 175, 80);
                 fontSize = 50;
                 break;
-            case "FOUL":
+            case FOUL:
                 displayText = "파울!";
                 effectColor = new Color(156, 39, 176);
                 fontSize = 50;
                 break;
-            case "WALK":
+            case WALK:
                 displayText = "볼넷!";
                 effectColor = new Color(33, 150, 243);
                 break;
@@ -980,7 +1058,7 @@ class GamePanel extends JPanel {
     /**
      * 결과 표시 시작
      */
-    public void showResult(String result) {
+    public void showResult(Outcome result) {
         lastResult = result;
         resultDisplayFrame = 0;
     }
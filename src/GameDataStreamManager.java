@@ -3,13 +3,58 @@
  * InputStream과 OutputStream을 효율적으로 관리
  */
 import java.io.*;
+import java.net.ProtocolException;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class GameDataStreamManager {
+public class GameDataStreamManager implements MessageChannel {
     private Socket socket;
-    private BufferedReader reader;
-    private PrintWriter writer;
+    private BufferedInputStream reader;
+    private OutputStream writer;
+    // 송신 직렬화용 락 (synchronized 대신 사용하여 가상 스레드가 캐리어에 고정되지 않도록 함)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private boolean writeFailed = false;
+    
+    // flush() 전까지 쌓아 두는 송신 바이트 (writeLock으로 보호)
+    private byte[] pending = new byte[512];
+    private int pendingLength = 0;
+    private int pendingMessages = 0;
+    
+    // 수신 스레드가 조립한 메시지 큐 (startReader 이후에만 사용)
+    // 타임아웃 수신은 큐에서 기한까지 기다리므로 소켓 옵션(SO_TIMEOUT)을 바꾸지 않음
+    private final LinkedBlockingQueue<String> inbound = new LinkedBlockingQueue<>();
+    private final AtomicBoolean readerStarted = new AtomicBoolean(false);
+    // 콜백 전달 요청 수 - 0에서 올린 스레드 하나만 큐를 비워 콜백 순서를 지킴
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    // 연결 종료를 수신 대기자에게 알리는 표식 (동일성 비교)
+    private static final String CLOSED = new String("CLOSED");
+    // 수신 스레드 없이 직접 읽을 때 소켓에 설정해 둔 SO_TIMEOUT (값이 바뀔 때만 다시 설정)
+    private int readTimeout = 0;
+    
+    // 설정되면 수신 메시지를 큐 대신 이 콜백으로 전달
+    private volatile Receiver receiver;
+    // 입력 종료(CLOSED)를 한 번이라도 전달했는지 여부 - 늦게 설정된 콜백에도 종료를 알리기 위해 사용
+    private volatile boolean inputClosed = false;
+    
+    // 마지막 receiveMessage 호출이 실제로 기다린 시간 (나노초)
+    private volatile long lastWaitNanos = 0;
+    
+    // 수신 중인 줄/프레임 (수신 스레드 또는 직접 읽는 호출 스레드만 사용)
+    private byte[] readBuffer = new byte[256];
+    private int readLength = 0;
+    private int frameLength = -1;
+    
+    // CONNECT 핸드셰이크에서 바이너리 프레임이 협상되었는지 여부
+    private volatile boolean binaryFraming = false;
+    
     private ObjectInputStream objectIn;
     private ObjectOutputStream objectOut;
      
@@ -22,13 +67,119 @@ public class GameDataStreamManager {
         this.socket = socket;
         
         // 텍스트 기반 스트림 초기화
-        this.writer = new PrintWriter(
-            new OutputStreamWriter(socket.getOutputStream(), "UTF-8"), 
-            true  // auto-flush 활성화
-        );
-        this.reader = new BufferedReader(
-            new InputStreamReader(socket.getInputStream(), "UTF-8")
-        );
+        this.writer = socket.getOutputStream();
+        // 줄 단위 텍스트와 바이너리 프레임을 같은 버퍼에서 읽을 수 있도록 바이트 스트림 사용
+        this.reader = new BufferedInputStream(socket.getInputStream());
+    }
+    
+    /**
+     * 수신 스레드 시작
+     * 이후 들어오는 메시지는 큐에 쌓이고 receiveMessage는 큐에서 꺼냄
+     * 호출하지 않으면 receiveMessage를 호출한 스레드가 소켓에서 직접 읽음 (추가 스레드 없음)
+     * @param executor 수신 루프를 실행할 실행기
+     */
+    public void startReader(Executor executor) {
+        if (reader != null && readerStarted.compareAndSet(false, true)) {
+            executor.execute(this::readLoop);
+        }
+    }
+    
+    /**
+     * 수신 루프 - 연결이 끊어질 때까지 메시지를 조립하여 큐에 넣음
+     */
+    private void readLoop() {
+        try {
+            while (true) {
+                // 첫 바이트가 도착한 시점의 프레이밍 방식으로 다음 메시지를 읽음
+                reader.mark(1);
+                if (reader.read() == -1) {
+                    break;
+                }
+                reader.reset();
+                
+                String message = readNext();
+                if (message == null) {
+                    break;
+                }
+                deliverInbound(message);
+            }
+        } catch (IOException e) {
+            // 연결 종료 또는 잘못된 프레임
+        } finally {
+            deliverInbound(CLOSED);
+        }
+    }
+
+    /**
+     * 수신 메시지와 같은 경로로 이벤트를 넣음 (타이머의 타임아웃 이벤트 등)
+     * @param message 이벤트 메시지
+     */
+    void offerInbound(String message) {
+        deliverInbound(message);
+    }
+    
+    /**
+     * 조립된 메시지를 수신 큐에 넣고 콜백이 있으면 전달
+     * 수신 스레드와 setReceiver가 동시에 전달해도 순서가 바뀌지 않도록 항상 큐를 거침
+     */
+    private void deliverInbound(String message) {
+        if (message == CLOSED) {
+            inputClosed = true;
+        }
+        inbound.offer(message);
+        drain();
+    }
+    
+    /**
+     * 콜백이 설정되어 있으면 큐에 쌓인 메시지를 순서대로 전달
+     * 이미 다른 스레드가 전달 중이면 요청만 남기고 돌아감 (그 스레드가 이어서 전달)
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Receiver r;
+            String message;
+            // 콜백 안에서 소유자가 바뀔 수 있으므로 메시지마다 현재 콜백을 확인
+            while ((r = receiver) != null && (message = inbound.poll()) != null) {
+                dispatch(r, message);
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+    
+    private static void dispatch(Receiver r, String message) {
+        if (message == CLOSED) {
+            r.onClose();
+        } else {
+            r.onMessage(message);
+        }
+    }
+    
+    public void setReceiver(Receiver receiver) {
+        this.receiver = receiver;
+        if (receiver != null) {
+            drain();
+            // 이전 소유자가 종료 통지를 이미 받았더라도 새 소유자에게 다시 알림
+            if (inputClosed) {
+                receiver.onClose();
+            }
+        }
+    }
+    
+    /**
+     * 이후 송수신을 BinaryProtocol 프레임으로 전환
+     * CONNECT 핸드셰이크 응답을 주고받은 직후 양쪽에서 호출
+     * 상대가 바이너리 프레임을 보내기 전에 호출되어야 함
+     */
+    public void enableBinaryFraming() {
+        binaryFraming = true;
+    }
+    
+    public boolean isBinaryFraming() {
+        return binaryFraming;
     }
     
     /**
@@ -47,9 +198,92 @@ public class GameDataStreamManager {
      * @param message 전송할 메시지
      */
     public void sendMessage(String message) {
+        writeLock.lock();
+        try {
+            queueMessage(message);
+            flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 미리 인코딩된 메시지 전송
+     * @param frame EncodedMessageTable의 프레임
+     */
+    public void sendFrame(EncodedMessageTable.Frame frame) {
+        writeLock.lock();
+        try {
+            queueFrame(frame);
+            flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 메시지를 송신 버퍼에만 쌓음 (flush() 호출 시 전송)
+     * @param message 전송할 메시지
+     */
+    public void queueMessage(String message) {
+        // 테이블에 있는 메시지는 미리 인코딩된 바이트 사용
+        EncodedMessageTable.Frame frame = EncodedMessageTable.lookup(message);
+        if (frame != null) {
+            queueFrame(frame);
+            return;
+        }
+        appendPending(binaryFraming
+            ? BinaryProtocol.encode(message)
+            : (message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 미리 인코딩된 메시지를 송신 버퍼에만 쌓음
+     * @param frame EncodedMessageTable의 프레임
+     */
+    public void queueFrame(EncodedMessageTable.Frame frame) {
+        appendPending(frame.bytes(binaryFraming));
+    }
+    
+    private void appendPending(byte[] data) {
+        writeLock.lock();
+        try {
+            if (pendingLength + data.length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + data.length));
+            }
+            System.arraycopy(data, 0, pending, pendingLength, data.length);
+            pendingLength += data.length;
+            pendingMessages++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 쌓인 메시지를 소켓 쓰기 한 번으로 전송
+     */
+    public void flush() {
         if (writer != null) {
-            writer.println(message);
-            writer.flush();
+            writeLock.lock();
+            try {
+                if (pendingLength == 0) {
+                    return;
+                }
+                writer.write(pending, 0, pendingLength);
+                writer.flush();
+                IoMetrics.recordWrite();
+                IoMetrics.recordMessages(pendingMessages);
+            } catch (IOException e) {
+                // PrintWriter와 동일하게 송신 오류는 호출자에게 전파하지 않음 (최초 1회만 출력)
+                if (!writeFailed) {
+                    writeFailed = true;
+                    System.err.println("메시지 전송 실패: " + e.getMessage());
+                }
+            } finally {
+                pendingLength = 0;
+                pendingMessages = 0;
+                writeLock.unlock();
+            }
         }
     }
     
@@ -59,37 +293,185 @@ public class GameDataStreamManager {
      * @throws IOException 수신 실패 시
      */
     public String receiveMessage() throws IOException {
-        if (reader != null) {
-            return reader.readLine();
+        if (reader == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            if (!readerStarted.get()) {
+                setReadTimeout(0);
+                return readNext();
+            }
+            return unwrap(inbound.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lastWaitNanos = System.nanoTime() - start;
         }
-        return null;
     }
     
     /**
      * 문자열 메시지 수신 (타임아웃 설정)
+     * 수신 스레드가 있으면 소켓 옵션을 바꾸지 않고 수신 큐에서 기한까지 기다림
+     * 없으면 소켓에서 직접 읽으며, SO_TIMEOUT은 직전 제한 시간과 다를 때만 바꿈
      * @param timeoutMillis 타임아웃 시간 (밀리초)
-     * @return 수신한 메시지 (타임아웃 시 null)
+     * @return 수신한 메시지 (타임아웃 또는 연결 종료 시 null)
      * @throws IOException 수신 실패 시
      */
     public String receiveMessage(int timeoutMillis) throws IOException {
-        if (reader != null) {
-            try {
-                // 소켓 타임아웃 설정
-                int originalTimeout = socket.getSoTimeout();
-                socket.setSoTimeout(timeoutMillis);
-                
-                String message = reader.readLine();
-                
-                // 원래 타임아웃으로 복원
-                socket.setSoTimeout(originalTimeout);
-                
-                return message;
-            } catch (SocketTimeoutException e) {
-                System.out.println("메시지 수신 타임아웃 (" + timeoutMillis + "ms)");
+        if (reader == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        String message;
+        try {
+            if (readerStarted.get()) {
+                message = inbound.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                setReadTimeout(timeoutMillis);
+                // 제한 시간이 메시지 중간에 끝나도 읽은 바이트는 버퍼에 남아 다음 수신에서 이어짐
+                message = readNext();
+                if (message == null) {
+                    // 연결 종료
+                    lastWaitNanos = System.nanoTime() - start;
+                    return null;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            message = null;
+        } catch (InterruptedException e) {
+            lastWaitNanos = System.nanoTime() - start;
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        lastWaitNanos = System.nanoTime() - start;
+        if (message == null) {
+            System.out.printf("메시지 수신 타임아웃 (%dms, 실제 대기 %.3fms)%n",
+                timeoutMillis, lastWaitNanos / 1_000_000.0);
+            return null;
+        }
+        return unwrap(message);
+    }
+    
+    private void setReadTimeout(int timeoutMillis) throws IOException {
+        if (readTimeout != timeoutMillis) {
+            socket.setSoTimeout(timeoutMillis);
+            readTimeout = timeoutMillis;
+        }
+    }
+    
+    /**
+     * 마지막 receiveMessage 호출이 기다린 시간
+     * @return 대기 시간 (나노초)
+     */
+    public long getLastWaitNanos() {
+        return lastWaitNanos;
+    }
+    
+    private String unwrap(String message) {
+        if (message == CLOSED) {
+            // 다른 대기자도 종료를 볼 수 있도록 표식을 되돌려 놓음
+            inbound.offer(CLOSED);
+            return null;
+        }
+        return message;
+    }
+    
+    /**
+     * 다음 메시지 하나를 읽음 (현재 프레이밍 방식에 따라 줄 또는 바이너리 프레임)
+     * @return 메시지 (연결 종료 시 null)
+     */
+    private String readNext() throws IOException {
+        return binaryFraming ? readFrame() : readLine();
+    }
+    
+    private String readLine() throws IOException {
+        while (true) {
+            int b = reader.read();
+            if (b == -1) {
                 return null;
             }
+            if (b == '\n') {
+                int length = readLength;
+                if (length > 0 && readBuffer[length - 1] == '\r') {
+                    length--;
+                }
+                readLength = 0;
+                return new String(readBuffer, 0, length, StandardCharsets.UTF_8);
+            }
+            if (readLength == MAX_MESSAGE_LENGTH) {
+                // 줄 끝 없이 계속 들어오는 입력 - 버퍼를 키우지 않고 연결을 끊음
+                throw closeOversized(readLength + 1);
+            }
+            if (readLength == readBuffer.length) {
+                readBuffer = Arrays.copyOf(readBuffer, readBuffer.length * 2);
+            }
+            readBuffer[readLength++] = (byte) b;
         }
-        return null;
+    }
+    
+    private String readFrame() throws IOException {
+        while (true) {
+            // 길이 헤더(2바이트)를 먼저 채운 뒤 본문을 채움
+            int target = frameLength < 0 ? 2 : frameLength;
+            while (readLength < target) {
+                int n = reader.read(readBuffer, readLength, target - readLength);
+                if (n == -1) {
+                    return null;
+                }
+                readLength += n;
+            }
+            
+            if (frameLength < 0) {
+                frameLength = ((readBuffer[0] & 0xFF) << 8) | (readBuffer[1] & 0xFF);
+                readLength = 0;
+                if (frameLength == 0) {
+                    throw closeOnError(new ProtocolException("잘못된 프레임 길이: 0"));
+                }
+                if (frameLength > MAX_MESSAGE_LENGTH) {
+                    throw closeOversized(frameLength);
+                }
+                if (readBuffer.length < frameLength) {
+                    readBuffer = new byte[frameLength];
+                }
+                continue;
+            }
+            
+            String message;
+            try {
+                message = BinaryProtocol.decode(readBuffer, 0, frameLength);
+            } catch (ProtocolException e) {
+                // 프레임 경계를 더 믿을 수 없으므로 이어 읽지 않고 연결을 끊음
+                throw closeOnError(e);
+            }
+            frameLength = -1;
+            readLength = 0;
+            return message;
+        }
+    }
+    
+    /**
+     * 최대 길이를 넘는 메시지를 보낸 연결을 끊음
+     * @param length 메시지 길이 (바이트)
+     * @return 수신 루프에 던질 예외
+     */
+    private IOException closeOversized(int length) {
+        return closeOnError(new IOException("메시지 길이 초과: " + length + "바이트 (최대 " + MAX_MESSAGE_LENGTH + ")"));
+    }
+    
+    /**
+     * 수신 형식을 어긴 연결을 끊음
+     * @param error 끊는 이유
+     * @return 수신 루프에 던질 예외 (error)
+     */
+    private IOException closeOnError(IOException error) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 이미 끊어진 연결
+        }
+        return error;
     }
     
     /**
@@ -107,6 +489,7 @@ public class GameDataStreamManager {
     
     /**
      * 객체 수신 (역직렬화)
+     * 수신 스레드가 시작된 뒤에는 스트림을 공유하므로 사용할 수 없음
      * @return 수신한 객체
      * @throws IOException 수신 실패 시
      * @throws ClassNotFoundException 클래스를 찾을 수 없을 때
@@ -135,11 +518,12 @@ public class GameDataStreamManager {
     
     /**
      * 바이트 배열 수신
+     * 수신 스레드가 시작된 뒤에는 스트림을 공유하므로 사용할 수 없음
      * @return 수신한 데이터
      * @throws IOException 수신 실패 시
      */
     public byte[] receiveBytes() throws IOException {
-        InputStream in = socket.getInputStream();
+        InputStream in = reader;
         // 먼저 데이터 길이 수신
         DataInputStream dataIn = new DataInputStream(in);
         int length = dataIn.readInt();
@@ -192,6 +576,9 @@ public class GameDataStreamManager {
      * @throws IOException 종료 실패 시
      */
     public void close() throws IOException {
+        // 아직 보내지 않은 메시지 전송
+        flush();
+        
         // 스트림 종료
         if (reader != null) {
             reader.close();
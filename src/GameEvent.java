@@ -0,0 +1,55 @@
+/*
+ * 경기 진행 중 발생하는 이벤트 (불변 레코드)
+ * 투구 -> 판정 -> 상태 갱신 -> 프로토콜 전송까지 같은 객체가 그대로 전달되며,
+ * encode()가 클라이언트로 보낼 텍스트 프로토콜 메시지를 만듦
+ */
+public sealed interface GameEvent {
+
+    /**
+     * GameProtocol 형식의 메시지로 변환
+     */
+    String encode();
+
+    /**
+     * 공개된 투구 (구종과 생성된 구속)
+     */
+    record Pitch(PitchType type, int speed) implements GameEvent {
+        public Pitch {
+            if (type == null) {
+                throw new IllegalArgumentException("구종이 없음");
+            }
+        }
+
+        @Override
+        public String encode() {
+            return GameProtocol.Builder.buildPitchInfo(type, speed);
+        }
+    }
+
+    /**
+     * 투구 하나의 판정 결과
+     * @param pitch 판정한 투구 (투구 시간 초과로 판정한 경우 null)
+     * @param swing 타자의 스윙 여부
+     * @param outcome 판정 결과 (STRIKE ~ OUT)
+     * @param message 상세 메시지
+     */
+    record Judgement(Pitch pitch, boolean swing, Outcome outcome, String message) implements GameEvent {
+        @Override
+        public String encode() {
+            return GameProtocol.Builder.buildResult(outcome, message);
+        }
+    }
+
+    /**
+     * 카운트로 정해진 타석 결과 (삼진, 볼넷)
+     */
+    record AtBatEnd(Outcome outcome) implements GameEvent {
+        public static final AtBatEnd STRIKEOUT = new AtBatEnd(Outcome.STRIKEOUT);
+        public static final AtBatEnd WALK = new AtBatEnd(Outcome.WALK);
+
+        @Override
+        public String encode() {
+            return GameProtocol.Builder.buildResult(outcome, outcome.text());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * 게임 진행용 이벤트 루프
+ * 스레드 하나가 여러 게임의 수신 메시지 이벤트와 타이머 이벤트를 차례로 처리
+ * 게임 상태는 이 루프 스레드에서만 변경되므로 별도의 동기화가 필요 없음
+ * 지연 작업은 서버 공용 HashedWheelTimer가 만료 시 이 루프에 넘겨 줌
+ */
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class GameEventLoop {
+    private final ThreadPoolExecutor executor;
+    private final HashedWheelTimer timer;
+    private volatile Thread loopThread;
+
+    /**
+     * @param name 루프 스레드 이름
+     * @param timer 지연 작업과 입력 마감에 사용할 공용 타이머
+     */
+    public GameEventLoop(String name, HashedWheelTimer timer) {
+        this.timer = timer;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                loopThread = thread;
+                return thread;
+            });
+    }
+
+    /**
+     * 루프 스레드에서 작업 실행
+     * @param task 실행할 작업
+     */
+    public void execute(Runnable task) {
+        try {
+            executor.execute(guard(task));
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중 늦게 도착한 이벤트 (연결 종료 통지 등)는 버림
+            if (!executor.isShutdown()) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 지정한 시간 뒤 루프 스레드에서 작업 실행
+     * @param task 실행할 작업
+     * @param delayMillis 지연 시간 (밀리초)
+     * @return 취소용 핸들
+     */
+    public HashedWheelTimer.Timeout schedule(Runnable task, long delayMillis) {
+        return timer.newTimeout(() -> execute(task), delayMillis);
+    }
+
+    /**
+     * 현재 스레드가 루프 스레드인지 확인
+     */
+    public boolean inLoop() {
+        return Thread.currentThread() == loopThread;
+    }
+
+    /**
+     * 실행 대기 중인 작업 수 (아직 만료되지 않은 타이머 제외)
+     */
+    public int getPendingTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 남은 작업을 버리고 루프 종료 (실행 중인 작업은 최대 1초까지 끝나기를 기다림)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 작업 하나의 예외가 루프 전체를 멈추지 않도록 감쌈
+     * (예외가 스레드 밖으로 나가면 실행기가 루프 스레드를 새로 만들어 inLoop 판정이 바뀜)
+     */
+    private static Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("[이벤트 루프] 작업 오류: " + e.getMessage());
+                e.printStackTrace();
+            }
+        };
+    }
+}
@@ -2,12 +2,16 @@
  * 서버-클라이언트 간 통신 프로토콜 정의
  * 모든 메시지 형식을 상수로 관리하여 일관성 유지
  */
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public class GameProtocol { 
     
     // ===== 연결 및 초기화 관련 =====
     public static final String CONNECT_REQUEST = "CONNECT";
     public static final String CONNECT_SUCCESS = "CONNECT:SUCCESS";
     public static final String CONNECT_FAIL = "CONNECT:FAIL";
+    public static final String CONNECT_BINARY = "CONNECT:BINARY"; // 바이너리 프레임 협상 요청 (BinaryProtocol)
     
     // ===== 닉네임 및 캐릭터 설정 =====
     public static final String SET_NICKNAME = "NICKNAME:";  // + nickname
@@ -60,7 +64,7 @@ public class GameProtocol {
     
     // ===== 게임 상태 =====
     public static final String COUNT_UPDATE = "COUNT:"; // + strikes:balls:outs
-    public static final String SCORE_UPDATE = "SCORE:"; // + home_score:away_score
+    public static final String SCORE_UPDATE = "SCORE:"; // + home_score:away_score[:win_permille:expected_runs_x100]
     
     // ===== 게임 종료 =====
     public static final String GAME_END = "GAME:END";
@@ -107,8 +111,29 @@ public class GameProtocol {
          * @return 구종 문자
          */
         public static char getPitchType(String pitchMessage) {
-            String data = getData(pitchMessage);
-            return data.length() > 0 ? data.charAt(0) : ' ';
+            if (pitchMessage == null) return ' ';
+            int colonIndex = pitchMessage.indexOf(':');
+            return colonIndex >= 0 && colonIndex < pitchMessage.length() - 1
+                ? pitchMessage.charAt(colonIndex + 1)
+                : ' ';
+        }
+        
+        /**
+         * 구종 추출
+         * @param pitchMessage PITCH:X 형태의 메시지
+         * @return 구종 (형식이 맞지 않거나 알 수 없는 구종이면 null)
+         */
+        public static PitchType parsePitchType(String pitchMessage) {
+            return PitchType.fromCode(getPitchType(pitchMessage));
+        }
+        
+        /**
+         * 판정 결과 추출 (문자열을 만들거나 해시하지 않음)
+         * @param resultMsg RESULT:type:message 형태
+         * @return 판정 결과 (형식이 맞지 않거나 알 수 없는 결과면 null)
+         */
+        public static Outcome parseResult(String resultMsg) {
+            return Outcome.parseResult(resultMsg);
         }
         
         /**
@@ -127,13 +152,11 @@ public class GameProtocol {
          * @return [strikes, balls, outs] 배열
          */
         public static int[] parseCount(String countMsg) {
-            String data = getData(countMsg);
-            String[] parts = data.split(":");
-            return new int[] {
-                Integer.parseInt(parts[0]),
-                Integer.parseInt(parts[1]),
-                Integer.parseInt(parts[2])
-            };
+            int[] count = new int[3];
+            if (!parseCount(countMsg, count)) {
+                throw new NumberFormatException("잘못된 카운트 메시지: " + countMsg);
+            }
+            return count;
         }
         
         /**
@@ -142,12 +165,150 @@ public class GameProtocol {
          * @return [home_score, away_score] 배열
          */
         public static int[] parseScore(String scoreMsg) {
-            String data = getData(scoreMsg);
-            String[] parts = data.split(":");
-            return new int[] {
-                Integer.parseInt(parts[0]),
-                Integer.parseInt(parts[1])
-            };
+            int[] score = new int[2];
+            if (!parseScore(scoreMsg, score)) {
+                throw new NumberFormatException("잘못된 점수 메시지: " + scoreMsg);
+            }
+            return score;
+        }
+        
+        // ===== 할당 없는 파서 =====
+        // 부분 문자열, split 배열, Integer 파싱 없이 원문에서 바로 필드를 읽어
+        // 호출자가 넘긴 배열에 채움 (메시지마다 객체를 만들지 않음)
+        
+        /**
+         * 카운트 정보 파싱 (할당 없음)
+         * @param countMsg COUNT:S:B:O 형태
+         * @param out [strikes, balls, outs]를 채울 배열
+         * @return 파싱 성공 여부
+         */
+        public static boolean parseCount(CharSequence countMsg, int[] out) {
+            return parseIntFields(countMsg, dataStart(countMsg), out, 0, 3) >= 0;
+        }
+        
+        /**
+         * 점수 정보 파싱 (할당 없음, 뒤에 붙은 추가 필드는 무시)
+         * @param scoreMsg SCORE:home:away 형태
+         * @param out [home_score, away_score]를 채울 배열
+         * @return 파싱 성공 여부
+         */
+        public static boolean parseScore(CharSequence scoreMsg, int[] out) {
+            return parseIntFields(scoreMsg, dataStart(scoreMsg), out, 0, 2) >= 0;
+        }
+        
+        /**
+         * 점수와 승리 확률/기대 득점 파싱 (할당 없음)
+         * @param scoreMsg SCORE:home:away:win:runs 형태 (win은 천분율, runs는 기대 득점 x 100)
+         * @param out [home_score, away_score, win, runs]를 채울 배열
+         * @return 네 필드가 모두 있으면 true (점수만 있는 이전 형식이면 false)
+         */
+        public static boolean parseScoreDetail(CharSequence scoreMsg, int[] out) {
+            return parseIntFields(scoreMsg, dataStart(scoreMsg), out, 0, 4) >= 0;
+        }
+
+        /**
+         * 투구 정보 파싱 (할당 없음)
+         * @param pitchInfo PITCH_INFO:X:speed 형태
+         * @param out [구종 문자 코드, 구속]을 채울 배열
+         * @return 파싱 성공 여부
+         */
+        public static boolean parsePitchInfo(CharSequence pitchInfo, int[] out) {
+            int start = dataStart(pitchInfo);
+            if (start < 0 || start + 2 >= pitchInfo.length() || pitchInfo.charAt(start + 1) != ':') {
+                return false;
+            }
+            out[0] = pitchInfo.charAt(start);
+            return parseIntFields(pitchInfo, start + 2, out, 1, 1) >= 0;
+        }
+        
+        /**
+         * 카운트 정보 파싱 (할당 없음, UTF-8/ASCII 바이트)
+         * position~limit 구간을 읽으며 버퍼의 position은 바꾸지 않음
+         */
+        public static boolean parseCount(ByteBuffer countMsg, int[] out) {
+            return parseIntFields(countMsg, dataStart(countMsg), out, 0, 3) >= 0;
+        }
+        
+        /**
+         * 점수 정보 파싱 (할당 없음, UTF-8/ASCII 바이트)
+         */
+        public static boolean parseScore(ByteBuffer scoreMsg, int[] out) {
+            return parseIntFields(scoreMsg, dataStart(scoreMsg), out, 0, 2) >= 0;
+        }
+        
+        /**
+         * 투구 정보 파싱 (할당 없음, UTF-8/ASCII 바이트)
+         */
+        public static boolean parsePitchInfo(ByteBuffer pitchInfo, int[] out) {
+            int start = dataStart(pitchInfo);
+            if (start < 0 || start + 2 >= pitchInfo.limit() || pitchInfo.get(start + 1) != ':') {
+                return false;
+            }
+            out[0] = pitchInfo.get(start) & 0xFF;
+            return parseIntFields(pitchInfo, start + 2, out, 1, 1) >= 0;
+        }
+        
+        /**
+         * 첫 번째 콜론 다음 위치 반환
+         * @return 데이터 시작 위치 (콜론이 없으면 -1)
+         */
+        private static int dataStart(CharSequence message) {
+            if (message == null) return -1;
+            for (int i = 0; i < message.length(); i++) {
+                if (message.charAt(i) == ':') return i + 1;
+            }
+            return -1;
+        }
+        
+        private static int dataStart(ByteBuffer message) {
+            for (int i = message.position(); i < message.limit(); i++) {
+                if (message.get(i) == ':') return i + 1;
+            }
+            return -1;
+        }
+        
+        /**
+         * 콜론으로 구분된 음이 아닌 정수 필드를 차례로 읽음
+         * @return 마지막 필드 다음 위치 (실패 시 -1)
+         */
+        private static int parseIntFields(CharSequence s, int pos, int[] out, int outOffset, int count) {
+            if (pos < 0) return -1;
+            int length = s.length();
+            for (int f = 0; f < count; f++) {
+                int value = 0;
+                int digits = 0;
+                while (pos < length && s.charAt(pos) != ':') {
+                    int d = s.charAt(pos) - '0';
+                    if (d < 0 || d > 9) return -1;
+                    value = value * 10 + d;
+                    digits++;
+                    pos++;
+                }
+                if (digits == 0) return -1;
+                out[outOffset + f] = value;
+                pos++; // 구분자 건너뜀
+            }
+            return pos;
+        }
+        
+        private static int parseIntFields(ByteBuffer s, int pos, int[] out, int outOffset, int count) {
+            if (pos < 0) return -1;
+            int limit = s.limit();
+            for (int f = 0; f < count; f++) {
+                int value = 0;
+                int digits = 0;
+                while (pos < limit && s.get(pos) != ':') {
+                    int d = s.get(pos) - '0';
+                    if (d < 0 || d > 9) return -1;
+                    value = value * 10 + d;
+                    digits++;
+                    pos++;
+                }
+                if (digits == 0) return -1;
+                out[outOffset + f] = value;
+                pos++; // 구분자 건너뜀
+            }
+            return pos;
         }
     }
     
@@ -172,6 +333,14 @@ public class GameProtocol {
             return PITCH_INFO + pitchType + ":" + speed;
         }
         
+        public static String buildPitch(PitchType pitchType) {
+            return buildPitch(pitchType.code());
+        }
+        
+        public static String buildPitchInfo(PitchType pitchType, int speed) {
+            return buildPitchInfo(pitchType.code(), speed);
+        }
+        
         public static String buildCount(int strikes, int balls, int outs) {
             return COUNT_UPDATE + strikes + ":" + balls + ":" + outs;
         }
@@ -180,6 +349,14 @@ public class GameProtocol {
             return SCORE_UPDATE + homeScore + ":" + awayScore;
         }
         
+        /**
+         * @param winPermille 받는 쪽의 승리 확률 (천분율)
+         * @param expectedRunsX100 이번 반 이닝에 남은 공격 팀 기대 득점 x 100
+         */
+        public static String buildScore(int homeScore, int awayScore, int winPermille, int expectedRunsX100) {
+            return SCORE_UPDATE + homeScore + ":" + awayScore + ":" + winPermille + ":" + expectedRunsX100;
+        }
+        
         public static String buildInning(int inning) {
             return INNING_START + inning;
         }
@@ -188,6 +365,10 @@ public class GameProtocol {
             return "RESULT:" + resultType + ":" + message;
         }
         
+        public static String buildResult(Outcome outcome, String message) {
+            return buildResult(outcome.name(), message);
+        }
+        
         public static String buildError(String errorMessage) {
             return ERROR + errorMessage;
         }
@@ -220,5 +401,73 @@ public class GameProtocol {
         System.out.println("\n원본: " + countMsg);
         int[] count = Parser.parseCount(countMsg);
         System.out.println("스트라이크: " + count[0] + ", 볼: " + count[1] + ", 아웃: " + count[2]);
+        
+        // 할당 없는 파서 테스트
+        System.out.println("\n3. 할당 없는 파서 테스트");
+        int[] fields = new int[3];
+        ByteBuffer countBytes = ByteBuffer.wrap(countMsg.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer scoreBytes = ByteBuffer.wrap("SCORE:3:12".getBytes(StandardCharsets.UTF_8));
+        String scoreMsg = "SCORE:3:12";
+        
+        SelfTest.check("parseCount(CharSequence)", Parser.parseCount(countMsg, fields) && fields[0] == 2 && fields[1] == 1 && fields[2] == 0);
+        SelfTest.check("parseScore(CharSequence)", Parser.parseScore(scoreMsg, fields) && fields[0] == 3 && fields[1] == 12);
+        SelfTest.check("parsePitchInfo(CharSequence)", Parser.parsePitchInfo(pitchInfo, fields) && fields[0] == 'S' && fields[1] == 150);
+        SelfTest.check("parseCount(ByteBuffer)", Parser.parseCount(countBytes, fields) && fields[0] == 2 && fields[2] == 0);
+        SelfTest.check("parseScore(ByteBuffer)", Parser.parseScore(scoreBytes, fields) && fields[1] == 12);
+        SelfTest.check("parseScoreDetail", Parser.parseScoreDetail(Builder.buildScore(3, 12, 625, 87), new int[4])
+            && Parser.parseScore(Builder.buildScore(3, 12, 625, 87), fields) && fields[0] == 3 && fields[1] == 12
+            && !Parser.parseScoreDetail(scoreMsg, new int[4]));
+        SelfTest.check("잘못된 메시지 거부", !Parser.parseCount("COUNT:2:x:0", fields) && !Parser.parseScore("SCORE:", fields));
+        
+        // 할당량 측정: JIT 워밍업 후 메시지 100만 개 파싱 동안 스레드 할당 바이트가 0인지 확인
+        int iterations = 1_000_000;
+        
+        for (int round = 0; round < 3; round++) {
+            parseAllocationFree(countMsg, scoreMsg, pitchInfo, countBytes, fields, iterations);
+            parseLegacy(countMsg, scoreMsg, pitchInfo, iterations / 10);
+        }
+        
+        long baseline = SelfTest.allocationOverhead();
+        
+        long before = SelfTest.allocatedBytes();
+        int sum = parseAllocationFree(countMsg, scoreMsg, pitchInfo, countBytes, fields, iterations);
+        long allocated = SelfTest.allocatedBytes() - before - baseline;
+        
+        before = SelfTest.allocatedBytes();
+        sum += parseLegacy(countMsg, scoreMsg, pitchInfo, iterations);
+        long legacyAllocated = SelfTest.allocatedBytes() - before - baseline;
+        
+        System.out.println("기존 파서 할당량: " + (legacyAllocated / iterations) + " 바이트 (COUNT+SCORE+PITCH_INFO 1세트당)");
+        System.out.println("새 파서 할당량: " + allocated + " 바이트 (" + iterations + "회)");
+        SelfTest.check("할당 없음", allocated == 0);
+        if (sum == 42) System.out.print(""); // 결과 사용 (JIT 제거 방지)
+    }
+    
+    private static int parseAllocationFree(String countMsg, String scoreMsg, String pitchInfo,
+                                           ByteBuffer countBytes, int[] fields, int iterations) {
+        int sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            Parser.parseCount(countMsg, fields);
+            sum += fields[0];
+            Parser.parseScore(scoreMsg, fields);
+            sum += fields[1];
+            Parser.parsePitchInfo(pitchInfo, fields);
+            sum += fields[1];
+            Parser.parseCount(countBytes, fields);
+            sum += fields[2];
+        }
+        return sum;
+    }
+    
+    private static int parseLegacy(String countMsg, String scoreMsg, String pitchInfo, int iterations) {
+        int sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            String[] countParts = Parser.getData(countMsg).split(":");
+            sum += Integer.parseInt(countParts[0]);
+            String[] scoreParts = Parser.getData(scoreMsg).split(":");
+            sum += Integer.parseInt(scoreParts[1]);
+            sum += Parser.parsePitchInfo(pitchInfo).length;
+        }
+        return sum;
     }
 }
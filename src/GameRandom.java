@@ -0,0 +1,110 @@
+/*
+ * 게임 한 판에서 사용하는 난수 스트림
+ * SplittableRandom 기반이라 java.util.Random과 달리 호출마다 원자적 갱신(CAS)이 없고,
+ * 게임마다 고유한 시드를 가지므로 같은 시드와 같은 입력이면 경기 전체의 판정이 그대로 재현됨
+ *
+ * 게임 상태처럼 한 스레드(게임 이벤트 루프 또는 게임 스레드)에서만 사용해야 함
+ * 역할 배정, 구속 생성, 판정은 split()으로 나눈 독립 스트림을 각각 사용
+ */
+import java.util.SplittableRandom;
+
+public final class GameRandom {
+
+    // 게임 시드를 뽑는 서버 전체 스트림 (게임 시작 시에만 잠금)
+    private static SplittableRandom seedSource = new SplittableRandom();
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * 지정한 시드로 난수 스트림 생성 (벤치마크, 테스트, 경기 재현용)
+     * @param seed 시드
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private GameRandom(long seed, SplittableRandom random) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /**
+     * 새 게임용 난수 스트림 생성 (서버 시드 스트림에서 다음 시드를 뽑음)
+     * @return 게임 고유 시드를 가진 스트림
+     */
+    public static GameRandom forNewGame() {
+        long gameSeed;
+        synchronized (GameRandom.class) {
+            gameSeed = seedSource.nextLong();
+        }
+        return new GameRandom(gameSeed);
+    }
+
+    /**
+     * 기준 시드와 게임 번호로 게임 스트림 생성 (시뮬레이션처럼 여러 스레드가 게임을 나눠 실행할 때
+     * 어느 스레드가 몇 번째로 실행하든 같은 번호의 게임은 같은 시드를 가짐)
+     * @param rootSeed 기준 시드
+     * @param gameIndex 게임 번호
+     * @return 게임 스트림
+     */
+    public static GameRandom derive(long rootSeed, long gameIndex) {
+        // 인접한 번호의 시드가 같은 수열을 밀어 놓은 꼴이 되지 않도록 섞음 (SplitMix64 마무리 함수)
+        long z = rootSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new GameRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * 서버 시드 고정 - 이후 시작되는 게임들의 시드 순서가 재현됨
+     * @param rootSeed 서버 시드
+     */
+    public static synchronized void seedGames(long rootSeed) {
+        seedSource = new SplittableRandom(rootSeed);
+    }
+
+    /**
+     * 이 스트림에서 파생된 독립 스트림 (부모의 진행 상태에 따라 결정됨)
+     * @return 새 스트림 (시드는 부모와 같게 표시)
+     */
+    public GameRandom split() {
+        return new GameRandom(seed, random.split());
+    }
+
+    /**
+     * 스트림을 만든 시드 (파생 스트림은 원래 게임의 시드)
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param bound 상한 (제외)
+     * @return 0 이상 bound 미만의 정수
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * @param origin 하한 (포함)
+     * @param bound 상한 (제외)
+     * @return origin 이상 bound 미만의 정수
+     */
+    public int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    /**
+     * @return 0.0 이상 1.0 미만의 실수
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
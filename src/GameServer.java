@@ -5,32 +5,107 @@
 import java.io.IOException;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameServer {
     private ServerSocket serverSocket;
     private List<ClientHandler> waitingClients;
     private RecordManager recordManager;
+    private WinExpectancy winExpectancy;
+    // 모든 투구를 남기는 저널 (열지 못하면 null, 기록 없이 진행)
+    private PitchJournal journal;
     private int port;
     private boolean isRunning;
+    // shutdown()은 main의 quit과 start()의 finally에서 모두 호출되므로 한 번만 실행
+    private final AtomicBoolean shutdownStarted = new AtomicBoolean(false);
     private int nextGameId = 1;
     
+    // 논블로킹(NIO) 모드 설정
+    private boolean nonBlocking;
+    private int eventLoopCount;
+    private NioConnectionEngine nioEngine;
+    
+    // 핸들러와 수신 루프를 실행하는 실행기 (플랫폼 스레드 또는 가상 스레드)
+    private ExecutorService executor;
+    
+    // 모든 게임의 상태 머신을 진행하는 이벤트 루프와 입력 마감용 공용 타이머
+    private HashedWheelTimer timer;
+    private GameEventLoop gameLoop;
+    
     public GameServer(int port) {
+        this(port, false, 0);
+    }
+    
+    public GameServer(int port, boolean nonBlocking, int eventLoopCount) {
+        this(port, nonBlocking, eventLoopCount, Executors.newCachedThreadPool());
+    }
+    
+    /**
+     * @param port 서버 포트
+     * @param nonBlocking true면 Selector 이벤트 루프로 연결 처리, false면 기존 스레드-per-연결 방식
+     *                    (블로킹 모드는 연결마다 수신 루프 스레드 하나를 유지)
+     * @param eventLoopCount 논블로킹 모드의 이벤트 루프 수 (0 이하면 CPU 코어 수)
+     * @param executor ClientHandler와 연결 수신 루프를 실행할 실행기
+     */
+    public GameServer(int port, boolean nonBlocking, int eventLoopCount, ExecutorService executor) {
+        this(port, nonBlocking, eventLoopCount, executor, new RecordManager("game_records.dat"));
+    }
+    
+    /**
+     * @param recordManager 전적 저장소 (스냅샷+로그 방식 또는 메모리 매핑 방식)
+     */
+    public GameServer(int port, boolean nonBlocking, int eventLoopCount, ExecutorService executor,
+                      RecordManager recordManager) {
         this.port = port;
         this.waitingClients = Collections.synchronizedList(new ArrayList<>());
-        this.recordManager = new RecordManager("game_records.dat");
+        this.recordManager = recordManager;
+        this.winExpectancy = WinExpectancy.loadOrCompute("win_expectancy.dat");
+        try {
+            this.journal = PitchJournal.open("pitch_journal.dat");
+            // 재시작해도 저널의 게임 번호가 겹치지 않도록 이어서 부여
+            this.nextGameId = (int) journal.lastGameId() + 1;
+        } catch (IOException e) {
+            System.err.println("[오류] 투구 저널 열기 실패, 저널 없이 진행: " + e.getMessage());
+        }
         this.isRunning = true;
+        this.nonBlocking = nonBlocking;
+        this.eventLoopCount = eventLoopCount > 0 ? eventLoopCount : Runtime.getRuntime().availableProcessors();
+        this.executor = executor;
+        this.timer = new HashedWheelTimer("game-timer", 10, 512);
+        this.gameLoop = new GameEventLoop("game-loop", timer);
+    }
+    
+    /**
+     * 작업마다 가상 스레드를 만드는 실행기 생성
+     * 가상 스레드를 지원하지 않는 JDK(21 미만)에서는 플랫폼 스레드 풀로 대체
+     * @return 실행기
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("[경고] 가상 스레드를 지원하지 않는 JDK입니다. 플랫폼 스레드로 실행합니다.");
+            return Executors.newCachedThreadPool();
+        }
     }
     
     /**
      * 서버 시작
      */
     public void start() {
+        if (nonBlocking) {
+            startNonBlocking();
+            return;
+        }
+        
         try {
             serverSocket = new ServerSocket(port);
-            System.out.println("╔════════════════════════════════════════╗");
-            System.out.println("║     Hit & Run 게임 서버 시작됨        ║");
-            System.out.println("║     포트: " + port + "                        ║");
-            System.out.println("╚════════════════════════════════════════╝");
+            printBanner("블로킹");
             
             // 클라이언트 접속 대기
             while (isRunning) {
@@ -40,7 +115,7 @@ public class GameServer {
                     
                     // 클라이언트 핸들러 생성
                     ClientHandler handler = new ClientHandler(clientSocket, this);
-                    handler.start();
+                    executor.execute(handler);
                     
                 } catch (IOException e) {
                     if (isRunning) {
@@ -55,6 +130,34 @@ public class GameServer {
         }
     }
     
+    /**
+     * 논블로킹 모드 서버 시작
+     * 이벤트 루프가 모든 연결을 소유하고, ClientHandler는 스레드 대신 콜백으로 동작
+     */
+    private void startNonBlocking() {
+        nioEngine = new NioConnectionEngine(port, eventLoopCount, connection -> {
+            System.out.println("\n[연결] 새로운 클라이언트: " + connection.getRemoteAddress());
+            connection.setListener(new ClientHandler(connection, this));
+        });
+        
+        try {
+            printBanner("논블로킹, 이벤트 루프 " + eventLoopCount + "개");
+            nioEngine.start();
+        } catch (IOException e) {
+            System.err.println("[오류] 서버 채널 생성 실패: " + e.getMessage());
+        } finally {
+            shutdown();
+        }
+    }
+    
+    private void printBanner(String mode) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║     Hit & Run 게임 서버 시작됨        ║");
+        System.out.println("║     포트: " + port + "                        ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.println("  모드: " + mode);
+    }
+    
     /**
      * 매칭 대기열에 클라이언트 추가
      */
@@ -84,8 +187,8 @@ public class GameServer {
      * 게임 시작
      */
     private void startGame(ClientHandler player1, ClientHandler player2) {
-        // 랜덤으로 역할 배정
-        Random random = new Random();
+        // 게임 고유 시드의 난수 스트림으로 역할 배정 (시드가 같으면 경기 전체 재현 가능)
+        GameRandom random = GameRandom.forNewGame();
         boolean player1IsPitcher = random.nextBoolean();
         
         ClientHandler pitcher = player1IsPitcher ? player1 : player2;
@@ -93,21 +196,24 @@ public class GameServer {
         
         int gameId = nextGameId++;
         
-        System.out.println("[게임 " + gameId + "] 시작");
+        System.out.println("[게임 " + gameId + "] 시작 (시드 " + random.getSeed() + ")");
         System.out.println("  투수: " + pitcher.getNickname());
         System.out.println("  타자: " + batter.getNickname());
         
-        // 게임 스레드 생성 및 시작
-        EnhancedGameThread gameThread = new EnhancedGameThread(
-            gameId, pitcher, batter, recordManager
+        // 게임 생성 후 이벤트 루프에서 시작
+        EnhancedGameThread game = new EnhancedGameThread(
+            gameId, pitcher, batter, recordManager, winExpectancy, journal, gameLoop, random
         );
-        gameThread.start();
+        game.start();
     }
     
     /**
      * 서버 종료
      */
     public void shutdown() {
+        if (!shutdownStarted.compareAndSet(false, true)) {
+            return;
+        }
         isRunning = false;
         
         System.out.println("\n[종료] 서버를 종료합니다...");
@@ -128,10 +234,29 @@ public class GameServer {
         } catch (IOException e) {
             System.err.println("[오류] 서버 소켓 종료 실패: " + e.getMessage());
         }
+        if (nioEngine != null) {
+            nioEngine.shutdown();
+        }
+        
+        // 새 작업 접수 중단 (연결 수신 루프는 인터럽트하지 않음)
+        executor.shutdown();
+        // 진행 중인 게임의 이벤트와 타이머 중단 (이후에는 게임 결과가 전적에 기록되지 않음)
+        timer.stop();
+        gameLoop.shutdown();
         
-        // 전적 저장
+        // 전적 저장 (대기 중인 변경까지 스냅샷에 반영하고 로그 기록 스레드 종료)
         recordManager.saveRecords();
+        recordManager.close();
         
+        // 남은 투구 기록을 파일에 쓰고 닫기
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("[오류] 투구 저널 닫기 실패: " + e.getMessage());
+            }
+        }
+
         System.out.println("[종료] 서버가 종료되었습니다.");
     }
     
@@ -142,11 +267,66 @@ public class GameServer {
         return recordManager;
     }
     
+    /**
+     * 연결 수신 루프와 게임을 실행하는 실행기 반환
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * 서버 공용 타이머 반환
+     */
+    public HashedWheelTimer getTimer() {
+        return timer;
+    }
+    
     // 메인 메서드
     public static void main(String[] args) {
         final int PORT = 9999;
         
-        GameServer server = new GameServer(PORT);
+        // --nio [이벤트 루프 수] : 논블로킹 모드로 실행 (기본은 블로킹 모드)
+        // --virtual : 핸들러와 게임 루프를 가상 스레드에서 실행
+        // --seed <값> : 게임 시드 순서를 고정 (부하 테스트, 경기 재현용)
+        // --mapped-records : 전적을 메모리 매핑 고정 폭 저장소(game_records.slots 등)에 기록
+        // --record-shards <수> : 전적 저장소의 샤드 수 (기본은 플레이어 수에 맞춤, 기존 저장소와 다르면 시작할 때 다시 나눔)
+        boolean nonBlocking = false;
+        boolean virtual = false;
+        boolean mappedRecords = false;
+        int recordShards = RecordManager.DEFAULT_SHARDS;
+        int loops = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--nio")) {
+                nonBlocking = true;
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                    loops = Integer.parseInt(args[++i]);
+                }
+            } else if (args[i].equals("--virtual")) {
+                virtual = true;
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                GameRandom.seedGames(Long.parseLong(args[++i]));
+            } else if (args[i].equals("--mapped-records")) {
+                mappedRecords = true;
+            } else if (args[i].equals("--record-shards") && i + 1 < args.length) {
+                recordShards = Integer.parseInt(args[++i]);
+            }
+        }
+        
+        RecordManager recordManager;
+        if (mappedRecords) {
+            try {
+                recordManager = RecordManager.openMapped("game_records");
+            } catch (IOException e) {
+                System.err.println("[오류] 전적 저장소 열기 실패: " + e.getMessage());
+                return;
+            }
+        } else {
+            recordManager = new RecordManager("game_records.dat", recordShards,
+                RecordManager.DEFAULT_MAX_BATCH, RecordManager.DEFAULT_MAX_DELAY_MILLIS);
+        }
+        
+        ExecutorService executor = virtual ? newVirtualThreadExecutor() : Executors.newCachedThreadPool();
+        GameServer server = new GameServer(PORT, nonBlocking, loops, executor, recordManager);
         
         // 서버 시작 (별도 스레드)
         new Thread(() -> server.start()).start();
@@ -173,6 +353,17 @@ public class GameServer {
                 case "status":
                     System.out.println("대기 중인 플레이어: " + server.waitingClients.size());
                     System.out.println("등록된 플레이어: " + server.recordManager.getTotalPlayers());
+                    System.out.println("전적 저장: " + server.recordManager.persistenceSummary());
+                    System.out.println("송신 I/O: " + IoMetrics.summary());
+                    System.out.println("예약된 타이머: " + server.timer.getPendingTimeouts());
+                    if (server.journal != null) {
+                        System.out.println("투구 저널: " + server.journal.summary());
+                    }
+                    System.out.println("활성 스레드: " + Thread.activeCount());
+                    if (server.executor instanceof ThreadPoolExecutor) {
+                        ThreadPoolExecutor pool = (ThreadPoolExecutor) server.executor;
+                        System.out.println("실행기 스레드: 작업 중 " + pool.getActiveCount() + " / 풀 " + pool.getPoolSize());
+                    }
                     break;
                     
                 case "records":
@@ -188,13 +379,30 @@ public class GameServer {
 
 /**
  * 클라이언트 핸들러 - 개별 클라이언트 연결 관리
+ * 블로킹 모드에서는 닉네임 등록까지만 run()을 실행하고 종료하며,
+ * 논블로킹 모드에서는 NioConnection의 콜백으로 동작
+ *
+ * 연결 소유권: 대기 중에는 핸들러가 수신 콜백을 받고, 게임이 시작되면 handOffTo()로 게임에 넘김
+ * 게임이 끝나면 returnFromGame()으로 돌려받아 재대결 요청(START:READY)을 기다리거나 연결을 닫음
+ *
+ * 핸드오프 후 플레이어마다 스레드가 남지 않는 것은 논블로킹 모드뿐임
+ * 블로킹 모드에서는 소켓을 읽는 수신 루프가 연결이 끊어질 때까지 실행기 스레드 하나를 차지함
+ * (핸들러 스레드만 없어져 플레이어당 2개에서 1개로 줄어듦, --virtual이면 이 스레드가 가상 스레드)
  */
-class ClientHandler extends Thread {
-    private Socket socket;
-    private GameDataStreamManager streamManager;
+class ClientHandler implements Runnable, NioConnection.Listener, MessageChannel.Receiver {
+    // 게임 종료 후 재대결 요청을 기다리는 시간 (밀리초)
+    private static final long REMATCH_WINDOW = 10000;
+    
+    private Socket socket; // 블로킹 모드에서만 사용
+    private MessageChannel channel;
     private GameServer server;
     private String nickname;
-    private boolean isConnected;
+    private volatile boolean isConnected;
+    private Thread runner;
+    
+    // 게임에서 돌려받은 뒤 재대결 요청 대기 중인지 여부와 대기 마감
+    private final AtomicBoolean awaitingRematch = new AtomicBoolean(false);
+    private volatile HashedWheelTimer.Timeout rematchTimeout;
     
     public ClientHandler(Socket socket, GameServer server) {
         this.socket = socket;
@@ -202,72 +410,225 @@ class ClientHandler extends Thread {
         this.isConnected = true;
         
         try {
-            this.streamManager = new GameDataStreamManager(socket);
+            GameDataStreamManager streamManager = new GameDataStreamManager(socket);
+            // 블로킹 소켓은 누군가 읽기에서 기다려야 하므로 수신 루프가 연결 수명 동안 스레드 하나를 씀
+            streamManager.startReader(server.getExecutor());
+            this.channel = streamManager;
         } catch (IOException e) {
             System.err.println("[오류] 스트림 초기화 실패: " + e.getMessage());
             isConnected = false;
         }
     }
     
+    public ClientHandler(NioConnection connection, GameServer server) {
+        this.channel = connection;
+        this.server = server;
+        this.isConnected = true;
+    }
+    
     @Override
     public void run() {
+        runner = Thread.currentThread();
         try {
-            // 닉네임 수신 대기
-            String nicknameMsg = streamManager.receiveMessage();
-            if (nicknameMsg != null && nicknameMsg.startsWith(GameProtocol.SET_NICKNAME)) {
-                nickname = GameProtocol.Parser.getData(nicknameMsg);
-                System.out.println("[접속] " + nickname + " 입장");
-                
-                // 플레이어 등록 (신규면 등록, 기존이면 무시)
-                server.getRecordManager().registerPlayer(nickname);
-                
-                // 매칭 대기열에 추가
-                server.addToWaitingList(this);
-                sendMessage(GameProtocol.WAITING_MATCH);
-                
-                // 매칭될 때까지 대기 (스레드 유지)
-                // 게임이 시작되면 EnhancedGameThread가 통신을 담당
-                while (isConnected && !socket.isClosed()) {
-                    Thread.sleep(1000);
-                }
+            // 닉네임 수신 대기 (바이너리 프레임 협상 요청이 먼저 올 수 있음)
+            String nicknameMsg = channel.receiveMessage();
+            if (GameProtocol.CONNECT_BINARY.equals(nicknameMsg)) {
+                acceptBinaryFraming();
+                nicknameMsg = channel.receiveMessage();
+            }
+            if (!handleNickname(nicknameMsg)) {
+                disconnect();
             }
+            // 이후 수신은 콜백으로 처리되므로 핸들러 스레드는 여기서 종료 (블로킹 모드의 수신 루프는 계속 실행)
             
         } catch (IOException e) {
             System.err.println("[오류] 클라이언트 핸들러 오류: " + e.getMessage());
-        } catch (InterruptedException e) {
-            // 정상적인 종료
+        } finally {
+            runner = null;
         }
     }
     
+    /**
+     * 바이너리 프레임 협상 수락
+     * 응답은 텍스트로 보내고, 그 이후부터 양쪽 모두 BinaryProtocol 프레임을 사용
+     */
+    private void acceptBinaryFraming() {
+        // 응답을 텍스트로 쌓은 뒤 전환하고 나서 전송 (클라이언트의 첫 프레임보다 전환이 먼저 일어남)
+        channel.queueMessage(GameProtocol.CONNECT_SUCCESS);
+        channel.enableBinaryFraming();
+        channel.flush();
+        System.out.println("[접속] 바이너리 프로토콜 협상 완료: " + channel.getRemoteAddress());
+    }
+    
+    /**
+     * 닉네임 메시지 처리 후 매칭 대기열에 등록
+     * @param nicknameMsg NICKNAME:xxx 형태의 메시지
+     * @return 처리 성공 여부
+     */
+    private boolean handleNickname(String nicknameMsg) {
+        if (nicknameMsg == null || !nicknameMsg.startsWith(GameProtocol.SET_NICKNAME)) {
+            return false;
+        }
+        
+        nickname = GameProtocol.Parser.getData(nicknameMsg);
+        System.out.println("[접속] " + nickname + " 입장");
+        
+        // 플레이어 등록 (신규면 등록, 기존이면 무시)
+        server.getRecordManager().registerPlayer(nickname);
+        
+        // 대기 중 연결 종료를 바로 감지하도록 수신 콜백 등록
+        channel.setReceiver(this);
+        if (!isConnected) {
+            return false;
+        }
+        
+        // 매칭 대기열에 추가
+        sendFrame(EncodedMessageTable.WAITING_MATCH);
+        server.addToWaitingList(this);
+        return true;
+    }
+    
+    /**
+     * 연결 소유권을 게임에 넘김 (이후 수신 메시지와 종료는 게임의 콜백으로 전달)
+     * @param game 게임의 수신 콜백
+     */
+    public void handOffTo(MessageChannel.Receiver game) {
+        channel.setReceiver(game);
+    }
+    
+    /**
+     * 게임이 끝난 연결을 돌려받음
+     * 제한 시간 안에 START:READY가 오면 다시 매칭 대기열에 넣고, 아니면 연결을 닫음
+     */
+    public void returnFromGame() {
+        if (!isConnected) {
+            return;
+        }
+        awaitingRematch.set(true);
+        channel.setReceiver(this);
+        rematchTimeout = server.getTimer().newTimeout(() -> {
+            if (awaitingRematch.compareAndSet(true, false)) {
+                System.out.println("[접속] " + getNickname() + " 재대결 대기 시간 만료 - 연결 종료");
+                disconnect();
+            }
+        }, REMATCH_WINDOW);
+    }
+    
+    /**
+     * 대기열/재대결 대기 중 수신 콜백 (수신 스레드 또는 이벤트 루프에서 호출됨)
+     */
+    @Override
+    public void onMessage(String message) {
+        if (GameProtocol.START_BUTTON.equals(message) && awaitingRematch.compareAndSet(true, false)) {
+            HashedWheelTimer.Timeout timeout = rematchTimeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            System.out.println("[매칭] " + getNickname() + " 재대결 요청");
+            sendFrame(EncodedMessageTable.WAITING_MATCH);
+            server.addToWaitingList(this);
+        }
+        // 대기 중 그 외 메시지는 무시
+    }
+    
+    /**
+     * 대기열/재대결 대기 중 연결 종료 콜백
+     */
+    @Override
+    public void onClose() {
+        if (isConnected) {
+            isConnected = false;
+            awaitingRematch.set(false);
+            server.removeFromWaitingList(this);
+        }
+    }
+    
+    /**
+     * 논블로킹 모드 수신 콜백
+     * 닉네임 등록 전에는 직접 처리하고, 이후 메시지는 현재 소유자(핸들러 또는 게임)의 수신 콜백으로 넘김
+     */
+    @Override
+    public void onMessage(NioConnection connection, String message) {
+        if (nickname == null) {
+            if (GameProtocol.CONNECT_BINARY.equals(message)) {
+                acceptBinaryFraming();
+            } else {
+                handleNickname(message);
+            }
+        } else {
+            connection.offerInbound(message);
+        }
+    }
+    
+    /**
+     * 논블로킹 모드 연결 종료 콜백
+     */
+    @Override
+    public void onClose(NioConnection connection) {
+        onClose();
+    }
+    
     public void sendMessage(String message) {
-        if (streamManager != null) {
-            streamManager.sendMessage(message);
+        if (channel != null) {
+            channel.sendMessage(message);
+        }
+    }
+    
+    public void sendFrame(EncodedMessageTable.Frame frame) {
+        if (channel != null) {
+            channel.sendFrame(frame);
+        }
+    }
+    
+    /**
+     * 메시지를 송신 버퍼에 쌓음 (flush() 호출 시 전송)
+     */
+    public void queueMessage(String message) {
+        if (channel != null) {
+            channel.queueMessage(message);
+        }
+    }
+    
+    public void queueFrame(EncodedMessageTable.Frame frame) {
+        if (channel != null) {
+            channel.queueFrame(frame);
+        }
+    }
+    
+    public void flush() {
+        if (channel != null) {
+            channel.flush();
         }
     }
     
     public String receiveMessage(int timeout) throws IOException {
-        return streamManager.receiveMessage(timeout);
+        return channel.receiveMessage(timeout);
     }
     
     public String receiveMessage() throws IOException {
-        return streamManager.receiveMessage();
+        return channel.receiveMessage();
     }
     
     public String getNickname() {
         return nickname != null ? nickname : "Unknown";
     }
     
-    public GameDataStreamManager getStreamManager() {
-        return streamManager;
+    public MessageChannel getChannel() {
+        return channel;
+    }
+    
+    public boolean isConnected() {
+        return isConnected;
     }
     
     public void disconnect() {
         isConnected = false;
+        awaitingRematch.set(false);
         server.removeFromWaitingList(this);
         
         try {
-            if (streamManager != null) {
-                streamManager.close();
+            if (channel != null) {
+                channel.close();
             }
             if (socket != null && !socket.isClosed()) {
                 socket.close();
@@ -276,315 +637,441 @@ class ClientHandler extends Thread {
             System.err.println("[오류] 연결 종료 실패: " + e.getMessage());
         }
         
-        // 스레드 인터럽트
-        this.interrupt();
+        // 닉네임 수신 중인 스레드 인터럽트
+        Thread thread = runner;
+        if (thread != null) {
+            thread.interrupt();
+        }
     }
 }
 
 /**
- * 강화된 게임 스레드 - 실제 게임 로직 처리
+ * 강화된 게임 - 실제 게임 로직 처리
+ * 블로킹 대기 없이 수신 메시지와 타이머 이벤트로 진행되는 상태 머신이며,
+ * 모든 이벤트는 GameEventLoop 스레드 하나에서 처리되므로 스레드 하나가 많은 게임을 동시에 진행함
  */
-class EnhancedGameThread extends Thread {
+class EnhancedGameThread {
+    
+    /**
+     * 게임 진행 상태
+     */
+    enum State {
+        STARTING,        // 매칭 알림 ~ 첫 이닝 시작 전
+        AWAITING_PITCH,  // 투수의 구종 선택 대기
+        PITCH_SHOWN,     // 투구 정보 공개 후 타격 요청 전
+        AWAITING_SWING,  // 타자의 스윙 여부 대기
+        JUDGED,          // 판정 완료, 다음 투구/타석 결정 중
+        INNING_SWITCH,   // 3아웃 후 공수 교대 또는 이닝 전환
+        ENDED            // 게임 종료 (이후 이벤트는 무시)
+    }
+    
+    // 단계 사이 지연 시간과 입력 대기 시간 (밀리초)
+    private static final long INTRO_DELAY = 500;
+    private static final long ROLE_DELAY = 1000;
+    private static final long PITCH_SHOWN_DELAY = 500;
+    private static final long PITCH_WAIT = 5500; // 여유있게 5.5초
+    private static final long SWING_WAIT = 3500; // 여유있게 3.5초
+
+    // 투구가 없거나 잘못된 경우의 판정
+    private static final GameEvent.Judgement PITCH_MISSED =
+        new GameEvent.Judgement(null, false, Outcome.BALL, "투구 시간 초과 - 볼!");
+
     private int gameId;
     private ClientHandler pitcher;
     private ClientHandler batter;
+    // 처음 역할 기준의 팀 (처음 투수가 홈, 처음 타자가 원정 - 1회 초는 원정 공격)
+    private final ClientHandler home;
+    private final ClientHandler away;
     private RecordManager recordManager;
+    private WinExpectancy winExpectancy;
+    private PitchJournal journal;
     private RandomSpeedGenerator speedGenerator;
     private JudgementProcessor judgementProcessor;
+    private GameEventLoop loop;
     
-    private int strikes = 0;
-    private int balls = 0;
-    private int outs = 0;
-    private int inning = 1;
-    private int pitcherScore = 0;
-    private int batterScore = 0;
-    private boolean isTopInning = true; // true: 초, false: 말
-    
-    // 주자 정보
-    private boolean runner1st = false;
-    private boolean runner2nd = false;
-    private boolean runner3rd = false;
+    private State state = State.STARTING;
+    // 현재 입력 대기의 타임아웃 (입력이 먼저 오면 취소)
+    private HashedWheelTimer.Timeout pendingTimeout;
+    // 입력 대기 순번 (이전 대기의 늦은 타임아웃 이벤트를 구분)
+    private int awaitSeq = 0;
+    private long awaitStartNanos;
+    // 공개된 투구 (PITCH_SHOWN ~ JUDGED)
+    private GameEvent.Pitch pitch;
     
-    public EnhancedGameThread(int gameId, ClientHandler pitcher, ClientHandler batter, RecordManager recordManager) {
+    // 카운트, 아웃, 주자, 이닝, 점수 (GameState 형식, 이벤트 루프에서만 변경)
+    private volatile long gameState = GameState.INITIAL;
+    // 이 게임의 투구 순번 (저널 기록용)
+    private int pitchNumber = 0;
+
+    /**
+     * @param winExpectancy 점수와 함께 보내는 승리 확률/기대 득점 표
+     * @param journal 투구 기록 저널 (null이면 기록하지 않음)
+     * @param random 게임의 난수 스트림 (구속 생성과 판정에 각각 나누어 사용)
+     */
+    public EnhancedGameThread(int gameId, ClientHandler pitcher, ClientHandler batter,
+                              RecordManager recordManager, WinExpectancy winExpectancy,
+                              PitchJournal journal, GameEventLoop loop, GameRandom random) {
         this.gameId = gameId;
         this.pitcher = pitcher;
         this.batter = batter;
+        this.home = pitcher;
+        this.away = batter;
         this.recordManager = recordManager;
-        this.speedGenerator = new RandomSpeedGenerator();
-        this.judgementProcessor = new JudgementProcessor();
+        this.winExpectancy = winExpectancy;
+        this.journal = journal;
+        this.loop = loop;
+        this.speedGenerator = new RandomSpeedGenerator(random.split());
+        this.judgementProcessor = new JudgementProcessor(random.split());
     }
     
-    @Override
-    public void run() {
-        try {
-            System.out.println("[게임 " + gameId + "] 시작 준비");
-            
-            // 매칭 완료 알림
-            pitcher.sendMessage(GameProtocol.MATCH_FOUND);
-            batter.sendMessage(GameProtocol.MATCH_FOUND);
-            
-            Thread.sleep(500);
-            
-            // 게임 시작 알림 (화면 전환)
-            pitcher.sendMessage(GameProtocol.MATCH_START);
-            batter.sendMessage(GameProtocol.MATCH_START);
-            
-            Thread.sleep(500);
-            
-            // 역할 통보
-            pitcher.sendMessage(GameProtocol.ROLE_PITCHER);
-            batter.sendMessage(GameProtocol.ROLE_BATTER);
-            
-            System.out.println("[게임 " + gameId + "] 역할 배정 완료");
-            System.out.println("  - 투수: " + pitcher.getNickname());
-            System.out.println("  - 타자: " + batter.getNickname());
-            
-            Thread.sleep(1000);
-            
-            // 초기 점수 전송
-            updateScore();
-            
-            // 게임 루프
-            while (inning <= 9) {
-                pitcher.sendMessage(GameProtocol.Builder.buildInning(inning));
-                batter.sendMessage(GameProtocol.Builder.buildInning(inning));
-                
-                System.out.println("[게임 " + gameId + "] " + inning + "회 " + (isTopInning ? "초" : "말") + " 시작");
-                
-                playInning();
-                
-                if (outs >= 3) {
-                    if (!isTopInning) {
-                        // 회 종료 - 다음 이닝으로
-                        inning++;
-                        isTopInning = true;
-                        
-                        if (inning > 9) {
-                            break;
-                        }
-                    } else {
-                        // 공수 교대 (초 → 말)
-                        isTopInning = false;
-                    }
-                    
-                    swapRoles(); // 여기서 outs, strikes, balls, 주자 초기화
-                }
-            }
-            
-            // 게임 종료
-            endGame();
-            
-        } catch (Exception e) {
-            System.err.println("[게임 " + gameId + "] 오류: " + e.getMessage());
-            e.printStackTrace();
-        } finally {
-            pitcher.disconnect();
-            batter.disconnect();
-        }
+    /**
+     * 게임 시작 - 두 플레이어의 수신 메시지를 이벤트 루프로 연결하고 첫 단계를 예약
+     */
+    public void start() {
+        attach(pitcher);
+        attach(batter);
+        post(this::announceMatch);
+    }
+    
+    public State getState() {
+        return state;
     }
     
     /**
-     * 한 이닝 진행
+     * 현재 경기 상태 스냅샷 (GameState 형식, 이벤트 루프 밖에서도 읽을 수 있음)
+     * 관전 화면이나 체크포인트는 이 값 하나만 복사하면 됨
      */
-    private void playInning() throws IOException, InterruptedException {
-        while (outs < 3) {
-            // 새 타석 시작
-            strikes = 0;
-            balls = 0;
-            updateCount();
-            
-            // 타석 진행
-            boolean atBatFinished = false;
-            while (!atBatFinished && outs < 3) {
-                String result = playAtBat();
-                
-                // 타석 종료 조건: 안타, 홈런, 아웃, 삼진, 볼넷
-                if (result.equals("HIT") || result.equals("HOMERUN") || result.equals("OUT")) {
-                    atBatFinished = true;
-                }
-                
-                // 삼진 체크
-                if (strikes >= 3) {
-                    outs++;
-                    sendToAll("RESULT:STRIKEOUT:삼진 아웃!");
-                    updateCount();
-                    atBatFinished = true;
-                }
-                
-                // 볼넷 체크
-                if (balls >= 4) {
-                    handleWalk();
-                    sendToAll("RESULT:WALK:볼넷!");
-                    updateCount();
-                    updateScore();
-                    atBatFinished = true;
-                }
-            }
-        }
+    public long snapshot() {
+        return gameState;
     }
     
     /**
-     * 볼넷 처리
+     * 플레이어 연결의 수신 메시지/종료를 이 게임의 이벤트로 전달
      */
-    private void handleWalk() {
-        if (runner1st && runner2nd && runner3rd) {
-            // 만루: 3루 주자 득점
-            batterScore++;
-        } else if (runner1st && runner2nd) {
-            // 1,2루: 3루로 밀림
-            runner3rd = true;
-        } else if (runner1st) {
-            // 1루만: 2루로 밀림
-            runner2nd = true;
-        }
-        // 타자 1루 출루
-        runner1st = true;
+    private void attach(ClientHandler player) {
+        player.handOffTo(new MessageChannel.Receiver() {
+            @Override
+            public void onMessage(String message) {
+                post(() -> handleMessage(player, message));
+            }
+            
+            @Override
+            public void onClose() {
+                post(() -> handleDisconnect(player));
+            }
+        });
     }
     
     /**
-     * 한 타석 진행
+     * 이벤트 루프에서 실행 (종료된 게임이면 무시, 오류 시 게임 중단)
      */
-    private String playAtBat() throws IOException, InterruptedException {
-        // 투수에게 투구 요청
-        pitcher.sendMessage(GameProtocol.ACTION_PITCH);
-        
-        // 5초 대기 (타임아웃)
-        String pitchData = null;
+    private void post(Runnable step) {
+        loop.execute(() -> runStep(step));
+    }
+    
+    private void postDelayed(Runnable step, long delayMillis) {
+        loop.schedule(() -> runStep(step), delayMillis);
+    }
+    
+    private void runStep(Runnable step) {
+        if (state == State.ENDED) {
+            return;
+        }
         try {
-            pitchData = pitcher.receiveMessage(5500); // 여유있게 5.5초
-        } catch (Exception e) {
-            System.out.println("[게임 " + gameId + "] 투구 타임아웃");
+            step.run();
+        } catch (RuntimeException e) {
+            System.err.println("[게임 " + gameId + "] 오류: " + e.getMessage());
+            e.printStackTrace();
+            abort();
         }
+    }
+    
+    // ===== 경기 시작 =====
+    
+    private void announceMatch() {
+        System.out.println("[게임 " + gameId + "] 시작 준비");
         
-        if (pitchData == null || !pitchData.startsWith("PITCH:")) {
-            balls++;
-            sendToAll("RESULT:BALL:투구 시간 초과 - 볼!");
-            updateCount();
-            System.out.println("[게임 " + gameId + "] 볼 판정 (타임아웃)");
-            return "BALL";
-        }
+        // 매칭 완료 알림
+        sendToAll(EncodedMessageTable.MATCH_FOUND);
+        flushAll();
+        
+        postDelayed(() -> {
+            // 게임 시작 알림 (화면 전환)
+            sendToAll(EncodedMessageTable.MATCH_START);
+            flushAll();
+            postDelayed(this::assignRoles, INTRO_DELAY);
+        }, INTRO_DELAY);
+    }
+    
+    private void assignRoles() {
+        // 역할 통보
+        pitcher.queueFrame(EncodedMessageTable.ROLE_PITCHER);
+        batter.queueFrame(EncodedMessageTable.ROLE_BATTER);
+        flushAll();
         
-        System.out.println("[게임 " + gameId + "] 투구 수신: " + pitchData);
+        System.out.println("[게임 " + gameId + "] 역할 배정 완료");
+        System.out.println("  - 투수: " + pitcher.getNickname());
+        System.out.println("  - 타자: " + batter.getNickname());
         
-        char pitchType = GameProtocol.Parser.getPitchType(pitchData);
-        int speed = speedGenerator.generateSpeed(pitchType);
+        postDelayed(() -> {
+            // 초기 점수 전송
+            updateScore();
+            startHalfInning();
+        }, ROLE_DELAY);
+    }
+    
+    // ===== 이닝/타석 진행 =====
+    
+    private void startHalfInning() {
+        sendToAll(EncodedMessageTable.inning(GameState.inning(gameState)));
         
-        System.out.println("[게임 " + gameId + "] 구종: " + pitchType + ", 구속: " + speed);
+        System.out.println("[게임 " + gameId + "] " + GameState.inning(gameState) + "회 "
+            + (GameState.isTopHalf(gameState) ? "초" : "말") + " 시작");
         
-        // 타자에게 투구 정보 전송
-        String pitchInfo = GameProtocol.Builder.buildPitchInfo(pitchType, speed);
-        batter.sendMessage(pitchInfo);
-        pitcher.sendMessage(pitchInfo);
+        startAtBat();
+    }
+    
+    private void startAtBat() {
+        // 새 타석 시작 (카운트는 직전 타석이 끝날 때 0-0으로 돌아가 있음)
+        updateCount();
         
-        Thread.sleep(500);
+        requestPitch();
+    }
+    
+    private void requestPitch() {
+        state = State.AWAITING_PITCH;
         
-        // 타자 스윙 대기
-        batter.sendMessage(GameProtocol.ACTION_BAT);
-        String swingData = null;
-        try {
-            swingData = batter.receiveMessage(3500); // 여유있게 3.5초
-        } catch (Exception e) {
-            System.out.println("[게임 " + gameId + "] 타격 타임아웃");
+        // 직전 판정/카운트/점수와 투구 요청을 한 번에 전송
+        pitcher.queueFrame(EncodedMessageTable.ACTION_PITCH);
+        flushAll();
+        
+        awaitInput(pitcher, GameProtocol.PITCH_TIMEOUT, PITCH_WAIT);
+    }
+    
+    /**
+     * 투구가 없거나 잘못된 경우 - 볼 판정
+     */
+    private void pitchMissed() {
+        sendToAll(PITCH_MISSED.encode());
+        System.out.println("[게임 " + gameId + "] 볼 판정 (타임아웃)");
+        afterPitch(PITCH_MISSED);
+    }
+    
+    private void onPitch(String pitchData) {
+        System.out.printf("[게임 %d] 투구 수신: %s (대기 %.1fms)%n", gameId, pitchData, waitedMillis());
+        IoMetrics.recordPitch();
+        
+        PitchType pitchType = GameProtocol.Parser.parsePitchType(pitchData);
+        if (pitchType == null) {
+            // 알 수 없는 구종은 투구 없음과 같이 볼 처리
+            pitchMissed();
+            return;
         }
+        pitch = new GameEvent.Pitch(pitchType, speedGenerator.generateSpeed(pitchType));
+        
+        System.out.println("[게임 " + gameId + "] 구종: " + pitchType.code() + ", 구속: " + pitch.speed());
+        
+        // 타자에게 투구 정보 전송
+        String pitchInfo = pitch.encode();
+        batter.queueMessage(pitchInfo);
+        pitcher.queueMessage(pitchInfo);
         
-        System.out.println("[게임 " + gameId + "] 타격 수신: " + swingData);
+        state = State.PITCH_SHOWN;
+        flushAll();
+        postDelayed(this::requestSwing, PITCH_SHOWN_DELAY);
+    }
+    
+    private void requestSwing() {
+        // 타자 스윙 대기
+        state = State.AWAITING_SWING;
+        batter.queueFrame(EncodedMessageTable.ACTION_BAT);
+        flushAll();
+        
+        awaitInput(batter, GameProtocol.BAT_TIMEOUT, SWING_WAIT);
+    }
+    
+    private void onSwing(String swingData) {
+        System.out.printf("[게임 %d] 타격 수신: %s (대기 %.1fms)%n", gameId, swingData, waitedMillis());
         
         boolean isSwing = swingData != null && swingData.equals(GameProtocol.SWING_YES);
         
         System.out.println("[게임 " + gameId + "] 스윙: " + isSwing);
         
         // 판정
-        String result = judgementProcessor.judge(pitchType, speed, isSwing);
-        String message = judgementProcessor.getResultMessage(result, pitchType, speed);
-        
-        System.out.println("[게임 " + gameId + "] 판정: " + result + " - " + message);
-        
-        sendToAll(GameProtocol.Builder.buildResult(result, message));
-        
-        // 카운트 및 점수 업데이트
-        updateGameState(result);
-        
-        return result;
-    }
-    
-    /**
-     * 게임 상태 업데이트
-     */
-    private void updateGameState(String result) {
-        switch(result) {
-            case JudgementProcessor.STRIKE:
-                strikes++;
-                break;
-            case JudgementProcessor.BALL:
-                balls++;
-                break;
-            case JudgementProcessor.FOUL:
-                if (strikes < 2) strikes++;
-                break;
-            case JudgementProcessor.HIT:
-                // 안타: 주자 한 베이스씩 진루
-                boolean new3rd = false;
-                boolean new2nd = false;
-                boolean new1st = true; // 타자 1루 출루
-                
-                // 3루 주자 -> 홈 (득점!)
-                if (runner3rd) {
-                    batterScore++;
-                }
-                
-                // 2루 주자 -> 3루
-                if (runner2nd) {
-                    new3rd = true;
-                }
-                
-                // 1루 주자 -> 2루
-                if (runner1st) {
-                    new2nd = true;
-                }
-                
-                runner1st = new1st;
-                runner2nd = new2nd;
-                runner3rd = new3rd;
-                break;
-            case JudgementProcessor.HOMERUN:
-                // 홈런: 타자 + 모든 주자 득점
-                int runsScored = 1; // 타자
-                if (runner1st) runsScored++;
-                if (runner2nd) runsScored++;
-                if (runner3rd) runsScored++;
-                
-                System.out.println("[게임 " + gameId + "] 홈런! " + runsScored + "점 득점");
-                
-                batterScore += runsScored;
-                
-                // 모든 베이스 클리어
-                runner1st = false;
-                runner2nd = false;
-                runner3rd = false;
-                break;
-            case JudgementProcessor.OUT:
-                outs++;
-                break;
-        }
+        state = State.JUDGED;
+        GameEvent.Judgement judgement = judgementProcessor.judge(pitch, isSwing);
+        
+        System.out.println("[게임 " + gameId + "] 판정: " + judgement.outcome() + " - " + judgement.message());
+        
+        sendToAll(judgement.encode());
+        
+        afterPitch(judgement);
+    }
+    
+    /**
+     * 투구 하나의 판정을 경기 상태에 반영하고 타석 종료 여부와 다음 단계 결정
+     */
+    private void afterPitch(GameEvent.Judgement judgement) {
+        state = State.JUDGED;
+        Outcome result = judgement.outcome();
         
+        // 타석 종료 조건: 안타, 홈런, 아웃, 삼진, 볼넷
+        long before = gameState;
+        Outcome atBatResult = GameState.atBatResult(before, result);
+        gameState = GameState.applyPitch(before, result);
+        if (journal != null) {
+            // 큐에 넣기만 하고 돌아옴 (파일 쓰기는 저널 스레드가 처리)
+            journal.append(PitchJournal.Entry.of(gameId, ++pitchNumber, judgement, gameState));
+        }
+
+        if (result == Outcome.HOMERUN) {
+            System.out.println("[게임 " + gameId + "] 홈런! "
+                + (GameState.battingScore(gameState) - GameState.battingScore(before)) + "점 득점");
+        }
+        if (atBatResult == Outcome.STRIKEOUT) {
+            sendToAll(GameEvent.AtBatEnd.STRIKEOUT.encode());
+        } else if (atBatResult == Outcome.WALK) {
+            sendToAll(GameEvent.AtBatEnd.WALK.encode());
+        }
         updateCount();
         updateScore();
+        
+        if (GameState.isHalfInningOver(gameState)) {
+            endHalfInning();
+        } else if (atBatResult != null) {
+            startAtBat();
+        } else {
+            requestPitch();
+        }
+    }
+    
+    private void endHalfInning() {
+        state = State.INNING_SWITCH;
+        
+        // 카운트, 아웃, 주자 초기화 후 공수 교대 (말이 끝나면 다음 이닝)
+        gameState = GameState.endHalfInning(gameState);
+        if (GameState.isGameOver(gameState)) {
+            endGame();
+            finish();
+            return;
+        }
+        
+        swapRoles();
+        startHalfInning();
+    }
+    
+    // ===== 입력 이벤트 =====
+    
+    /**
+     * 입력 마감 예약 - 마감이 지나면 공용 타이머가 타임아웃 메시지를 입력 대상의 이벤트로 넣음
+     * (입력이 먼저 오면 handleMessage에서 취소)
+     * @param from 입력을 기다리는 플레이어
+     * @param timeoutEvent PITCH:TIMEOUT 또는 BAT:TIMEOUT
+     * @param timeoutMillis 제한 시간 (밀리초)
+     */
+    private void awaitInput(ClientHandler from, String timeoutEvent, long timeoutMillis) {
+        int seq = ++awaitSeq;
+        awaitStartNanos = System.nanoTime();
+        pendingTimeout = loop.schedule(() -> runStep(() -> {
+            // 취소 직전에 이미 만료되어 실행 대기열에 들어간 이전 대기의 타임아웃은 무시
+            if (seq == awaitSeq) {
+                pendingTimeout = null;
+                handleMessage(from, timeoutEvent);
+            }
+        }), timeoutMillis);
+    }
+    
+    /**
+     * 현재 입력 요청 후 경과 시간 (밀리초)
+     */
+    private double waitedMillis() {
+        return (System.nanoTime() - awaitStartNanos) / 1_000_000.0;
+    }
+    
+    private void cancelTimeout() {
+        if (pendingTimeout != null) {
+            pendingTimeout.cancel();
+            pendingTimeout = null;
+        }
+    }
+    
+    private void handleMessage(ClientHandler from, String message) {
+        if (state == State.AWAITING_PITCH && from == pitcher) {
+            cancelTimeout();
+            if (message.equals(GameProtocol.PITCH_TIMEOUT)) {
+                System.out.println("[게임 " + gameId + "] 투구 타임아웃");
+                pitchMissed();
+            } else if (message.startsWith("PITCH:")) {
+                onPitch(message);
+            } else {
+                pitchMissed();
+            }
+        } else if (state == State.AWAITING_SWING && from == batter) {
+            cancelTimeout();
+            if (message.equals(GameProtocol.BAT_TIMEOUT)) {
+                System.out.println("[게임 " + gameId + "] 타격 타임아웃");
+                onSwing(null);
+            } else {
+                onSwing(message);
+            }
+        }
+        // 그 외 시점의 메시지는 무시
+    }
+    
+    private void handleDisconnect(ClientHandler player) {
+        System.out.println("[게임 " + gameId + "] " + player.getNickname() + " 연결 끊김 - 게임 중단");
+        player.disconnect();
+        ClientHandler other = player == pitcher ? batter : pitcher;
+        other.queueMessage(GameProtocol.DISCONNECT);
+        finish();
+    }
+    
+    /**
+     * 게임 종료 - 남은 메시지를 보내고 연결 소유권을 핸들러에 돌려줌 (재대결 대기 또는 종료)
+     */
+    private void finish() {
+        cancelTimeout();
+        state = State.ENDED;
+        // 종료 메시지에 대한 응답(재대결 요청)을 놓치지 않도록 소유권을 먼저 돌려준 뒤 전송
+        pitcher.returnFromGame();
+        batter.returnFromGame();
+        flushAll();
+    }
+    
+    /**
+     * 오류로 게임 중단 - 두 연결을 닫음
+     */
+    private void abort() {
+        cancelTimeout();
+        state = State.ENDED;
+        flushAll();
+        pitcher.disconnect();
+        batter.disconnect();
     }
     
     /**
      * 카운트 업데이트 전송
      */
     private void updateCount() {
-        String countMsg = GameProtocol.Builder.buildCount(strikes, balls, outs);
-        sendToAll(countMsg);
+        long snapshot = gameState;
+        sendToAll(EncodedMessageTable.count(
+            GameState.strikes(snapshot), GameState.balls(snapshot), GameState.outs(snapshot)));
     }
     
     /**
-     * 점수 업데이트 전송
+     * 점수 업데이트 전송 (각자의 승리 확률과 이번 반 이닝 기대 득점 포함)
      */
     private void updateScore() {
-        pitcher.sendMessage(GameProtocol.Builder.buildScore(pitcherScore, batterScore));
-        batter.sendMessage(GameProtocol.Builder.buildScore(batterScore, pitcherScore));
+        long snapshot = gameState;
+        int pitcherScore = GameState.fieldingScore(snapshot);
+        int batterScore = GameState.battingScore(snapshot);
+        int homeWin = (int) Math.round(winExpectancy.homeWinProbability(snapshot) * 1000);
+        int awayWin = (int) Math.round(winExpectancy.awayWinProbability(snapshot) * 1000);
+        int expectedRuns = (int) Math.round(winExpectancy.expectedRuns(snapshot) * 100);
+        pitcher.queueMessage(GameProtocol.Builder.buildScore(pitcherScore, batterScore,
+            pitcher == home ? homeWin : awayWin, expectedRuns));
+        batter.queueMessage(GameProtocol.Builder.buildScore(batterScore, pitcherScore,
+            batter == home ? homeWin : awayWin, expectedRuns));
     }
     
     /**
@@ -595,22 +1082,7 @@ class EnhancedGameThread extends Thread {
         pitcher = batter;
         batter = temp;
         
-        int tempScore = pitcherScore;
-        pitcherScore = batterScore;
-        batterScore = tempScore;
-        
-        // 주자 초기화
-        runner1st = false;
-        runner2nd = false;
-        runner3rd = false;
-        
-        // 카운트 완전 초기화
-        outs = 0;
-        strikes = 0;
-        balls = 0;
-        
-        pitcher.sendMessage(GameProtocol.SWITCH_SIDE);
-        batter.sendMessage(GameProtocol.SWITCH_SIDE);
+        sendToAll(EncodedMessageTable.SWITCH_SIDE);
         
         updateCount();
         updateScore();
@@ -620,24 +1092,25 @@ class EnhancedGameThread extends Thread {
      * 게임 종료 처리
      */
     private void endGame() {
+        int awayScore = GameState.awayScore(gameState);
+        int homeScore = GameState.homeScore(gameState);
         System.out.println("[게임 " + gameId + "] 종료 - " + 
-            pitcher.getNickname() + " " + pitcherScore + " : " + 
-            batterScore + " " + batter.getNickname());
+            away.getNickname() + " " + awayScore + " : " + 
+            homeScore + " " + home.getNickname());
         
         String winner, loser;
-        if (pitcherScore > batterScore) {
-            winner = pitcher.getNickname();
-            loser = batter.getNickname();
-            pitcher.sendMessage(GameProtocol.GAME_END + ":WIN");
-            batter.sendMessage(GameProtocol.GAME_END + ":LOSE");
-        } else if (batterScore > pitcherScore) {
-            winner = batter.getNickname();
-            loser = pitcher.getNickname();
-            batter.sendMessage(GameProtocol.GAME_END + ":WIN");
-            pitcher.sendMessage(GameProtocol.GAME_END + ":LOSE");
+        if (awayScore > homeScore) {
+            winner = away.getNickname();
+            loser = home.getNickname();
+            away.queueFrame(EncodedMessageTable.GAME_END_WIN);
+            home.queueFrame(EncodedMessageTable.GAME_END_LOSE);
+        } else if (homeScore > awayScore) {
+            winner = home.getNickname();
+            loser = away.getNickname();
+            home.queueFrame(EncodedMessageTable.GAME_END_WIN);
+            away.queueFrame(EncodedMessageTable.GAME_END_LOSE);
         } else {
-            pitcher.sendMessage(GameProtocol.GAME_END + ":DRAW");
-            batter.sendMessage(GameProtocol.GAME_END + ":DRAW");
+            sendToAll(EncodedMessageTable.GAME_END_DRAW);
             return;
         } 
         
@@ -646,10 +1119,27 @@ class EnhancedGameThread extends Thread {
     }
     
     /**
-     * 양쪽 클라이언트에 메시지 전송
+     * 양쪽 클라이언트에 쌓인 메시지 전송
+     * 다음 입력을 기다리거나 쉬기 직전에 호출하여 한 단계의 메시지를 소켓 쓰기 한 번으로 묶음
+     */
+    private void flushAll() {
+        pitcher.flush();
+        batter.flush();
+    }
+    
+    /**
+     * 양쪽 클라이언트에 메시지 전송 (flushAll()까지 버퍼에 쌓임)
      */
     private void sendToAll(String message) {
-        pitcher.sendMessage(message);
-        batter.sendMessage(message);
+        pitcher.queueMessage(message);
+        batter.queueMessage(message);
+    }
+    
+    /**
+     * 양쪽 클라이언트에 미리 인코딩된 메시지 전송 (flushAll()까지 버퍼에 쌓임)
+     */
+    private void sendToAll(EncodedMessageTable.Frame frame) {
+        pitcher.queueFrame(frame);
+        batter.queueFrame(frame);
     }
 }
@@ -0,0 +1,458 @@
+/*
+ * 경기 상태 (카운트, 아웃, 주자, 이닝, 초/말, 양 팀 점수)를 long 하나에 담은 값
+ * 모든 변경은 이전 상태를 받아 새 상태를 돌려주는 순수 함수이므로,
+ * 관전/체크포인트/시뮬레이션용 스냅샷은 long 하나를 복사하는 것으로 끝남
+ *
+ * 비트 배치 (하위 비트부터)
+ *   0-1   스트라이크 (0~2, 3번째 스트라이크는 바로 삼진 처리)
+ *   2-4   볼 (0~3, 4번째 볼은 바로 볼넷 처리)
+ *   5-6   아웃 (0~3)
+ *   7-9   주자 (비트 0: 1루, 1: 2루, 2: 3루)
+ *   10    초/말 (0: 초 - 원정 공격, 1: 말 - 홈 공격)
+ *   11-18 이닝 (1부터, INNINGS를 넘으면 경기 종료)
+ *   19-34 원정 점수
+ *   35-50 홈 점수
+ *
+ * EnhancedGameThread, GameThread, MatchSimulator가 같은 규칙으로 사용
+ */
+public final class GameState {
+
+    /** 정규 이닝 수 (이 이닝의 말이 끝나면 경기 종료) */
+    public static final int INNINGS = 9;
+
+    private static final int STRIKES_SHIFT = 0;
+    private static final int BALLS_SHIFT = 2;
+    private static final int OUTS_SHIFT = 5;
+    private static final int RUNNERS_SHIFT = 7;
+    private static final int HALF_SHIFT = 10;
+    private static final int INNING_SHIFT = 11;
+    private static final int AWAY_SHIFT = 19;
+    private static final int HOME_SHIFT = 35;
+
+    private static final long STRIKES_MASK = 0x3L;
+    private static final long BALLS_MASK = 0x7L;
+    private static final long OUTS_MASK = 0x3L;
+    private static final long RUNNERS_MASK = 0x7L;
+    private static final long INNING_MASK = 0xFFL;
+    private static final long SCORE_MASK = 0xFFFFL;
+
+    // 카운트(스트라이크+볼) 비트
+    private static final long COUNT_BITS = (STRIKES_MASK << STRIKES_SHIFT) | (BALLS_MASK << BALLS_SHIFT);
+    // 반 이닝이 끝날 때 지우는 비트 (카운트, 아웃, 주자)
+    private static final long HALF_INNING_BITS = COUNT_BITS | (OUTS_MASK << OUTS_SHIFT) | (RUNNERS_MASK << RUNNERS_SHIFT);
+
+    /** 1회 초, 0-0 카운트, 무사 주자 없음, 0:0 */
+    public static final long INITIAL = 1L << INNING_SHIFT;
+
+    // 투구 하나로 바뀌는 하위 비트 (카운트, 아웃, 주자)
+    private static final int PITCH_BITS = HALF_SHIFT;
+    private static final long PITCH_MASK = (1L << PITCH_BITS) - 1;
+    // 판정 순서가 무작위라 분기 예측이 거의 맞지 않으므로, 규칙을 미리 펼쳐 두고 표 조회 한 번으로 전이
+    // 두 표 모두 [판정 순서 번호][하위 비트] 순서
+    // 전이 후 하위 비트 | 득점 << PITCH_BITS
+    private static final int[] TRANSITIONS = new int[Outcome.count() << PITCH_BITS];
+    // 타석 결과 (타석이 계속되면 null)
+    private static final Outcome[] AT_BAT_RESULTS = new Outcome[Outcome.count() << PITCH_BITS];
+
+    static {
+        for (Outcome outcome : Outcome.values()) {
+            for (int bits = 0; bits <= PITCH_MASK; bits++) {
+                // 1회 초 0:0에서 규칙을 적용하면 득점은 원정 점수로 나옴
+                long state = INITIAL | bits;
+                long next = rule(state, outcome);
+                int index = (outcome.ordinal() << PITCH_BITS) | bits;
+                TRANSITIONS[index] = (int) (next & PITCH_MASK) | (awayScore(next) << PITCH_BITS);
+                AT_BAT_RESULTS[index] = atBatRule(state, outcome);
+            }
+        }
+    }
+
+    private GameState() {
+    }
+
+    /**
+     * 각 항목으로 상태 생성 (범위를 넘는 값은 비트 칸에 맞게 잘림)
+     * @param inning 이닝 (1부터)
+     * @param topHalf 초이면 true
+     * @param strikes 스트라이크 (0~2)
+     * @param balls 볼 (0~3)
+     * @param outs 아웃 (0~3)
+     * @param runners 주자 비트 (비트 0: 1루, 1: 2루, 2: 3루)
+     * @param awayScore 원정 점수
+     * @param homeScore 홈 점수
+     */
+    public static long of(int inning, boolean topHalf, int strikes, int balls, int outs, int runners,
+                          int awayScore, int homeScore) {
+        return ((strikes & STRIKES_MASK) << STRIKES_SHIFT)
+            | ((balls & BALLS_MASK) << BALLS_SHIFT)
+            | ((outs & OUTS_MASK) << OUTS_SHIFT)
+            | ((runners & RUNNERS_MASK) << RUNNERS_SHIFT)
+            | (topHalf ? 0L : 1L << HALF_SHIFT)
+            | ((inning & INNING_MASK) << INNING_SHIFT)
+            | ((awayScore & SCORE_MASK) << AWAY_SHIFT)
+            | ((homeScore & SCORE_MASK) << HOME_SHIFT);
+    }
+
+    // ===== 조회 =====
+
+    public static int strikes(long state) {
+        return (int) ((state >>> STRIKES_SHIFT) & STRIKES_MASK);
+    }
+
+    public static int balls(long state) {
+        return (int) ((state >>> BALLS_SHIFT) & BALLS_MASK);
+    }
+
+    public static int outs(long state) {
+        return (int) ((state >>> OUTS_SHIFT) & OUTS_MASK);
+    }
+
+    /**
+     * 주자 비트 (비트 0: 1루, 1: 2루, 2: 3루)
+     */
+    public static int runners(long state) {
+        return (int) ((state >>> RUNNERS_SHIFT) & RUNNERS_MASK);
+    }
+
+    /**
+     * @param base 1, 2, 3루
+     */
+    public static boolean runnerOn(long state, int base) {
+        return (runners(state) & (1 << (base - 1))) != 0;
+    }
+
+    /**
+     * 초(원정 공격)이면 true, 말(홈 공격)이면 false
+     */
+    public static boolean isTopHalf(long state) {
+        return (state & (1L << HALF_SHIFT)) == 0;
+    }
+
+    public static int inning(long state) {
+        return (int) ((state >>> INNING_SHIFT) & INNING_MASK);
+    }
+
+    public static int awayScore(long state) {
+        return (int) ((state >>> AWAY_SHIFT) & SCORE_MASK);
+    }
+
+    public static int homeScore(long state) {
+        return (int) ((state >>> HOME_SHIFT) & SCORE_MASK);
+    }
+
+    /**
+     * 공격 중인 팀의 점수
+     */
+    public static int battingScore(long state) {
+        return isTopHalf(state) ? awayScore(state) : homeScore(state);
+    }
+
+    /**
+     * 수비 중인 팀의 점수
+     */
+    public static int fieldingScore(long state) {
+        return isTopHalf(state) ? homeScore(state) : awayScore(state);
+    }
+
+    /**
+     * 정규 이닝이 모두 끝났는지 여부
+     */
+    public static boolean isGameOver(long state) {
+        return inning(state) > INNINGS;
+    }
+
+    /**
+     * 3아웃으로 반 이닝이 끝나 공수 교대를 기다리는지 여부
+     */
+    public static boolean isHalfInningOver(long state) {
+        return outs(state) >= 3;
+    }
+
+    // ===== 전이 =====
+
+    /**
+     * 투구 판정으로 타석이 끝나는 경우의 타석 결과
+     * @param state 투구 전 상태
+     * @param outcome 판정 결과
+     * @return HIT, HOMERUN, OUT, STRIKEOUT, WALK 중 하나 (타석이 계속되면 null)
+     */
+    public static Outcome atBatResult(long state, Outcome outcome) {
+        return AT_BAT_RESULTS[(outcome.ordinal() << PITCH_BITS) | (int) (state & PITCH_MASK)];
+    }
+
+    /**
+     * 투구 하나의 판정을 반영 (카운트, 주자, 득점, 아웃)
+     * 타석이 끝나면 카운트를 0-0으로 되돌리며, 3아웃이 되어도 공수 교대는 하지 않음
+     * @param state 투구 전 상태
+     * @param outcome 판정 결과 (STRIKEOUT, WALK를 직접 넣으면 카운트와 무관하게 삼진/볼넷 처리)
+     * @return 투구 후 상태
+     */
+    public static long applyPitch(long state, Outcome outcome) {
+        int entry = TRANSITIONS[(outcome.ordinal() << PITCH_BITS) | (int) (state & PITCH_MASK)];
+        return addRuns((state & ~PITCH_MASK) | (entry & PITCH_MASK), entry >>> PITCH_BITS);
+    }
+
+    /**
+     * 타석 결과 규칙 (표를 만들 때만 사용)
+     */
+    private static Outcome atBatRule(long state, Outcome outcome) {
+        switch (outcome) {
+            case STRIKE:
+                return strikes(state) >= 2 ? Outcome.STRIKEOUT : null;
+            case BALL:
+                return balls(state) >= 3 ? Outcome.WALK : null;
+            case FOUL:
+                return null;
+            default:
+                return outcome;
+        }
+    }
+
+    /**
+     * 투구 하나의 전이 규칙 (표를 만들 때만 사용)
+     */
+    private static long rule(long state, Outcome outcome) {
+        switch (outcome) {
+            case STRIKE:
+                return strikes(state) >= 2 ? out(state) : state + (1L << STRIKES_SHIFT);
+            case FOUL:
+                // 2스트라이크 이후 파울은 카운트 변화 없음
+                return strikes(state) >= 2 ? state : state + (1L << STRIKES_SHIFT);
+            case BALL:
+                return balls(state) >= 3 ? walk(state) : state + (1L << BALLS_SHIFT);
+            case HIT: {
+                // 3루 주자 득점, 나머지 주자 한 베이스씩 진루, 타자 1루
+                int runners = runners(state);
+                state = addRuns(state, runners >> 2);
+                return withRunners(state, ((runners << 1) & 0b110) | 1) & ~COUNT_BITS;
+            }
+            case HOMERUN: {
+                // 타자와 모든 주자 득점
+                state = addRuns(state, 1 + Integer.bitCount(runners(state)));
+                return withRunners(state, 0) & ~COUNT_BITS;
+            }
+            case OUT:
+            case STRIKEOUT:
+                return out(state);
+            case WALK:
+                return walk(state);
+            default:
+                throw new IllegalArgumentException("알 수 없는 판정: " + outcome);
+        }
+    }
+
+    /**
+     * 반 이닝 종료 - 카운트/아웃/주자를 지우고 공수 교대 (말이 끝나면 다음 이닝)
+     * @param state 3아웃 상태
+     * @return 다음 반 이닝 시작 상태 (정규 이닝이 끝났으면 isGameOver가 true)
+     */
+    public static long endHalfInning(long state) {
+        state &= ~HALF_INNING_BITS;
+        if (isTopHalf(state)) {
+            return state | (1L << HALF_SHIFT);
+        }
+        return (state & ~(1L << HALF_SHIFT)) + (1L << INNING_SHIFT);
+    }
+
+    /**
+     * 투구 판정 반영 후 3아웃이면 공수 교대까지 진행
+     */
+    public static long apply(long state, Outcome outcome) {
+        state = applyPitch(state, outcome);
+        return isHalfInningOver(state) ? endHalfInning(state) : state;
+    }
+
+    private static long out(long state) {
+        return (state & ~COUNT_BITS) + (1L << OUTS_SHIFT);
+    }
+
+    private static long walk(long state) {
+        // 밀어내기: 만루면 득점, 1·2루면 3루까지, 1루면 2루까지 채움
+        int runners = runners(state);
+        if (runners == 0b111) {
+            state = addRuns(state, 1);
+        } else if ((runners & 0b011) == 0b011) {
+            runners |= 0b100;
+        } else if ((runners & 0b001) != 0) {
+            runners |= 0b010;
+        }
+        return withRunners(state, runners | 0b001) & ~COUNT_BITS;
+    }
+
+    private static long withRunners(long state, int runners) {
+        return (state & ~(RUNNERS_MASK << RUNNERS_SHIFT)) | ((long) runners << RUNNERS_SHIFT);
+    }
+
+    /**
+     * 공격 팀 득점 (점수 칸을 넘지 않도록 최대값에서 멈춤)
+     */
+    private static long addRuns(long state, int runs) {
+        if (runs == 0) {
+            return state;
+        }
+        int shift = isTopHalf(state) ? AWAY_SHIFT : HOME_SHIFT;
+        long score = Math.min(SCORE_MASK, ((state >>> shift) & SCORE_MASK) + runs);
+        return (state & ~(SCORE_MASK << shift)) | (score << shift);
+    }
+
+    /**
+     * 사람이 읽는 형식 (예: "3회 말 1-2 2아웃 1·3루 원정 2 : 홈 1")
+     */
+    public static String toString(long state) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(inning(state)).append("회 ").append(isTopHalf(state) ? "초" : "말")
+          .append(' ').append(balls(state)).append('-').append(strikes(state))
+          .append(' ').append(outs(state)).append("아웃 ");
+        int runners = runners(state);
+        if (runners == 0) {
+            sb.append("주자 없음");
+        } else {
+            String separator = "";
+            for (int base = 1; base <= 3; base++) {
+                if (runnerOn(state, base)) {
+                    sb.append(separator).append(base);
+                    separator = "·";
+                }
+            }
+            sb.append("루");
+        }
+        return sb.append(" 원정 ").append(awayScore(state)).append(" : 홈 ").append(homeScore(state)).toString();
+    }
+
+    // 테스트용 메인 메서드
+    public static void main(String[] args) {
+        System.out.println("=== 경기 상태 전이 테스트 ===");
+
+        long state = INITIAL;
+        SelfTest.check("초기 상태", inning(state) == 1 && isTopHalf(state) && strikes(state) == 0 && balls(state) == 0
+            && outs(state) == 0 && runners(state) == 0 && awayScore(state) == 0 && homeScore(state) == 0);
+        SelfTest.check("항목으로 생성", of(1, true, 0, 0, 0, 0, 0, 0) == INITIAL
+            && toString(of(7, false, 2, 3, 1, 0b101, 4, 2)).equals("7회 말 3-2 1아웃 1·3루 원정 4 : 홈 2"));
+
+        // 파울은 2스트라이크에서 멈추고, 세 번째 스트라이크는 삼진
+        state = applyPitch(applyPitch(applyPitch(state, Outcome.FOUL), Outcome.FOUL), Outcome.FOUL);
+        SelfTest.check("2스트라이크 이후 파울", strikes(state) == 2);
+        SelfTest.check("삼진 판정", atBatResult(state, Outcome.STRIKE) == Outcome.STRIKEOUT);
+        state = applyPitch(state, Outcome.STRIKE);
+        SelfTest.check("삼진 후 1아웃, 카운트 초기화", outs(state) == 1 && strikes(state) == 0);
+
+        // 볼넷 밀어내기와 만루 홈런
+        for (int i = 0; i < 3; i++) {
+            state = applyPitch(state, Outcome.WALK);
+        }
+        SelfTest.check("볼넷 3번이면 만루", runners(state) == 0b111);
+        state = applyPitch(applyPitch(applyPitch(applyPitch(state, Outcome.BALL), Outcome.BALL), Outcome.BALL), Outcome.BALL);
+        SelfTest.check("만루 밀어내기 득점", awayScore(state) == 1 && runners(state) == 0b111 && balls(state) == 0);
+        state = applyPitch(state, Outcome.HOMERUN);
+        SelfTest.check("만루 홈런 4점", awayScore(state) == 5 && runners(state) == 0);
+
+        // 3아웃 후 공수 교대, 말 공격 득점은 홈 점수
+        state = apply(apply(state, Outcome.OUT), Outcome.OUT);
+        SelfTest.check("3아웃 후 1회 말", inning(state) == 1 && !isTopHalf(state) && outs(state) == 0);
+        state = apply(state, Outcome.HIT);
+        state = apply(state, Outcome.HIT);
+        state = apply(state, Outcome.HIT);
+        state = apply(state, Outcome.HIT);
+        SelfTest.check("안타 4번이면 1점, 만루", homeScore(state) == 1 && runners(state) == 0b111);
+        SelfTest.check("공격/수비 점수", battingScore(state) == 1 && fieldingScore(state) == 5);
+        System.out.println("  " + toString(state));
+
+        // 이전 구현(필드 여러 개)과 무작위 판정 순서에서 같은 결과인지 비교
+        java.util.SplittableRandom random = new java.util.SplittableRandom(42);
+        Outcome[] judged = {Outcome.STRIKE, Outcome.BALL, Outcome.FOUL, Outcome.HIT, Outcome.HOMERUN, Outcome.OUT};
+        int mismatches = 0;
+        int games = 20_000;
+        for (int game = 0; game < games; game++) {
+            LegacyState legacy = new LegacyState();
+            long packed = INITIAL;
+            while (!isGameOver(packed)) {
+                Outcome outcome = judged[random.nextInt(judged.length)];
+                boolean atBatEnded = legacy.apply(outcome);
+                if ((atBatResult(packed, outcome) != null) != atBatEnded) mismatches++;
+                packed = apply(packed, outcome);
+                if (!legacy.matches(packed)) {
+                    mismatches++;
+                    break;
+                }
+            }
+        }
+        SelfTest.check("이전 구현과 " + games + "경기 일치", mismatches == 0);
+
+        // 스냅샷은 long 복사
+        long[] checkpoints = new long[1_000_000];
+        long start = System.nanoTime();
+        long s = INITIAL;
+        for (int i = 0; i < checkpoints.length; i++) {
+            s = apply(s, judged[i % judged.length]);
+            if (isGameOver(s)) s = INITIAL;
+            checkpoints[i] = s;
+        }
+        System.out.printf("전이 + 스냅샷 1회: %.1fns%n", (double) (System.nanoTime() - start) / checkpoints.length);
+    }
+
+    /**
+     * 이전 EnhancedGameThread의 필드 기반 규칙 (비교용)
+     */
+    private static final class LegacyState {
+        int strikes, balls, outs, inning = 1, awayScore, homeScore;
+        boolean top = true, runner1st, runner2nd, runner3rd;
+
+        boolean apply(Outcome result) {
+            int batterScore = top ? awayScore : homeScore;
+            switch (result) {
+                case STRIKE: strikes++; break;
+                case BALL: balls++; break;
+                case FOUL: if (strikes < 2) strikes++; break;
+                case HIT:
+                    if (runner3rd) batterScore++;
+                    boolean new3rd = runner2nd;
+                    boolean new2nd = runner1st;
+                    runner1st = true;
+                    runner2nd = new2nd;
+                    runner3rd = new3rd;
+                    break;
+                case HOMERUN:
+                    batterScore += 1 + (runner1st ? 1 : 0) + (runner2nd ? 1 : 0) + (runner3rd ? 1 : 0);
+                    runner1st = runner2nd = runner3rd = false;
+                    break;
+                case OUT: outs++; break;
+                default: break;
+            }
+            boolean atBatFinished = result == Outcome.HIT || result == Outcome.HOMERUN || result == Outcome.OUT;
+            if (strikes >= 3) {
+                outs++;
+                atBatFinished = true;
+            }
+            if (balls >= 4) {
+                if (runner1st && runner2nd && runner3rd) {
+                    batterScore++;
+                } else if (runner1st && runner2nd) {
+                    runner3rd = true;
+                } else if (runner1st) {
+                    runner2nd = true;
+                }
+                runner1st = true;
+                atBatFinished = true;
+            }
+            if (top) awayScore = batterScore; else homeScore = batterScore;
+            if (atBatFinished) {
+                strikes = 0;
+                balls = 0;
+            }
+            if (outs >= 3) {
+                if (!top) inning++;
+                top = !top;
+                outs = strikes = balls = 0;
+                runner1st = runner2nd = runner3rd = false;
+            }
+            return atBatFinished;
+        }
+
+        boolean matches(long state) {
+            return strikes == strikes(state) && balls == balls(state) && outs == outs(state)
+                && inning == inning(state) && top == isTopHalf(state)
+                && awayScore == awayScore(state) && homeScore == homeScore(state)
+                && runner1st == runnerOn(state, 1) && runner2nd == runnerOn(state, 2) && runner3rd == runnerOn(state, 3);
+        }
+    }
+}
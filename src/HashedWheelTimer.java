@@ -0,0 +1,346 @@
+/*
+ * 해시 타이밍 휠 타이머
+ * 서버 전체에서 공유하는 스레드 하나로 많은 수의 마감 시간(투구/타격 제한 시간 등)을 관리
+ * 예약과 취소는 O(1)이며, 만료 검사는 틱마다 해당 칸의 타이머만 확인
+ *
+ * 정밀도는 틱 간격으로 제한되므로 밀리초 단위 정확도가 필요한 작업에는 맞지 않음
+ * 만료 작업은 타이머 스레드에서 실행되므로 게임 이벤트 루프에 넘기는 정도로 짧게 유지해야 함
+ */
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HashedWheelTimer {
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    // 한 틱에 휠로 옮기는 신규 타이머 최대 수 (대량 예약 시 틱이 밀리지 않도록)
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    /**
+     * 예약된 작업 핸들
+     */
+    public static final class Timeout {
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline; // 타이머 시작 시각 기준 나노초
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long remainingRounds;
+
+        // 칸 안의 이중 연결 리스트 (타이머 스레드만 변경)
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 작업 취소
+         * @return 아직 실행되지 않은 작업을 취소했으면 true
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            // 실제 제거는 타이머 스레드가 다음 틱에 수행
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("[타이머] 작업 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 휠의 한 칸
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        /**
+         * 이번 바퀴에 만료되는 작업 실행, 나머지는 남은 바퀴 수 감소
+         */
+        void expireTimeouts(HashedWheelTimer timer, long tickDeadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0) {
+                    Timeout next = remove(timeout);
+                    timer.pendingCount.decrement();
+                    if (timeout.deadline <= tickDeadline) {
+                        timeout.expire();
+                    }
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                    timer.pendingCount.decrement();
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final LongAdder pendingCount = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick = 0;
+
+    /**
+     * @param name 타이머 스레드 이름
+     * @param tickMillis 틱 간격 (밀리초, 만료 정밀도)
+     * @param ticksPerWheel 휠의 칸 수 (2의 거듭제곱으로 올림)
+     */
+    public HashedWheelTimer(String name, long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("틱 간격은 0보다 커야 합니다: " + tickMillis);
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+
+        this.worker = new Thread(this::runWorker, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 지정한 시간 뒤 작업 실행 예약
+     * @param task 실행할 작업 (타이머 스레드에서 실행됨)
+     * @param delayMillis 지연 시간 (밀리초)
+     * @return 취소용 핸들
+     */
+    public Timeout newTimeout(Runnable task, long delayMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis)) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.increment();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 실행 또는 제거되지 않은 작업 수 (취소 후 아직 제거되지 않은 것 포함)
+     */
+    public long getPendingTimeouts() {
+        return pendingCount.sum();
+    }
+
+    /**
+     * 타이머 중지 (남은 작업은 실행하지 않음)
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            long tickDeadline = waitForNextTick();
+            if (tickDeadline < 0) {
+                break;
+            }
+            removeCancelled();
+            transferNewTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(this, tickDeadline);
+            tick++;
+        }
+    }
+
+    /**
+     * 다음 틱 시각까지 대기
+     * @return 이번 틱의 기준 시각 (타이머 시작 기준 나노초), 중지되면 -1
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                pendingCount.decrement();
+                continue;
+            }
+            long expireTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            // 이미 지난 마감은 현재 칸에 넣어 이번 틱에 실행
+            long ticks = Math.max(expireTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            // 아직 휠로 옮겨지지 않은 작업은 transferNewTimeouts에서 버림
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+                pendingCount.decrement();
+            }
+        }
+    }
+
+    // 테스트용 메인 메서드 - 동시 마감 10만 개 예약/취소 벤치마크
+    public static void main(String[] args) throws Exception {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final int rounds = 5;
+        System.out.println("=== HashedWheelTimer 벤치마크 (동시 마감 " + count + "개) ===\n");
+
+        HashedWheelTimer timer = new HashedWheelTimer("wheel-bench", 10, 512);
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        Runnable noop = () -> { };
+
+        Timeout[] timeouts = new Timeout[count];
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[count];
+        for (int round = 0; round <= rounds; round++) {
+            // 투구/타격 제한 시간처럼 3.5~5.5초 마감을 예약한 뒤 모두 취소 (대부분 입력이 먼저 도착하는 상황)
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                timeouts[i] = timer.newTimeout(noop, 3500 + (i % 2001));
+            }
+            long scheduled = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                timeouts[i].cancel();
+            }
+            long cancelled = System.nanoTime();
+
+            for (int i = 0; i < count; i++) {
+                futures[i] = scheduler.schedule(noop, 3500 + (i % 2001), TimeUnit.MILLISECONDS);
+            }
+            long scheduled2 = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                futures[i].cancel(false);
+            }
+            long cancelled2 = System.nanoTime();
+
+            // 첫 바퀴는 JIT 워밍업
+            if (round > 0) {
+                System.out.printf("%d회차  휠: 예약 %6.1fns/건, 취소 %5.1fns/건 | ScheduledThreadPoolExecutor: 예약 %6.1fns/건, 취소 %6.1fns/건%n",
+                    round,
+                    (scheduled - start) / (double) count, (cancelled - scheduled) / (double) count,
+                    (scheduled2 - cancelled) / (double) count, (cancelled2 - scheduled2) / (double) count);
+            }
+            Thread.sleep(50);
+        }
+
+        // 만료 정확도: 100~300ms 마감을 모두 실행시켜 지연 측정
+        AtomicInteger fired = new AtomicInteger();
+        long[] lateness = new long[count];
+        long base = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            final long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100 + (i % 201));
+            timer.newTimeout(() -> {
+                lateness[index] = System.nanoTime() - due;
+                fired.incrementAndGet();
+            }, 100 + (i % 201));
+        }
+        while (fired.get() < count && System.nanoTime() - base < TimeUnit.SECONDS.toNanos(5)) {
+            Thread.sleep(20);
+        }
+        java.util.Arrays.sort(lateness, 0, fired.get());
+        System.out.printf("%n만료 실행: %d/%d건, 지연 p50 %.1fms, p99 %.1fms, 최대 %.1fms (틱 10ms)%n",
+            fired.get(), count,
+            lateness[fired.get() / 2] / 1e6, lateness[(int) (fired.get() * 0.99)] / 1e6, lateness[fired.get() - 1] / 1e6);
+        System.out.println("남은 예약: " + timer.getPendingTimeouts() + "건, 타이머 스레드: 1개");
+
+        timer.stop();
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * 서버 핫 패스 마이크로벤치마크 모음
+ * 판정(JudgementProcessor), 프로토콜 생성/파싱 왕복(GameProtocol), 구속 생성(RandomSpeedGenerator),
+ * 전적 기록/순위 조회(RecordManager, 플레이어 1천/10만/100만 명)의 연산당 시간과 할당량을 측정
+ *
+ * 시간 기반 워밍업 뒤 측정 구간을 여러 번 반복하여 중앙값을 보고하며,
+ * 할당량은 측정 스레드의 할당 바이트(SelfTest.allocatedBytes)로 계산
+ *
+ * 실행: java HotPathBenchmark [--filter 이름일부] [--sizes 1000,100000,1000000]
+ *                           [--save 파일] [--compare benchmark_baseline.txt]
+ * 기준 파일과 비교하면 벤치마크별 시간/할당량 변화율을 함께 출력
+ */
+import java.io.*;
+import java.util.*;
+
+public class HotPathBenchmark {
+
+    /**
+     * 측정 대상 - 주어진 횟수만큼 실행하고 결과를 합친 값을 반환 (JIT의 코드 제거 방지)
+     */
+    interface Body {
+        long run(long iterations) throws Exception;
+    }
+
+    /**
+     * 벤치마크 하나의 측정 결과
+     */
+    static class Result {
+        final String name;
+        final double nanosPerOp;
+        final double bytesPerOp;
+        final long operations;
+
+        Result(String name, double nanosPerOp, double bytesPerOp, long operations) {
+            this.name = name;
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+            this.operations = operations;
+        }
+    }
+
+    private static final long WARMUP_NANOS = 500_000_000L;
+    private static final long MEASURE_NANOS = 200_000_000L;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final PitchType[] PITCH_TYPES = PitchType.values();
+    // 판정/구속 벤치마크의 고정 시드 (실행마다 같은 난수 순서)
+    private static final long BENCH_SEED = 12345L;
+
+    private static String filter = null;
+    private static final List<Result> results = new ArrayList<>();
+    private static long sink = 0;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = {1_000, 100_000, 1_000_000};
+        String saveFile = null;
+        String compareFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--filter": filter = args[++i]; break;
+                case "--save": saveFile = args[++i]; break;
+                case "--compare": compareFile = args[++i]; break;
+                case "--sizes": {
+                    String[] parts = args[++i].split(",");
+                    sizes = new int[parts.length];
+                    for (int p = 0; p < parts.length; p++) {
+                        sizes[p] = Integer.parseInt(parts[p].trim());
+                    }
+                    break;
+                }
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        System.out.println("=== 핫 패스 벤치마크 ===");
+        System.out.println(environment());
+        System.out.printf("%n%-40s %14s %12s %12s%n", "벤치마크", "ns/op", "B/op", "측정 횟수");
+
+        benchmarkJudgement();
+        benchmarkProtocol();
+        benchmarkSpeedGenerator();
+        for (int size : sizes) {
+            benchmarkRecords(size);
+        }
+
+        if (compareFile != null) {
+            compare(compareFile);
+        }
+        if (saveFile != null) {
+            save(saveFile);
+            System.out.println("\n결과 저장: " + saveFile);
+        }
+        if (sink == 42) System.out.print(""); // 결과 사용 (JIT 제거 방지)
+    }
+
+    // ===== 판정 =====
+
+    private static void benchmarkJudgement() throws Exception {
+        JudgementProcessor processor = new JudgementProcessor(new GameRandom(BENCH_SEED));
+        Outcome[] outcomes = Outcome.values();
+
+        run("judgement.judge", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                sum += processor.judge(PITCH_TYPES[k & 3], 100 + (k % 61), (k & 4) == 0).ordinal();
+            }
+            return sum;
+        });
+        run("judgement.judgeIndex", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                sum += processor.judgeIndex(PITCH_TYPES[k & 3], 100 + (k % 61), (k & 4) == 0);
+            }
+            return sum;
+        });
+        run("judgement.judge.legacy", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                sum += processor.judgeLegacy(PITCH_TYPES[k & 3], 100 + (k % 61), (k & 4) == 0).ordinal();
+            }
+            return sum;
+        });
+        run("judgement.getResultMessage", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                sum += processor.getResultMessage(outcomes[k % outcomes.length], PITCH_TYPES[k & 3], 100 + (k % 61)).length();
+            }
+            return sum;
+        });
+    }
+
+    // ===== 프로토콜 =====
+
+    private static void benchmarkProtocol() throws Exception {
+        int[] fields = new int[3];
+
+        run("protocol.count.build+parse", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                int[] count = GameProtocol.Parser.parseCount(GameProtocol.Builder.buildCount(k % 3, k & 3, (k >> 2) % 3));
+                sum += count[0] + count[1] + count[2];
+            }
+            return sum;
+        });
+        run("protocol.count.build+parse.noalloc", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                GameProtocol.Parser.parseCount(GameProtocol.Builder.buildCount(k % 3, k & 3, (k >> 2) % 3), fields);
+                sum += fields[0] + fields[1] + fields[2];
+            }
+            return sum;
+        });
+        run("protocol.score.build+parse", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                int[] score = GameProtocol.Parser.parseScore(GameProtocol.Builder.buildScore(k % 13, k % 7));
+                sum += score[0] + score[1];
+            }
+            return sum;
+        });
+        run("protocol.pitchInfo.build+parse", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                int k = (int) i;
+                String[] info = GameProtocol.Parser.parsePitchInfo(GameProtocol.Builder.buildPitchInfo(PITCH_TYPES[k & 3], 100 + (k % 61)));
+                sum += info[0].charAt(0) + Integer.parseInt(info[1]);
+            }
+            return sum;
+        });
+        run("protocol.pitch.build+getPitchType", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += GameProtocol.Parser.getPitchType(GameProtocol.Builder.buildPitch(PITCH_TYPES[(int) i & 3]));
+            }
+            return sum;
+        });
+
+        // 클라이언트의 결과 분기: 이전 방식(부분 문자열 + 문자열 switch)과 Outcome 파싱
+        String[] resultMessages = new String[Outcome.count()];
+        for (int o = 0; o < resultMessages.length; o++) {
+            resultMessages[o] = GameProtocol.Builder.buildResult(Outcome.of(o), "직구 150km/h - " + Outcome.of(o).text());
+        }
+        run("protocol.result.split+switch", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                String type = GameProtocol.Parser.getData(resultMessages[(int) (i % resultMessages.length)]).split(":", 2)[0];
+                switch (type) {
+                    case "HIT": case "HOMERUN": sum += 2; break;
+                    case "WALK": sum += 1; break;
+                    case "OUT": sum += 3; break;
+                    default: break;
+                }
+            }
+            return sum;
+        });
+        run("protocol.result.parseResult", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                switch (GameProtocol.Parser.parseResult(resultMessages[(int) (i % resultMessages.length)])) {
+                    case HIT: case HOMERUN: sum += 2; break;
+                    case WALK: sum += 1; break;
+                    case OUT: sum += 3; break;
+                    default: break;
+                }
+            }
+            return sum;
+        });
+    }
+
+    // ===== 구속 생성 =====
+
+    private static void benchmarkSpeedGenerator() throws Exception {
+        RandomSpeedGenerator generator = new RandomSpeedGenerator(new GameRandom(BENCH_SEED));
+        run("speed.generateSpeed", n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += generator.generateSpeed(PITCH_TYPES[(int) i & 3]);
+            }
+            return sum;
+        });
+    }
+
+    // ===== 전적 =====
+
+    private static void benchmarkRecords(int players) throws Exception {
+        String suffix = "@" + players;
+        if (!selected("records.recordGameResult" + suffix)
+            && !selected("records.getRankingByWinRate" + suffix)
+            && !selected("records.getRankingByWins" + suffix)
+            && !selected("records.getWinRateRank" + suffix)) {
+            return;
+        }
+
+        // registerPlayer는 호출마다 전체 파일을 저장하므로, 기록 파일을 직접 만들어 불러옴
+        File file = File.createTempFile("bench_records", ".dat");
+        file.deleteOnExit();
+        writeRecordFile(file, players);
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager manager;
+        try {
+            manager = new RecordManager(file.getPath());
+        } finally {
+            System.setOut(out);
+        }
+
+        Random random = new Random(players);
+        run("records.recordGameResult" + suffix, n -> {
+            // 매 호출 전체 저장과 로그 출력 비용까지 측정 (출력 자체는 버림)
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                for (long i = 0; i < n; i++) {
+                    manager.recordGameResult("player" + random.nextInt(players), "player" + random.nextInt(players));
+                }
+            } finally {
+                System.setOut(out);
+            }
+            return n;
+        });
+        run("records.getRankingByWinRate" + suffix, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += manager.getRankingByWinRate(10).get(0).getWins();
+            }
+            return sum;
+        });
+        run("records.getRankingByWins" + suffix, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += manager.getRankingByWins(10).get(0).getWins();
+            }
+            return sum;
+        });
+        run("records.getWinRateRank" + suffix, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += manager.getWinRateRank("player" + random.nextInt(players));
+            }
+            return sum;
+        });
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            manager.close();
+        } finally {
+            System.setOut(out);
+        }
+        // 처음 열 때 샤드 파일로 나누어 저장하므로 샤드 파일까지 삭제
+        RecordManager.deleteStore(file.getPath());
+    }
+
+    /**
+     * 무작위 전적을 가진 플레이어 기록 파일 생성 (RecordManager 저장 형식과 동일)
+     */
+    private static void writeRecordFile(File file, int players) throws IOException {
+        Random random = new Random(players);
+        Map<String, PlayerRecord> records = new HashMap<>();
+        for (int i = 0; i < players; i++) {
+            PlayerRecord record = new PlayerRecord("player" + i);
+            int wins = random.nextInt(50);
+            int losses = random.nextInt(50);
+            for (int w = 0; w < wins; w++) record.addWin();
+            for (int l = 0; l < losses; l++) record.addLoss();
+            records.put(record.getNickname(), record);
+        }
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            oos.writeObject(records);
+        }
+    }
+
+    // ===== 측정 =====
+
+    private static boolean selected(String name) {
+        return filter == null || name.contains(filter);
+    }
+
+    /**
+     * 워밍업 뒤 측정 구간을 반복하여 중앙값 기록
+     * 한 번 실행에 측정 구간보다 오래 걸리는 작업은 1회씩 측정
+     */
+    private static void run(String name, Body body) throws Exception {
+        if (!selected(name)) {
+            return;
+        }
+
+        // 워밍업: 실행 횟수를 두 배씩 늘리며 측정 구간 하나 분량의 횟수 산정
+        long iterations = 1;
+        long warmupStart = System.nanoTime();
+        while (true) {
+            long start = System.nanoTime();
+            sink += body.run(iterations);
+            long elapsed = System.nanoTime() - start;
+            if (System.nanoTime() - warmupStart >= WARMUP_NANOS) {
+                iterations = Math.max(1, (long) (iterations * (double) MEASURE_NANOS / Math.max(1, elapsed)));
+                break;
+            }
+            if (elapsed < MEASURE_NANOS) {
+                iterations *= 2;
+            }
+        }
+
+        double[] nanos = new double[MEASURE_ROUNDS];
+        double[] bytes = new double[MEASURE_ROUNDS];
+        long overhead = SelfTest.allocationOverhead();
+
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long allocatedBefore = SelfTest.allocatedBytes();
+            long start = System.nanoTime();
+            sink += body.run(iterations);
+            long elapsed = System.nanoTime() - start;
+            long allocated = SelfTest.allocatedBytes() - allocatedBefore - overhead;
+            nanos[round] = (double) elapsed / iterations;
+            bytes[round] = Math.max(0, (double) allocated / iterations);
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+
+        Result result = new Result(name, nanos[MEASURE_ROUNDS / 2], bytes[MEASURE_ROUNDS / 2], iterations * MEASURE_ROUNDS);
+        results.add(result);
+        System.out.printf("%-40s %14s %12.1f %12d%n", name, formatNanos(result.nanosPerOp), result.bytesPerOp, result.operations);
+    }
+
+    private static String formatNanos(double nanos) {
+        return nanos >= 100 ? String.format("%.0f", nanos) : String.format("%.2f", nanos);
+    }
+
+    private static String environment() {
+        return String.format("JDK %s (%s), 프로세서 %d개, 최대 힙 %dMB",
+            System.getProperty("java.version"), System.getProperty("java.vm.name"),
+            Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() >> 20);
+    }
+
+    // ===== 기준 파일 =====
+
+    /**
+     * 측정 결과를 기준 파일 형식으로 저장 (이름, ns/op, B/op를 탭으로 구분)
+     */
+    private static void save(String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(path), "UTF-8"))) {
+            writer.println("# HotPathBenchmark 기준값 - " + environment());
+            writer.println("# 이름\tns/op\tB/op");
+            for (Result result : results) {
+                writer.printf(Locale.ROOT, "%s\t%.2f\t%.1f%n", result.name, result.nanosPerOp, result.bytesPerOp);
+            }
+        }
+    }
+
+    /**
+     * 기준 파일과 비교하여 변화율 출력 (양수는 느려지거나 할당이 늘어난 것)
+     */
+    private static void compare(String path) throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(path), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.isBlank()) continue;
+                String[] parts = line.split("\t");
+                baseline.put(parts[0], new double[] {Double.parseDouble(parts[1]), Double.parseDouble(parts[2])});
+            }
+        }
+
+        System.out.printf("%n=== 기준 비교 (%s) ===%n", path);
+        System.out.printf("%-40s %14s %14s %10s %12s%n", "벤치마크", "기준 ns/op", "현재 ns/op", "시간", "할당 B/op");
+        for (Result result : results) {
+            double[] base = baseline.get(result.name);
+            if (base == null) {
+                System.out.printf("%-40s %14s %14s %10s %12s%n", result.name, "-", formatNanos(result.nanosPerOp), "신규", "-");
+                continue;
+            }
+            System.out.printf("%-40s %14s %14s %+9.1f%% %5.0f -> %-5.0f%n",
+                result.name, formatNanos(base[0]), formatNanos(result.nanosPerOp),
+                (result.nanosPerOp / base[0] - 1) * 100, base[1], result.bytesPerOp);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * 서버 송신 I/O 지표
+ * 소켓 쓰기 시스템 콜 횟수와 보낸 메시지 수, 진행된 투구 수를 누적하여
+ * 투구당 쓰기 횟수(쓰기 합치기 효과)를 확인하는 데 사용
+ */
+import java.util.concurrent.atomic.LongAdder;
+
+public class IoMetrics {
+    private static final LongAdder socketWrites = new LongAdder();
+    private static final LongAdder messagesSent = new LongAdder();
+    private static final LongAdder pitches = new LongAdder();
+
+    /**
+     * 소켓 쓰기 시스템 콜 1회 기록
+     */
+    public static void recordWrite() {
+        socketWrites.increment();
+    }
+
+    /**
+     * 송신 메시지 기록
+     * @param messages 한 번에 내보낸 메시지 수
+     */
+    public static void recordMessages(int messages) {
+        messagesSent.add(messages);
+    }
+
+    /**
+     * 투구 1회 기록
+     */
+    public static void recordPitch() {
+        pitches.increment();
+    }
+
+    public static long getSocketWrites() {
+        return socketWrites.sum();
+    }
+
+    public static long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public static long getPitches() {
+        return pitches.sum();
+    }
+
+    /**
+     * 지표 요약 문자열
+     */
+    public static String summary() {
+        long writes = getSocketWrites();
+        long messages = getMessagesSent();
+        long pitchCount = getPitches();
+        return String.format("소켓 쓰기 %d회, 메시지 %d개, 투구 %d회 (투구당 쓰기 %.2f회, 쓰기당 메시지 %.2f개)",
+            writes, messages, pitchCount,
+            pitchCount == 0 ? 0.0 : (double) writes / pitchCount,
+            writes == 0 ? 0.0 : (double) messages / writes);
+    }
+
+    public static void reset() {
+        socketWrites.reset();
+        messagesSent.reset();
+        pitches.reset();
+    }
+}
@@ -2,39 +2,172 @@
  * 서버에서 동작하며, 투구 정보 (구종, 구속)와 타격 정보 (스윙 여부)를 입력받아
  * 스트라이크, 볼, 안타 등의 최종 결과를 산출하는 가장 핵심적인 판정 메서드
  */
-import java.util.Random;
+import java.util.Arrays;
 
 public class JudgementProcessor {
     
-    // 판정 결과 상수
-    public static final String STRIKE = "STRIKE";
-    public static final String BALL = "BALL";
-    public static final String FOUL = "FOUL";
-    public static final String HIT = "HIT";
-    public static final String HOMERUN = "HOMERUN";
-    public static final String OUT = "OUT";
+    // 판정 결과 개수 (Outcome.STRIKE ~ Outcome.OUT)
+    private static final int OUTCOMES = Outcome.JUDGED_COUNT;
+    private static final int PITCH_TYPES = PitchType.count();
+    
+    // 결과 메시지 표 [결과][구종][구속 - MESSAGE_MIN_SPEED] (투구마다 문자열을 만들지 않음)
+    // 구속 범위는 PitchType의 전체 구종 범위와 같음
+    private static final int MESSAGE_MIN_SPEED = 100;
+    private static final int MESSAGE_MAX_SPEED = 160;
+    private static final String[][][] RESULT_MESSAGES = buildResultMessages();
+    
+    // 판정 결과 상수 (이전 문자열 API 호환용 - 값은 Outcome 이름과 같음)
+    @Deprecated public static final String STRIKE = "STRIKE";
+    @Deprecated public static final String BALL = "BALL";
+    @Deprecated public static final String FOUL = "FOUL";
+    @Deprecated public static final String HIT = "HIT";
+    @Deprecated public static final String HOMERUN = "HOMERUN";
+    @Deprecated public static final String OUT = "OUT";
+    // judgeIndex 번호 순서의 결과 상수
+    private static final String[] LEGACY_RESULTS = {STRIKE, BALL, FOUL, HIT, HOMERUN, OUT};
      
-    private Random random;
+    private final GameRandom random;
     
     public JudgementProcessor() {
-        this.random = new Random();
+        this(GameRandom.forNewGame());
+    }
+    
+    /**
+     * 난수 스트림을 지정하는 생성자
+     * @param random 게임의 난수 스트림 (같은 시드와 같은 입력이면 같은 판정 순서)
+     */
+    public JudgementProcessor(GameRandom random) {
+        this.random = random;
+    }
+    
+    /**
+     * 공개된 투구와 스윙 여부로 판정하여 상세 메시지까지 담은 판정 이벤트 반환
+     * @param pitch 투구 이벤트
+     * @param isSwing 타자가 스윙했는지 여부
+     * @return 판정 이벤트
+     */
+    public GameEvent.Judgement judge(GameEvent.Pitch pitch, boolean isSwing) {
+        Outcome outcome = judge(pitch.type(), pitch.speed(), isSwing);
+        return new GameEvent.Judgement(pitch, isSwing, outcome, getResultMessage(outcome, pitch.type(), pitch.speed()));
     }
     
     /**
      * 투구와 타격 정보를 바탕으로 결과 판정
-     * @param pitchType 구종 ('A', 'S', 'D', 'F')
+     * @param pitchType 구종 (null이면 기본 확률 적용)
      * @param speed 구속 (km/h)
      * @param isSwing 타자가 스윙했는지 여부
      * @return 판정 결과 (STRIKE, BALL, FOUL, HIT, HOMERUN, OUT)
      */
+    public Outcome judge(PitchType pitchType, int speed, boolean isSwing) {
+        return Outcome.of(judgeIndex(pitchType, speed, isSwing));
+    }
+    
+    /**
+     * 구종 문자로 판정하여 결과 상수 반환 (이전 API, judgeIndex로 위임)
+     * @param pitchType 구종 ('A', 'S', 'D', 'F', 그 외는 기본 확률 적용)
+     * @param speed 구속 (km/h)
+     * @param isSwing 타자가 스윙했는지 여부
+     * @return 판정 결과 (STRIKE, BALL, FOUL, HIT, HOMERUN, OUT)
+     * @deprecated {@link #judge(PitchType, int, boolean)} 사용
+     */
+    @Deprecated
     public String judge(char pitchType, int speed, boolean isSwing) {
+        return LEGACY_RESULTS[judgeIndex(PitchType.fromCode(pitchType), speed, isSwing)];
+    }
+    
+    /**
+     * 판정 결과를 번호로 반환 (Outcome 순서 번호, 결과별 집계 배열의 첨자로 바로 사용)
+     * 난수 한 번과 누적 확률표 조회로 판정하며, 분포는 judgeLegacy와 같음
+     * @return 0: STRIKE, 1: BALL, 2: FOUL, 3: HIT, 4: HOMERUN, 5: OUT
+     */
+    public int judgeIndex(PitchType pitchType, int speed, boolean isSwing) {
+        int base = tableOffset(pitchType, speed, isSwing);
+        double draw = random.nextDouble();
+        // 누적 확률 이하로 떨어진 경계 수를 세어 결과를 정함 (결과마다 갈라지는 분기 없이 비교만 함)
+        return (draw >= CUMULATIVE[base] ? 1 : 0)
+            + (draw >= CUMULATIVE[base + 1] ? 1 : 0)
+            + (draw >= CUMULATIVE[base + 2] ? 1 : 0)
+            + (draw >= CUMULATIVE[base + 3] ? 1 : 0)
+            + (draw >= CUMULATIVE[base + 4] ? 1 : 0);
+    }
+    
+    // ===== 누적 확률표 =====
+    // 판정 분포는 구종, 구속(난이도 계산과 같이 120~160으로 제한), 스윙 여부로만 정해지므로
+    // 조합마다 결과 6개의 누적 확률을 한 번 계산해 둠 (알 수 없는 구종은 마지막 행)
+    
+    private static final int TABLE_MIN_SPEED = 120;
+    private static final int TABLE_MAX_SPEED = 160;
+    private static final int TABLE_SPEEDS = TABLE_MAX_SPEED - TABLE_MIN_SPEED + 1;
+    private static final double[] CUMULATIVE = buildCumulativeTable();
+    
+    private static int tableOffset(PitchType pitchType, int speed, boolean isSwing) {
+        int row = pitchType != null ? pitchType.ordinal() : PITCH_TYPES;
+        int clamped = Math.max(TABLE_MIN_SPEED, Math.min(TABLE_MAX_SPEED, speed));
+        return ((row * TABLE_SPEEDS + (clamped - TABLE_MIN_SPEED)) * 2 + (isSwing ? 1 : 0)) * OUTCOMES;
+    }
+    
+    private static double[] buildCumulativeTable() {
+        double[] table = new double[(PITCH_TYPES + 1) * TABLE_SPEEDS * 2 * OUTCOMES];
+        for (int row = 0; row <= PITCH_TYPES; row++) {
+            // 알 수 없는 구종 행은 기본 확률이 적용되는 null로 계산
+            PitchType pitchType = row < PITCH_TYPES ? PitchType.of(row) : null;
+            for (int speed = TABLE_MIN_SPEED; speed <= TABLE_MAX_SPEED; speed++) {
+                for (int swing = 0; swing < 2; swing++) {
+                    double[] probabilities = outcomeProbabilities(pitchType, speed, swing == 1);
+                    int base = tableOffset(pitchType, speed, swing == 1);
+                    int last = 0;
+                    double sum = 0;
+                    for (int o = 0; o < OUTCOMES; o++) {
+                        sum += probabilities[o];
+                        table[base + o] = sum;
+                        if (probabilities[o] > 0) last = o;
+                    }
+                    // 반올림 오차로 마지막 결과 뒤에 빈틈이 생기지 않도록 끝을 1로 맞춤
+                    for (int o = last; o < OUTCOMES; o++) {
+                        table[base + o] = 1.0;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+    
+    /**
+     * 판정 결과별 확률 (judgeLegacy의 분기 구조를 그대로 곱한 값)
+     * @return Outcome 순서의 확률 6개
+     */
+    static double[] outcomeProbabilities(PitchType pitchType, int speed, boolean isSwing) {
+        double zone = getStrikeZoneProbability(pitchType);
+        double[] p = new double[OUTCOMES];
+        if (!isSwing) {
+            p[0] = zone;
+            p[1] = 1 - zone;
+            return p;
+        }
+        double hitDifficulty = calculateHitDifficulty(pitchType, speed);
+        double homerunChance = 0.08 * (1 - hitDifficulty);
+        double hitChance = 0.35 * (1 - hitDifficulty);
+        double foulChance = 0.40;
+        double missChance = 0.7;
+        p[0] = (1 - zone) * missChance;                                         // 볼 존 헛스윙
+        p[2] = zone * foulChance + (1 - zone) * (1 - missChance);               // 존 안 파울 + 볼 존 파울
+        p[3] = zone * hitChance;
+        p[4] = zone * homerunChance;
+        p[5] = zone * (1 - homerunChance - hitChance - foulChance);
+        return p;
+    }
+    
+    /**
+     * 이전 판정 구현 (난수 2~3회와 분기) - 분포 비교와 벤치마크 기준용
+     */
+    Outcome judgeLegacy(PitchType pitchType, int speed, boolean isSwing) {
         // 스트라이크 존 확률 (구종별로 다르게 설정)
         double strikeZoneProbability = getStrikeZoneProbability(pitchType);
         boolean isStrikeZone = random.nextDouble() < strikeZoneProbability;
         
         // 타자가 스윙하지 않은 경우
         if (!isSwing) {
-            return isStrikeZone ? STRIKE : BALL;
+            return isStrikeZone ? Outcome.STRIKE : Outcome.BALL;
         }
         
         // 타자가 스윙한 경우
@@ -45,9 +178,9 @@ public class JudgementProcessor {
             // 볼 존에서 스윙 - 높은 확률로 헛스윙 or 파울
             double missChance = 0.7; // 70% 헛스윙
             if (random.nextDouble() < missChance) {
-                return STRIKE; // 헛스윙 (스트라이크 카운트)
+                return Outcome.STRIKE; // 헛스윙 (스트라이크 카운트)
             } else {
-                return FOUL;
+                return Outcome.FOUL;
             }
         }
     }
@@ -57,12 +190,15 @@ public class JudgementProcessor {
      * @param pitchType 구종
      * @return 스트라이크 존 확률
      */
-    private double getStrikeZoneProbability(char pitchType) {
+    private static double getStrikeZoneProbability(PitchType pitchType) {
+        if (pitchType == null) {
+            return 0.60;
+        }
         switch(pitchType) {
-            case 'S': return 0.75; // 직구: 75% 스트라이크
-            case 'F': return 0.65; // 슬라이더: 65%
-            case 'D': return 0.55; // 커브: 55%
-            case 'A': return 0.50; // 포크: 50%
+            case FASTBALL: return 0.75; // 직구: 75% 스트라이크
+            case SLIDER: return 0.65;   // 슬라이더: 65%
+            case CURVE: return 0.55;    // 커브: 55%
+            case FORK: return 0.50;     // 포크: 50%
             default: return 0.60;
         }
     }
@@ -73,7 +209,7 @@ public class JudgementProcessor {
      * @param speed 구속
      * @return HIT, HOMERUN, FOUL, OUT 중 하나
      */
-    private String judgeHit(char pitchType, int speed) {
+    private Outcome judgeHit(PitchType pitchType, int speed) {
         // 구속에 따른 타격 난이도 계산 (빠를수록 어려움)
         double hitDifficulty = calculateHitDifficulty(pitchType, speed);
         
@@ -85,13 +221,13 @@ public class JudgementProcessor {
         double foulChance = 0.40;
         
         if (rand < homerunChance) {
-            return HOMERUN;
+            return Outcome.HOMERUN;
         } else if (rand < homerunChance + hitChance) {
-            return HIT;
+            return Outcome.HIT;
         } else if (rand < homerunChance + hitChance + foulChance) {
-            return FOUL;
+            return Outcome.FOUL;
         } else {
-            return OUT; // 친 공이 야수에게 잡힘
+            return Outcome.OUT; // 친 공이 야수에게 잡힘
         }
     }
     
@@ -101,15 +237,17 @@ public class JudgementProcessor {
      * @param speed 구속
      * @return 0.0 ~ 1.0 사이의 난이도 (높을수록 어려움)
      */
-    private double calculateHitDifficulty(char pitchType, int speed) {
+    private static double calculateHitDifficulty(PitchType pitchType, int speed) {
         double baseDifficulty = 0.0;
         
-        // 구종별 기본 난이도
-        switch(pitchType) {
-            case 'S': baseDifficulty = 0.3; break; // 직구는 상대적으로 쉬움
-            case 'F': baseDifficulty = 0.5; break;
-            case 'D': baseDifficulty = 0.6; break;
-            case 'A': baseDifficulty = 0.7; break; // 포크가 가장 어려움
+        // 구종별 기본 난이도 (알 수 없는 구종은 0)
+        if (pitchType != null) {
+            switch(pitchType) {
+                case FASTBALL: baseDifficulty = 0.3; break; // 직구는 상대적으로 쉬움
+                case SLIDER: baseDifficulty = 0.5; break;
+                case CURVE: baseDifficulty = 0.6; break;
+                case FORK: baseDifficulty = 0.7; break;     // 포크가 가장 어려움
+            }
         }
         
         // 구속에 따른 추가 난이도 (140km/h 기준으로 정규화)
@@ -127,26 +265,49 @@ public class JudgementProcessor {
      * @param speed 구속
      * @return 상세 메시지
      */
+    public String getResultMessage(Outcome result, PitchType pitchType, int speed) {
+        if (result == null) {
+            return "알 수 없는 결과";
+        }
+        if (pitchType != null && speed >= MESSAGE_MIN_SPEED && speed <= MESSAGE_MAX_SPEED) {
+            return RESULT_MESSAGES[result.ordinal()][pitchType.ordinal()][speed - MESSAGE_MIN_SPEED];
+        }
+        return formatResultMessage(result, pitchType, speed);
+    }
+    
+    /**
+     * 결과 상수와 구종 문자로 상세 메시지 반환 (이전 API)
+     * @param result 판정 결과 상수
+     * @param pitchType 구종 문자
+     * @param speed 구속
+     * @return 상세 메시지
+     * @deprecated {@link #getResultMessage(Outcome, PitchType, int)} 사용
+     */
+    @Deprecated
     public String getResultMessage(String result, char pitchType, int speed) {
-        RandomSpeedGenerator gen = new RandomSpeedGenerator();
-        String pitchName = gen.getPitchName(pitchType);
-        
-        switch(result) {
-            case STRIKE:
-                return pitchName + " " + speed + "km/h - 스트라이크!";
-            case BALL:
-                return pitchName + " " + speed + "km/h - 볼!";
-            case FOUL:
-                return pitchName + " " + speed + "km/h - 파울!";
-            case HIT:
-                return pitchName + " " + speed + "km/h - 안타!";
-            case HOMERUN:
-                return pitchName + " " + speed + "km/h - 홈런!!!";
-            case OUT:
-                return pitchName + " " + speed + "km/h - 아웃!";
-            default:
-                return "알 수 없는 결과";
+        for (int o = 0; o < LEGACY_RESULTS.length; o++) {
+            if (LEGACY_RESULTS[o].equals(result)) {
+                return getResultMessage(Outcome.of(o), PitchType.fromCode(pitchType), speed);
+            }
         }
+        return "알 수 없는 결과";
+    }
+    
+    private static String formatResultMessage(Outcome result, PitchType pitchType, int speed) {
+        String pitchName = pitchType != null ? pitchType.displayName() : "알 수 없음";
+        return pitchName + " " + speed + "km/h - " + result.text();
+    }
+    
+    private static String[][][] buildResultMessages() {
+        String[][][] messages = new String[Outcome.count()][PITCH_TYPES][MESSAGE_MAX_SPEED - MESSAGE_MIN_SPEED + 1];
+        for (int o = 0; o < Outcome.count(); o++) {
+            for (int p = 0; p < PITCH_TYPES; p++) {
+                for (int speed = MESSAGE_MIN_SPEED; speed <= MESSAGE_MAX_SPEED; speed++) {
+                    messages[o][p][speed - MESSAGE_MIN_SPEED] = formatResultMessage(Outcome.of(o), PitchType.of(p), speed);
+                }
+            }
+        }
+        return messages;
     }
     
     // 테스트용 메인 메서드
@@ -156,16 +317,16 @@ public class JudgementProcessor {
         
         System.out.println("=== 투구 판정 시뮬레이션 ===\n");
         
-        char[] pitchTypes = {'A', 'S', 'D', 'F'};
+        PitchType[] pitchTypes = PitchType.values();
         boolean[] swingOptions = {true, false};
         
-        for (char pitch : pitchTypes) {
+        for (PitchType pitch : pitchTypes) {
             int speed = speedGen.generateSpeed(pitch);
-            System.out.println("[" + speedGen.getPitchName(pitch) + " " + speed + "km/h]");
+            System.out.println("[" + pitch.displayName() + " " + speed + "km/h]");
             
             for (boolean swing : swingOptions) {
                 String swingText = swing ? "스윙함" : "스윙 안함";
-                String result = processor.judge(pitch, speed, swing);
+                Outcome result = processor.judge(pitch, speed, swing);
                 System.out.println("  " + swingText + " -> " + result);
             }
             System.out.println();
@@ -174,10 +335,158 @@ public class JudgementProcessor {
         // 연속 타격 시뮬레이션
         System.out.println("\n=== 10번 타석 시뮬레이션 (모두 스윙) ===");
         for (int i = 1; i <= 10; i++) {
-            char pitch = pitchTypes[i % 4];
+            PitchType type = pitchTypes[i % 4];
+            GameEvent.Pitch pitch = new GameEvent.Pitch(type, speedGen.generateSpeed(type));
+            GameEvent.Judgement judgement = processor.judge(pitch, true);
+            System.out.println(i + "번째: " + judgement.encode());
+        }
+        
+        // 같은 시드면 구속과 판정 순서가 같아야 함
+        System.out.println("\n=== 시드 재현 테스트 ===");
+        long seed = 20240601L;
+        SelfTest.check("같은 시드 재현", simulate(new GameRandom(seed)).equals(simulate(new GameRandom(seed))));
+        SelfTest.check("다른 시드 구분", !simulate(new GameRandom(seed)).equals(simulate(new GameRandom(seed + 1))));
+        
+        // 결과 메시지 조회는 표에서 꺼내므로 할당이 없어야 함
+        Outcome[] outcomes = Outcome.values();
+        int length = 0;
+        for (int round = 0; round < 3; round++) {
+            length += resultMessages(processor, outcomes, 1_000_000);
+        }
+        long baseline = SelfTest.allocationOverhead();
+        long before = SelfTest.allocatedBytes();
+        length += resultMessages(processor, outcomes, 1_000_000);
+        long allocated = SelfTest.allocatedBytes() - before - baseline;
+        System.out.println("getResultMessage 할당량: " + allocated + " 바이트 (1000000회)");
+        SelfTest.check("getResultMessage 할당 없음", allocated == 0);
+        SelfTest.check("표 밖 구속도 같은 형식", processor.getResultMessage(Outcome.HIT, PitchType.FASTBALL, 170).equals("직구 170km/h - 안타!"));
+        SelfTest.check("판정 이벤트 인코딩", new GameEvent.Judgement(null, false, Outcome.BALL, "투구 시간 초과 - 볼!").encode()
+            .equals("RESULT:BALL:투구 시간 초과 - 볼!")
+            && GameEvent.AtBatEnd.STRIKEOUT.encode().equals("RESULT:STRIKEOUT:삼진 아웃!"));
+        SelfTest.check("결과 파싱", Outcome.parseResult("RESULT:STRIKEOUT:삼진 아웃!") == Outcome.STRIKEOUT
+            && Outcome.parseResult("RESULT:STRIKE:직구") == Outcome.STRIKE
+            && Outcome.parseResult("RESULT:WALK") == Outcome.WALK
+            && Outcome.parseResult("RESULT:STRIKES:x") == null
+            && Outcome.parseResult("COUNT:1:2:0") == null);
+        if (length == 42) System.out.print(""); // 결과 사용 (JIT 제거 방지)
+        
+        // 이전 문자열 API는 같은 난수 스트림이면 새 API와 같은 판정
+        JudgementProcessor charApi = new JudgementProcessor(new GameRandom(seed));
+        JudgementProcessor enumApi = new JudgementProcessor(new GameRandom(seed));
+        boolean sameResults = true;
+        for (int i = 0; i < 1000; i++) {
+            PitchType pitch = PitchType.of(i & 3);
+            String result = charApi.judge(pitch.code(), 130 + (i % 30), (i & 4) == 0);
+            sameResults &= result.equals(enumApi.judge(pitch, 130 + (i % 30), (i & 4) == 0).name());
+        }
+        SelfTest.check("이전 문자열 판정 API = Outcome 판정", sameResults
+            && processor.getResultMessage(HIT, 'S', 150).equals("직구 150km/h - 안타!")
+            && processor.getResultMessage("STRIKES", 'S', 150).equals("알 수 없는 결과"));
+        
+        // 누적 확률표 판정과 이전 구현이 같은 분포인지 카이제곱 적합도 검정 (유의수준 0.001)
+        System.out.println("\n=== 판정 분포 동등성 검정 (조합당 200000회) ===");
+        JudgementProcessor table = new JudgementProcessor(new GameRandom(seed));
+        JudgementProcessor legacy = new JudgementProcessor(new GameRandom(seed + 1));
+        int samples = 200_000;
+        int cells = 0;
+        int failures = 0;
+        double worst = 0;
+        for (PitchType pitch : new PitchType[] {PitchType.FORK, PitchType.FASTBALL, PitchType.CURVE, PitchType.SLIDER, null}) {
+            for (int speed : new int[] {100, 120, 137, 150, 160, 170}) {
+                for (boolean swing : swingOptions) {
+                    double[] expected = outcomeProbabilities(pitch, speed, swing);
+                    long[] tableCounts = new long[OUTCOMES];
+                    long[] legacyCounts = new long[OUTCOMES];
+                    for (int i = 0; i < samples; i++) {
+                        tableCounts[table.judgeIndex(pitch, speed, swing)]++;
+                        legacyCounts[legacy.judgeLegacy(pitch, speed, swing).ordinal()]++;
+                    }
+                    for (long[] counts : new long[][] {tableCounts, legacyCounts}) {
+                        double ratio = chiSquareRatio(counts, expected, samples);
+                        worst = Math.max(worst, ratio);
+                        cells++;
+                        if (ratio > 1) {
+                            failures++;
+                            System.out.printf("  %s %dkm/h 스윙=%b: 카이제곱/임계값 %.2f %s%n",
+                                pitch, speed, swing, ratio, Arrays.toString(counts));
+                        }
+                    }
+                }
+            }
+        }
+        System.out.printf("검정 %d건, 기각 %d건, 최대 카이제곱/임계값 %.2f%n", cells, failures, worst);
+        SelfTest.check("누적 확률표 분포 = 이전 구현 분포", failures == 0);
+        
+        // 두 구현의 판정 속도 비교
+        int iterations = 5_000_000;
+        for (int round = 0; round < 3; round++) {
+            judgeAll(table, iterations, false);
+            judgeAll(legacy, iterations, true);
+        }
+        long start = System.nanoTime();
+        length = judgeAll(legacy, iterations, true);
+        long legacyNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        length += judgeAll(table, iterations, false);
+        long tableNanos = System.nanoTime() - start;
+        System.out.printf("판정 1회: 이전 구현 %.1fns, 누적 확률표 %.1fns%n",
+            (double) legacyNanos / iterations, (double) tableNanos / iterations);
+        if (length == 42) System.out.print(""); // 결과 사용 (JIT 제거 방지)
+    }
+    
+    // 자유도 1~5의 카이제곱 임계값 (유의수준 0.001)
+    private static final double[] CHI_SQUARE_CRITICAL = {0, 10.828, 13.816, 16.266, 18.467, 20.515};
+    
+    /**
+     * 관측 빈도의 카이제곱 통계량을 임계값으로 나눈 값 (1보다 크면 기각)
+     * 기대 확률이 0인 결과가 관측되면 무한대
+     */
+    private static double chiSquareRatio(long[] observed, double[] expected, int samples) {
+        double chiSquare = 0;
+        int categories = 0;
+        for (int o = 0; o < observed.length; o++) {
+            if (expected[o] == 0) {
+                if (observed[o] > 0) return Double.POSITIVE_INFINITY;
+                continue;
+            }
+            double e = expected[o] * samples;
+            chiSquare += (observed[o] - e) * (observed[o] - e) / e;
+            categories++;
+        }
+        return chiSquare / CHI_SQUARE_CRITICAL[categories - 1];
+    }
+    
+    private static int judgeAll(JudgementProcessor processor, int iterations, boolean useLegacy) {
+        int length = 0;
+        for (int i = 0; i < iterations; i++) {
+            PitchType pitch = PitchType.of(i & 3);
+            int speed = 100 + (i % 61);
+            boolean swing = (i & 4) == 0;
+            length += (useLegacy ? processor.judgeLegacy(pitch, speed, swing) : processor.judge(pitch, speed, swing)).ordinal();
+        }
+        return length;
+    }
+    
+    /**
+     * 고정 입력으로 한 경기 분량의 투구를 판정하여 구속과 결과를 이어 붙임
+     */
+    private static String simulate(GameRandom random) {
+        RandomSpeedGenerator speedGen = new RandomSpeedGenerator(random.split());
+        JudgementProcessor processor = new JudgementProcessor(random.split());
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            PitchType pitch = PitchType.of(i % 4);
             int speed = speedGen.generateSpeed(pitch);
-            String result = processor.judge(pitch, speed, true);
-            System.out.println(i + "번째: " + processor.getResultMessage(result, pitch, speed));
+            log.append(speed).append(processor.judge(pitch, speed, i % 3 != 0)).append(',');
+        }
+        return log.toString();
+    }
+    
+    private static int resultMessages(JudgementProcessor processor, Outcome[] outcomes, int iterations) {
+        int length = 0;
+        for (int i = 0; i < iterations; i++) {
+            length += processor.getResultMessage(outcomes[i % outcomes.length], PitchType.of(i & 3), 100 + (i % 61)).length();
         }
+        return length;
     }
 }
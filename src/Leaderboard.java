@@ -0,0 +1,737 @@
+/*
+ * 전적 순위표 (승률 순, 승리 수 순)
+ * 전적이 바뀔 때마다 해당 플레이어의 위치만 옮기므로, 조회할 때 전체를 정렬하지 않음
+ *
+ * 두 순서 모두 (승, 패) 값만으로 정해지므로, 같은 (승, 패)인 플레이어를 한 묶음으로 두고
+ * 묶음을 순위 조회가 되는 스킵 리스트(노드마다 묶음 인원을 가중치로, 구간마다 가중치 합을 둠)에 넣음
+ * 묶음 수는 (승, 패) 조합 수라 플레이어 수보다 훨씬 적으므로 목록이 작고 캐시에 머묾
+ * - 상위 N명: 맨 앞 묶음부터 N명만 따라가므로 O(N)
+ * - 특정 플레이어 순위: 1 + 앞선 묶음의 인원 합, O(log 묶음 수)
+ * - 전적 변경: 이전 묶음에서 빼고 새 묶음에 넣고 두 묶음의 가중치를 고침, O(log 묶음 수)이고 할당 없음
+ * 순서가 같은 플레이어는 같은 순위이고, 목록에서는 그 묶음에 들어온 순서로 나열
+ *
+ * 동시성
+ * RecordManager는 전적 맵의 compute 안에서 순위표를 갱신하므로, 갱신이 잠금을 기다리면 모든 결과 기록이 한 줄로 섬
+ * 그래서 변경은 대기열에 넣기만 하고, 순위표 잠금이 비어 있을 때만(tryLock) 그 스레드가 쌓인 변경을 함께 적용
+ * - 게임 스레드는 잠금을 기다리지 않음 (다른 스레드가 적용 중이면 그 스레드나 다음 조회가 대신 적용)
+ * - 조회는 잠금을 잡고 쌓인 변경을 모두 적용한 뒤 읽으므로, 호출 전에 끝난 변경은 모두 보임
+ * - 같은 플레이어의 변경은 compute 순서대로 대기열에 들어가므로 적용 순서도 같음
+ *
+ * 사용법: java Leaderboard  (자체 테스트 - 무작위 변경 후 전체 정렬 결과와 비교)
+ */
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class Leaderboard {
+
+    /**
+     * 플레이어 한 명 (속한 묶음 안에서 이중 연결 목록으로 이어짐)
+     */
+    private static final class Entry {
+        final String nickname;
+        long lastPlayTime;
+        Group group;
+        Entry previous;
+        Entry next;
+
+        Entry(String nickname) {
+            this.nickname = nickname;
+        }
+    }
+
+    /**
+     * 같은 (승, 패)인 플레이어 묶음
+     */
+    private static final class Group {
+        final int wins;
+        final int losses;
+        final double winRate;
+        int size;
+        Entry first;
+        Entry last;
+
+        Group(int wins, int losses) {
+            this.wins = wins;
+            this.losses = losses;
+            int total = wins + losses;
+            this.winRate = total == 0 ? 0.0 : (double) wins / total;
+        }
+
+        void add(Entry entry) {
+            entry.group = this;
+            entry.previous = last;
+            entry.next = null;
+            if (last == null) first = entry; else last.next = entry;
+            last = entry;
+            size++;
+        }
+
+        void remove(Entry entry) {
+            if (entry.previous == null) first = entry.next; else entry.previous.next = entry.next;
+            if (entry.next == null) last = entry.previous; else entry.next.previous = entry.previous;
+            entry.previous = null;
+            entry.next = null;
+            size--;
+        }
+    }
+
+    /**
+     * 순위 기준 (RecordManager의 정렬 기준과 같음)
+     * 두 기준 모두 (승, 패)만으로 정해지므로 묶음마다 정렬 키 두 개(major, minor)를 미리 계산해 두고
+     * 스킵 리스트에서는 키만 비교함 (오름차순 = 앞 순위)
+     */
+    private enum Order {
+        // 승률 내림차순, 같으면 총 게임 수가 많은 순 (둘 다 같으면 같은 묶음)
+        WIN_RATE {
+            long major(Group group) {
+                // 0 이상의 double은 비트 표현의 대소가 값의 대소와 같음
+                return -Double.doubleToLongBits(group.winRate);
+            }
+
+            long minor(Group group) {
+                return -(long) (group.wins + group.losses);
+            }
+
+            long rankMinor(Group group) {
+                return minor(group);
+            }
+        },
+        // 승리 수 내림차순, 같으면 승률이 높은 순 = 승이 같으면 패가 적은 순
+        // 0승은 패와 관계없이 승률이 0이라 모두 같은 순위 (목록에서는 패가 적은 순으로 나열)
+        WINS {
+            long major(Group group) {
+                return -(long) group.wins;
+            }
+
+            long minor(Group group) {
+                return group.losses;
+            }
+
+            long rankMinor(Group group) {
+                return group.wins == 0 ? Long.MIN_VALUE : group.losses;
+            }
+        };
+
+        abstract long major(Group group);
+
+        abstract long minor(Group group);
+
+        /**
+         * 같은 순위인 묶음 중 맨 앞 묶음의 minor 이하인 값 (이보다 앞선 노드 = 순위가 앞선 플레이어)
+         */
+        abstract long rankMinor(Group group);
+    }
+
+    /**
+     * 적용을 기다리는 변경 (wins가 -1이면 삭제)
+     */
+    private record Change(String nickname, int wins, int losses, long lastPlayTime) {
+    }
+
+    // 게임 스레드가 한 번에 대신 적용하는 최대 변경 수 (나머지는 다음 변경이나 조회가 적용)
+    private static final int COMBINE_LIMIT = 256;
+
+    private final ConcurrentLinkedQueue<Change> pending = new ConcurrentLinkedQueue<>();
+    // 아래 순위표 상태는 이 잠금을 잡은 스레드만 사용
+    private final ReentrantLock lock = new ReentrantLock();
+    // 변경을 대기열에 넣기 직전에 실행 (테스트에서 변경 스레드를 전적 맵의 compute 안에서 멈출 때만 설정)
+    Runnable beforeChange;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    // key(승, 패) -> 묶음 (인원이 0이 되면 제거)
+    private final Map<Long, Group> groups = new HashMap<>();
+    private final RankedSkipList byWinRate = new RankedSkipList(Order.WIN_RATE);
+    private final RankedSkipList byWins = new RankedSkipList(Order.WINS);
+
+    /**
+     * 플레이어의 전적 반영 (없으면 추가) - 잠금을 기다리지 않음
+     */
+    public void update(String nickname, int wins, int losses, long lastPlayTime) {
+        offer(new Change(nickname, wins, losses, lastPlayTime));
+    }
+
+    /**
+     * 플레이어 삭제 - 잠금을 기다리지 않음
+     */
+    public void remove(String nickname) {
+        offer(new Change(nickname, -1, -1, 0));
+    }
+
+    private void offer(Change change) {
+        Runnable hook = beforeChange;
+        if (hook != null) {
+            hook.run();
+        }
+        pending.add(change);
+        int budget = COMBINE_LIMIT;
+        // 잠금을 놓은 뒤에도 남은 변경이 있으면 다시 시도 (적용 중인 스레드가 놓기 직전에 들어온 변경)
+        while (budget > 0 && !pending.isEmpty() && lock.tryLock()) {
+            try {
+                budget -= applyPending(budget);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 쌓인 변경을 순서대로 적용 (잠금을 잡은 상태에서 호출)
+     * @param limit 최대 적용 수
+     * @return 적용한 수
+     */
+    private int applyPending(int limit) {
+        int applied = 0;
+        Change change;
+        while (applied < limit && (change = pending.poll()) != null) {
+            apply(change);
+            applied++;
+        }
+        return applied;
+    }
+
+    private void apply(Change change) {
+        if (change.wins() < 0) {
+            removeNow(change.nickname());
+        } else {
+            updateNow(change.nickname(), change.wins(), change.losses(), change.lastPlayTime());
+        }
+    }
+
+    /**
+     * 잠금을 잡고 쌓인 변경을 적용 (조회 전에 호출, 호출한 쪽에서 unlock)
+     * 표시를 넣고 그 앞까지만 적용 - 호출 전에 끝난 변경은 모두 표시 앞에 있고,
+     * 그 뒤로 계속 들어오는 변경을 쫓느라 조회가 끝나지 않는 일이 없음
+     * (대기열은 잠금을 잡은 스레드만 꺼내므로 표시는 잠금을 놓기 전에 반드시 꺼냄)
+     */
+    private void lockAndApply() {
+        lock.lock();
+        Change marker = new Change(null, 0, 0, 0);
+        pending.add(marker);
+        Change change;
+        while ((change = pending.poll()) != marker) {
+            apply(change);
+        }
+    }
+
+    private void updateNow(String nickname, int wins, int losses, long lastPlayTime) {
+        Entry entry = entries.get(nickname);
+        if (entry != null && entry.group.wins == wins && entry.group.losses == losses) {
+            entry.lastPlayTime = lastPlayTime;
+            return;
+        }
+        Group group = groups.get(key(wins, losses));
+        if (group == null) {
+            group = new Group(wins, losses);
+            groups.put(key(wins, losses), group);
+            byWinRate.insert(group);
+            byWins.insert(group);
+        }
+        if (entry == null) {
+            entry = new Entry(nickname);
+            entries.put(nickname, entry);
+            group.add(entry);
+            byWinRate.addWeight(group, 1);
+            byWins.addWeight(group, 1);
+        } else {
+            // 보통 한 경기 차이라 두 묶음이 가까우므로 한 번 내려가며 함께 옮김
+            Group previous = entry.group;
+            previous.remove(entry);
+            group.add(entry);
+            byWinRate.move(previous, group);
+            byWins.move(previous, group);
+            dropIfEmpty(previous);
+        }
+        entry.lastPlayTime = lastPlayTime;
+    }
+
+    /**
+     * 전체 전적으로 새로 만듦 (시작할 때 한 번)
+     * 플레이어를 묶음에 모은 뒤 묶음마다 한 번씩만 넣으므로 O(n + 묶음 수 log 묶음 수)
+     */
+    public void load(Collection<PlayerRecord> records) {
+        lockAndApply();
+        try {
+            loadNow(records);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loadNow(Collection<PlayerRecord> records) {
+        clearNow();
+        for (PlayerRecord record : records) {
+            int wins = record.getWins();
+            int losses = record.getLosses();
+            Group group = groups.computeIfAbsent(key(wins, losses), k -> new Group(wins, losses));
+            Entry entry = new Entry(record.getNickname());
+            entry.lastPlayTime = record.getLastPlayDate().getTime();
+            if (entries.put(entry.nickname, entry) != null) {
+                throw new IllegalArgumentException("중복된 닉네임: " + entry.nickname);
+            }
+            group.add(entry);
+        }
+        for (Group group : groups.values()) {
+            byWinRate.insert(group);
+            byWins.insert(group);
+            byWinRate.addWeight(group, group.size);
+            byWins.addWeight(group, group.size);
+        }
+    }
+
+    private void removeNow(String nickname) {
+        Entry entry = entries.remove(nickname);
+        if (entry != null) {
+            Group group = entry.group;
+            group.remove(entry);
+            byWinRate.addWeight(group, -1);
+            byWins.addWeight(group, -1);
+            dropIfEmpty(group);
+        }
+    }
+
+    /**
+     * 빈 묶음은 목록에서 제거
+     */
+    private void dropIfEmpty(Group group) {
+        if (group.size == 0) {
+            groups.remove(key(group.wins, group.losses));
+            byWinRate.remove(group);
+            byWins.remove(group);
+        }
+    }
+
+    /**
+     * 묶음 키 - (승 << 32 | 패)를 홀수 상수로 곱해 섞음
+     * Long.hashCode는 상위/하위 32비트를 XOR하므로 그대로 쓰면 승 ^ 패 값끼리 모두 충돌함
+     * (홀수 곱셈은 일대일이라 서로 다른 (승, 패)는 다른 키)
+     */
+    private static long key(int wins, int losses) {
+        return ((long) wins << 32 | (losses & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+
+    public void clear() {
+        lockAndApply();
+        try {
+            clearNow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearNow() {
+        entries.clear();
+        groups.clear();
+        byWinRate.clear();
+        byWins.clear();
+    }
+
+    public int size() {
+        lockAndApply();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 승률 상위 목록
+     * @param limit 최대 개수 (0이면 전체)
+     */
+    public List<PlayerRecord> topByWinRate(int limit) {
+        lockAndApply();
+        try {
+            return byWinRate.first(limit > 0 ? Math.min(limit, entries.size()) : entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 승리 수 상위 목록
+     * @param limit 최대 개수 (0이면 전체)
+     */
+    public List<PlayerRecord> topByWins(int limit) {
+        lockAndApply();
+        try {
+            return byWins.first(limit > 0 ? Math.min(limit, entries.size()) : entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 승률 순위 (1 + 승률 순서가 앞선 플레이어 수, 같은 순서면 같은 순위, 없으면 -1)
+     */
+    public int winRateRank(String nickname) {
+        lockAndApply();
+        try {
+            Entry entry = entries.get(nickname);
+            return entry == null ? -1 : byWinRate.ahead(entry.group) + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 승리 수 순위 (1 + 승리 수 순서가 앞선 플레이어 수, 같은 순서면 같은 순위, 없으면 -1)
+     */
+    public int winsRank(String nickname) {
+        lockAndApply();
+        try {
+            Entry entry = entries.get(nickname);
+            return entry == null ? -1 : byWins.ahead(entry.group) + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가중치 있는 순위 조회 스킵 리스트 (노드 = 묶음, 가중치 = 묶음 인원)
+     * 각 단계의 구간 길이는 다음 노드까지 건너뛰는 노드들의 가중치 합 (다음 노드 포함, 시작 노드 제외)
+     * 다음 노드가 없는 단계의 구간 길이는 목록 끝까지의 가중치 합
+     * 노드는 가중치 0으로 넣고 빼며, 가중치는 addWeight로만 바꿈
+     */
+    private static final class RankedSkipList {
+        private static final int MAX_LEVEL = 32;
+
+        private static final class Node {
+            final Group group;
+            // 정렬 키 (묶음을 따라가지 않고 노드에서 바로 비교)
+            final long major;
+            final long minor;
+            final Node[] next;
+            final int[] span;
+
+            Node(Group group, long major, long minor, int level) {
+                this.group = group;
+                this.major = major;
+                this.minor = minor;
+                this.next = new Node[level];
+                this.span = new int[level];
+            }
+
+            boolean before(long major, long minor) {
+                return this.major < major || this.major == major && this.minor < minor;
+            }
+        }
+
+        private final Order order;
+        private Node head = new Node(null, 0, 0, MAX_LEVEL);
+        private int level = 1;
+        private int totalWeight;
+        private long seed = 0x9E3779B97F4A7C15L;
+        // 탐색 경로 (호출마다 새로 만들지 않음, upper는 move에서 뒤쪽 묶음의 경로)
+        private final Node[] update = new Node[MAX_LEVEL];
+        private final Node[] upper = new Node[MAX_LEVEL];
+        private final int[] rankAt = new int[MAX_LEVEL];
+
+        RankedSkipList(Order order) {
+            this.order = order;
+        }
+
+        /**
+         * 묶음 앞까지 내려가며 단계별 마지막 노드를 update에 기록
+         */
+        private void findPath(long major, long minor) {
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                rankAt[i] = i == level - 1 ? 0 : rankAt[i + 1];
+                while (x.next[i] != null && x.next[i].before(major, minor)) {
+                    rankAt[i] += x.span[i];
+                    x = x.next[i];
+                }
+                update[i] = x;
+            }
+        }
+
+        void insert(Group group) {
+            long major = order.major(group);
+            long minor = order.minor(group);
+            findPath(major, minor);
+            int nodeLevel = randomLevel();
+            if (nodeLevel > level) {
+                for (int i = level; i < nodeLevel; i++) {
+                    rankAt[i] = 0;
+                    update[i] = head;
+                    head.span[i] = totalWeight;
+                }
+                level = nodeLevel;
+            }
+            Node node = new Node(group, major, minor, nodeLevel);
+            for (int i = 0; i < nodeLevel; i++) {
+                node.next[i] = update[i].next[i];
+                update[i].next[i] = node;
+                node.span[i] = update[i].span[i] - (rankAt[0] - rankAt[i]);
+                update[i].span[i] = rankAt[0] - rankAt[i];
+            }
+            // 새 노드는 가중치 0이므로 더 높은 단계의 구간 길이는 그대로
+        }
+
+        void remove(Group group) {
+            findPath(order.major(group), order.minor(group));
+            Node x = update[0].next[0];
+            if (x == null || x.group != group) {
+                return;
+            }
+            for (int i = 0; i < x.next.length; i++) {
+                update[i].span[i] += x.span[i];
+                update[i].next[i] = x.next[i];
+            }
+            while (level > 1 && head.next[level - 1] == null) {
+                level--;
+            }
+        }
+
+        /**
+         * 묶음의 가중치 변경 - 모든 단계에서 묶음을 덮는 구간 길이만 바뀜
+         */
+        void addWeight(Group group, int delta) {
+            findPath(order.major(group), order.minor(group));
+            for (int i = 0; i < level; i++) {
+                update[i].span[i] += delta;
+            }
+            totalWeight += delta;
+        }
+
+        /**
+         * 한 명을 from 묶음에서 to 묶음으로 옮김 (가중치 from -1, to +1)
+         * 두 경로를 한 번에 내려가며, 앞쪽 경로가 지나간 노드는 뒤쪽 경로도 건너뛰고
+         * 두 경로가 같은 노드를 지나는 단계는 -1과 +1이 상쇄되므로 고치지 않음
+         */
+        void move(Group from, Group to) {
+            long fromMajor = order.major(from);
+            long fromMinor = order.minor(from);
+            long toMajor = order.major(to);
+            long toMinor = order.minor(to);
+            boolean forward = fromMajor < toMajor || fromMajor == toMajor && fromMinor < toMinor;
+            long frontMajor = forward ? fromMajor : toMajor;
+            long frontMinor = forward ? fromMinor : toMinor;
+            long backMajor = forward ? toMajor : fromMajor;
+            long backMinor = forward ? toMinor : fromMinor;
+            Node x = head;
+            Node y = head;
+            for (int i = level - 1; i >= 0; i--) {
+                Node start = x;
+                while (x.next[i] != null && x.next[i].before(frontMajor, frontMinor)) {
+                    x = x.next[i];
+                }
+                if (y == start) {
+                    y = x;
+                }
+                while (y.next[i] != null && y.next[i].before(backMajor, backMinor)) {
+                    y = y.next[i];
+                }
+                update[i] = x;
+                upper[i] = y;
+            }
+            int fromDelta = forward ? -1 : 1;
+            for (int i = 0; i < level; i++) {
+                if (update[i] != upper[i]) {
+                    update[i].span[i] += fromDelta;
+                    upper[i].span[i] -= fromDelta;
+                }
+            }
+        }
+
+        /**
+         * 순위 기준으로 앞서는 가중치 합
+         */
+        int ahead(Group group) {
+            long major = order.major(group);
+            long minor = order.rankMinor(group);
+            Node x = head;
+            int ahead = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && x.next[i].before(major, minor)) {
+                    ahead += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            return ahead;
+        }
+
+        /**
+         * 앞에서부터 count명
+         */
+        List<PlayerRecord> first(int count) {
+            List<PlayerRecord> result = new ArrayList<>(count);
+            for (Node x = head.next[0]; x != null && result.size() < count; x = x.next[0]) {
+                Group group = x.group;
+                for (Entry entry = group.first; entry != null && result.size() < count; entry = entry.next) {
+                    result.add(new PlayerRecord(entry.nickname, group.wins, group.losses, entry.lastPlayTime));
+                }
+            }
+            return result;
+        }
+
+        void clear() {
+            head = new Node(null, 0, 0, MAX_LEVEL);
+            level = 1;
+            totalWeight = 0;
+        }
+
+        /**
+         * 노드 단계 (1/4 확률로 한 단계씩 올라감)
+         */
+        private int randomLevel() {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            int bits = (int) seed;
+            int nodeLevel = 1;
+            while (nodeLevel < MAX_LEVEL && (bits & 3) == 0) {
+                nodeLevel++;
+                bits >>>= 2;
+                if (bits == 0) break;
+            }
+            return nodeLevel;
+        }
+    }
+
+    // ===== 자체 테스트 =====
+
+    public static void main(String[] args) {
+        System.out.println("=== 순위표 테스트 ===\n");
+        Leaderboard board = new Leaderboard();
+        Random random = new Random(11);
+        Map<String, int[]> expected = new HashMap<>();
+        int players = 3_000;
+        for (int i = 0; i < 60_000; i++) {
+            String nickname = "p" + random.nextInt(players);
+            int[] counts = expected.computeIfAbsent(nickname, key -> new int[2]);
+            if (random.nextInt(100) == 0) {
+                board.remove(nickname);
+                expected.remove(nickname);
+                continue;
+            }
+            counts[random.nextBoolean() ? 0 : 1]++;
+            board.update(nickname, counts[0], counts[1], i);
+        }
+
+        List<Group> all = new ArrayList<>();
+        for (int[] counts : expected.values()) {
+            all.add(new Group(counts[0], counts[1]));
+        }
+        SelfTest.check("인원 수", board.size() == all.size() && board.byWinRate.totalWeight == all.size()
+            && board.byWins.totalWeight == all.size());
+        SelfTest.check("승률 순위 = 전체 정렬", sameOrder(board, expected, all, WIN_RATE_ORDER, true));
+        SelfTest.check("승리 수 순위 = 전체 정렬", sameOrder(board, expected, all, WINS_ORDER, false));
+        SelfTest.check("없는 플레이어 순위", board.winRateRank("없음") == -1);
+
+        List<PlayerRecord> listed = board.topByWins(0);
+        List<PlayerRecord> top = board.topByWins(5);
+        boolean samePrefix = top.size() == 5;
+        for (int i = 0; i < top.size(); i++) {
+            samePrefix &= top.get(i).getNickname().equals(listed.get(i).getNickname());
+        }
+        SelfTest.check("상위 5명", samePrefix);
+
+        Leaderboard loaded = new Leaderboard();
+        loaded.load(listed);
+        SelfTest.check("한 번에 불러와도 같은 순위", loaded.size() == all.size()
+            && sameOrder(loaded, expected, all, WIN_RATE_ORDER, true)
+            && sameOrder(loaded, expected, all, WINS_ORDER, false));
+        // 조회가 잠금을 잡고 있어도 갱신은 대기열에 넣고 바로 돌아오며, 다음 조회가 적용함
+        board.lock.lock();
+        Thread writer = new Thread(() -> board.update("대기", 1_000, 0, 0));
+        writer.start();
+        try {
+            writer.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean returned = !writer.isAlive();
+        board.lock.unlock();
+        SelfTest.check("잠금 중에도 갱신은 기다리지 않고 다음 조회에 보임", returned && board.winsRank("대기") == 1);
+
+        SelfTest.check("여러 스레드가 동시에 갱신해도 같은 순위", concurrentUpdates(4, 500, 200));
+        board.clear();
+        SelfTest.check("전체 삭제", board.size() == 0 && board.topByWinRate(10).isEmpty());
+        System.out.println("\n테스트 완료!");
+    }
+
+    /**
+     * 스레드마다 자기 플레이어들의 승/패를 무작위로 올린 뒤, 마지막 값과 같은 순위인지 확인
+     */
+    private static boolean concurrentUpdates(int threads, int playersPerThread, int rounds) {
+        Leaderboard board = new Leaderboard();
+        Map<String, int[]> expected = new ConcurrentHashMap<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(index);
+                int[][] counts = new int[playersPerThread][2];
+                for (int i = 0; i < playersPerThread * rounds; i++) {
+                    int player = random.nextInt(playersPerThread);
+                    counts[player][random.nextBoolean() ? 0 : 1]++;
+                    board.update("t" + index + "-" + player, counts[player][0], counts[player][1], i);
+                }
+                for (int player = 0; player < playersPerThread; player++) {
+                    if (counts[player][0] + counts[player][1] > 0) {
+                        expected.put("t" + index + "-" + player, counts[player]);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        try {
+            for (Thread worker : workers) worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        List<Group> all = new ArrayList<>();
+        for (int[] counts : expected.values()) {
+            all.add(new Group(counts[0], counts[1]));
+        }
+        return board.size() == all.size()
+            && sameOrder(board, expected, all, WIN_RATE_ORDER, true)
+            && sameOrder(board, expected, all, WINS_ORDER, false);
+    }
+
+    /**
+     * 목록이 전체 정렬 결과와 같은 순서이고, 모든 플레이어의 순위가 1 + 앞선 플레이어 수인지 확인
+     */
+    private static boolean sameOrder(Leaderboard board, Map<String, int[]> expected, List<Group> all,
+                                     Comparator<Group> order, boolean byRate) {
+        all.sort(order);
+        List<PlayerRecord> listed = byRate ? board.topByWinRate(0) : board.topByWins(0);
+        if (listed.size() != all.size()) return false;
+        for (int i = 0; i < all.size(); i++) {
+            PlayerRecord record = listed.get(i);
+            if (order.compare(new Group(record.getWins(), record.getLosses()), all.get(i)) != 0) return false;
+        }
+        for (Map.Entry<String, int[]> player : expected.entrySet()) {
+            Group group = new Group(player.getValue()[0], player.getValue()[1]);
+            int ahead = 0;
+            while (ahead < all.size() && order.compare(all.get(ahead), group) < 0) ahead++;
+            String nickname = player.getKey();
+            if ((byRate ? board.winRateRank(nickname) : board.winsRank(nickname)) != ahead + 1) return false;
+        }
+        return true;
+    }
+
+    // 승률 내림차순, 같으면 총 게임 수가 많은 순 (전체 정렬로 확인할 때의 기준)
+    private static final Comparator<Group> WIN_RATE_ORDER = (g1, g2) -> {
+        int byRate = Double.compare(g2.winRate, g1.winRate);
+        if (byRate != 0) return byRate;
+        return Integer.compare(g2.wins + g2.losses, g1.wins + g1.losses);
+    };
+
+    // 승리 수 내림차순, 같으면 승률이 높은 순 (전체 정렬로 확인할 때의 기준)
+    private static final Comparator<Group> WINS_ORDER = (g1, g2) -> {
+        int byWins = Integer.compare(g2.wins, g1.wins);
+        if (byWins != 0) return byWins;
+        return Double.compare(g2.winRate, g1.winRate);
+    };
+}
@@ -0,0 +1,181 @@
+/*
+ * GameServer 부하 테스트 드라이버
+ * 로컬 서버에 GameBot N개를 동시에 접속시켜 정해진 시간 동안 경기를 진행하고
+ * 초당 매칭 수, ACTION:PITCH부터 RESULT까지의 지연 백분위수, 오류/시간 초과 수를 보고
+ *
+ * 실행: java LoadTestDriver [--bots 100] [--duration 60] [--think 100-300]
+ *                          [--strategy random|aggressive|selective] [--binary]
+ *                          [--host localhost] [--port 9999] [--ramp 5]
+ *                          [--idle-timeout 15000] [--max-p99 1500] [--max-errors 0] [--max-timeouts 0]
+ *
+ * 기준(--max-*)을 넘으면 종료 코드 1로 끝나므로 서버 변경 전후 회귀 검사에 사용
+ * 지연 시간에는 서버의 투구 표시 지연(0.5초)과 양쪽 봇의 생각 시간이 포함됨
+ */
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class LoadTestDriver {
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 9999;
+        int bots = 100;
+        int durationSeconds = 60;
+        int thinkMin = 100;
+        int thinkMax = 300;
+        String strategyName = "random";
+        boolean binary = false;
+        int rampMillis = 5;
+        long idleTimeout = 15000;
+        double maxP99 = -1;
+        long maxErrors = 0;
+        long maxTimeouts = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--host": host = value; i++; break;
+                case "--port": port = Integer.parseInt(value); i++; break;
+                case "--bots": bots = Integer.parseInt(value); i++; break;
+                case "--duration": durationSeconds = Integer.parseInt(value); i++; break;
+                case "--think": {
+                    int dash = value.indexOf('-');
+                    thinkMin = Integer.parseInt(dash < 0 ? value : value.substring(0, dash));
+                    thinkMax = dash < 0 ? thinkMin : Integer.parseInt(value.substring(dash + 1));
+                    i++;
+                    break;
+                }
+                case "--strategy": strategyName = value; i++; break;
+                case "--binary": binary = true; break;
+                case "--ramp": rampMillis = Integer.parseInt(value); i++; break;
+                case "--idle-timeout": idleTimeout = Long.parseLong(value); i++; break;
+                case "--max-p99": maxP99 = Double.parseDouble(value); i++; break;
+                case "--max-errors": maxErrors = Long.parseLong(value); i++; break;
+                case "--max-timeouts": maxTimeouts = Long.parseLong(value); i++; break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        GameBot.Strategy strategy = GameBot.strategyOf(strategyName);
+        if (strategy == null) {
+            System.err.println("알 수 없는 전략: " + strategyName + " (random, aggressive, selective)");
+            System.exit(2);
+        }
+
+        System.out.println("=== GameServer 부하 테스트 ===");
+        System.out.printf("서버 %s:%d, 봇 %d개, %d초, 생각 시간 %d~%dms, 전략 %s, %s 프로토콜%n%n",
+            host, port, bots, durationSeconds, thinkMin, thinkMax, strategyName, binary ? "바이너리" : "텍스트");
+
+        ExecutorService readers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "bot-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, task -> {
+            Thread thread = new Thread(task, "bot-think");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        GameBot.Stats stats = new GameBot.Stats();
+        List<GameBot> running = new ArrayList<>();
+        String runId = Long.toString(System.currentTimeMillis() % 100000, 36);
+
+        long start = System.nanoTime();
+        long end = start + durationSeconds * 1_000_000_000L;
+        for (int i = 0; i < bots && System.nanoTime() < end; i++) {
+            GameBot bot = new GameBot(host, port, "bot-" + runId + "-" + i, strategy,
+                thinkMin, thinkMax, binary, scheduler, stats);
+            try {
+                bot.connect(readers);
+                running.add(bot);
+            } catch (IOException e) {
+                System.err.println("[부하] " + bot.getNickname() + " 접속 실패: " + e.getMessage());
+                stats.errors.increment();
+            }
+            if (rampMillis > 0) {
+                Thread.sleep(rampMillis);
+            }
+        }
+        System.out.println("접속 완료: " + stats.connected.sum() + "/" + bots);
+
+        // 진행 상황 출력과 응답 없는 봇 검사
+        long nextReport = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < end) {
+            Thread.sleep(200);
+            for (GameBot bot : running) {
+                bot.checkIdle(idleTimeout);
+            }
+            if (System.nanoTime() >= nextReport) {
+                nextReport += 5_000_000_000L;
+                System.out.printf("[%3.0fs] 매칭 %d, 경기 완료 %d, 투구 %d, 오류 %d, 시간 초과 %d%n",
+                    (System.nanoTime() - start) / 1e9,
+                    stats.matchesFound.sum() / 2, stats.gamesEnded.sum() / 2, stats.pitches.sum(),
+                    stats.getErrors(), stats.getTimeouts());
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        // 봇을 닫기 전에 집계 (닫는 과정의 DISCONNECT는 세지 않음)
+        long matches = stats.matchesFound.sum() / 2;
+        long games = stats.gamesEnded.sum() / 2;
+        long pitches = stats.pitches.sum();
+        long errors = stats.getErrors();
+        long timeouts = stats.getTimeouts();
+        long[] latencies = stats.sortedLatencies();
+
+        System.out.println("\n=== 결과 (" + String.format("%.1f", elapsed) + "초) ===");
+        System.out.printf("매칭: %d건 (%.2f건/초), 경기 완료: %d건 (%.3f건/초), 투구: %d회 (%.1f회/초)%n",
+            matches, matches / elapsed, games, games / elapsed, pitches, pitches / elapsed);
+        double p99 = -1;
+        if (latencies.length > 0) {
+            p99 = percentile(latencies, 0.99);
+            System.out.printf("ACTION:PITCH -> RESULT 지연 (ms): p50 %.1f, p90 %.1f, p99 %.1f, 최대 %.1f (%d건)%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), p99,
+                latencies[latencies.length - 1] / 1e6, latencies.length);
+        } else {
+            System.out.println("ACTION:PITCH -> RESULT 지연: 측정된 투구 없음");
+        }
+        System.out.printf("오류: %d (서버 오류/연결 종료 %d, 상대 끊김 %d), 시간 초과: %d (투구 %d, 응답 없음 %d)%n",
+            errors, stats.errors.sum(), stats.opponentDrops.sum(),
+            timeouts, stats.pitchTimeouts.sum(), stats.idleTimeouts.sum());
+
+        for (GameBot bot : running) {
+            bot.close();
+        }
+        scheduler.shutdownNow();
+        readers.shutdownNow();
+
+        // 회귀 기준 검사
+        List<String> failures = new ArrayList<>();
+        if (errors > maxErrors) {
+            failures.add("오류 " + errors + " > " + maxErrors);
+        }
+        if (timeouts > maxTimeouts) {
+            failures.add("시간 초과 " + timeouts + " > " + maxTimeouts);
+        }
+        if (maxP99 >= 0 && (p99 < 0 || p99 > maxP99)) {
+            failures.add("p99 " + String.format("%.1f", p99) + "ms > " + maxP99 + "ms");
+        }
+        if (failures.isEmpty()) {
+            System.out.println("\n통과");
+        } else {
+            System.out.println("\n실패: " + String.join(", ", failures));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 정렬된 배열의 백분위수 (밀리초)
+     */
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
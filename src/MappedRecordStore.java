@@ -0,0 +1,733 @@
+/*
+ * 메모리 매핑 고정 폭 전적 저장소
+ * 플레이어 한 명의 전적(승, 패, 마지막 경기 시각)을 파일의 고정 폭 슬롯 하나에 두고
+ * 닉네임 -> 슬롯 번호는 매핑된 개방 주소법(선형 탐사) 해시 색인으로 찾음
+ * 변경은 매핑된 영역에 바로 쓰므로 직렬화가 없고, 시작할 때는 파일을 매핑하기만 함
+ * 힙에는 매핑 버퍼 몇 개만 남으므로 플레이어가 수천만 명이어도 힙 사용량이 거의 늘지 않음
+ *
+ * 파일 (기본 경로 뒤에 확장자)
+ *   .slots  헤더 64바이트 + 슬롯 32바이트 x 슬롯 수
+ *           헤더: [magic "PSLT"][version][슬롯 크기][정상 종료 표시]
+ *                 16 사용한 슬롯 수, 24 등록된 플레이어 수, 32 닉네임 파일 끝, 40 색인 크기
+ *           슬롯: 0 승 i32, 4 패 i32, 8 마지막 경기 시각(epoch 밀리초) i64,
+ *                 16 닉네임 위치 i64, 24 닉네임 바이트 수 u16, 26 상태 u16, 28 닉네임 해시 i32
+ *   .names  UTF-8 닉네임을 이어 붙인 파일 (세그먼트 경계에 걸치지 않도록 필요하면 건너뜀)
+ *   .index  i64 x 색인 크기 (0은 빈 칸, 그 외 [해시 32비트][슬롯 번호 + 1])
+ *
+ * 삭제한 플레이어는 슬롯을 삭제 상태로 두고 색인 항목은 남김 (같은 닉네임으로 다시 등록하면 슬롯 재사용)
+ * 정상 종료 표시가 없으면(강제 종료) 슬롯의 해시로 색인을 다시 만듦
+ *
+ * 사용법: java MappedRecordStore                (자체 테스트)
+ *        java MappedRecordStore bench <플레이어 수> [기본 경로]
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public final class MappedRecordStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x50534C54; // "PSLT"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 32;
+    // 매핑 단위 16MB (슬롯/색인 항목 크기의 배수이므로 항목이 세그먼트 경계에 걸치지 않음)
+    private static final int SEGMENT_SHIFT = 24;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    // 헤더 위치
+    private static final long H_CLEAN = 12;
+    private static final long H_COUNT = 16;
+    private static final long H_LIVE = 24;
+    private static final long H_NAME_END = 32;
+    private static final long H_INDEX_CAPACITY = 40;
+
+    // 슬롯 안 위치
+    private static final int S_WINS = 0;
+    private static final int S_LOSSES = 4;
+    private static final int S_LAST_PLAY = 8;
+    private static final int S_NAME_OFFSET = 16;
+    private static final int S_NAME_LENGTH = 24;
+    private static final int S_FLAGS = 26;
+    private static final int S_HASH = 28;
+
+    private static final short FLAG_LIVE = 1;
+    private static final short FLAG_DELETED = 2;
+
+    /** 닉네임 최대 길이 (UTF-8 바이트) */
+    public static final int MAX_NAME_BYTES = 1024;
+    private static final long INITIAL_CAPACITY = 1 << 12;
+
+    private final Path slotsPath;
+    private final Path namesPath;
+    private final Path indexPath;
+    private final Region slots;
+    private final Region names;
+    private Region index;
+
+    // 헤더 값 (변경할 때마다 헤더에도 기록)
+    private long count;
+    private long live;
+    private long nameEnd;
+    private long capacity;
+    private long mask;
+    // close() 이후에는 매핑이 해제되므로 모든 조회/변경을 거부
+    private boolean closed;
+
+    private MappedRecordStore(String basePath) throws IOException {
+        this.slotsPath = Paths.get(basePath + ".slots");
+        this.namesPath = Paths.get(basePath + ".names");
+        this.indexPath = Paths.get(basePath + ".index");
+        this.slots = new Region(slotsPath);
+        this.names = new Region(namesPath);
+    }
+
+    /**
+     * 저장소 열기 (없으면 생성)
+     * @param basePath 기본 경로 (.slots/.names/.index 파일을 씀)
+     */
+    public static MappedRecordStore open(String basePath) throws IOException {
+        MappedRecordStore store = new MappedRecordStore(basePath);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.closeFiles();
+            throw e;
+        }
+        return store;
+    }
+
+    private void load() throws IOException {
+        boolean created = slots.getInt(0) == 0;
+        if (created) {
+            slots.putInt(0, MAGIC);
+            slots.putInt(4, VERSION);
+            slots.putInt(8, SLOT_SIZE);
+            slots.putInt(H_CLEAN, 1);
+            slots.putLong(H_INDEX_CAPACITY, INITIAL_CAPACITY);
+        } else if (slots.getInt(0) != MAGIC || slots.getInt(4) != VERSION || slots.getInt(8) != SLOT_SIZE) {
+            throw new IOException("전적 슬롯 파일 형식이 아님: " + slotsPath);
+        }
+        count = slots.getLong(H_COUNT);
+        live = slots.getLong(H_LIVE);
+        nameEnd = slots.getLong(H_NAME_END);
+        capacity = slots.getLong(H_INDEX_CAPACITY);
+        mask = capacity - 1;
+
+        boolean clean = slots.getInt(H_CLEAN) == 1;
+        if (clean && (created || Files.exists(indexPath))) {
+            index = new Region(indexPath);
+        } else {
+            // 색인이 슬롯과 어긋났을 수 있음 - 슬롯의 해시로 다시 만듦
+            System.out.println("전적 색인을 다시 만듭니다. (슬롯 " + count + "개)");
+            rebuildIndex(Math.max(capacity, capacityFor(count)));
+        }
+        // 열려 있는 동안은 비정상 종료 상태로 표시 (close에서 되돌림)
+        slots.putInt(H_CLEAN, 0);
+        slots.force();
+    }
+
+    // ===== 조회/변경 =====
+
+    /**
+     * 플레이어 등록 (삭제된 닉네임이면 같은 슬롯을 비워서 재사용)
+     * @return 새로 등록했으면 true, 이미 있으면 false
+     */
+    public synchronized boolean register(String nickname, long time) {
+        ensureOpen();
+        byte[] bytes = encode(nickname);
+        int hash = hash(nickname);
+        long found = find(bytes, hash);
+        if (found >= 0) {
+            long slot = slotPosition(found);
+            if (slots.getShort(slot + S_FLAGS) == FLAG_LIVE) {
+                return false;
+            }
+            resetSlot(slot, time);
+            slots.putShort(slot + S_FLAGS, FLAG_LIVE);
+            setLive(live + 1);
+            return true;
+        }
+        insert(bytes, hash, time, -found - 1);
+        return true;
+    }
+
+    public synchronized void addWin(String nickname, long time) {
+        ensureOpen();
+        long slot = slotOf(nickname, time);
+        slots.putInt(slot + S_WINS, slots.getInt(slot + S_WINS) + 1);
+        slots.putLong(slot + S_LAST_PLAY, time);
+    }
+
+    public synchronized void addLoss(String nickname, long time) {
+        ensureOpen();
+        long slot = slotOf(nickname, time);
+        slots.putInt(slot + S_LOSSES, slots.getInt(slot + S_LOSSES) + 1);
+        slots.putLong(slot + S_LAST_PLAY, time);
+    }
+
+    /**
+     * 게임 결과 기록 (승자 승 +1, 패자 패 +1)
+     */
+    public synchronized void recordGameResult(String winner, String loser, long time) {
+        addWin(winner, time);
+        addLoss(loser, time);
+    }
+
+    /**
+     * 플레이어 전적 조회 (슬롯 값을 복사한 PlayerRecord, 없으면 null)
+     */
+    public synchronized PlayerRecord get(String nickname) {
+        ensureOpen();
+        long found = find(encode(nickname), hash(nickname));
+        if (found < 0) return null;
+        long slot = slotPosition(found);
+        if (slots.getShort(slot + S_FLAGS) != FLAG_LIVE) return null;
+        return new PlayerRecord(nickname, slots.getInt(slot + S_WINS), slots.getInt(slot + S_LOSSES),
+            slots.getLong(slot + S_LAST_PLAY));
+    }
+
+    /**
+     * 플레이어 삭제
+     * @return 삭제했으면 true, 없으면 false
+     */
+    public synchronized boolean delete(String nickname) {
+        ensureOpen();
+        long found = find(encode(nickname), hash(nickname));
+        if (found < 0) return false;
+        long slot = slotPosition(found);
+        if (slots.getShort(slot + S_FLAGS) != FLAG_LIVE) return false;
+        slots.putShort(slot + S_FLAGS, FLAG_DELETED);
+        setLive(live - 1);
+        return true;
+    }
+
+    /**
+     * 등록된 플레이어 수
+     */
+    public synchronized int size() {
+        return (int) live;
+    }
+
+    /**
+     * 모든 전적 삭제 (색인은 처음 크기로 새로 만듦)
+     */
+    public synchronized void clear() throws IOException {
+        ensureOpen();
+        count = 0;
+        nameEnd = 0;
+        slots.putLong(H_COUNT, 0);
+        slots.putLong(H_NAME_END, 0);
+        setLive(0);
+        rebuildIndex(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 순서상 앞쪽 플레이어 목록
+     * 슬롯을 한 번 훑으며 크기 limit의 힙으로 고르므로, 닉네임은 후보에 들어간 슬롯만 읽음
+     * @param limit 최대 개수 (0이면 전체)
+     * @param order 정렬 순서 (닉네임을 보지 않는 비교여야 함)
+     */
+    public synchronized List<PlayerRecord> top(int limit, Comparator<PlayerRecord> order) {
+        ensureOpen();
+        if (limit <= 0 || limit >= live) {
+            List<PlayerRecord> all = new ArrayList<>((int) live);
+            for (long i = 0; i < count; i++) {
+                long slot = slotPosition(i);
+                if (slots.getShort(slot + S_FLAGS) == FLAG_LIVE) {
+                    all.add(readRecord(slot, readName(slot)));
+                }
+            }
+            all.sort(order);
+            return limit > 0 && limit < all.size() ? all.subList(0, limit) : all;
+        }
+
+        // 힙의 맨 위가 현재 후보 중 가장 뒤 순서
+        PriorityQueue<PlayerRecord> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        for (long i = 0; i < count; i++) {
+            long slot = slotPosition(i);
+            if (slots.getShort(slot + S_FLAGS) != FLAG_LIVE) continue;
+            PlayerRecord candidate = readRecord(slot, null);
+            if (heap.size() == limit && order.compare(candidate, heap.peek()) >= 0) continue;
+            heap.add(readRecord(slot, readName(slot)));
+            if (heap.size() > limit) heap.poll();
+        }
+        List<PlayerRecord> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * 플레이어의 순위 (1 + 순서가 앞선 플레이어 수, 같은 순서면 같은 순위, 없으면 -1)
+     * 순위 색인이 없으므로 슬롯을 한 번 훑어 셈 (O(n))
+     * @param order 정렬 순서 (닉네임을 보지 않는 비교여야 함)
+     */
+    public synchronized int rank(String nickname, Comparator<PlayerRecord> order) {
+        ensureOpen();
+        PlayerRecord target = get(nickname);
+        if (target == null) return -1;
+        int ahead = 0;
+        for (long i = 0; i < count; i++) {
+            long slot = slotPosition(i);
+            if (slots.getShort(slot + S_FLAGS) == FLAG_LIVE && order.compare(readRecord(slot, null), target) < 0) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    /**
+     * 매핑된 변경을 디스크에 반영
+     */
+    public synchronized void flush() {
+        ensureOpen();
+        slots.force();
+        names.force();
+        index.force();
+    }
+
+    /**
+     * 디스크에 반영하고 정상 종료 표시 후 닫기
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return; // 이미 닫힘 (서버 종료 경로가 여러 번 호출해도 안전)
+        }
+        flush();
+        slots.putInt(H_CLEAN, 1);
+        slots.force();
+        closed = true;
+        closeFiles();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("전적 저장소가 이미 닫혔습니다: " + slotsPath);
+        }
+    }
+
+    /**
+     * 저장소 상태 요약 (플레이어 수, 파일 크기)
+     */
+    public synchronized String summary() {
+        return String.format("플레이어 %,d명 (슬롯 %,d개), 닉네임 %,d바이트, 색인 %,d칸",
+            live, count, nameEnd, capacity);
+    }
+
+    // ===== 슬롯/색인 =====
+
+    /**
+     * 닉네임의 슬롯 위치 (없거나 삭제됐으면 새로 등록)
+     */
+    private long slotOf(String nickname, long time) {
+        byte[] bytes = encode(nickname);
+        int hash = hash(nickname);
+        long found = find(bytes, hash);
+        if (found < 0) {
+            return slotPosition(insert(bytes, hash, time, -found - 1));
+        }
+        long slot = slotPosition(found);
+        if (slots.getShort(slot + S_FLAGS) != FLAG_LIVE) {
+            resetSlot(slot, time);
+            slots.putShort(slot + S_FLAGS, FLAG_LIVE);
+            setLive(live + 1);
+        }
+        return slot;
+    }
+
+    /**
+     * 색인에서 닉네임 찾기 (선형 탐사)
+     * @return 슬롯 번호, 없으면 -(빈 칸 번호 + 1)
+     */
+    private long find(byte[] bytes, int hash) {
+        long i = hash & mask;
+        while (true) {
+            long entry = index.getLong(i << 3);
+            if (entry == 0) {
+                return -i - 1;
+            }
+            if ((int) (entry >>> 32) == hash) {
+                long slotNumber = (entry & 0xFFFFFFFFL) - 1;
+                if (nameEquals(slotPosition(slotNumber), bytes)) {
+                    return slotNumber;
+                }
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * 새 슬롯을 만들고 색인에 추가
+     * @param emptyIndex find가 돌려준 빈 칸 (색인을 키우면 다시 찾음)
+     * @return 새 슬롯 번호
+     */
+    private long insert(byte[] bytes, int hash, long time, long emptyIndex) {
+        if ((count + 1) * 2 > capacity) {
+            try {
+                rebuildIndex(capacity * 2);
+            } catch (IOException e) {
+                throw new IllegalStateException("전적 색인 확장 실패: " + e.getMessage(), e);
+            }
+            emptyIndex = -find(bytes, hash) - 1;
+        }
+
+        // 닉네임이 세그먼트 경계에 걸치면 다음 세그먼트로 건너뜀
+        long nameOffset = nameEnd;
+        if ((nameOffset >>> SEGMENT_SHIFT) != ((nameOffset + bytes.length - 1) >>> SEGMENT_SHIFT)) {
+            nameOffset = (nameOffset >>> SEGMENT_SHIFT) + 1 << SEGMENT_SHIFT;
+        }
+        names.put(nameOffset, bytes);
+        nameEnd = nameOffset + bytes.length;
+
+        long slotNumber = count;
+        long slot = slotPosition(slotNumber);
+        resetSlot(slot, time);
+        slots.putLong(slot + S_NAME_OFFSET, nameOffset);
+        slots.putShort(slot + S_NAME_LENGTH, (short) bytes.length);
+        slots.putInt(slot + S_HASH, hash);
+        slots.putShort(slot + S_FLAGS, FLAG_LIVE);
+        index.putLong(emptyIndex << 3, ((long) hash << 32) | (slotNumber + 1));
+
+        count++;
+        slots.putLong(H_NAME_END, nameEnd);
+        slots.putLong(H_COUNT, count);
+        setLive(live + 1);
+        return slotNumber;
+    }
+
+    /**
+     * 슬롯의 해시로 새 크기의 색인을 만들어 교체 (임시 파일에 만든 뒤 바꿔치기)
+     */
+    private void rebuildIndex(long newCapacity) throws IOException {
+        Path tempPath = Paths.get(indexPath + ".tmp");
+        Files.deleteIfExists(tempPath);
+        Region rebuilt = new Region(tempPath);
+        long newMask = newCapacity - 1;
+        for (long n = 0; n < count; n++) {
+            int hash = slots.getInt(slotPosition(n) + S_HASH);
+            long i = hash & newMask;
+            while (rebuilt.getLong(i << 3) != 0) {
+                i = (i + 1) & newMask;
+            }
+            rebuilt.putLong(i << 3, ((long) hash << 32) | (n + 1));
+        }
+        rebuilt.force();
+        rebuilt.close();
+        if (index != null) {
+            index.close();
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index = new Region(indexPath);
+        capacity = newCapacity;
+        mask = newMask;
+        slots.putLong(H_INDEX_CAPACITY, capacity);
+    }
+
+    private void resetSlot(long slot, long time) {
+        slots.putInt(slot + S_WINS, 0);
+        slots.putInt(slot + S_LOSSES, 0);
+        slots.putLong(slot + S_LAST_PLAY, time);
+    }
+
+    private void setLive(long value) {
+        live = value;
+        slots.putLong(H_LIVE, value);
+    }
+
+    private boolean nameEquals(long slot, byte[] bytes) {
+        if ((slots.getShort(slot + S_NAME_LENGTH) & 0xFFFF) != bytes.length) return false;
+        long offset = slots.getLong(slot + S_NAME_OFFSET);
+        for (int k = 0; k < bytes.length; k++) {
+            if (names.get(offset + k) != bytes[k]) return false;
+        }
+        return true;
+    }
+
+    private String readName(long slot) {
+        byte[] bytes = new byte[slots.getShort(slot + S_NAME_LENGTH) & 0xFFFF];
+        names.get(slots.getLong(slot + S_NAME_OFFSET), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private PlayerRecord readRecord(long slot, String nickname) {
+        return new PlayerRecord(nickname, slots.getInt(slot + S_WINS), slots.getInt(slot + S_LOSSES),
+            slots.getLong(slot + S_LAST_PLAY));
+    }
+
+    private static long slotPosition(long slotNumber) {
+        return HEADER_SIZE + slotNumber * SLOT_SIZE;
+    }
+
+    private static long capacityFor(long entries) {
+        long capacity = INITIAL_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static byte[] encode(String nickname) {
+        byte[] bytes = nickname.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("닉네임 길이는 1~" + MAX_NAME_BYTES + "바이트: " + bytes.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * 닉네임 해시 (String.hashCode의 비트를 섞어 하위 비트로 색인 위치를 정해도 고르게 퍼지게 함)
+     */
+    private static int hash(String nickname) {
+        int h = nickname.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void closeFiles() throws IOException {
+        slots.close();
+        names.close();
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    /**
+     * 세그먼트 단위로 필요할 때 매핑하는 파일 영역 (매핑하면 파일도 그만큼 늘어남)
+     * 값은 세그먼트 경계에 걸치지 않게 배치해야 함
+     */
+    private static final class Region {
+        private final FileChannel channel;
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+        Region(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        private MappedByteBuffer segment(long position) {
+            int n = (int) (position >>> SEGMENT_SHIFT);
+            while (segments.size() <= n) {
+                segments.add(null);
+            }
+            MappedByteBuffer segment = segments.get(n);
+            if (segment == null) {
+                try {
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) n << SEGMENT_SHIFT, SEGMENT_SIZE);
+                } catch (IOException e) {
+                    throw new IllegalStateException("전적 파일 매핑 실패: " + e.getMessage(), e);
+                }
+                segments.set(n, segment);
+            }
+            return segment;
+        }
+
+        private static int offset(long position) {
+            return (int) (position & (SEGMENT_SIZE - 1));
+        }
+
+        byte get(long position) {
+            return segment(position).get(offset(position));
+        }
+
+        void get(long position, byte[] bytes) {
+            segment(position).get(offset(position), bytes);
+        }
+
+        void put(long position, byte[] bytes) {
+            segment(position).put(offset(position), bytes);
+        }
+
+        short getShort(long position) {
+            return segment(position).getShort(offset(position));
+        }
+
+        void putShort(long position, short value) {
+            segment(position).putShort(offset(position), value);
+        }
+
+        int getInt(long position) {
+            return segment(position).getInt(offset(position));
+        }
+
+        void putInt(long position, int value) {
+            segment(position).putInt(offset(position), value);
+        }
+
+        long getLong(long position) {
+            return segment(position).getLong(offset(position));
+        }
+
+        void putLong(long position, long value) {
+            segment(position).putLong(offset(position), value);
+        }
+
+        void force() {
+            for (MappedByteBuffer segment : segments) {
+                if (segment != null) {
+                    segment.force();
+                }
+            }
+        }
+
+        void close() throws IOException {
+            segments.clear();
+            channel.close();
+        }
+    }
+
+    // ===== 명령줄 도구 / 자체 테스트 =====
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && args[0].equals("bench")) {
+            bench(Integer.parseInt(args[1]), args.length >= 3 ? args[2] : "bench_records");
+        } else {
+            selfTest();
+        }
+    }
+
+    private static void selfTest() throws IOException {
+        System.out.println("=== 메모리 매핑 전적 저장소 테스트 ===\n");
+        String base = "test_mapped_records";
+        deleteFiles(base);
+
+        MappedRecordStore store = open(base);
+        SelfTest.check("신규 등록", store.register("이지원", 1000));
+        SelfTest.check("중복 등록 거부", !store.register("이지원", 2000));
+        store.recordGameResult("이지원", "홍길동", 3000);
+        store.recordGameResult("이지원", "홍길동", 4000);
+        store.addLoss("이지원", 5000);
+        PlayerRecord record = store.get("이지원");
+        SelfTest.check("승패 반영", record.getWins() == 2 && record.getLosses() == 1
+            && record.getLastPlayDate().getTime() == 5000);
+        SelfTest.check("없는 플레이어는 결과 기록 시 생성", store.get("홍길동").getLosses() == 2 && store.size() == 2);
+        SelfTest.check("없는 플레이어 조회", store.get("김철수") == null);
+        SelfTest.check("삭제", store.delete("홍길동") && store.get("홍길동") == null && store.size() == 1);
+        SelfTest.check("삭제 후 재등록은 빈 전적", store.register("홍길동", 6000) && store.get("홍길동").getTotalGames() == 0);
+        boolean rejected = false;
+        try {
+            store.register("x".repeat(MAX_NAME_BYTES + 1), 0);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        SelfTest.check("너무 긴 닉네임 거부", rejected);
+
+        // 색인 확장과 닉네임 세그먼트 경계를 넘는 수
+        int players = 200_000;
+        Random random = new Random(7);
+        int[] wins = new int[players];
+        for (int i = 0; i < players; i++) {
+            store.register("player" + i, i);
+        }
+        for (int i = 0; i < 500_000; i++) {
+            int winner = random.nextInt(players);
+            store.recordGameResult("player" + winner, "player" + random.nextInt(players), i);
+            wins[winner]++;
+        }
+        SelfTest.check("색인 확장 후 조회", allWinsMatch(store, wins));
+        List<PlayerRecord> top = store.top(10, Comparator.comparingInt(PlayerRecord::getWins).reversed());
+        int maxWins = 0;
+        for (int w : wins) maxWins = Math.max(maxWins, w);
+        SelfTest.check("상위 목록", top.size() == 10 && top.get(0).getWins() == maxWins
+            && top.get(0).getNickname() != null && top.get(9).getWins() <= top.get(0).getWins());
+
+        // 정상 종료 후 다시 열기 (두 번 닫아도 안전, 닫은 뒤 변경은 거부)
+        store.close();
+        store.close();
+        boolean closedRejected = false;
+        try {
+            store.recordGameResult("이지원", "홍길동", 7000);
+        } catch (IllegalStateException e) {
+            closedRejected = true;
+        }
+        SelfTest.check("닫은 뒤 다시 닫기와 변경 거부", closedRejected);
+        store = open(base);
+        SelfTest.check("다시 열면 같은 전적", allWinsMatch(store, wins) && store.size() == players + 2);
+
+        // 닫지 않고 종료된 경우 - 색인을 다시 만들고 같은 전적
+        store.flush();
+        store.closeFiles();
+        Files.delete(Paths.get(base + ".index"));
+        store = open(base);
+        SelfTest.check("비정상 종료 후 색인 재구성", allWinsMatch(store, wins) && store.get("이지원").getWins() == 2);
+
+        store.clear();
+        SelfTest.check("전체 삭제", store.size() == 0 && store.get("player1") == null && store.register("player1", 0));
+        store.close();
+        deleteFiles(base);
+        System.out.println("\n테스트 완료!");
+    }
+
+    private static boolean allWinsMatch(MappedRecordStore store, int[] wins) {
+        for (int i = 0; i < wins.length; i++) {
+            PlayerRecord record = store.get("player" + i);
+            if (record == null || record.getWins() != wins[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 플레이어 수별 등록/결과 기록/다시 열기 시간과 힙 사용량 측정
+     */
+    private static void bench(int players, String base) throws IOException {
+        deleteFiles(base);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        MappedRecordStore store = open(base);
+        for (int i = 0; i < players; i++) {
+            store.register("player" + i, i);
+        }
+        long registerNanos = System.nanoTime() - start;
+
+        Random random = new Random(players);
+        int games = 1_000_000;
+        start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            store.recordGameResult("player" + random.nextInt(players), "player" + random.nextInt(players), i);
+        }
+        long gameNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+        System.out.println(store.summary());
+        store.close();
+
+        start = System.nanoTime();
+        store = open(base);
+        long openNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<PlayerRecord> top = store.top(10, Comparator.comparingInt(PlayerRecord::getWins).reversed());
+        long topNanos = System.nanoTime() - start;
+        store.close();
+
+        long bytes = Files.size(Paths.get(base + ".slots")) + Files.size(Paths.get(base + ".names"))
+            + Files.size(Paths.get(base + ".index"));
+        System.out.printf("등록: %,d명 %.2f초 (%.0fns/명)%n", players, registerNanos / 1e9, (double) registerNanos / players);
+        System.out.printf("결과 기록: %,d경기 %.0fns/경기%n", games, (double) gameNanos / games);
+        System.out.printf("다시 열기: %.1fms, 상위 10명 선택: %.0fms (1위 %s)%n",
+            openNanos / 1e6, topNanos / 1e6, top.get(0));
+        System.out.printf("힙 증가: %,dKB, 파일 %,dMB%n", (heapAfter - heapBefore) / 1024, bytes >> 20);
+        deleteFiles(base);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void deleteFiles(String base) throws IOException {
+        for (String suffix : new String[] {".slots", ".names", ".index", ".index.tmp"}) {
+            Files.deleteIfExists(Paths.get(base + suffix));
+        }
+    }
+}
@@ -65,8 +65,8 @@ public class MatchMakingThread extends Thread {
      * @param player2 두 번째 플레이어 소켓
      */
     private void startGame(Socket player1, Socket player2) {
-        // 랜덤으로 역할 배정 (투수/타자)
-        Random random = new Random();
+        // 게임 고유 시드의 난수 스트림으로 역할 배정 (투수/타자)
+        GameRandom random = GameRandom.forNewGame();
         boolean player1IsPitcher = random.nextBoolean();
         
         Socket pitcher = player1IsPitcher ? player1 : player2;
@@ -74,9 +74,10 @@ public class MatchMakingThread extends Thread {
         
         System.out.println("플레이어 1 역할: " + (player1IsPitcher ? "투수" : "타자"));
         System.out.println("플레이어 2 역할: " + (player1IsPitcher ? "타자" : "투수"));
+        System.out.println("게임 시드: " + random.getSeed());
         
         // 게임 스레드 생성 및 시작
-        GameThread gameThread = new GameThread(pitcher, batter);
+        GameThread gameThread = new GameThread(pitcher, batter, random);
         gameThread.start();
     }
     
@@ -156,23 +157,16 @@ class GameThread extends Thread {
     private RandomSpeedGenerator speedGenerator;
     private JudgementProcessor judgementProcessor;
     
-    private int strikes = 0;
-    private int balls = 0;
-    private int outs = 0;
+    // 카운트, 아웃, 주자, 점수 (GameState 형식)
+    private long gameState = GameState.INITIAL;
+    // 진행 중인 이닝 - 이 게임은 초/말을 각각 한 이닝으로 세어 9이닝까지 진행
     private int inning = 1;
-    private int pitcherScore = 0;
-    private int batterScore = 0;
-    
-    // 주자 정보
-    private boolean runner1st = false;
-    private boolean runner2nd = false;
-    private boolean runner3rd = false;
-    
-    public GameThread(Socket pitcherSocket, Socket batterSocket) {
+
+    public GameThread(Socket pitcherSocket, Socket batterSocket, GameRandom random) {
         this.pitcherSocket = pitcherSocket;
         this.batterSocket = batterSocket;
-        this.speedGenerator = new RandomSpeedGenerator();
-        this.judgementProcessor = new JudgementProcessor();
+        this.speedGenerator = new RandomSpeedGenerator(random.split());
+        this.judgementProcessor = new JudgementProcessor(random.split());
     }
     
     @Override
@@ -192,13 +186,16 @@ class GameThread extends Thread {
             while (inning <= 9 && isGameActive()) {
                 playInning();
                 
-                if (outs >= 3) {
-                    // 공수 교대
+                if (GameState.isHalfInningOver(gameState)) {
+                    // 카운트, 아웃, 주자 초기화 후 공수 교대
+                    // (역할을 먼저 바꿔야 수비/공격 점수가 현재 투수/타자와 맞음)
+                    gameState = GameState.endHalfInning(gameState);
                     swapRoles();
-                    outs = 0;
                     inning++;
                     
-                    if (inning > 9 || (inning == 9 && pitcherScore > batterScore)) {
+                    // 마지막 이닝에 수비하는 쪽이 이미 앞서 있으면 진행하지 않고 종료
+                    if (inning > 9 || (inning == 9
+                            && GameState.fieldingScore(gameState) > GameState.battingScore(gameState))) {
                         break;
                     }
                 }
@@ -218,176 +215,105 @@ class GameThread extends Thread {
      * 한 이닝 진행
      */
     private void playInning() throws IOException {
-        while (outs < 3) {
-            // 새로운 타석 시작 - 카운트 초기화
-            strikes = 0;
-            balls = 0;
-            sendCountUpdate(); // 클라이언트에 0-0 카운트 전송
+        while (!GameState.isHalfInningOver(gameState)) {
+            // 새로운 타석 시작 (카운트는 직전 타석이 끝날 때 0-0으로 돌아가 있음)
+            sendCountUpdate();
             
             // 한 타석 진행 (결과가 나올 때까지)
-            boolean atBatFinished = false;
-            while (!atBatFinished && outs < 3) {
-                String result = playAtBat();
-                
-                // 타석 종료 조건 체크
-                if (result.equals("HIT") || result.equals("HOMERUN") || 
-                    result.equals("OUT")) {
-                    atBatFinished = true;
-                }
+            Outcome atBatResult = null;
+            while (atBatResult == null) {
+                atBatResult = updateCount(playAtBat());
                 
-                // 삼진 체크
-                if (strikes >= 3) {
-                    outs++;
-                    pitcherStream.sendMessage("RESULT:STRIKEOUT");
-                    batterStream.sendMessage("RESULT:STRIKEOUT");
-                    atBatFinished = true;
+                // 카운트로 정해진 타석 결과 전송
+                if (atBatResult == Outcome.STRIKEOUT) {
+                    pitcherStream.sendMessage(GameProtocol.RESULT_STRIKEOUT);
+                    batterStream.sendMessage(GameProtocol.RESULT_STRIKEOUT);
+                } else if (atBatResult == Outcome.WALK) {
+                    batterStream.sendMessage(GameProtocol.RESULT_WALK);
+                    pitcherStream.sendMessage(GameProtocol.RESULT_WALK);
                 }
                 
-                // 볼넷 체크
-                if (balls >= 4) {
-                    handleWalk();
-                    atBatFinished = true;
-                }
+                // 클라이언트에게 업데이트된 카운트 전송
+                sendCountUpdate();
             }
         }
     }
     
-    /**
-     * 볼넷 처리
-     */
-    private void handleWalk() throws IOException {
-        // 볼넷: 주자 진루 처리
-        if (runner1st && runner2nd && runner3rd) {
-            // 만루: 타자 출루, 3루 주자 득점
-            batterScore++;
-        } else if (runner1st && runner2nd) {
-            // 1,2루: 3루로 밀림
-            runner3rd = true;
-        } else if (runner1st) {
-            // 1루만: 2루로 밀림
-            runner2nd = true;
-        }
-        // 타자는 1루 출루
-        runner1st = true;
-        
-        batterStream.sendMessage("RESULT:WALK");
-        pitcherStream.sendMessage("RESULT:WALK");
-    }
-    
     /**
      * 한 타석 진행 (투구 -> 타격 -> 판정)
      * @return 판정 결과
      */
-    private String playAtBat() throws IOException {
+    private Outcome playAtBat() throws IOException {
         // 투수에게 투구 요청 (5초 제한)
         pitcherStream.sendMessage("ACTION:PITCH");
-        String pitchData = pitcherStream.receiveMessage(5000);
+        String pitchData = awaitInput(pitcherStream, GameProtocol.PITCH_TIMEOUT, 5000);
         
-        if (pitchData == null || !pitchData.startsWith("PITCH:")) {
+        PitchType pitchType = pitchData != null && pitchData.startsWith("PITCH:")
+            ? GameProtocol.Parser.parsePitchType(pitchData) // "PITCH:S" 형태
+            : null;
+        if (pitchType == null) {
             // 타임아웃 또는 잘못된 응답 - 볼 처리
-            balls++;
-            sendCountUpdate();
-            return "BALL";
+            return Outcome.BALL;
         }
         
-        char pitchType = pitchData.charAt(6); // "PITCH:S" 형태
-        int speed = speedGenerator.generateSpeed(pitchType);
+        GameEvent.Pitch pitch = new GameEvent.Pitch(pitchType, speedGenerator.generateSpeed(pitchType));
         
         // 타자에게 투구 정보 전송 및 스윙 여부 요청 (3초 제한)
-        batterStream.sendMessage("PITCH:" + pitchType + ":" + speed);
-        String swingData = batterStream.receiveMessage(3000);
+        batterStream.sendMessage("PITCH:" + pitchType.code() + ":" + pitch.speed());
+        String swingData = awaitInput(batterStream, GameProtocol.BAT_TIMEOUT, 3000);
         
         boolean isSwing = swingData != null && swingData.equals("SWING:YES");
         
         // 판정
-        String result = judgementProcessor.judge(pitchType, speed, isSwing);
-        String message = judgementProcessor.getResultMessage(result, pitchType, speed);
+        GameEvent.Judgement judgement = judgementProcessor.judge(pitch, isSwing);
         
         // 결과 전송
-        pitcherStream.sendMessage("RESULT:" + result + ":" + message);
-        batterStream.sendMessage("RESULT:" + result + ":" + message);
-        
-        // 카운트 업데이트
-        updateCount(result);
-        
-        // 클라이언트에게 업데이트된 카운트 전송
-        sendCountUpdate();
+        String resultMsg = judgement.encode();
+        pitcherStream.sendMessage(resultMsg);
+        batterStream.sendMessage(resultMsg);
         
-        return result;
+        return judgement.outcome();
+    }
+    
+    /**
+     * 입력 대기 - 게임 스레드가 직접 제한 시간까지 수신을 기다림
+     * (게임마다 이 스레드 하나가 입력을 기다리므로 타이머 이벤트를 거치지 않음)
+     * @param stream 입력을 기다리는 플레이어의 스트림
+     * @param timeoutEvent PITCH:TIMEOUT 또는 BAT:TIMEOUT
+     * @param timeoutMillis 제한 시간 (밀리초)
+     * @return 수신 메시지 (타임아웃 또는 연결 종료 시 null)
+     */
+    private String awaitInput(GameDataStreamManager stream, String timeoutEvent, int timeoutMillis) throws IOException {
+        String message = stream.receiveMessage(timeoutMillis);
+        if (message == null && stream.isConnected()) {
+            System.out.println("입력 시간 초과: " + timeoutEvent);
+        }
+        return message;
     }
     
     /**
      * 카운트 및 점수 업데이트
+     * @param result 투구 판정 결과
+     * @return 타석 결과 (타석이 이어지면 null)
      */
-    private void updateCount(String result) {
-        switch(result) {
-            case JudgementProcessor.STRIKE:
-                strikes++;
-                break;
-            case JudgementProcessor.BALL:
-                balls++;
-                break;
-            case JudgementProcessor.FOUL:
-                if (strikes < 2) strikes++;
-                break;
-            case JudgementProcessor.HIT:
-                // 안타: 주자들을 한 베이스씩 진루 (역순 처리)
-                boolean new3rd = false;
-                boolean new2nd = false;
-                boolean new1st = true; // 타자는 1루 출루
-                
-                // 3루 주자 -> 홈 (득점!)
-                if (runner3rd) {
-                    batterScore++;
-                }
-                
-                // 2루 주자 -> 3루 진루
-                if (runner2nd) {
-                    new3rd = true;
-                }
-                
-                // 1루 주자 -> 2루 진루
-                if (runner1st) {
-                    new2nd = true;
-                }
-                
-                // 새로운 주자 상황 업데이트
-                runner1st = new1st;
-                runner2nd = new2nd;
-                runner3rd = new3rd;
-                
-                // strikes, balls 초기화는 playInning에서 처리
-                break;
-            case JudgementProcessor.HOMERUN:
-                // 홈런: 현재 주자 수 + 타자(1점) = 득점
-                int runsScored = 1; // 타자
-                if (runner1st) runsScored++;
-                if (runner2nd) runsScored++;
-                if (runner3rd) runsScored++;
-                
-                System.out.println("[홈런 득점] 1루:" + runner1st + " 2루:" + runner2nd + " 3루:" + runner3rd + " → " + runsScored + "점");
-                
-                batterScore += runsScored;
-                
-                // 모든 주자 클리어
-                runner1st = false;
-                runner2nd = false;
-                runner3rd = false;
-                
-                // strikes, balls 초기화는 playInning에서 처리
-                break;
-            case JudgementProcessor.OUT:
-                outs++;
-                // strikes, balls 초기화는 playInning에서 처리
-                break;
+    private Outcome updateCount(Outcome result) {
+        long before = gameState;
+        gameState = GameState.applyPitch(before, result);
+        
+        if (result == Outcome.HOMERUN) {
+            System.out.println("[홈런 득점] " + GameState.toString(before) + " → "
+                + (GameState.battingScore(gameState) - GameState.battingScore(before)) + "점");
         }
+        return GameState.atBatResult(before, result);
     }
     
     /**
      * 클라이언트에게 현재 카운트 전송
      */
     private void sendCountUpdate() {
-        String countMsg = GameProtocol.Builder.buildCount(strikes, balls, outs);
+        long snapshot = gameState;
+        String countMsg = GameProtocol.Builder.buildCount(
+            GameState.strikes(snapshot), GameState.balls(snapshot), GameState.outs(snapshot));
         pitcherStream.sendMessage(countMsg);
         batterStream.sendMessage(countMsg);
     }
@@ -404,20 +330,7 @@ class GameThread extends Thread {
         pitcherStream = batterStream;
         batterStream = tempStream;
         
-        int tempScore = pitcherScore;
-        pitcherScore = batterScore;
-        batterScore = tempScore;
-        
-        // 주자 초기화
-        runner1st = false;
-        runner2nd = false;
-        runner3rd = false;
-        
-        // 카운트 완전 초기화
-        outs = 0;
-        strikes = 0;
-        balls = 0;
-        
+        // 점수는 GameState가 공격/수비 기준으로 계산, 카운트/주자는 endHalfInning에서 초기화됨
         pitcherStream.sendMessage("ROLE:PITCHER");
         batterStream.sendMessage("ROLE:BATTER");
         pitcherStream.sendMessage("SWITCH:SIDE");
@@ -438,6 +351,8 @@ class GameThread extends Thread {
      * 게임 종료 처리
      */
     private void endGame() throws IOException {
+        int pitcherScore = GameState.fieldingScore(gameState);
+        int batterScore = GameState.battingScore(gameState);
         String winner = pitcherScore > batterScore ? "PITCHER" : "BATTER";
         pitcherStream.sendMessage("GAME_END:SCORE:" + pitcherScore + ":" + batterScore + ":WINNER:" + winner);
         batterStream.sendMessage("GAME_END:SCORE:" + batterScore + ":" + pitcherScore + ":WINNER:" + winner);
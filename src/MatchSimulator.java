@@ -0,0 +1,423 @@
+/*
+ * JudgementProcessor 상수 조정을 위한 몬테카를로 경기 시뮬레이터
+ * EnhancedGameThread와 같은 카운트/주자/이닝 규칙으로 9이닝 경기를 수백만 번 진행하여
+ * 득점 분포, 구종·구속 구간별 안타/홈런/삼진/볼넷 비율, 경기 길이를 집계
+ *
+ * 경기 범위를 ForkJoinPool에서 나누어 실행하고, 각 작업의 집계를 마지막에 합침 (공유 상태 없음)
+ * 게임마다 기준 시드와 게임 번호로 정한 GameRandom을 쓰므로 병렬도와 관계없이 결과가 같음
+ *
+ * 실행: java MatchSimulator [--games 1000000] [--pitcher random|fastball|count]
+ *                          [--batter random|always|selective|protect] [--seed 1] [--parallelism N] [--scaling]
+ */
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class MatchSimulator {
+
+    /**
+     * 투수 전략 - 카운트를 보고 구종 선택
+     */
+    public interface PitcherStrategy {
+        PitchType choosePitch(int strikes, int balls, int outs, GameRandom random);
+    }
+
+    /**
+     * 타자 전략 - 공개된 구종/구속과 카운트를 보고 스윙 여부 결정
+     */
+    public interface BatterStrategy {
+        boolean chooseSwing(PitchType pitchType, int speed, int strikes, int balls, GameRandom random);
+    }
+
+    private static final int PITCH_TYPES = PitchType.count();
+
+    // ===== 기본 전략 =====
+
+    public static final PitcherStrategy RANDOM_PITCHER = (strikes, balls, outs, random) ->
+        PitchType.of(random.nextInt(PITCH_TYPES));
+
+    public static final PitcherStrategy FASTBALL_PITCHER = (strikes, balls, outs, random) -> PitchType.FASTBALL;
+
+    // 볼이 많으면 스트라이크 확률이 높은 직구, 유리한 카운트에서는 변화구
+    public static final PitcherStrategy COUNT_PITCHER = (strikes, balls, outs, random) -> {
+        if (balls >= 2 && balls > strikes) return PitchType.FASTBALL;
+        if (strikes == 2) return random.nextBoolean() ? PitchType.FORK : PitchType.CURVE;
+        return PitchType.of(random.nextInt(PITCH_TYPES));
+    };
+
+    public static final BatterStrategy RANDOM_BATTER = (type, speed, strikes, balls, random) -> random.nextBoolean();
+
+    public static final BatterStrategy ALWAYS_BATTER = (type, speed, strikes, balls, random) -> true;
+
+    // GameBot의 selective와 같은 기준: 직구/슬라이더 중 느린 공에만 스윙
+    public static final BatterStrategy SELECTIVE_BATTER = (type, speed, strikes, balls, random) ->
+        (type == PitchType.FASTBALL || type == PitchType.SLIDER) && speed < 145;
+
+    // 2스트라이크에서는 삼진을 피하려고 항상 스윙, 그 외에는 selective
+    public static final BatterStrategy PROTECT_BATTER = (type, speed, strikes, balls, random) ->
+        strikes == 2 || SELECTIVE_BATTER.chooseSwing(type, speed, strikes, balls, random);
+
+    public static PitcherStrategy pitcherOf(String name) {
+        switch (name) {
+            case "random": return RANDOM_PITCHER;
+            case "fastball": return FASTBALL_PITCHER;
+            case "count": return COUNT_PITCHER;
+            default: return null;
+        }
+    }
+
+    public static BatterStrategy batterOf(String name) {
+        switch (name) {
+            case "random": return RANDOM_BATTER;
+            case "always": return ALWAYS_BATTER;
+            case "selective": return SELECTIVE_BATTER;
+            case "protect": return PROTECT_BATTER;
+            default: return null;
+        }
+    }
+
+    // ===== 집계 =====
+
+    // 구속 구간 (5km/h 단위, 100km/h 미만과 164km/h 초과는 양 끝 구간에 포함)
+    private static final int MIN_SPEED = 100;
+    private static final int BAND_WIDTH = 5;
+    private static final int BANDS = 13;
+    private static final int MAX_RUNS = 40;
+    private static final int MAX_GAME_PITCHES = 1000;
+    // 이보다 적은 경기 범위는 나누지 않고 한 작업에서 실행
+    private static final int LEAF_GAMES = 2048;
+
+    /**
+     * 경기 범위 하나의 집계 (작업마다 따로 쌓고 merge로 합침)
+     */
+    static final class Stats {
+        long games;
+        long awayWins;
+        long homeWins;
+        long draws;
+        long pitches;
+        long plateAppearances;
+        final long[] teamRuns = new long[MAX_RUNS + 1];          // 팀별 경기당 득점
+        final long[] gamePitches = new long[MAX_GAME_PITCHES + 1]; // 경기당 투구 수
+        final long[][][] outcomes = new long[PITCH_TYPES][BANDS][Outcome.JUDGED_COUNT]; // 투구별 판정
+        final long[][] swings = new long[PITCH_TYPES][BANDS];
+        // 타석을 끝낸 투구 기준: [구종][구간][안타, 홈런, 아웃, 삼진, 볼넷]
+        final long[][][] plateResults = new long[PITCH_TYPES][BANDS][5];
+
+        void merge(Stats other) {
+            games += other.games;
+            awayWins += other.awayWins;
+            homeWins += other.homeWins;
+            draws += other.draws;
+            pitches += other.pitches;
+            plateAppearances += other.plateAppearances;
+            add(teamRuns, other.teamRuns);
+            add(gamePitches, other.gamePitches);
+            for (int p = 0; p < PITCH_TYPES; p++) {
+                add(swings[p], other.swings[p]);
+                for (int b = 0; b < BANDS; b++) {
+                    add(outcomes[p][b], other.outcomes[p][b]);
+                    add(plateResults[p][b], other.plateResults[p][b]);
+                }
+            }
+        }
+
+        private static void add(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+
+    private static final int PA_HIT = 0, PA_HOMERUN = 1, PA_OUT = 2, PA_STRIKEOUT = 3, PA_WALK = 4;
+
+    private static int plateIndex(Outcome plateResult) {
+        switch (plateResult) {
+            case HIT: return PA_HIT;
+            case HOMERUN: return PA_HOMERUN;
+            case OUT: return PA_OUT;
+            case STRIKEOUT: return PA_STRIKEOUT;
+            default: return PA_WALK;
+        }
+    }
+
+    /**
+     * 경기 범위를 반으로 나누어 실행하는 포크-조인 작업
+     */
+    private static final class SimulationTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long rootSeed;
+        private final long from;
+        private final long to;
+        private final PitcherStrategy pitcher;
+        private final BatterStrategy batter;
+
+        SimulationTask(long rootSeed, long from, long to, PitcherStrategy pitcher, BatterStrategy batter) {
+            this.rootSeed = rootSeed;
+            this.from = from;
+            this.to = to;
+            this.pitcher = pitcher;
+            this.batter = batter;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_GAMES) {
+                Stats stats = new Stats();
+                for (long game = from; game < to; game++) {
+                    playGame(GameRandom.derive(rootSeed, game), pitcher, batter, stats);
+                }
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(rootSeed, from, mid, pitcher, batter);
+            left.fork();
+            Stats stats = new SimulationTask(rootSeed, mid, to, pitcher, batter).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+
+    /**
+     * 경기 여러 개를 병렬로 실행
+     * @param games 경기 수
+     * @param rootSeed 기준 시드 (게임 번호별 시드를 정함)
+     * @param parallelism 사용할 스레드 수
+     * @return 전체 집계
+     */
+    public static Stats simulate(long games, long rootSeed, int parallelism,
+                                 PitcherStrategy pitcher, BatterStrategy batter) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SimulationTask(rootSeed, 0, games, pitcher, batter));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 9이닝 한 경기 진행 (EnhancedGameThread와 같은 규칙)
+     * 서버처럼 역할 배정 난수를 먼저 뽑고 구속/판정 스트림을 나누므로,
+     * 서버가 기록한 게임 시드를 넣으면 같은 구속/판정 난수 순서를 얻음
+     */
+    static void playGame(GameRandom random, PitcherStrategy pitcherStrategy, BatterStrategy batterStrategy, Stats stats) {
+        random.nextBoolean(); // 역할 배정 (홈/원정은 대칭이므로 결과에는 쓰지 않음)
+        RandomSpeedGenerator speedGenerator = new RandomSpeedGenerator(random.split());
+        JudgementProcessor judgementProcessor = new JudgementProcessor(random.split());
+
+        long state = GameState.INITIAL;
+        int gamePitches = 0;
+
+        while (!GameState.isGameOver(state)) {
+            int strikes = GameState.strikes(state);
+            int balls = GameState.balls(state);
+            PitchType pitchType = pitcherStrategy.choosePitch(strikes, balls, GameState.outs(state), random);
+            int speed = speedGenerator.generateSpeed(pitchType);
+            boolean swing = batterStrategy.chooseSwing(pitchType, speed, strikes, balls, random);
+            int outcome = judgementProcessor.judgeIndex(pitchType, speed, swing);
+
+            int p = pitchType.ordinal();
+            int band = speedBand(speed);
+            gamePitches++;
+            stats.outcomes[p][band][outcome]++;
+            if (swing) stats.swings[p][band]++;
+
+            // 타석이 끝났으면 타석 결과 집계, 상태 전이는 서버와 같은 GameState 규칙
+            Outcome result = Outcome.of(outcome);
+            Outcome plateResult = GameState.atBatResult(state, result);
+            if (plateResult != null) {
+                stats.plateResults[p][band][plateIndex(plateResult)]++;
+                stats.plateAppearances++;
+            }
+            state = GameState.apply(state, result);
+        }
+
+        int awayScore = GameState.awayScore(state);
+        int homeScore = GameState.homeScore(state);
+        stats.games++;
+        stats.pitches += gamePitches;
+        stats.gamePitches[Math.min(gamePitches, MAX_GAME_PITCHES)]++;
+        stats.teamRuns[Math.min(awayScore, MAX_RUNS)]++;
+        stats.teamRuns[Math.min(homeScore, MAX_RUNS)]++;
+        if (awayScore > homeScore) {
+            stats.awayWins++;
+        } else if (homeScore > awayScore) {
+            stats.homeWins++;
+        } else {
+            stats.draws++;
+        }
+    }
+
+    private static int speedBand(int speed) {
+        return Math.max(0, Math.min(BANDS - 1, (speed - MIN_SPEED) / BAND_WIDTH));
+    }
+
+    // ===== 실행 및 보고 =====
+
+    public static void main(String[] args) {
+        long games = 1_000_000;
+        long seed = 1;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        String pitcherName = "random";
+        String batterName = "random";
+        boolean scaling = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--parallelism": parallelism = Integer.parseInt(args[++i]); break;
+                case "--pitcher": pitcherName = args[++i]; break;
+                case "--batter": batterName = args[++i]; break;
+                case "--scaling": scaling = true; break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        PitcherStrategy pitcher = pitcherOf(pitcherName);
+        BatterStrategy batter = batterOf(batterName);
+        if (pitcher == null || batter == null) {
+            System.err.println("알 수 없는 전략 (투수: random, fastball, count / 타자: random, always, selective, protect)");
+            System.exit(2);
+        }
+
+        System.out.println("=== 몬테카를로 경기 시뮬레이션 ===");
+        System.out.printf("경기 %,d, 투수 %s, 타자 %s, 시드 %d, 코어 %d%n%n",
+            games, pitcherName, batterName, seed, Runtime.getRuntime().availableProcessors());
+
+        if (scaling) {
+            runScaling(games, seed, pitcher, batter);
+            return;
+        }
+
+        // JIT 워밍업
+        simulate(Math.min(games, 20_000), seed + 1, parallelism, pitcher, batter);
+
+        long start = System.nanoTime();
+        Stats stats = simulate(games, seed, parallelism, pitcher, batter);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("처리량: %.2f초, 경기 %,.0f/초, 투구 %,.0f/초 (스레드 %d)%n%n",
+            seconds, stats.games / seconds, stats.pitches / seconds, parallelism);
+        report(stats);
+    }
+
+    /**
+     * 병렬도를 1부터 코어 수까지 늘리며 처리량 비교 (결과가 병렬도와 무관하게 같은지도 확인)
+     */
+    private static void runScaling(long games, long seed, PitcherStrategy pitcher, BatterStrategy batter) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        simulate(Math.min(games, 20_000), seed + 1, cores, pitcher, batter);
+
+        System.out.printf("%8s %12s %14s %10s %10s%n", "스레드", "시간(초)", "경기/초", "속도 향상", "효율");
+        double baseRate = 0;
+        long referencePitches = -1;
+        for (int p = 1; p <= cores; p = p < cores && p * 2 > cores ? cores : p * 2) {
+            long start = System.nanoTime();
+            Stats stats = simulate(games, seed, p, pitcher, batter);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rate = stats.games / seconds;
+            if (p == 1) baseRate = rate;
+            System.out.printf("%8d %12.2f %,14.0f %9.2fx %9.0f%%%n", p, seconds, rate, rate / baseRate, rate / baseRate / p * 100);
+            if (referencePitches >= 0 && stats.pitches != referencePitches) {
+                System.out.println("  [경고] 병렬도에 따라 결과가 다름: 투구 " + stats.pitches + " != " + referencePitches);
+            }
+            referencePitches = stats.pitches;
+            if (p == cores) break;
+        }
+    }
+
+    private static void report(Stats stats) {
+        double games = stats.games;
+        System.out.printf("승패: 원정 승 %.1f%%, 홈 승 %.1f%%, 무승부 %.1f%%%n",
+            stats.awayWins * 100 / games, stats.homeWins * 100 / games, stats.draws * 100 / games);
+
+        // 득점 분포
+        long teams = stats.games * 2;
+        double mean = 0;
+        double sq = 0;
+        for (int r = 0; r <= MAX_RUNS; r++) {
+            mean += (double) r * stats.teamRuns[r];
+            sq += (double) r * r * stats.teamRuns[r];
+        }
+        mean /= teams;
+        double stdev = Math.sqrt(Math.max(0, sq / teams - mean * mean));
+        System.out.printf("%n팀 득점: 평균 %.2f, 표준편차 %.2f, p50 %d, p90 %d, p99 %d (경기당 합계 평균 %.2f)%n",
+            mean, stdev, percentile(stats.teamRuns, 0.50), percentile(stats.teamRuns, 0.90),
+            percentile(stats.teamRuns, 0.99), mean * 2);
+        StringBuilder histogram = new StringBuilder("  ");
+        for (int r = 0; r <= 15; r++) {
+            long count = r == 15 ? Arrays.stream(stats.teamRuns, 15, MAX_RUNS + 1).sum() : stats.teamRuns[r];
+            histogram.append(String.format("%d%s:%.1f%%  ", r, r == 15 ? "+" : "", count * 100.0 / teams));
+            if (r == 7) histogram.append("\n  ");
+        }
+        System.out.println(histogram.toString().stripTrailing());
+
+        // 경기 길이
+        System.out.printf("%n경기 길이: 투구 평균 %.1f, p50 %d, p90 %d, p99 %d, 최대 %d / 타석 평균 %.1f%n",
+            stats.pitches / games, percentile(stats.gamePitches, 0.50), percentile(stats.gamePitches, 0.90),
+            percentile(stats.gamePitches, 0.99), max(stats.gamePitches), stats.plateAppearances / games);
+
+        // 구종별 / 구속 구간별
+        System.out.println("\n구종·구속 구간별 (투구 기준 판정 비율, 타석 종료 기준 결과 비율)");
+        System.out.printf("%-14s %12s %7s %7s %7s %7s %10s %7s %7s %7s %7s%n",
+            "구종 구간", "투구", "스윙", "안타", "홈런", "아웃", "타석 종료", "안타", "홈런", "삼진", "볼넷");
+        for (int p = 0; p < PITCH_TYPES; p++) {
+            long[] totalOutcomes = new long[6];
+            long[] totalPlate = new long[5];
+            long totalSwings = 0;
+            for (int b = 0; b < BANDS; b++) {
+                for (int o = 0; o < 6; o++) totalOutcomes[o] += stats.outcomes[p][b][o];
+                for (int r = 0; r < 5; r++) totalPlate[r] += stats.plateResults[p][b][r];
+                totalSwings += stats.swings[p][b];
+            }
+            printRow(PitchType.of(p).displayName() + " 전체", totalOutcomes, totalSwings, totalPlate);
+            for (int b = 0; b < BANDS; b++) {
+                if (sum(stats.outcomes[p][b]) == 0) continue;
+                int low = MIN_SPEED + b * BAND_WIDTH;
+                printRow(String.format("  %d-%d", low, low + BAND_WIDTH - 1), stats.outcomes[p][b], stats.swings[p][b], stats.plateResults[p][b]);
+            }
+        }
+    }
+
+    private static void printRow(String label, long[] outcomes, long swings, long[] plate) {
+        long pitches = sum(outcomes);
+        long plates = sum(plate);
+        System.out.printf("%-14s %,12d %6.1f%% %6.2f%% %6.2f%% %6.2f%% %,10d %6.1f%% %6.2f%% %6.1f%% %6.1f%%%n",
+            label, pitches, pct(swings, pitches),
+            pct(outcomes[Outcome.HIT.ordinal()], pitches), pct(outcomes[Outcome.HOMERUN.ordinal()], pitches),
+            pct(outcomes[Outcome.OUT.ordinal()], pitches),
+            plates, pct(plate[PA_HIT], plates), pct(plate[PA_HOMERUN], plates),
+            pct(plate[PA_STRIKEOUT], plates), pct(plate[PA_WALK], plates));
+    }
+
+    private static double pct(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) total += v;
+        return total;
+    }
+
+    private static int percentile(long[] histogram, double p) {
+        long total = sum(histogram);
+        long target = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target && seen > 0) return i;
+        }
+        return histogram.length - 1;
+    }
+
+    private static int max(long[] histogram) {
+        for (int i = histogram.length - 1; i >= 0; i--) {
+            if (histogram[i] > 0) return i;
+        }
+        return 0;
+    }
+}
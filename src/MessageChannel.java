@@ -0,0 +1,107 @@
+/*
+ * 한 플레이어 연결에 대한 문자열 메시지 송수신 인터페이스
+ * 블로킹 소켓(GameDataStreamManager)과 NIO 연결(NioConnection)이 공통으로 구현
+ */
+import java.io.IOException;
+
+public interface MessageChannel {
+
+    /** 수신 메시지 하나(줄 또는 프레임 본문)의 최대 길이 (바이트) - 넘으면 연결을 끊음 */
+    int MAX_MESSAGE_LENGTH = 8192;
+
+    /**
+     * 수신 메시지를 큐 대신 바로 받는 콜백 (수신 스레드 또는 이벤트 루프에서 호출됨)
+     */
+    interface Receiver {
+        void onMessage(String message);
+        void onClose();
+    }
+
+    /**
+     * 이후 수신 메시지를 콜백으로 전달 (receiveMessage 대신 사용)
+     * 이미 큐에 쌓여 있던 메시지도 순서대로 전달함
+     * @param receiver 콜백 (null이면 다시 큐에 쌓음)
+     */
+    void setReceiver(Receiver receiver);
+
+    /**
+     * 문자열 메시지 전송
+     * @param message 전송할 메시지
+     */
+    void sendMessage(String message);
+
+    /**
+     * 미리 인코딩된 메시지 전송 (문자열 생성과 인코딩 없이 바이트를 그대로 씀)
+     * @param frame EncodedMessageTable의 프레임
+     */
+    void sendFrame(EncodedMessageTable.Frame frame);
+
+    /**
+     * 메시지를 송신 버퍼에만 쌓고 전송은 flush()까지 미룸
+     * 한 게임 단계에서 나가는 여러 메시지를 소켓 쓰기 한 번으로 묶을 때 사용
+     * @param message 전송할 메시지
+     */
+    void queueMessage(String message);
+
+    /**
+     * 미리 인코딩된 메시지를 송신 버퍼에만 쌓음
+     * @param frame EncodedMessageTable의 프레임
+     */
+    void queueFrame(EncodedMessageTable.Frame frame);
+
+    /**
+     * 쌓인 메시지를 한 번에 전송
+     */
+    void flush();
+
+    /**
+     * 문자열 메시지 수신 (타임아웃 없음)
+     * @return 수신한 메시지 (연결 종료 시 null)
+     * @throws IOException 수신 실패 시
+     */
+    String receiveMessage() throws IOException;
+
+    /**
+     * 문자열 메시지 수신 (타임아웃 설정)
+     * @param timeoutMillis 타임아웃 시간 (밀리초)
+     * @return 수신한 메시지 (타임아웃 또는 연결 종료 시 null)
+     * @throws IOException 수신 실패 시
+     */
+    String receiveMessage(int timeoutMillis) throws IOException;
+
+    /**
+     * 마지막 receiveMessage 호출이 실제로 기다린 시간
+     * @return 대기 시간 (나노초)
+     */
+    long getLastWaitNanos();
+
+    /**
+     * 이후 송수신을 BinaryProtocol 프레임으로 전환
+     * CONNECT 핸드셰이크 응답을 텍스트로 보낸 직후 호출
+     */
+    void enableBinaryFraming();
+
+    /**
+     * 바이너리 프레임 사용 여부
+     * @return 협상 완료 시 true
+     */
+    boolean isBinaryFraming();
+
+    /**
+     * 연결이 활성 상태인지 확인
+     * @return 연결 상태
+     */
+    boolean isConnected();
+
+    /**
+     * 원격 주소 반환
+     * @return IP 주소
+     */
+    String getRemoteAddress();
+
+    /**
+     * 연결 종료
+     * @throws IOException 종료 실패 시
+     */
+    void close() throws IOException;
+}
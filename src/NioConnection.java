@@ -0,0 +1,476 @@
+/*
+ * NioConnectionEngine의 이벤트 루프가 소유하는 논블로킹 클라이언트 연결
+ * 줄 단위(UTF-8, '\n' 구분) 또는 협상된 BinaryProtocol 프레임을 조립하여 리스너 콜백으로 전달하고,
+ * 다른 스레드에서 보낸 메시지는 쓰기 큐를 통해 이벤트 루프에서 전송
+ */
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class NioConnection implements MessageChannel {
+
+    /**
+     * 연결 이벤트 콜백 (이벤트 루프 스레드에서 호출됨)
+     */
+    public interface Listener {
+        void onMessage(NioConnection connection, String message);
+        void onClose(NioConnection connection);
+    }
+
+    // 연결 종료를 수신 대기자에게 알리는 표식 (동일성 비교)
+    private static final String CLOSED = new String("CLOSED");
+
+    final SocketChannel channel;
+    final NioConnectionEngine.EventLoop loop;
+    SelectionKey key;
+
+    private final String remoteAddress;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength = 0;
+    private int frameLength = -1;
+    private volatile boolean binaryFraming = false;
+
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    // 이벤트 루프가 한 번의 gathering write로 내보낼 최대 버퍼 수
+    private static final int MAX_GATHER = 16;
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+
+    // flush() 전까지 쌓아 두는 송신 바이트 (stagingLock으로 보호)
+    // 메시지가 하나뿐이면 복사하지 않고 원본 배열(sole)을 그대로 내보냄
+    private final ReentrantLock stagingLock = new ReentrantLock();
+    private byte[] staging = new byte[512];
+    private int stagingLength = 0;
+    private int stagingMessages = 0;
+    private byte[] sole;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final LinkedBlockingQueue<String> inbound = new LinkedBlockingQueue<>();
+    // 콜백 전달 요청 수 - 0에서 올린 스레드 하나만 큐를 비워 콜백 순서를 지킴
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private volatile long lastWaitNanos = 0;
+    private volatile Receiver receiver;
+    // 입력 종료(CLOSED)를 한 번이라도 전달했는지 여부 - 늦게 설정된 콜백에도 종료를 알리기 위해 사용
+    private volatile boolean inputClosed = false;
+
+    private volatile Listener listener;
+    private volatile boolean isClosed = false;
+    private boolean closeRequested = false;
+
+    NioConnection(SocketChannel channel, NioConnectionEngine.EventLoop loop) {
+        this.channel = channel;
+        this.loop = loop;
+        this.remoteAddress = channel.socket().getInetAddress().getHostAddress();
+    }
+
+    /**
+     * 수신 메시지를 받을 리스너 설정
+     * 리스너가 없으면 메시지는 수신 큐에 쌓여 receiveMessage()로 꺼낼 수 있음
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 메시지를 receiveMessage() 대기자에게 넘김
+     * @param message 수신 메시지
+     */
+    void offerInbound(String message) {
+        deliverInbound(message);
+    }
+
+    /**
+     * 조립된 메시지를 수신 큐에 넣고 콜백이 있으면 전달
+     * 이벤트 루프와 setReceiver가 동시에 전달해도 순서가 바뀌지 않도록 항상 큐를 거침
+     */
+    private void deliverInbound(String message) {
+        if (message == CLOSED) {
+            inputClosed = true;
+        }
+        inbound.offer(message);
+        drain();
+    }
+
+    /**
+     * 콜백이 설정되어 있으면 큐에 쌓인 메시지를 순서대로 전달
+     * 이미 다른 스레드가 전달 중이면 요청만 남기고 돌아감 (그 스레드가 이어서 전달)
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Receiver r;
+            String message;
+            // 콜백 안에서 소유자가 바뀔 수 있으므로 메시지마다 현재 콜백을 확인
+            while ((r = receiver) != null && (message = inbound.poll()) != null) {
+                dispatch(r, message);
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private static void dispatch(Receiver r, String message) {
+        if (message == CLOSED) {
+            r.onClose();
+        } else {
+            r.onMessage(message);
+        }
+    }
+
+    public void setReceiver(Receiver receiver) {
+        this.receiver = receiver;
+        if (receiver != null) {
+            drain();
+            // 이전 소유자가 종료 통지를 이미 받았더라도 새 소유자에게 다시 알림
+            if (inputClosed) {
+                receiver.onClose();
+            }
+        }
+    }
+
+    // ===== 이벤트 루프 스레드에서 호출 =====
+
+    void onReadable() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            closeNow();
+            return;
+        }
+        if (read == -1) {
+            closeNow();
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            // 콜백에서 프레이밍이 바뀔 수 있으므로 바이트마다 현재 방식을 확인
+            if (binaryFraming) {
+                readFrameBytes();
+                if (isClosed) return;
+                continue;
+            }
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                int length = lineLength;
+                if (length > 0 && lineBuffer[length - 1] == '\r') {
+                    length--;
+                }
+                String message = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+                lineLength = 0;
+                deliver(message);
+                if (isClosed) return;
+            } else {
+                if (lineLength == MAX_MESSAGE_LENGTH) {
+                    // 줄 끝 없이 계속 들어오는 입력 - 버퍼를 키우지 않고 연결을 끊음
+                    closeNow();
+                    return;
+                }
+                if (lineLength == lineBuffer.length) {
+                    lineBuffer = Arrays.copyOf(lineBuffer, lineBuffer.length * 2);
+                }
+                lineBuffer[lineLength++] = b;
+            }
+        }
+        readBuffer.clear();
+    }
+
+    /**
+     * 읽기 버퍼에서 바이너리 프레임 하나 분량까지 소비
+     * 길이 헤더(2바이트)를 먼저 모은 뒤 본문을 모아 완성되면 전달
+     */
+    private void readFrameBytes() {
+        int target = frameLength < 0 ? 2 : frameLength;
+        int n = Math.min(target - lineLength, readBuffer.remaining());
+        readBuffer.get(lineBuffer, lineLength, n);
+        lineLength += n;
+        if (lineLength < target) {
+            return;
+        }
+
+        if (frameLength < 0) {
+            frameLength = ((lineBuffer[0] & 0xFF) << 8) | (lineBuffer[1] & 0xFF);
+            lineLength = 0;
+            if (frameLength == 0 || frameLength > MAX_MESSAGE_LENGTH) {
+                closeNow();
+                return;
+            }
+            if (lineBuffer.length < frameLength) {
+                lineBuffer = new byte[frameLength];
+            }
+            return;
+        }
+
+        String message;
+        try {
+            message = BinaryProtocol.decode(lineBuffer, 0, frameLength);
+        } catch (ProtocolException e) {
+            // 잘못된 프레임 - 파서 상태를 이어 쓰지 않고 연결을 끊음 (예외를 이벤트 루프로 넘기지 않음)
+            closeNow();
+            return;
+        }
+        frameLength = -1;
+        lineLength = 0;
+        deliver(message);
+    }
+
+    void onWritable() {
+        flushOutbound();
+    }
+
+    private void deliver(String message) {
+        Listener l = listener;
+        if (l != null) {
+            l.onMessage(this, message);
+        } else {
+            deliverInbound(message);
+        }
+    }
+
+    private void flushOutbound() {
+        if (isClosed || key == null || !key.isValid()) {
+            return;
+        }
+        try {
+            while (!outbound.isEmpty()) {
+                // 대기 중인 버퍼를 모아 시스템 콜 한 번으로 전송
+                int count = 0;
+                for (ByteBuffer buffer : outbound) {
+                    gather[count++] = buffer;
+                    if (count == MAX_GATHER) break;
+                }
+                channel.write(gather, 0, count);
+                IoMetrics.recordWrite();
+
+                boolean partial = false;
+                for (int i = 0; i < count; i++) {
+                    if (gather[i].hasRemaining()) {
+                        partial = true;
+                        break;
+                    }
+                    outbound.poll();
+                }
+                Arrays.fill(gather, 0, count, null);
+
+                if (partial) {
+                    // 소켓 송신 버퍼가 가득 참 - 쓰기 가능해지면 이어서 전송
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            if (closeRequested) {
+                closeNow();
+            }
+        } catch (IOException e) {
+            closeNow();
+        }
+    }
+
+    void closeNow() {
+        if (isClosed) return;
+        isClosed = true;
+
+        if (key != null) key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // 이미 끊어진 연결
+        }
+        deliverInbound(CLOSED);
+
+        Listener l = listener;
+        if (l != null) {
+            l.onClose(this);
+        }
+    }
+
+    // ===== MessageChannel 구현 (임의 스레드에서 호출 가능) =====
+
+    public void sendMessage(String message) {
+        stagingLock.lock();
+        try {
+            queueMessage(message);
+            flush();
+        } finally {
+            stagingLock.unlock();
+        }
+    }
+
+    public void sendFrame(EncodedMessageTable.Frame frame) {
+        stagingLock.lock();
+        try {
+            queueFrame(frame);
+            flush();
+        } finally {
+            stagingLock.unlock();
+        }
+    }
+
+    public void queueMessage(String message) {
+        // 테이블에 있는 메시지는 미리 인코딩된 바이트 사용
+        EncodedMessageTable.Frame frame = EncodedMessageTable.lookup(message);
+        if (frame != null) {
+            queueFrame(frame);
+            return;
+        }
+        stage(binaryFraming
+            ? BinaryProtocol.encode(message)
+            : (message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void queueFrame(EncodedMessageTable.Frame frame) {
+        stage(frame.bytes(binaryFraming));
+    }
+
+    private void stage(byte[] data) {
+        stagingLock.lock();
+        try {
+            if (stagingMessages == 0) {
+                sole = data;
+            } else {
+                if (sole != null) {
+                    appendStaging(sole);
+                    sole = null;
+                }
+                appendStaging(data);
+            }
+            stagingMessages++;
+        } finally {
+            stagingLock.unlock();
+        }
+    }
+
+    private void appendStaging(byte[] data) {
+        if (stagingLength + data.length > staging.length) {
+            staging = Arrays.copyOf(staging, Math.max(staging.length * 2, stagingLength + data.length));
+        }
+        System.arraycopy(data, 0, staging, stagingLength, data.length);
+        stagingLength += data.length;
+    }
+
+    /**
+     * 쌓인 메시지를 버퍼 하나로 묶어 이벤트 루프에 넘김
+     */
+    public void flush() {
+        ByteBuffer batch;
+        stagingLock.lock();
+        try {
+            if (stagingMessages == 0) {
+                return;
+            }
+            // 메시지 하나면 공유 배열을 감싸기만 하므로 프레임 바이트는 복사되지 않음
+            batch = sole != null
+                ? ByteBuffer.wrap(sole)
+                : ByteBuffer.wrap(Arrays.copyOf(staging, stagingLength));
+            IoMetrics.recordMessages(stagingMessages);
+            sole = null;
+            stagingLength = 0;
+            stagingMessages = 0;
+        } finally {
+            stagingLock.unlock();
+        }
+        enqueue(batch);
+    }
+
+    private void enqueue(ByteBuffer batch) {
+        if (isClosed) return;
+        outbound.add(batch);
+
+        if (loop.inLoop()) {
+            flushOutbound();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                flushOutbound();
+            });
+        }
+    }
+
+    public String receiveMessage() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return unwrap(inbound.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lastWaitNanos = System.nanoTime() - start;
+        }
+    }
+
+    public String receiveMessage(int timeoutMillis) throws IOException {
+        long start = System.nanoTime();
+        try {
+            String message = inbound.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            lastWaitNanos = System.nanoTime() - start;
+            if (message == null) {
+                System.out.printf("메시지 수신 타임아웃 (%dms, 실제 대기 %.3fms)%n",
+                    timeoutMillis, lastWaitNanos / 1_000_000.0);
+                return null;
+            }
+            return unwrap(message);
+        } catch (InterruptedException e) {
+            lastWaitNanos = System.nanoTime() - start;
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public long getLastWaitNanos() {
+        return lastWaitNanos;
+    }
+
+    private String unwrap(String message) {
+        if (message == CLOSED) {
+            // 다른 대기자도 종료를 볼 수 있도록 표식을 되돌려 놓음
+            inbound.offer(CLOSED);
+            return null;
+        }
+        return message;
+    }
+
+    public void enableBinaryFraming() {
+        binaryFraming = true;
+    }
+
+    public boolean isBinaryFraming() {
+        return binaryFraming;
+    }
+
+    public boolean isConnected() {
+        return !isClosed && channel.isOpen();
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * 대기 중인 송신 데이터를 모두 보낸 뒤 연결 종료
+     */
+    public void close() throws IOException {
+        flush();
+        loop.execute(() -> {
+            if (outbound.isEmpty()) {
+                closeNow();
+            } else {
+                closeRequested = true;
+                flushOutbound();
+            }
+        });
+    }
+}
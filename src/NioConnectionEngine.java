@@ -0,0 +1,203 @@
+/*
+ * Selector 기반 논블로킹 연결 엔진
+ * 소수의 이벤트 루프 스레드가 모든 SocketChannel의 accept / read / write를 처리하여
+ * 연결마다 스레드를 두지 않고도 많은 동시 접속을 감당
+ */
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class NioConnectionEngine {
+
+    /**
+     * 새 연결 수락 시 호출되는 콜백
+     */
+    public interface AcceptListener {
+        void onAccept(NioConnection connection);
+    }
+
+    private final int port;
+    private final AcceptListener acceptListener;
+    private final EventLoop[] loops;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private volatile boolean isRunning;
+    private int nextLoop = 0;
+
+    /**
+     * @param port 서버 포트
+     * @param loopCount 읽기/쓰기를 담당할 이벤트 루프 수
+     * @param acceptListener 연결 수락 콜백
+     */
+    public NioConnectionEngine(int port, int loopCount, AcceptListener acceptListener) {
+        this.port = port;
+        this.acceptListener = acceptListener;
+        this.loops = new EventLoop[Math.max(1, loopCount)];
+    }
+
+    /**
+     * 이벤트 루프를 시작하고 현재 스레드에서 accept 루프 실행 (종료될 때까지 반환하지 않음)
+     * @throws IOException 서버 채널 생성 실패 시
+     */
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        acceptSelector = Selector.open();
+        serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop("nio-loop-" + i);
+            loops[i].start();
+        }
+
+        isRunning = true;
+        try {
+            while (isRunning) {
+                acceptSelector.select();
+                Iterator<SelectionKey> it = acceptSelector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // shutdown()에 의한 정상 종료
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+
+                // 라운드로빈으로 이벤트 루프 배정
+                EventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+                loop.register(new NioConnection(channel, loop), acceptListener);
+            }
+        } catch (IOException e) {
+            if (isRunning) {
+                System.err.println("[오류] 클라이언트 접속 처리 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 엔진 종료 - 서버 채널과 모든 이벤트 루프 종료
+     */
+    public void shutdown() {
+        isRunning = false;
+        try {
+            if (serverChannel != null) serverChannel.close();
+            if (acceptSelector != null) acceptSelector.close();
+        } catch (IOException e) {
+            System.err.println("[오류] 서버 채널 종료 실패: " + e.getMessage());
+        }
+        for (EventLoop loop : loops) {
+            if (loop != null) loop.shutdown();
+        }
+    }
+
+    /**
+     * 하나의 Selector를 소유하고 배정된 연결들의 I/O를 처리하는 루프
+     */
+    static class EventLoop extends Thread {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean isRunning = true;
+
+        EventLoop(String name) throws IOException {
+            super(name);
+            setDaemon(true);
+            this.selector = Selector.open();
+        }
+
+        /**
+         * 루프 스레드에서 실행할 작업 등록
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            if (Thread.currentThread() != this) {
+                selector.wakeup();
+            }
+        }
+
+        boolean inLoop() {
+            return Thread.currentThread() == this;
+        }
+
+        void register(NioConnection connection, AcceptListener listener) {
+            execute(() -> {
+                try {
+                    connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                    listener.onAccept(connection);
+                } catch (IOException e) {
+                    connection.closeNow();
+                }
+            });
+        }
+
+        @Override
+        public void run() {
+            while (isRunning) {
+                try {
+                    // 루프 안에서 등록된 작업이 남아 있으면 대기 없이 진행
+                    if (tasks.isEmpty()) {
+                        selector.select();
+                    } else {
+                        selector.selectNow();
+                    }
+
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        NioConnection connection = (NioConnection) key.attachment();
+                        if (key.isValid() && key.isReadable()) {
+                            connection.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.onWritable();
+                        }
+                    }
+                } catch (IOException | ClosedSelectorException e) {
+                    if (isRunning) {
+                        System.err.println("[오류] 이벤트 루프 오류: " + e.getMessage());
+                    }
+                } catch (RuntimeException e) {
+                    // 콜백 예외로 루프 전체가 죽지 않도록 보호
+                    System.err.println("[오류] 이벤트 처리 실패: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+
+            for (SelectionKey key : new java.util.ArrayList<>(selector.keys())) {
+                ((NioConnection) key.attachment()).closeNow();
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // 종료 중이므로 무시
+            }
+        }
+
+        void shutdown() {
+            isRunning = false;
+            selector.wakeup();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * 투구 판정 결과와 타석 결과
+ * 앞의 6개는 JudgementProcessor가 판정하는 결과이고 순서가 judgeIndex 반환값과 같음
+ * 삼진/볼넷은 카운트로 정해지는 타석 결과
+ * 순서 번호는 바이너리 프로토콜의 결과 코드로도 쓰이므로 순서를 바꾸지 않음
+ */
+public enum Outcome {
+    STRIKE("스트라이크!"),
+    BALL("볼!"),
+    FOUL("파울!"),
+    HIT("안타!"),
+    HOMERUN("홈런!!!"),
+    OUT("아웃!"),
+    WALK("볼넷!"),
+    STRIKEOUT("삼진 아웃!");
+
+    /** 판정 결과 개수 (STRIKE ~ OUT) */
+    public static final int JUDGED_COUNT = 6;
+
+    private static final Outcome[] VALUES = values();
+    private static final String RESULT_PREFIX = "RESULT:";
+    // 이름 첫 글자('A'~'Z') -> 그 글자로 시작하는 결과 (이름 비교를 후보 1~2개로 줄임)
+    private static final Outcome[][] BY_INITIAL = new Outcome[26][0];
+
+    static {
+        for (Outcome outcome : VALUES) {
+            int initial = outcome.name().charAt(0) - 'A';
+            Outcome[] candidates = java.util.Arrays.copyOf(BY_INITIAL[initial], BY_INITIAL[initial].length + 1);
+            candidates[candidates.length - 1] = outcome;
+            BY_INITIAL[initial] = candidates;
+        }
+    }
+
+    private final String text;
+
+    Outcome(String text) {
+        this.text = text;
+    }
+
+    /**
+     * 순서 번호로 결과 조회 (values() 복사 없이)
+     * @param ordinal judgeIndex 반환값 또는 바이너리 결과 코드
+     */
+    public static Outcome of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * 결과 이름으로 조회 (부분 문자열을 만들지 않고 비교)
+     * @param s 이름을 포함한 문자열
+     * @param start 이름 시작 위치
+     * @param end 이름 끝 위치 (제외)
+     * @return 결과 (알 수 없는 이름이면 null)
+     */
+    public static Outcome fromName(String s, int start, int end) {
+        int length = end - start;
+        if (length <= 0) return null;
+        int initial = s.charAt(start) - 'A';
+        if (initial < 0 || initial >= BY_INITIAL.length) return null;
+        for (Outcome outcome : BY_INITIAL[initial]) {
+            String name = outcome.name();
+            if (name.length() == length && s.regionMatches(start, name, 0, length)) {
+                return outcome;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * RESULT:<결과>:<메시지> 형식에서 결과 조회
+     * @param resultMsg 결과 메시지
+     * @return 결과 (형식이 맞지 않거나 알 수 없는 결과면 null)
+     */
+    public static Outcome parseResult(String resultMsg) {
+        if (resultMsg == null || !resultMsg.startsWith(RESULT_PREFIX)) return null;
+        int end = resultMsg.indexOf(':', RESULT_PREFIX.length());
+        return fromName(resultMsg, RESULT_PREFIX.length(), end < 0 ? resultMsg.length() : end);
+    }
+
+    /**
+     * 화면/상세 메시지에 쓰는 결과 문구 (예: "안타!")
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * 타석이 끝나는 결과인지 (안타, 홈런, 아웃, 볼넷, 삼진)
+     */
+    public boolean endsAtBat() {
+        return this == HIT || this == HOMERUN || this == OUT || this == WALK || this == STRIKEOUT;
+    }
+}
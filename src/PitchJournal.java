@@ -0,0 +1,586 @@
+/*
+ * 투구 기록 저널 (추가 전용, 메모리 매핑 바이너리 파일)
+ * 투구 하나마다 게임 번호, 구종, 구속, 스윙, 판정, 투구 후 경기 상태(GameState)를 고정 폭 레코드로 남김
+ *
+ * 게임 루프는 append로 큐에 넣기만 하고 (막히지 않음, 큐가 차면 버리고 개수만 셈),
+ * 전용 기록 스레드가 큐를 한 번에 비워 매핑된 영역에 복사한 뒤 주기적으로 디스크에 반영
+ * Reader는 파일을 순서대로 훑거나(분석) 한 게임을 원래 간격 또는 배속으로 다시 진행(리플레이)
+ *
+ * 파일 형식
+ *   헤더 64바이트: [magic "PJNL"][version][레코드 크기] 나머지 0
+ *   레코드 32바이트:
+ *     0  표식 (RECORD_MARKER, 0이면 기록 끝)
+ *     1  구종 순서 번호 (투구 없음 -1)
+ *     2  스윙 (0/1)
+ *     3  판정 (Outcome 순서 번호)
+ *     4  구속 u16
+ *     6  게임 안 투구 번호 u16
+ *     8  게임 번호 i64
+ *     16 기록 시각 (epoch 밀리초) i64
+ *     24 투구 후 경기 상태 (GameState) i64
+ *   파일은 세그먼트 단위로 미리 늘려 매핑하므로 끝에 0으로 채워진 영역이 있을 수 있음
+ *
+ * 사용법: java PitchJournal stats <파일>
+ *        java PitchJournal replay <파일> <게임 번호> [배속, 0이면 대기 없음]
+ *        java PitchJournal                   (자체 테스트)
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PitchJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x504A4E4C; // "PJNL"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    private static final byte RECORD_MARKER = 'P';
+    // 매핑 단위 (레코드 크기의 배수이므로 레코드가 세그먼트 경계에 걸치지 않음)
+    static final long SEGMENT_SIZE = 64L << 20;
+
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int MAX_BATCH = 4096;
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+    // 큐가 비었을 때 기록 스레드가 쉬는 시간 (종료 요청도 이 주기로 확인,
+    // 인터럽트는 기록 중인 FileChannel을 닫아 버리므로 쓰지 않음)
+    private static final long POLL_MILLIS = 10;
+    // 마지막 게임 번호를 찾을 때 확인하는 끝 쪽 레코드 수
+    private static final int TAIL_RECORDS = 65_536;
+
+    /**
+     * 투구 하나의 기록
+     * @param pitchType 구종 (투구 시간 초과로 판정한 경우 null)
+     * @param state 투구 판정을 반영한 뒤의 경기 상태 (GameState 형식)
+     */
+    public record Entry(long gameId, int pitchNumber, long timeMillis, PitchType pitchType, int speed,
+                        boolean swing, Outcome outcome, long state) {
+        public static Entry of(long gameId, int pitchNumber, GameEvent.Judgement judgement, long state) {
+            GameEvent.Pitch pitch = judgement.pitch();
+            return new Entry(gameId, pitchNumber, System.currentTimeMillis(),
+                pitch != null ? pitch.type() : null, pitch != null ? pitch.speed() : 0,
+                judgement.swing(), judgement.outcome(), state);
+        }
+    }
+
+    private final FileChannel channel;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final long lastGameId;
+    private volatile boolean running = true;
+
+    // 기록 스레드만 사용
+    private MappedByteBuffer segment;
+    private long segmentStart = -1;
+    private long position; // 다음 레코드를 쓸 파일 위치
+    private boolean dirty;
+    private long lastFlush;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private PitchJournal(FileChannel channel, long records, long lastGameId) {
+        this.channel = channel;
+        this.position = HEADER_SIZE + records * RECORD_SIZE;
+        this.lastGameId = lastGameId;
+        this.writer = new Thread(this::writeLoop, "pitch-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 저널 파일 열기 (없으면 생성, 있으면 마지막 레코드 뒤부터 이어 씀)
+     * @param file 저널 파일 경로
+     * @throws IOException 파일을 열 수 없거나 저널 형식이 아닌 경우
+     */
+    public static PitchJournal open(String file) throws IOException {
+        Path path = Paths.get(file);
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).position(0);
+                channel.write(header, 0);
+            } else {
+                checkHeader(channel, path);
+            }
+            long records = countRecords(channel);
+            long lastGameId = 0;
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            for (long i = Math.max(0, records - TAIL_RECORDS); i < records; i++) {
+                record.clear();
+                channel.read(record, HEADER_SIZE + i * RECORD_SIZE);
+                lastGameId = Math.max(lastGameId, record.getLong(8));
+            }
+            return new PitchJournal(channel, records, lastGameId);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ===== 기록 =====
+
+    /**
+     * 투구 기록 추가 (게임 루프에서 호출, 막히지 않음)
+     * @return 큐에 넣었으면 true (기록 스레드가 밀려 큐가 찼으면 버리고 false)
+     */
+    public boolean append(Entry entry) {
+        if (running && queue.offer(entry)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * 투구 기록 추가 (큐가 차면 기다림, 도구와 테스트에서 대량으로 넣을 때 사용)
+     */
+    void appendWait(Entry entry) throws InterruptedException {
+        queue.put(entry);
+    }
+
+    /**
+     * 열 때 저널에 남아 있던 가장 큰 게임 번호 (끝 쪽 레코드 기준, 없으면 0)
+     * 서버 재시작 후에도 게임 번호가 저널 안에서 겹치지 않도록 이 다음 번호부터 사용
+     */
+    public long lastGameId() {
+        return lastGameId;
+    }
+
+    public String summary() {
+        return String.format("기록 %,d건, 버림 %,d건, 묶음 %,d회, 대기 %d건",
+            written.sum(), dropped.sum(), batches.sum(), queue.size());
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 큐에 남은 기록을 모두 쓰고 디스크에 반영한 뒤 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                // 종료 요청 전에 들어온 기록은 모두 쓰고 끝냄
+                boolean stopping = !running;
+                queue.drainTo(batch, MAX_BATCH);
+                if (batch.isEmpty()) {
+                    if (stopping) break;
+                    try {
+                        // 큐에서 기다리지 않고 잠깐 쉼 (기다리는 스레드가 없으면 append가 깨우기 시스템 호출을 하지 않음)
+                        Thread.sleep(POLL_MILLIS);
+                    } catch (InterruptedException e) {
+                        // 종료는 running으로 확인
+                    }
+                } else {
+                    for (Entry entry : batch) {
+                        write(entry);
+                    }
+                    written.add(batch.size());
+                    batches.increment();
+                    batch.clear();
+                    dirty = true;
+                }
+                long now = System.currentTimeMillis();
+                if (dirty && now - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                    segment.force();
+                    dirty = false;
+                    lastFlush = now;
+                }
+            }
+            if (dirty) {
+                segment.force();
+            }
+        } catch (IOException e) {
+            System.err.println("[저널] 기록 실패, 이후 투구는 기록하지 않음: " + e.getMessage());
+            running = false;
+            dropped.add(queue.size());
+            queue.clear();
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        if (segment == null || position >= segmentStart + SEGMENT_SIZE) {
+            if (segment != null && dirty) {
+                segment.force();
+            }
+            segmentStart = position / SEGMENT_SIZE * SEGMENT_SIZE;
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, SEGMENT_SIZE);
+        }
+        int offset = (int) (position - segmentStart);
+        PitchType pitchType = entry.pitchType();
+        segment.put(offset + 1, (byte) (pitchType != null ? pitchType.ordinal() : -1));
+        segment.put(offset + 2, (byte) (entry.swing() ? 1 : 0));
+        segment.put(offset + 3, (byte) entry.outcome().ordinal());
+        segment.putShort(offset + 4, (short) entry.speed());
+        segment.putShort(offset + 6, (short) entry.pitchNumber());
+        segment.putLong(offset + 8, entry.gameId());
+        segment.putLong(offset + 16, entry.timeMillis());
+        segment.putLong(offset + 24, entry.state());
+        // 표식은 마지막에 (중간에 멈춘 레코드는 기록 끝으로 보고 다음에 덮어씀)
+        segment.put(offset, RECORD_MARKER);
+        position += RECORD_SIZE;
+    }
+
+    // ===== 파일 형식 =====
+
+    private static void checkHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        if (channel.read(header, 0) < 12 || header.getInt(0) != MAGIC
+                || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+            throw new IOException("투구 저널 형식이 아님: " + path);
+        }
+    }
+
+    /**
+     * 기록된 레코드 수 (표식이 있는 레코드가 앞에서부터 이어지므로 첫 빈 레코드를 이분 탐색)
+     */
+    private static long countRecords(FileChannel channel) throws IOException {
+        long low = 0;
+        long high = Math.max(0, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        ByteBuffer marker = ByteBuffer.allocate(1);
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            marker.clear();
+            channel.read(marker, HEADER_SIZE + mid * RECORD_SIZE);
+            if (marker.get(0) == RECORD_MARKER) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ===== 읽기 =====
+
+    /**
+     * 레코드를 차례로 받는 방문자 (커서 내용은 visit 호출 동안만 유효)
+     */
+    public interface Visitor {
+        void visit(Cursor record);
+    }
+
+    /**
+     * 현재 레코드를 매핑된 영역에서 바로 읽는 커서 (레코드마다 객체를 만들지 않음)
+     */
+    public static final class Cursor {
+        private ByteBuffer buffer;
+        private int offset;
+        private long index;
+
+        /** 파일 안 레코드 순번 (0부터) */
+        public long index() {
+            return index;
+        }
+
+        /** 구종 (투구 시간 초과면 null) */
+        public PitchType pitchType() {
+            int type = buffer.get(offset + 1);
+            return type >= 0 ? PitchType.of(type) : null;
+        }
+
+        public boolean swing() {
+            return buffer.get(offset + 2) != 0;
+        }
+
+        public Outcome outcome() {
+            return Outcome.of(buffer.get(offset + 3));
+        }
+
+        public int speed() {
+            return buffer.getShort(offset + 4) & 0xFFFF;
+        }
+
+        public int pitchNumber() {
+            return buffer.getShort(offset + 6) & 0xFFFF;
+        }
+
+        public long gameId() {
+            return buffer.getLong(offset + 8);
+        }
+
+        public long timeMillis() {
+            return buffer.getLong(offset + 16);
+        }
+
+        /** 투구 후 경기 상태 (GameState 형식) */
+        public long state() {
+            return buffer.getLong(offset + 24);
+        }
+
+        public Entry toEntry() {
+            return new Entry(gameId(), pitchNumber(), timeMillis(), pitchType(), speed(), swing(), outcome(), state());
+        }
+    }
+
+    /**
+     * 저널 파일 읽기 (읽기 전용 매핑, 기록 중인 파일도 그 시점까지 읽을 수 있음)
+     */
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final long records;
+
+        public Reader(String file) throws IOException {
+            Path path = Paths.get(file);
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                checkHeader(channel, path);
+                this.records = countRecords(channel);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /** 기록된 투구 수 */
+        public long size() {
+            return records;
+        }
+
+        /**
+         * 모든 레코드를 파일 순서대로 방문 (세그먼트 단위로 매핑해 순차로 읽음)
+         */
+        public void scan(Visitor visitor) throws IOException {
+            Cursor cursor = new Cursor();
+            long end = HEADER_SIZE + records * RECORD_SIZE;
+            for (long start = 0; start < end; start += SEGMENT_SIZE) {
+                long length = Math.min(SEGMENT_SIZE, end - start);
+                cursor.buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int first = start == 0 ? HEADER_SIZE : 0;
+                for (int offset = first; offset < length; offset += RECORD_SIZE) {
+                    cursor.offset = offset;
+                    cursor.index = (start + offset - HEADER_SIZE) / RECORD_SIZE;
+                    visitor.visit(cursor);
+                }
+            }
+        }
+
+        /**
+         * 한 게임의 투구를 기록된 간격대로 다시 진행
+         * @param gameId 게임 번호
+         * @param speed 배속 (2면 두 배 빠르게, 0 이하면 기다리지 않음)
+         * @param visitor 투구마다 호출
+         * @return 진행한 투구 수
+         */
+        public int replay(long gameId, double speed, Visitor visitor) throws IOException, InterruptedException {
+            long[] previous = {-1};
+            int[] pitches = {0};
+            InterruptedException[] interrupted = {null};
+            scan(record -> {
+                if (record.gameId() != gameId || interrupted[0] != null) return;
+                long time = record.timeMillis();
+                if (speed > 0 && previous[0] >= 0 && time > previous[0]) {
+                    try {
+                        Thread.sleep((long) ((time - previous[0]) / speed));
+                    } catch (InterruptedException e) {
+                        interrupted[0] = e;
+                        return;
+                    }
+                }
+                previous[0] = time;
+                pitches[0]++;
+                visitor.visit(record);
+            });
+            if (interrupted[0] != null) {
+                throw interrupted[0];
+            }
+            return pitches[0];
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // ===== 명령줄 도구 / 자체 테스트 =====
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && args[0].equals("stats")) {
+            printStats(args[1]);
+        } else if (args.length >= 3 && args[0].equals("replay")) {
+            double speed = args.length >= 4 ? Double.parseDouble(args[3]) : 1.0;
+            try (Reader reader = new Reader(args[1])) {
+                int pitches = reader.replay(Long.parseLong(args[2]), speed, record -> System.out.printf(
+                    "#%-3d %-6s %3dkm/h %-4s %-10s %s%n", record.pitchNumber(),
+                    record.pitchType() != null ? record.pitchType().displayName() : "-", record.speed(),
+                    record.swing() ? "스윙" : "", record.outcome(), GameState.toString(record.state())));
+                System.out.println("투구 " + pitches + "개");
+            }
+        } else {
+            selfTest();
+        }
+    }
+
+    /**
+     * 전체 투구를 훑어 구종별 판정 분포 출력
+     */
+    private static void printStats(String file) throws IOException {
+        try (Reader reader = new Reader(file)) {
+            long[][] outcomes = new long[PitchType.count() + 1][Outcome.count()];
+            long[] maxGame = {0};
+            long start = System.nanoTime();
+            reader.scan(record -> {
+                PitchType type = record.pitchType();
+                outcomes[type != null ? type.ordinal() : PitchType.count()][record.outcome().ordinal()]++;
+                maxGame[0] = Math.max(maxGame[0], record.gameId());
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("투구 %,d개, 마지막 게임 번호 %d, 읽기 %.3f초 (%,.0f건/초)%n",
+                reader.size(), maxGame[0], seconds, reader.size() / seconds);
+            for (int t = 0; t <= PitchType.count(); t++) {
+                long total = 0;
+                for (long count : outcomes[t]) total += count;
+                if (total == 0) continue;
+                StringBuilder line = new StringBuilder(String.format("%-6s %,10d", t < PitchType.count()
+                    ? PitchType.of(t).displayName() : "시간초과", total));
+                for (Outcome outcome : Outcome.values()) {
+                    if (outcome.ordinal() >= Outcome.JUDGED_COUNT) break;
+                    line.append(String.format("  %s %5.1f%%", outcome, 100.0 * outcomes[t][outcome.ordinal()] / total));
+                }
+                System.out.println(line);
+            }
+        }
+    }
+
+    private static void selfTest() throws Exception {
+        System.out.println("=== 투구 저널 테스트 ===\n");
+        Path file = Files.createTempFile("pitch_journal", ".dat");
+        Files.delete(file);
+        try {
+            // 1. 무작위 투수/타자 경기를 저널에 기록 (세그먼트 경계를 넘도록 200만 건 이상)
+            GameRandom random = new GameRandom(5);
+            RandomSpeedGenerator speeds = new RandomSpeedGenerator(random.split());
+            JudgementProcessor judge = new JudgementProcessor(random.split());
+            List<long[]> finals = new ArrayList<>(); // [게임 번호, 투구 수, 마지막 상태]
+            long total = 0;
+            long start = System.nanoTime();
+            try (PitchJournal journal = open(file.toString())) {
+                SelfTest.check("새 저널의 마지막 게임 번호", journal.lastGameId() == 0);
+                for (long gameId = 1; total < 2_200_000; gameId++) {
+                    long state = GameState.INITIAL;
+                    int pitchNumber = 0;
+                    while (!GameState.isGameOver(state)) {
+                        PitchType type = PitchType.of(random.nextInt(PitchType.count()));
+                        GameEvent.Pitch pitch = new GameEvent.Pitch(type, speeds.generateSpeed(type));
+                        GameEvent.Judgement judgement = judge.judge(pitch, random.nextBoolean());
+                        state = GameState.applyPitch(state, judgement.outcome());
+                        journal.appendWait(new Entry(gameId, ++pitchNumber, pitchNumber * 100L, type, pitch.speed(),
+                            judgement.swing(), judgement.outcome(), state));
+                        if (GameState.isHalfInningOver(state)) state = GameState.endHalfInning(state);
+                        total++;
+                    }
+                    finals.add(new long[] {gameId, pitchNumber, state});
+                }
+            }
+            double writeSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("기록: %,d건 (%,d경기), %.2f초, 파일 %,d 바이트%n",
+                total, finals.size(), writeSeconds, Files.size(file));
+
+            // 2. 다시 열면 끝에서 이어 쓰고, 게임 번호는 마지막 번호 다음부터
+            long lastGame = finals.get(finals.size() - 1)[0];
+            try (PitchJournal journal = open(file.toString())) {
+                SelfTest.check("다시 열면 마지막 게임 번호 복원", journal.lastGameId() == lastGame);
+                journal.append(Entry.of(lastGame + 1, 1,
+                    new GameEvent.Judgement(null, false, Outcome.BALL, "투구 시간 초과 - 볼!"),
+                    GameState.applyPitch(GameState.INITIAL, Outcome.BALL)));
+            }
+            total++;
+
+            // 3. 순차 읽기: 건수, 게임별 투구 수, 시간 초과 레코드
+            try (Reader reader = new Reader(file.toString())) {
+                SelfTest.check("레코드 수", reader.size() == total);
+                long[] pitchesPerGame = new long[finals.size() + 2];
+                long[] timeouts = {0};
+                long[] sum = {0};
+                start = System.nanoTime();
+                reader.scan(record -> {
+                    pitchesPerGame[(int) record.gameId()]++;
+                    if (record.pitchType() == null) timeouts[0]++;
+                    sum[0] += record.speed() + record.outcome().ordinal();
+                });
+                double scanSeconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("순차 읽기: %,d건 %.3f초 (%,.0f건/초)%n", total, scanSeconds, total / scanSeconds);
+                boolean countsMatch = true;
+                for (long[] game : finals) {
+                    countsMatch &= pitchesPerGame[(int) game[0]] == game[1];
+                }
+                SelfTest.check("게임별 투구 수", countsMatch);
+                SelfTest.check("시간 초과 투구는 구종 없이 기록", timeouts[0] == 1 && pitchesPerGame[(int) lastGame + 1] == 1);
+
+                // 4. 리플레이: 기록된 판정을 GameState로 다시 적용하면 기록된 상태와 같아야 함
+                long[] replayed = {GameState.INITIAL};
+                boolean[] consistent = {true};
+                long[] target = finals.get(finals.size() / 2);
+                int pitches = reader.replay(target[0], 0, record -> {
+                    long state = GameState.applyPitch(replayed[0], record.outcome());
+                    consistent[0] &= state == record.state();
+                    replayed[0] = GameState.isHalfInningOver(state) ? GameState.endHalfInning(state) : state;
+                });
+                SelfTest.check("리플레이로 경기 상태 재현", consistent[0] && pitches == target[1] && replayed[0] == target[2]);
+
+                // 배속 리플레이: 기록 간격 100ms, 20배속이면 투구 사이 5ms
+                start = System.nanoTime();
+                reader.replay(1, 20, record -> { });
+                double millis = (System.nanoTime() - start) / 1e6;
+                long firstGamePitches = finals.get(0)[1];
+                System.out.printf("20배속 리플레이: 투구 %d개 %.0fms (기록 간격 합 %dms)%n",
+                    firstGamePitches, millis, (firstGamePitches - 1) * 100);
+                SelfTest.check("배속 리플레이 간격", millis >= (firstGamePitches - 1) * 5 * 0.9);
+            }
+
+            // 5. 게임 루프 쪽 append 비용 (큐에 넣기만 함)
+            Files.delete(file);
+            PitchJournal journal = open(file.toString());
+            GameEvent.Judgement judgement = new GameEvent.Judgement(
+                new GameEvent.Pitch(PitchType.FASTBALL, 150), true, Outcome.HIT, "안타!");
+            int appends = 50_000;
+            long elapsed = 0;
+            long worst = 0;
+            for (int i = 0; i < appends; i++) {
+                long t = System.nanoTime();
+                journal.append(Entry.of(1, i, judgement, GameState.INITIAL));
+                t = System.nanoTime() - t;
+                elapsed += t;
+                worst = Math.max(worst, t);
+                if ((i & 1023) == 1023) Thread.sleep(1); // 실제 게임처럼 간격을 둠
+            }
+            journal.close();
+            System.out.printf("append: 평균 %.0fns, 최악 %.1fus, %s%n",
+                elapsed / (double) appends, worst / 1e3, journal.summary());
+            SelfTest.check("게임 루프 append는 버리지 않음", journal.getDropped() == 0 && journal.getWritten() == appends);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
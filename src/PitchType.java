@@ -0,0 +1,78 @@
+/*
+ * 구종 정의
+ * 프로토콜 문자(PITCH:A 등), 화면 표시 이름, 구속 범위를 한곳에서 관리
+ * 판정/구속 생성/표시 코드는 문자를 한 번만 PitchType으로 바꾼 뒤 enum으로 분기
+ */
+public enum PitchType {
+    FORK('A', "포크", 110, 130),
+    FASTBALL('S', "직구", 140, 160),
+    CURVE('D', "커브", 100, 120),
+    SLIDER('F', "슬라이더", 120, 140);
+
+    // 프로토콜 문자 -> 구종 (ASCII 범위 배열 조회)
+    private static final PitchType[] BY_CODE = new PitchType[128];
+    private static final PitchType[] VALUES = values();
+
+    static {
+        for (PitchType type : VALUES) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final char code;
+    private final String displayName;
+    private final int minSpeed;
+    private final int maxSpeed;
+
+    PitchType(char code, String displayName, int minSpeed, int maxSpeed) {
+        this.code = code;
+        this.displayName = displayName;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+    }
+
+    /**
+     * 프로토콜 문자로 구종 조회
+     * @param code 'A', 'S', 'D', 'F'
+     * @return 구종 (알 수 없는 문자면 null)
+     */
+    public static PitchType fromCode(char code) {
+        return code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /**
+     * 순서 번호로 구종 조회 (values() 복사 없이)
+     */
+    public static PitchType of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * 프로토콜 문자 (PITCH:x, PITCH_INFO:x:speed)
+     */
+    public char code() {
+        return code;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    /**
+     * 최저 구속 (km/h, 포함)
+     */
+    public int minSpeed() {
+        return minSpeed;
+    }
+
+    /**
+     * 최고 구속 (km/h, 포함)
+     */
+    public int maxSpeed() {
+        return maxSpeed;
+    }
+}
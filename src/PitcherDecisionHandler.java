@@ -17,6 +17,8 @@ import javax.swing.JPanel;
 import javax.swing.Timer;
 
 public class PitcherDecisionHandler extends JPanel implements ActionListener, KeyListener {
+    private static final long serialVersionUID = 1L;
+    
     private Timer timer; // 투수의 구종 결정 제한 타이머 
     private Image pitcherImage; // 투수 이미지
     private Image batterImage; // 타자 이미지 
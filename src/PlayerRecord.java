@@ -0,0 +1,164 @@
+/*
+ * 플레이어 한 명의 승/패와 마지막 경기 시각
+ * RecordManager, MappedRecordStore, Leaderboard가 함께 사용하며 직렬화 형식은 기존 전적 파일과 같음
+ */
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 개별 플레이어의 전적 정보를 담는 클래스
+ * 승/패는 한 long 값에 함께 담아 원자적으로 갱신 (여러 스레드가 잠금 없이 갱신/조회)
+ */
+class PlayerRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+    // 직렬화 형식은 이전과 같은 필드로 유지 (기존 전적 파일과 호환)
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("nickname", String.class),
+        new ObjectStreamField("wins", int.class),
+        new ObjectStreamField("losses", int.class),
+        new ObjectStreamField("lastPlayDate", Date.class)
+    };
+    private static final AtomicLongFieldUpdater<PlayerRecord> RESULTS =
+        AtomicLongFieldUpdater.newUpdater(PlayerRecord.class, "results");
+    
+    private String nickname;
+    // 승(상위 32비트)과 패(하위 32비트) - 한 번에 읽으므로 승률 계산 중 두 값이 어긋나지 않음
+    private volatile long results;
+    private volatile long lastPlayTime;
+    
+    public PlayerRecord(String nickname) {
+        this(nickname, System.currentTimeMillis());
+    }
+    
+    /**
+     * @param time 마지막 경기 시각 (로그를 다시 적용할 때 기록된 시각을 그대로 사용)
+     */
+    PlayerRecord(String nickname, long time) {
+        this.nickname = nickname;
+        this.lastPlayTime = time;
+    }
+    
+    /**
+     * 저장된 값으로 생성 (메모리 매핑 저장소에서 읽을 때)
+     */
+    PlayerRecord(String nickname, int wins, int losses, long lastPlayTime) {
+        this.nickname = nickname;
+        this.results = pack(wins, losses);
+        this.lastPlayTime = lastPlayTime;
+    }
+    
+    /**
+     * 복사 생성자 (스냅샷 저장, 순위 정렬용)
+     */
+    PlayerRecord(PlayerRecord other) {
+        this.nickname = other.nickname;
+        this.results = other.results;
+        this.lastPlayTime = other.lastPlayTime;
+    }
+    
+    public void addWin() {
+        addWin(System.currentTimeMillis());
+    }
+    
+    public void addLoss() {
+        addLoss(System.currentTimeMillis());
+    }
+    
+    /**
+     * @return 변경 후 승/패 (winsOf, lossesOf로 꺼냄)
+     */
+    long addWin(long time) {
+        long updated = RESULTS.addAndGet(this, 1L << 32);
+        lastPlayTime = time;
+        return updated;
+    }
+    
+    /**
+     * @return 변경 후 승/패 (winsOf, lossesOf로 꺼냄)
+     */
+    long addLoss(long time) {
+        long updated = RESULTS.incrementAndGet(this);
+        lastPlayTime = time;
+        return updated;
+    }
+    
+    /**
+     * 승/패를 지정한 값으로 (로그를 다시 적용할 때)
+     */
+    void set(int wins, int losses, long time) {
+        results = pack(wins, losses);
+        lastPlayTime = time;
+    }
+    
+    static long pack(int wins, int losses) {
+        return ((long) wins << 32) | (losses & 0xFFFFFFFFL);
+    }
+    
+    static int winsOf(long results) {
+        return (int) (results >>> 32);
+    }
+    
+    static int lossesOf(long results) {
+        return (int) results;
+    }
+    
+    public String getNickname() {
+        return nickname;
+    }
+    
+    public int getWins() {
+        return winsOf(results);
+    }
+    
+    public int getLosses() {
+        return lossesOf(results);
+    }
+    
+    public int getTotalGames() {
+        long current = results;
+        return winsOf(current) + lossesOf(current);
+    }
+    
+    public double getWinRate() {
+        long current = results;
+        int total = winsOf(current) + lossesOf(current);
+        return total == 0 ? 0.0 : (double) winsOf(current) / total;
+    }
+    
+    public Date getLastPlayDate() {
+        return new Date(lastPlayTime);
+    }
+    
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        long current = results;
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("nickname", nickname);
+        fields.put("wins", winsOf(current));
+        fields.put("losses", lossesOf(current));
+        fields.put("lastPlayDate", new Date(lastPlayTime));
+        out.writeFields();
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        nickname = (String) fields.get("nickname", null);
+        results = pack(fields.get("wins", 0), fields.get("losses", 0));
+        Date lastPlayDate = (Date) fields.get("lastPlayDate", null);
+        lastPlayTime = lastPlayDate != null ? lastPlayDate.getTime() : 0;
+    }
+    
+    @Override
+    public String toString() {
+        long current = results;
+        int wins = winsOf(current);
+        int losses = lossesOf(current);
+        int total = wins + losses;
+        return String.format("%s - %d승 %d패 (승률: %.1f%%, 총 %d경기)",
+            nickname, wins, losses, total == 0 ? 0.0 : (double) wins / total * 100, total);
+    }
+}
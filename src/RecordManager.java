@@ -1,13 +1,153 @@
 /*
  * 사용자별 승/패 기록을 저장하고 조회하는 기능을 담당하는 모듈
+ *
+ * 저장은 닉네임 해시로 나눈 샤드마다 스냅샷 + 변경 로그 방식
+ * - 샤드 목록(game_records.dat): 샤드 수만 기록한 파일
+ * - 스냅샷(game_records.dat.N-0 ~ .N-(N-1)): 샤드의 Map을 ObjectOutputStream으로 저장한 파일 (기존 형식, 뒤에 세대 번호 추가)
+ * - 변경 로그(game_records.dat.N-0.log ~ .N-(N-1).log): 등록/승/패/경기 결과/삭제를 고정 크기 항목으로 덧붙이는 파일
+ * 변경마다 그 플레이어 샤드의 로그 항목 하나만 쓰므로 저장 비용이 플레이어 수와 무관하고,
+ * 샤드 로그가 샤드 플레이어 수만큼 쌓이면 그 샤드의 스냅샷만 새로 쓰고 로그를 비움 (압축)
+ * 시작할 때 샤드마다 스냅샷을 읽고 세대 번호가 같은 로그를 다시 적용하며, 샤드끼리는 병렬로 불러옴
+ * 이전의 단일 스냅샷 + 로그 파일이 있으면 처음 열 때 샤드로 나누어 옮김
+ * 샤드마다 I/O 스레드와 동기화가 따로 있으므로 샤드 수는 플레이어 수에 맞추고 (6만5천여 명당 하나, 최대 16),
+ * 시작할 때 맞는 수와 다르면 샤드 수가 들어간 새 파일 이름으로 다시 나눔
+ *
+ * 동시성
+ * 전적은 샤드마다 ConcurrentHashMap에 두고 플레이어별 승/패는 원자적으로 갱신하므로, 조회는 잠그지 않고
+ * 서로 다른 플레이어의 결과 기록은 같은 잠금을 기다리지 않음
+ * 한 플레이어의 변경과 로그 큐 추가는 맵의 compute 안에서 함께 하여 플레이어별 로그 순서가 반영 순서와 같음
+ * (추가/삭제는 맵에 먼저 반영한 뒤 compute 안에서 로그 큐에 넣음)
+ * 로그 항목은 증감이 아니라 변경 후의 승/패 값이므로, 스냅샷을 잠금 없이 복사하다 이미 반영된 변경이
+ * 로그에 다시 나와도 같은 값이 됨
+ *
+ * 순위는 Leaderboard에 전적이 바뀔 때마다 해당 플레이어만 옮겨 두므로, 조회할 때 전체를 정렬하지 않음
+ * (상위 N명 O(N), 플레이어 순위 O(log n)) - 같은 플레이어의 변경은 compute 안에서 순위표 대기열에 넣어 순서가 맞고,
+ * 순위표 잠금은 비어 있을 때만 잡으므로 결과 기록이 조회나 다른 기록을 기다리지 않음
+ *
+ * 파일 쓰기는 샤드마다 전용 I/O 스레드가 맡음 (write-behind)
+ * 변경은 메모리에 바로 반영하고 큐에 넣기만 하므로, 경기를 끝낸 게임 스레드가 디스크를 기다리지 않음
+ * 각 I/O 스레드는 첫 변경부터 최대 지연 시간 또는 최대 묶음 크기까지 모아 한 번에 쓰고 동기화 (그룹 커밋)
+ *
+ * openMapped로 열면 위 방식 대신 MappedRecordStore(메모리 매핑 고정 폭 슬롯)에 바로 기록
+ * 전적을 힙에 올리지 않으므로 플레이어가 매우 많을 때 사용
  */
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 public class RecordManager {
+    // 로그 헤더: 매직, 버전, 세대 번호 (스냅샷의 세대 번호와 같을 때만 적용)
+    private static final int LOG_MAGIC = 0x524C4F47; // "RLOG"
+    private static final int LOG_VERSION = 2;
+    private static final int LOG_HEADER_SIZE = 16;
+    
+    // 로그 항목: 종류(1) + 예약(3) + 값1(4) + 값2(4) + 값3(4) + 시각(8) = 24바이트
+    // 닉네임은 로그 세대마다 처음 나올 때 OP_NAME 항목으로 번호를 정해 두고 이후 항목은 번호만 기록
+    // 버전 1 로그(증감 항목, 값3 없이 20바이트)는 읽을 때만 지원하고 적용 후 바로 압축
+    private static final int ENTRY_SIZE = 24;
+    private static final int ENTRY_SIZE_V1 = 20;
+    private static final byte OP_NAME = 1;     // 값1: 로그 번호, 값2: 닉네임 바이트 수 (항목 뒤에 UTF-8 닉네임)
+    private static final byte OP_DELETE = 6;   // 값1: 플레이어
+    private static final byte OP_SET = 7;      // 값1: 플레이어, 값2: 변경 후 승, 값3: 변경 후 패 (없으면 생성)
+    // 버전 1 항목
+    private static final byte OP_REGISTER = 2; // 값1: 플레이어
+    private static final byte OP_WIN = 3;      // 값1: 플레이어
+    private static final byte OP_LOSS = 4;     // 값1: 플레이어
+    private static final byte OP_RESULT = 5;   // 값1: 승자, 값2: 패자
+    // I/O 스레드에만 전달하는 요청 (로그에는 쓰지 않음)
+    private static final byte OP_CHECKPOINT = -1; // 전적을 복사해 스냅샷 저장 후 새 로그 시작
+    private static final byte OP_FLUSH = -2;      // 앞선 변경을 모두 쓰고 동기화
+    private static final byte OP_STOP = -3;       // 앞선 변경을 모두 쓰고 I/O 스레드 종료
+    
+    // 샤드 목록 파일: 매직, 버전, 샤드 수 (이전의 단일 스냅샷 파일 자리에 둠)
+    // 버전 1은 샤드 파일 이름에 샤드 수가 없음 (.번호) - 읽을 때만 지원하고 다시 나누면 버전 2 이름으로 씀
+    private static final int SHARDS_MAGIC = 0x52534844; // "RSHD"
+    private static final int SHARDS_VERSION = 2;
+    
+    // 샤드 수 기본값 - 플레이어 수에 맞춤 (PLAYERS_PER_SHARD명당 하나, 2의 거듭제곱으로 올려 MAX_SHARDS까지)
+    // 샤드마다 따로 동기화하므로 플레이어가 적을 때 샤드가 많으면 기록만 느려짐 (1천 명에서 16개면 결과 기록 1.5~2배)
+    public static final int DEFAULT_SHARDS = 0;
+    public static final int MAX_SHARDS = 16;
+    private static final int PLAYERS_PER_SHARD = 1 << 16;
+    
+    // 그룹 커밋 기본값 - 첫 변경 후 최대 10ms 또는 512건까지 모아서 커밋
+    public static final int DEFAULT_MAX_BATCH = 512;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 10;
+    
+    // 압축 기준 - 샤드의 로그 항목 수가 (이 값 / 샤드 수)와 샤드 플레이어 수 중 큰 값 이상이면 그 샤드의 스냅샷을 새로 씀
+    // (스냅샷 비용 O(샤드 플레이어 수)가 그만큼의 변경에 나뉘므로 변경당 저장 비용은 O(1))
+    private static final int COMPACT_MIN_ENTRIES = 10_000;
+    
+    // 승률 내림차순, 같으면 총 게임 수가 많은 순
+    private static final Comparator<PlayerRecord> WIN_RATE_ORDER = (p1, p2) -> {
+        double rate1 = p1.getWinRate();
+        double rate2 = p2.getWinRate();
+        if (rate1 != rate2) {
+            return Double.compare(rate2, rate1);
+        }
+        return Integer.compare(p2.getTotalGames(), p1.getTotalGames());
+    };
+    // 승리 수 내림차순, 같으면 승률이 높은 순
+    private static final Comparator<PlayerRecord> WINS_ORDER = (p1, p2) -> {
+        if (p1.getWins() != p2.getWins()) {
+            return Integer.compare(p2.getWins(), p1.getWins());
+        }
+        return Double.compare(p2.getWinRate(), p1.getWinRate());
+    };
+    
     private String recordFilePath;
-    private Map<String, PlayerRecord> recordMap;
-     
+    // 닉네임 해시로 나눈 샤드 (openMapped로 연 경우 null)
+    private Shard[] shards;
+    // 샤드 목록 파일 버전 (샤드 파일 이름 형식)
+    private int shardsVersion = SHARDS_VERSION;
+    // 메모리 매핑 저장소 (openMapped로 연 경우만, 이때 샤드와 로그는 쓰지 않음)
+    private MappedRecordStore mappedStore;
+    // 승률/승리 수 순위 (전적과 함께 갱신)
+    private final Leaderboard leaderboard = new Leaderboard();
+    // close()를 이미 호출했는지 여부 (두 번째 호출은 아무것도 하지 않음)
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    
+    /**
+     * I/O 스레드에 넘기는 변경 또는 요청
+     * @param wins 변경 후 승 (OP_SET)
+     * @param losses 변경 후 패 (OP_SET)
+     * @param done 요청 처리 완료 알림 (변경이면 null)
+     */
+    private record Change(byte op, String nickname, int wins, int losses, long time, long queuedNanos,
+                          CompletableFuture<Void> done) {
+    }
+    
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    
+    // 커밋 지표 (모든 샤드 합계, 변경을 큐에 넣은 때부터 파일 동기화까지)
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedChanges = new LongAdder();
+    private final LongAdder commitLatencyNanos = new LongAdder();
+    private final LongAccumulator maxCommitLatencyNanos = new LongAccumulator(Math::max, 0);
+    
     /**
      * 기본 생성자 - 기본 파일 경로 사용
      */
@@ -17,43 +157,776 @@ public class RecordManager {
     
     /**
      * 파일 경로를 지정하는 생성자
-     * @param filePath 전적 기록 파일 경로
+     * @param filePath 전적 기록 파일 경로 (샤드 목록, 샤드 파일은 같은 경로 뒤에 .번호와 .번호.log)
      */
     public RecordManager(String filePath) {
-        this.recordFilePath = filePath;
-        this.recordMap = new HashMap<>();
-        loadRecords();
+        this(filePath, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
     }
     
     /**
-     * 파일에서 전적 기록 불러오기
+     * 그룹 커밋 설정을 지정하는 생성자
+     * @param filePath 전적 기록 파일 경로 (샤드 목록, 샤드 파일은 같은 경로 뒤에 .샤드수-번호와 .샤드수-번호.log)
+     * @param maxBatch 한 번에 커밋하는 최대 변경 수
+     * @param maxDelayMillis 첫 변경 후 커밋까지 더 모으며 기다리는 최대 시간 (0이면 기다리지 않음)
      */
-    private void loadRecords() {
-        File file = new File(recordFilePath);
+    public RecordManager(String filePath, int maxBatch, long maxDelayMillis) {
+        this(filePath, DEFAULT_SHARDS, maxBatch, maxDelayMillis);
+    }
+    
+    /**
+     * 샤드 수와 그룹 커밋 설정을 지정하는 생성자
+     * 샤드를 병렬로 불러오고, 이전 단일 파일 저장소가 있으면 샤드로 나누어 옮김
+     * 불러온 저장소의 샤드 수가 정한 수와 다르면 다시 나눔
+     * @param filePath 전적 기록 파일 경로 (샤드 목록, 샤드 파일은 같은 경로 뒤에 .샤드수-번호와 .샤드수-번호.log)
+     * @param shardCount 샤드 수 (DEFAULT_SHARDS면 플레이어 수에 맞춤)
+     * @param maxBatch 한 번에 커밋하는 최대 변경 수
+     * @param maxDelayMillis 첫 변경 후 커밋까지 더 모으며 기다리는 최대 시간 (0이면 기다리지 않음)
+     */
+    public RecordManager(String filePath, int shardCount, int maxBatch, long maxDelayMillis) {
+        this.recordFilePath = filePath;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxDelayMillis));
+        long start = System.nanoTime();
         
-        if (!file.exists()) {
+        int existing = readShardCount();
+        boolean legacy = existing < 0
+            && (Files.exists(Paths.get(filePath)) || Files.exists(Paths.get(filePath + ".log")));
+        if (legacy) {
+            migrate(shardCount);
+        } else if (existing < 0) {
             System.out.println("전적 파일이 없습니다. 새로 생성됩니다.");
-            return;
+            this.shards = newShards(shardCount > 0 ? shardCount : 1, SHARDS_VERSION);
+            writeShardCount();
+            forEachShard(Shard::load);
+        } else {
+            this.shards = newShards(existing, shardsVersion);
+            forEachShard(Shard::load);
+            int target = shardCount > 0 ? shardCount : shardsFor(getTotalPlayers());
+            if (target != shards.length) {
+                reshard(target);
+            }
         }
+        leaderboard.load(allRecords());
+        System.out.printf("전적 기록을 불러왔습니다. (총 %d명, 샤드 %d개, %.0fms)%n",
+            getTotalPlayers(), shards.length, (System.nanoTime() - start) / 1e6);
         
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            recordMap = (Map<String, PlayerRecord>) ois.readObject();
-            System.out.println("전적 기록을 불러왔습니다. (총 " + recordMap.size() + "명)");
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("전적 불러오기 실패: " + e.getMessage());
-            recordMap = new HashMap<>();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].startWriter("record-writer-" + i);
         }
     }
     
     /**
-     * 전적 기록을 파일에 저장
+     * 메모리 매핑 고정 폭 저장소를 쓰는 RecordManager
+     * 시작할 때 전체를 읽지 않고 파일을 매핑하며, 변경은 슬롯에 바로 기록
+     * @param basePath 저장소 기본 경로 (.slots/.names/.index 파일)
      */
-    public synchronized void saveRecords() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(recordFilePath))) {
-            oos.writeObject(recordMap);
-            System.out.println("전적 기록이 저장되었습니다.");
+    public static RecordManager openMapped(String basePath) throws IOException {
+        return new RecordManager(MappedRecordStore.open(basePath));
+    }
+    
+    private RecordManager(MappedRecordStore mappedStore) {
+        this.mappedStore = mappedStore;
+        this.maxBatch = 1;
+        this.maxDelayNanos = 0;
+        System.out.println("전적 저장소를 열었습니다. (" + mappedStore.summary() + ")");
+    }
+    
+    /**
+     * 샤드 목록 파일의 샤드 수
+     * @return 샤드 수 (파일이 없거나 이전 단일 스냅샷 파일이면 -1)
+     */
+    private int readShardCount() {
+        Path path = Paths.get(recordFilePath);
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path.toFile())))) {
+            if (Files.size(path) < 12 || in.readInt() != SHARDS_MAGIC) {
+                return -1;
+            }
+            int version = in.readInt();
+            if (version != SHARDS_VERSION && version != 1) {
+                throw new IOException("지원하지 않는 샤드 목록 버전 " + version);
+            }
+            shardsVersion = version;
+            return in.readInt();
+        } catch (IOException e) {
+            // 읽지 못한 채 새로 만들면 기존 샤드를 덮어쓰므로 열지 않음
+            throw new UncheckedIOException("전적 샤드 목록을 읽지 못함: " + recordFilePath, e);
+        }
+    }
+    
+    /**
+     * 샤드 목록 파일을 임시 파일에 쓴 뒤 바꿔치기
+     */
+    private void writeShardCount() {
+        Path path = Paths.get(recordFilePath);
+        Path tempPath = Paths.get(recordFilePath + ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(tempPath.toFile());
+                 DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(SHARDS_MAGIC);
+                out.writeInt(SHARDS_VERSION);
+                out.writeInt(shards.length);
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("전적 샤드 목록을 쓰지 못함: " + recordFilePath, e);
+        }
+    }
+    
+    /**
+     * 바꿔치기한 파일이 있는 디렉터리를 동기화 (전원이 꺼져도 이름 변경이 남도록)
+     * 디렉터리를 열 수 없는 운영체제에서는 건너뜀
+     */
+    private static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 디렉터리 동기화를 지원하지 않음
+        }
+    }
+    
+    /**
+     * 샤드 파일 경로 (버전 1 샤드 목록이면 샤드 수 없이 .번호)
+     */
+    static String shardPath(String filePath, int count, int index, int version) {
+        return version == 1 ? filePath + "." + index : filePath + "." + count + "-" + index;
+    }
+    
+    private Shard[] newShards(int count, int version) {
+        Shard[] created = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = new Shard(shardPath(recordFilePath, count, i, version));
+        }
+        return created;
+    }
+    
+    /**
+     * 플레이어 수에 맞는 샤드 수 (PLAYERS_PER_SHARD명당 하나, 2의 거듭제곱으로 올려 MAX_SHARDS까지)
+     */
+    static int shardsFor(long players) {
+        long needed = Math.min(MAX_SHARDS, Math.max(1, (players + PLAYERS_PER_SHARD - 1) / PLAYERS_PER_SHARD));
+        return needed == 1 ? 1 : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+    
+    /**
+     * 이전 단일 파일 저장소(스냅샷 + 로그)를 읽어 샤드로 나누어 저장
+     * 샤드 스냅샷을 모두 쓴 뒤 샤드 목록 파일로 이전 스냅샷을 바꿔치기하므로,
+     * 그 전에 종료되면 다음 시작 때 이전 파일에서 다시 나눔
+     */
+    private void migrate(int shardCount) {
+        Shard legacy = new Shard(recordFilePath);
+        legacy.read();
+        int count = shardCount > 0 ? shardCount : shardsFor(legacy.records.size());
+        if (!redistribute(new Shard[] {legacy}, count)) {
+            // 이전 파일은 그대로 남아 있으므로 다음 시작 때 다시 옮길 수 있음
+            throw new IllegalStateException("전적 샤드 스냅샷을 쓰지 못함: " + recordFilePath);
+        }
+        try {
+            Files.deleteIfExists(legacy.logPath);
         } catch (IOException e) {
-            System.err.println("전적 저장 실패: " + e.getMessage());
+            System.err.println("이전 전적 로그 삭제 실패: " + e.getMessage());
+        }
+        System.out.println("이전 전적 파일을 샤드 " + shards.length + "개로 나누었습니다.");
+    }
+    
+    /**
+     * 불러온 샤드를 count개로 다시 나눔
+     * 새 샤드 파일은 샤드 수가 들어간 다른 이름이라 샤드 목록 파일을 바꾸기 전에 종료되면 다음 시작 때 기존 샤드를 그대로 열고,
+     * 새 스냅샷을 쓰지 못하면 기존 샤드를 계속 씀
+     */
+    private void reshard(int count) {
+        Shard[] previous = shards;
+        if (!redistribute(previous, count)) {
+            System.err.println("전적 샤드를 다시 나누지 못해 기존 샤드 " + previous.length + "개를 그대로 씁니다.");
+            shards = previous;
+            return;
+        }
+        for (Shard shard : previous) {
+            shard.deleteFiles();
+        }
+        System.out.println("전적 샤드를 " + previous.length + "개에서 " + count + "개로 다시 나누었습니다.");
+    }
+    
+    /**
+     * 전적을 새 샤드 count개로 나누어 스냅샷을 쓰고, 모두 썼으면 샤드 목록 파일을 바꿔치기
+     * @return 모든 새 샤드의 스냅샷을 썼는지 (아니면 샤드 목록은 그대로)
+     */
+    private boolean redistribute(Shard[] from, int count) {
+        shards = newShards(count, SHARDS_VERSION);
+        for (Shard shard : from) {
+            for (PlayerRecord record : shard.records.values()) {
+                shardFor(record.getNickname()).records.put(record.getNickname(), record);
+            }
+        }
+        forEachShard(shard -> shard.writeSnapshot(shard.copyRecords()));
+        boolean written = true;
+        for (Shard shard : shards) {
+            // 새 샤드의 세대는 0에서 시작하므로 스냅샷을 썼으면 1
+            written &= shard.generation > 0;
+        }
+        if (!written) {
+            for (Shard shard : shards) {
+                shard.closeLog();
+            }
+            return false;
+        }
+        shardsVersion = SHARDS_VERSION;
+        writeShardCount();
+        return true;
+    }
+    
+    /**
+     * 샤드마다 작업을 병렬로 실행하고 모두 끝날 때까지 기다림 (스레드 수 = 코어 수와 샤드 수 중 작은 값)
+     */
+    private void forEachShard(Consumer<Shard> task) {
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), shards.length);
+        if (threads <= 1) {
+            for (Shard shard : shards) task.accept(shard);
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(shards.length);
+            for (Shard shard : shards) {
+                futures.add(pool.submit(() -> task.accept(shard)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("전적 샤드 처리 실패", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * 닉네임이 속한 샤드 (String.hashCode는 실행마다 같으므로 샤드가 바뀌지 않음)
+     */
+    private Shard shardFor(String nickname) {
+        int hash = nickname.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+    
+    /**
+     * 모든 샤드의 전적 (복사하지 않은 원본)
+     */
+    private List<PlayerRecord> allRecords() {
+        List<PlayerRecord> all = new ArrayList<>(getTotalPlayers());
+        for (Shard shard : shards) {
+            all.addAll(shard.records.values());
+        }
+        return all;
+    }
+    
+    /**
+     * 전적 기록을 파일에 저장 (모든 샤드의 스냅샷을 새로 쓰고 변경 로그를 비움)
+     * 샤드별 I/O 스레드가 동시에 저장하며, 모두 앞선 변경을 쓴 뒤 저장할 때까지 기다림
+     */
+    public void saveRecords() {
+        if (mappedStore != null) {
+            mappedStore.flush();
+            System.out.println("전적 기록이 저장되었습니다.");
+            return;
+        }
+        requestAll(OP_CHECKPOINT);
+        System.out.println("전적 기록이 저장되었습니다.");
+    }
+    
+    /**
+     * 앞선 변경을 모두 로그에 쓰고 디스크에 동기화될 때까지 기다림
+     */
+    public void flush() {
+        if (mappedStore != null) {
+            mappedStore.flush();
+            return;
+        }
+        requestAll(OP_FLUSH);
+    }
+    
+    /**
+     * 남은 변경을 모두 쓰고 동기화한 뒤 I/O 스레드와 로그 파일을 닫음
+     * 이후의 변경은 메모리에만 반영됨 (메모리 매핑 저장소는 닫힌 뒤 변경하면 IllegalStateException)
+     * 여러 번 호출해도 처음 한 번만 닫음
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (mappedStore != null) {
+            try {
+                mappedStore.close();
+            } catch (IOException e) {
+                System.err.println("전적 저장소 닫기 실패: " + e.getMessage());
+            }
+            return;
+        }
+        requestAll(OP_STOP);
+        for (Shard shard : shards) {
+            try {
+                shard.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * 실행 중인 모든 샤드 I/O 스레드에 요청을 넣고 모두 처리할 때까지 기다림
+     */
+    private void requestAll(byte op) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            if (!shard.writer.isAlive()) continue;
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            shard.pendingRequests.incrementAndGet();
+            shard.queue.add(new Change(op, null, 0, 0, 0, System.nanoTime(), done));
+            LockSupport.unpark(shard.writer);
+            pending.add(done);
+        }
+        for (CompletableFuture<Void> done : pending) {
+            done.join();
+        }
+    }
+    
+    /**
+     * 커밋 지표 요약 (커밋 횟수, 묶음 크기, 큐에 넣은 때부터 동기화까지의 지연)
+     */
+    public String persistenceSummary() {
+        if (mappedStore != null) {
+            return "메모리 매핑 " + mappedStore.summary();
+        }
+        long count = commits.sum();
+        long changes = committedChanges.sum();
+        int waiting = 0;
+        for (Shard shard : shards) {
+            waiting += shard.queue.size();
+        }
+        return String.format("샤드 %d개, 커밋 %,d회 (평균 %.1f건), 지연 평균 %.2fms / 최대 %.2fms, 대기 %d건",
+            shards.length, count, count == 0 ? 0.0 : (double) changes / count,
+            changes == 0 ? 0.0 : commitLatencyNanos.sum() / 1e6 / changes,
+            maxCommitLatencyNanos.get() / 1e6, waiting);
+    }
+    
+    /**
+     * 메모리에 반영한 변경 하나를 그 플레이어 샤드의 I/O 스레드에 넘김
+     * 같은 플레이어의 변경끼리 순서가 지켜지도록 샤드 전적 맵의 compute 안에서 호출
+     */
+    private void appendLog(Shard shard, byte op, String nickname, int wins, int losses, long time) {
+        shard.queue.add(new Change(op, nickname, wins, losses, time, System.nanoTime(), null));
+        if (shard.queue.size() >= maxBatch) {
+            // 묶음이 찼으면 최대 지연 시간을 기다리지 않고 커밋
+            LockSupport.unpark(shard.writer);
+        }
+    }
+    
+    /**
+     * 샤드 하나 - 닉네임 해시가 이 샤드로 나뉘는 플레이어의 전적, 스냅샷 파일, 변경 로그, I/O 스레드
+     * 샤드끼리는 파일과 I/O 스레드를 나누어 쓰지 않으므로 변경은 한 샤드의 로그에만 쓰고,
+     * 불러오기/저장/압축도 샤드마다 따로 함
+     */
+    private final class Shard {
+        final String snapshotPath;
+        final Path logPath;
+        final ConcurrentHashMap<String, PlayerRecord> records = new ConcurrentHashMap<>();
+        final LinkedBlockingQueue<Change> queue = new LinkedBlockingQueue<>();
+        // 큐에 넣었지만 아직 처리하지 않은 요청 수 (있으면 I/O 스레드가 더 모으지 않음)
+        final AtomicInteger pendingRequests = new AtomicInteger();
+        Thread writer;
+        
+        // 이하 로그 상태는 불러온 뒤로는 이 샤드의 I/O 스레드만 사용
+        // 현재 로그 (열지 못하면 null - 변경은 메모리에만 반영되고 saveRecords에서 저장)
+        private FileChannel log;
+        private long generation;
+        private long logEntries;
+        private int logVersion = LOG_VERSION;
+        private long compactThreshold;
+        // 현재 로그 세대에서 닉네임에 부여한 번호
+        private final Map<String, Integer> logIds = new HashMap<>();
+        private ByteBuffer writeBuffer = ByteBuffer.allocate(1 << 14);
+        
+        Shard(String snapshotPath) {
+            this.snapshotPath = snapshotPath;
+            this.logPath = Paths.get(snapshotPath + ".log");
+        }
+        
+        /**
+         * 스냅샷을 읽고 로그를 다시 적용한 뒤 이어 쓸 수 있게 엶
+         */
+        void load() {
+            loadSnapshot();
+            compactThreshold = compactThreshold();
+            openLog();
+        }
+        
+        /**
+         * 스냅샷과 로그를 읽기만 함 (이전 단일 파일 저장소를 옮길 때)
+         */
+        void read() {
+            loadSnapshot();
+            if (!Files.exists(logPath)) return;
+            try {
+                log = FileChannel.open(logPath, StandardOpenOption.READ);
+                replayLog();
+            } catch (IOException e) {
+                System.err.println("전적 로그 읽기 실패: " + e.getMessage());
+            } finally {
+                closeLog();
+            }
+        }
+        
+        /**
+         * 다시 나눈 뒤 이전 샤드 파일 삭제
+         */
+        void deleteFiles() {
+            closeLog();
+            try {
+                Files.deleteIfExists(Paths.get(snapshotPath));
+                Files.deleteIfExists(logPath);
+            } catch (IOException e) {
+                System.err.println("이전 전적 샤드 삭제 실패: " + e.getMessage());
+            }
+        }
+        
+        void startWriter(String name) {
+            writer = new Thread(this::writeLoop, name);
+            writer.setDaemon(true);
+            writer.start();
+        }
+        
+        private long compactThreshold() {
+            return Math.max(COMPACT_MIN_ENTRIES / shards.length, records.size());
+        }
+        
+        /**
+         * 파일에서 전적 기록 불러오기 (스냅샷)
+         */
+        private void loadSnapshot() {
+            File file = new File(snapshotPath);
+            if (!file.exists()) {
+                return;
+            }
+            
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+                // 스냅샷 파일에는 전적 맵 하나만 저장됨
+                @SuppressWarnings("unchecked")
+                Map<String, PlayerRecord> saved = (Map<String, PlayerRecord>) ois.readObject();
+                records.putAll(saved);
+                try {
+                    generation = ois.readLong();
+                } catch (EOFException e) {
+                    // 세대 번호가 없는 이전 형식
+                    generation = 0;
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                System.err.println("전적 불러오기 실패 (" + snapshotPath + "): " + e.getMessage());
+                records.clear();
+            }
+        }
+        
+        /**
+         * 변경 로그를 열어 스냅샷 이후의 변경을 다시 적용
+         * 세대 번호가 스냅샷과 다른 로그는 이미 스냅샷에 반영된 것이므로 새로 시작
+         * 마지막 항목이 잘려 있으면(쓰는 중 종료) 그 앞까지만 적용하고 잘라냄
+         */
+        private void openLog() {
+            try {
+                log = FileChannel.open(logPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                long end = replayLog();
+                if (end < 0) {
+                    resetLog();
+                } else if (logVersion != LOG_VERSION) {
+                    // 이전 형식 로그는 적용한 결과를 스냅샷으로 남기고 새 형식으로 시작
+                    writeSnapshot(copyRecords());
+                } else {
+                    log.truncate(end);
+                    log.position(end);
+                }
+            } catch (IOException e) {
+                System.err.println("전적 로그 열기 실패, 종료 시에만 저장합니다: " + e.getMessage());
+                closeLog();
+            }
+        }
+        
+        /**
+         * 로그 항목을 순서대로 적용
+         * @return 마지막 온전한 항목의 끝 위치 (헤더가 없거나 세대가 다르면 -1)
+         */
+        private long replayLog() throws IOException {
+            long size = log.size();
+            if (size < LOG_HEADER_SIZE) {
+                return -1;
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(log.position(0)), 1 << 16));
+            if (in.readInt() != LOG_MAGIC) {
+                throw new IOException("전적 로그 형식이 아님: " + logPath);
+            }
+            logVersion = in.readInt();
+            if (logVersion != LOG_VERSION && logVersion != 1) {
+                throw new IOException("지원하지 않는 전적 로그 버전 " + logVersion + ": " + logPath);
+            }
+            if (in.readLong() != generation) {
+                return -1;
+            }
+            
+            int entrySize = logVersion == 1 ? ENTRY_SIZE_V1 : ENTRY_SIZE;
+            List<String> names = new ArrayList<>();
+            long position = LOG_HEADER_SIZE;
+            while (position + entrySize <= size) {
+                byte op = in.readByte();
+                in.skipBytes(3);
+                int first = in.readInt();
+                int second = in.readInt();
+                int third = logVersion == 1 ? 0 : in.readInt();
+                long time = in.readLong();
+                long next = position + entrySize;
+                
+                if (op == OP_NAME) {
+                    if (next + second > size) break;
+                    byte[] bytes = new byte[second];
+                    in.readFully(bytes);
+                    next += second;
+                    String nickname = new String(bytes, StandardCharsets.UTF_8);
+                    while (names.size() <= first) names.add(null);
+                    names.set(first, nickname);
+                    logIds.put(nickname, first);
+                } else if (op == OP_SET) {
+                    getOrCreateRecord(names.get(first), time).set(second, third, time);
+                } else if (op == OP_REGISTER) {
+                    String nickname = names.get(first);
+                    records.putIfAbsent(nickname, new PlayerRecord(nickname, time));
+                } else if (op == OP_WIN) {
+                    getOrCreateRecord(names.get(first), time).addWin(time);
+                } else if (op == OP_LOSS) {
+                    getOrCreateRecord(names.get(first), time).addLoss(time);
+                } else if (op == OP_RESULT) {
+                    getOrCreateRecord(names.get(first), time).addWin(time);
+                    getOrCreateRecord(names.get(second), time).addLoss(time);
+                } else if (op == OP_DELETE) {
+                    records.remove(names.get(first));
+                } else {
+                    // 알 수 없는 항목 - 손상된 꼬리로 보고 여기서 멈춤
+                    break;
+                }
+                position = next;
+                logEntries++;
+            }
+            return position;
+        }
+        
+        /**
+         * 플레이어 전적 조회 (없으면 생성, 로그를 다시 적용할 때만 사용)
+         * @param nickname 플레이어 닉네임
+         * @param time 새로 만들 때의 마지막 경기 시각
+         * @return PlayerRecord 객체
+         */
+        private PlayerRecord getOrCreateRecord(String nickname, long time) {
+            PlayerRecord record = records.get(nickname);
+            if (record == null) {
+                record = new PlayerRecord(nickname, time);
+                records.put(nickname, record);
+            }
+            return record;
+        }
+        
+        /**
+         * 현재 세대 번호의 빈 로그로 교체
+         */
+        private void resetLog() throws IOException {
+            Path tempPath = Paths.get(logPath + ".tmp");
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+            header.putInt(LOG_MAGIC).putInt(LOG_VERSION).putLong(generation).flip();
+            try (FileChannel temp = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                temp.write(header);
+                temp.force(true);
+            }
+            closeLog();
+            Files.move(tempPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(logPath);
+            log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            log.position(LOG_HEADER_SIZE);
+            logEntries = 0;
+            logVersion = LOG_VERSION;
+            logIds.clear();
+        }
+        
+        private void closeLog() {
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    // 닫기 실패는 무시 (이미 쓴 내용은 운영체제에 넘어감)
+                }
+                log = null;
+            }
+        }
+        
+        /**
+         * 현재 전적의 복사본 (잠그지 않고 복사)
+         * 앞서 큐에 들어간 변경은 모두 반영되어 있고 (추가/삭제도 맵에 반영한 뒤 큐에 넣음), 복사 중에 반영된 변경은 새 로그에도 남으므로
+         * 변경 후 값을 기록하는 로그를 다시 적용하면 같은 결과가 됨
+         */
+        private Map<String, PlayerRecord> copyRecords() {
+            Map<String, PlayerRecord> snapshot = new HashMap<>(records.size() * 4 / 3 + 1);
+            for (PlayerRecord record : records.values()) {
+                snapshot.put(record.getNickname(), new PlayerRecord(record));
+            }
+            return snapshot;
+        }
+        
+        /**
+         * I/O 스레드 - 변경을 묶어서 로그에 쓰고 동기화
+         */
+        private void writeLoop() {
+            List<Change> batch = new ArrayList<>(maxBatch);
+            boolean stopping = false;
+            while (!stopping) {
+                Change first;
+                try {
+                    first = queue.take();
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 변경부터 최대 지연 시간까지 기다렸다가 모인 만큼 한 번에 가져옴
+                // 기다리는 동안 변경마다 깨어나지 않고, 묶음이 차거나 요청이 오면 넣는 쪽에서 깨움
+                long deadline = first.queuedNanos() + maxDelayNanos;
+                long remaining;
+                while (first.op() > 0 && pendingRequests.get() == 0 && queue.size() < maxBatch - 1
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, remaining);
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                
+                // 요청 앞의 변경까지 커밋하고 요청 처리
+                int from = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    Change change = batch.get(i);
+                    if (change.op() > 0) continue;
+                    commit(batch, from, i);
+                    from = i + 1;
+                    pendingRequests.decrementAndGet();
+                    if (change.op() == OP_CHECKPOINT) {
+                        writeSnapshot(copyRecords());
+                    } else if (change.op() == OP_STOP) {
+                        stopping = true;
+                        closeLog();
+                    }
+                    change.done().complete(null);
+                }
+                commit(batch, from, batch.size());
+                batch.clear();
+            }
+        }
+        
+        /**
+         * batch[from, to)의 변경을 한 번의 쓰기와 동기화로 커밋
+         */
+        private void commit(List<Change> batch, int from, int to) {
+            if (from >= to) return;
+            if (log != null) {
+                try {
+                    writeBuffer.clear();
+                    for (int i = from; i < to; i++) {
+                        Change change = batch.get(i);
+                        putEntry(change.op(), logId(change.nickname()), change.wins(), change.losses(),
+                            change.time(), null);
+                    }
+                    writeBuffer.flip();
+                    while (writeBuffer.hasRemaining()) {
+                        log.write(writeBuffer);
+                    }
+                    log.force(false);
+                } catch (IOException e) {
+                    System.err.println("전적 로그 기록 실패: " + e.getMessage());
+                }
+            }
+            long now = System.nanoTime();
+            long latencySum = 0;
+            long latencyMax = 0;
+            for (int i = from; i < to; i++) {
+                long latency = now - batch.get(i).queuedNanos();
+                latencySum += latency;
+                latencyMax = Math.max(latencyMax, latency);
+            }
+            commits.increment();
+            committedChanges.add(to - from);
+            commitLatencyNanos.add(latencySum);
+            maxCommitLatencyNanos.accumulate(latencyMax);
+            // 여기까지 큐에 들어간 변경은 모두 로그에 있으므로 지금 복사해도 빠지는 변경이 없음
+            if (log != null && logEntries >= compactThreshold) {
+                writeSnapshot(copyRecords());
+            }
+        }
+        
+        /**
+         * 스냅샷을 임시 파일에 쓰고 동기화한 뒤 바꿔치기하고 새 세대의 빈 로그 시작
+         * 도중에 종료되어도 이전 스냅샷+로그가 남음
+         * 스냅샷의 세대 번호를 올린 뒤 로그를 비우므로, 그 사이에 종료되면 이전 세대 로그는 무시됨
+         */
+        private void writeSnapshot(Map<String, PlayerRecord> snapshot) {
+            Path path = Paths.get(snapshotPath);
+            Path tempPath = Paths.get(snapshotPath + ".tmp");
+            long nextGeneration = generation + 1;
+            try {
+                try (FileOutputStream file = new FileOutputStream(tempPath.toFile());
+                     ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                    oos.writeObject(snapshot);
+                    oos.writeLong(nextGeneration);
+                    oos.flush();
+                    // 아래에서 동기화된 로그를 빈 로그로 바꾸므로, 그 전에 스냅샷이 디스크에 있어야 함
+                    file.getFD().sync();
+                }
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory(path);
+                generation = nextGeneration;
+                compactThreshold = Math.max(COMPACT_MIN_ENTRIES / shards.length, snapshot.size());
+            } catch (IOException e) {
+                System.err.println("전적 저장 실패 (" + snapshotPath + "): " + e.getMessage());
+                return;
+            }
+            try {
+                resetLog();
+            } catch (IOException e) {
+                System.err.println("전적 로그 열기 실패, 종료 시에만 저장합니다: " + e.getMessage());
+                closeLog();
+            }
+        }
+        
+        /**
+         * 현재 로그 세대에서 닉네임의 번호 (처음이면 OP_NAME 항목을 쓰고 부여)
+         */
+        private int logId(String nickname) {
+            Integer id = logIds.get(nickname);
+            if (id != null) return id;
+            int newId = logIds.size();
+            byte[] bytes = nickname.getBytes(StandardCharsets.UTF_8);
+            putEntry(OP_NAME, newId, bytes.length, 0, 0, bytes);
+            logIds.put(nickname, newId);
+            return newId;
+        }
+        
+        private void putEntry(byte op, int first, int second, int third, long time, byte[] payload) {
+            int size = ENTRY_SIZE + (payload != null ? payload.length : 0);
+            if (writeBuffer.remaining() < size) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + size));
+                writeBuffer.flip();
+                larger.put(writeBuffer);
+                writeBuffer = larger;
+            }
+            writeBuffer.put(op).put((byte) 0).putShort((short) 0).putInt(first).putInt(second).putInt(third).putLong(time);
+            if (payload != null) writeBuffer.put(payload);
+            logEntries++;
         }
     }
     
@@ -62,14 +935,30 @@ public class RecordManager {
      * @param nickname 닉네임
      * @return 등록 성공 여부
      */
-    public synchronized boolean registerPlayer(String nickname) {
-        if (recordMap.containsKey(nickname)) {
+    public boolean registerPlayer(String nickname) {
+        long now = System.currentTimeMillis();
+        boolean registered;
+        if (mappedStore != null) {
+            registered = mappedStore.register(nickname, now);
+        } else {
+            // 맵에 먼저 넣은 뒤 로그 큐에 넣음 (압축 중 복사에서 빠지지 않도록)
+            Shard shard = shardFor(nickname);
+            registered = shard.records.putIfAbsent(nickname, new PlayerRecord(nickname, now)) == null;
+            if (registered) {
+                shard.records.computeIfPresent(nickname, (key, record) -> {
+                    int wins = record.getWins();
+                    int losses = record.getLosses();
+                    long time = record.getLastPlayDate().getTime();
+                    appendLog(shard, OP_SET, key, wins, losses, time);
+                    leaderboard.update(key, wins, losses, time);
+                    return record;
+                });
+            }
+        }
+        if (!registered) {
             System.out.println("이미 존재하는 닉네임입니다: " + nickname);
             return false;
         }
-        
-        recordMap.put(nickname, new PlayerRecord(nickname));
-        saveRecords();
         System.out.println("신규 플레이어 등록: " + nickname);
         return true;
     }
@@ -78,10 +967,13 @@ public class RecordManager {
      * 승리 기록 추가
      * @param nickname 플레이어 닉네임
      */
-    public synchronized void addWin(String nickname) {
-        PlayerRecord record = getOrCreateRecord(nickname);
-        record.addWin();
-        saveRecords();
+    public void addWin(String nickname) {
+        long now = System.currentTimeMillis();
+        if (mappedStore != null) {
+            mappedStore.addWin(nickname, now);
+        } else {
+            applyResult(nickname, true, now);
+        }
         System.out.println(nickname + " 승리 기록 추가");
     }
     
@@ -89,10 +981,13 @@ public class RecordManager {
      * 패배 기록 추가
      * @param nickname 플레이어 닉네임
      */
-    public synchronized void addLoss(String nickname) {
-        PlayerRecord record = getOrCreateRecord(nickname);
-        record.addLoss();
-        saveRecords();
+    public void addLoss(String nickname) {
+        long now = System.currentTimeMillis();
+        if (mappedStore != null) {
+            mappedStore.addLoss(nickname, now);
+        } else {
+            applyResult(nickname, false, now);
+        }
         System.out.println(nickname + " 패배 기록 추가");
     }
     
@@ -101,31 +996,57 @@ public class RecordManager {
      * @param winner 승자 닉네임
      * @param loser 패자 닉네임
      */
-    public synchronized void recordGameResult(String winner, String loser) {
-        addWin(winner);
-        addLoss(loser);
+    public void recordGameResult(String winner, String loser) {
+        long now = System.currentTimeMillis();
+        if (mappedStore != null) {
+            mappedStore.recordGameResult(winner, loser, now);
+        } else {
+            applyResult(winner, true, now);
+            applyResult(loser, false, now);
+        }
+        System.out.println(winner + " 승리 기록 추가");
+        System.out.println(loser + " 패배 기록 추가");
         System.out.println("경기 결과 기록: " + winner + " vs " + loser + " -> " + winner + " 승리");
     }
     
     /**
-     * 플레이어 전적 조회
-     * @param nickname 플레이어 닉네임
-     * @return PlayerRecord 객체 (없으면 null)
+     * 플레이어 한 명의 승 또는 패를 올리고 변경 후 값을 로그 큐에 넣음 (없으면 생성)
+     * compute는 이 플레이어의 해시 칸만 잠그므로 다른 플레이어의 결과 기록과 겹치지 않음
+     * 새 플레이어는 맵에 먼저 넣고 로그 큐에 넣음 - compute 안에서 만든 값은 compute가 끝나야 보이므로,
+     * 그 사이에 I/O 스레드가 로그를 커밋하고 압축하면 스냅샷에서 빠짐
      */
-    public PlayerRecord getRecord(String nickname) {
-        return recordMap.get(nickname);
+    private void applyResult(String nickname, boolean win, long time) {
+        Shard shard = shardFor(nickname);
+        while (true) {
+            if (!shard.records.containsKey(nickname)) {
+                shard.records.putIfAbsent(nickname, new PlayerRecord(nickname, time));
+            }
+            // 그 사이 삭제되었으면 다시 생성
+            if (shard.records.computeIfPresent(nickname, (key, record) -> {
+                long results = win ? record.addWin(time) : record.addLoss(time);
+                appendLog(shard, OP_SET, key, PlayerRecord.winsOf(results), PlayerRecord.lossesOf(results), time);
+                updateLeaderboard(key, results, time);
+                return record;
+            }) != null) {
+                return;
+            }
+        }
+    }
+    
+    private void updateLeaderboard(String nickname, long results, long time) {
+        leaderboard.update(nickname, PlayerRecord.winsOf(results), PlayerRecord.lossesOf(results), time);
     }
     
     /**
-     * 플레이어 전적 조회 (없으면 생성)
+     * 플레이어 전적 조회
      * @param nickname 플레이어 닉네임
-     * @return PlayerRecord 객체
+     * @return PlayerRecord 객체 (없으면 null)
      */
-    private PlayerRecord getOrCreateRecord(String nickname) {
-        if (!recordMap.containsKey(nickname)) {
-            recordMap.put(nickname, new PlayerRecord(nickname));
+    public PlayerRecord getRecord(String nickname) {
+        if (mappedStore != null) {
+            return mappedStore.get(nickname);
         }
-        return recordMap.get(nickname);
+        return shardFor(nickname).records.get(nickname);
     }
     
     /**
@@ -134,23 +1055,10 @@ public class RecordManager {
      * @return 승률 순으로 정렬된 플레이어 목록
      */
     public List<PlayerRecord> getRankingByWinRate(int limit) {
-        List<PlayerRecord> ranking = new ArrayList<>(recordMap.values());
-        
-        // 승률 기준 내림차순 정렬
-        ranking.sort((p1, p2) -> {
-            double rate1 = p1.getWinRate();
-            double rate2 = p2.getWinRate();
-            if (rate1 != rate2) {
-                return Double.compare(rate2, rate1);
-            }
-            // 승률이 같으면 총 게임 수가 많은 순
-            return Integer.compare(p2.getTotalGames(), p1.getTotalGames());
-        });
-        
-        if (limit > 0 && limit < ranking.size()) {
-            return ranking.subList(0, limit);
+        if (mappedStore != null) {
+            return mappedStore.top(limit, WIN_RATE_ORDER);
         }
-        return ranking;
+        return leaderboard.topByWinRate(limit);
     }
     
     /**
@@ -159,19 +1067,34 @@ public class RecordManager {
      * @return 승리 수 순으로 정렬된 플레이어 목록
      */
     public List<PlayerRecord> getRankingByWins(int limit) {
-        List<PlayerRecord> ranking = new ArrayList<>(recordMap.values());
-        
-        ranking.sort((p1, p2) -> {
-            if (p1.getWins() != p2.getWins()) {
-                return Integer.compare(p2.getWins(), p1.getWins());
-            }
-            return Double.compare(p2.getWinRate(), p1.getWinRate());
-        });
-        
-        if (limit > 0 && limit < ranking.size()) {
-            return ranking.subList(0, limit);
+        if (mappedStore != null) {
+            return mappedStore.top(limit, WINS_ORDER);
+        }
+        return leaderboard.topByWins(limit);
+    }
+    
+    /**
+     * 플레이어의 승률 순위 (같은 승률과 총 게임 수면 같은 순위)
+     * @param nickname 플레이어 닉네임
+     * @return 1 + 앞선 플레이어 수 (없으면 -1)
+     */
+    public int getWinRateRank(String nickname) {
+        if (mappedStore != null) {
+            return mappedStore.rank(nickname, WIN_RATE_ORDER);
+        }
+        return leaderboard.winRateRank(nickname);
+    }
+    
+    /**
+     * 플레이어의 승리 수 순위 (같은 승리 수와 승률이면 같은 순위)
+     * @param nickname 플레이어 닉네임
+     * @return 1 + 앞선 플레이어 수 (없으면 -1)
+     */
+    public int getWinsRank(String nickname) {
+        if (mappedStore != null) {
+            return mappedStore.rank(nickname, WINS_ORDER);
         }
-        return ranking;
+        return leaderboard.winsRank(nickname);
     }
     
     /**
@@ -179,15 +1102,34 @@ public class RecordManager {
      * @return 플레이어 수
      */
     public int getTotalPlayers() {
-        return recordMap.size();
+        if (mappedStore != null) {
+            return mappedStore.size();
+        }
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.records.size();
+        }
+        return total;
     }
     
     /**
      * 모든 전적 초기화
      */
-    public synchronized void resetAllRecords() {
-        recordMap.clear();
-        saveRecords();
+    public void resetAllRecords() {
+        if (mappedStore != null) {
+            try {
+                mappedStore.clear();
+            } catch (IOException e) {
+                System.err.println("전적 초기화 실패: " + e.getMessage());
+                return;
+            }
+        } else {
+            for (Shard shard : shards) {
+                shard.records.clear();
+            }
+            leaderboard.clear();
+            saveRecords();
+        }
         System.out.println("모든 전적이 초기화되었습니다.");
     }
     
@@ -196,9 +1138,27 @@ public class RecordManager {
      * @param nickname 플레이어 닉네임
      * @return 삭제 성공 여부
      */
-    public synchronized boolean deleteRecord(String nickname) {
-        if (recordMap.remove(nickname) != null) {
-            saveRecords();
+    public boolean deleteRecord(String nickname) {
+        boolean deleted;
+        if (mappedStore != null) {
+            deleted = mappedStore.delete(nickname);
+        } else {
+            // 맵에서 먼저 뺀 뒤 로그 큐에 넣음 (압축 중 복사에 남지 않도록)
+            // 그 사이 다시 생성되었으면 생성한 쪽이 변경 후 값을 기록하므로 삭제는 기록하지 않음
+            long now = System.currentTimeMillis();
+            Shard shard = shardFor(nickname);
+            deleted = shard.records.remove(nickname) != null;
+            if (deleted) {
+                shard.records.compute(nickname, (key, record) -> {
+                    if (record == null) {
+                        appendLog(shard, OP_DELETE, key, 0, 0, now);
+                        leaderboard.remove(key);
+                    }
+                    return record;
+                });
+            }
+        }
+        if (deleted) {
             System.out.println(nickname + " 전적이 삭제되었습니다.");
             return true;
         }
@@ -210,7 +1170,7 @@ public class RecordManager {
      */
     public void printAllRecords() {
         System.out.println("\n=== 전체 전적 목록 ===");
-        System.out.println("총 플레이어 수: " + recordMap.size());
+        System.out.println("총 플레이어 수: " + getTotalPlayers());
         System.out.println("─".repeat(60));
         System.out.printf("%-20s %8s %8s %8s %10s\n", "닉네임", "승", "패", "총경기", "승률");
         System.out.println("─".repeat(60));
@@ -229,7 +1189,20 @@ public class RecordManager {
     }
     
     // 테스트용 메인 메서드
-    public static void main(String[] args) {
+    // java RecordManager stress [쓰기 스레드 수] [초] [플레이어 수] : 동시 기록/조회 부하 측정
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && args[0].equals("stress")) {
+            stress(args.length >= 2 ? Integer.parseInt(args[1]) : 8,
+                   args.length >= 3 ? Integer.parseInt(args[2]) : 5,
+                   args.length >= 4 ? Integer.parseInt(args[3]) : 100_000);
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("load")) {
+            load(args.length >= 2 ? Integer.parseInt(args[1]) : 1_000_000,
+                 args.length >= 3 ? Integer.parseInt(args[2]) : DEFAULT_SHARDS);
+            return;
+        }
+        deleteStore("test_records.dat");
         RecordManager manager = new RecordManager("test_records.dat");
         
         System.out.println("=== RecordManager 테스트 ===\n");
@@ -267,67 +1240,573 @@ public class RecordManager {
         for (int i = 0; i < topPlayers.size(); i++) {
             System.out.println((i+1) + "위: " + topPlayers.get(i));
         }
+        System.out.println("이지원 승률 순위: " + manager.getWinRateRank("이지원") + "위");
+        
+        System.out.println("\n6. 변경 로그");
+        manager.close();
+        testLog();
+        testCompactionRace();
+        testCompactionInterleaving();
+        
+        System.out.println("\n7. 메모리 매핑 저장소");
+        testMapped();
+        
+        System.out.println("\n8. 샤드 저장소");
+        testShards();
         
         System.out.println("\n테스트 완료!");
     }
-}
-
-/**
- * 개별 플레이어의 전적 정보를 담는 클래스
- */
-class PlayerRecord implements Serializable {
-    private static final long serialVersionUID = 1L;
     
-    private String nickname;
-    private int wins;
-    private int losses;
-    private Date lastPlayDate;
+    /**
+     * 변경 로그 저장/복원 확인 (다시 열었을 때 같은 전적, 압축, 잘린 꼬리, 이전 세대 로그)
+     */
+    private static void testLog() throws IOException {
+        String file = "test_records_log.dat";
+        deleteStore(file);
+        
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager manager = new RecordManager(file);
+        Random random = new Random(42);
+        int players = 2_000;
+        int games = 30_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            manager.recordGameResult("p" + random.nextInt(players), "p" + random.nextInt(players));
+        }
+        long elapsed = System.nanoTime() - start;
+        manager.registerPlayer("새내기");
+        manager.deleteRecord("p0");
+        Map<String, String> expected = summarize(manager);
+        
+        // 종료 시 저장 없이 다시 열기 (스냅샷 + 로그 적용)
+        manager.close();
+        RecordManager reopened = new RecordManager(file);
+        System.setOut(out);
+        SelfTest.check("다시 열면 같은 전적", expected.equals(summarize(reopened)));
+        long logEntries = 0;
+        long logBytes = 0;
+        for (Shard shard : reopened.shards) {
+            logEntries += shard.logEntries;
+            logBytes += Files.size(shard.logPath);
+        }
+        SelfTest.check("압축 뒤 로그가 줄어듦", logEntries < games / 2);
+        System.out.printf("경기 결과 기록: %,d건 평균 %.1fus, 로그 %,d바이트 (샤드 %d개)%n",
+            games, elapsed / 1000.0 / games, logBytes, reopened.shards.length);
+        
+        // 마지막 항목을 쓰는 도중 종료된 경우 - 잘린 항목만 버림
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        reopened.addWin("p1");
+        Map<String, String> beforeTorn = summarize(reopened);
+        reopened.addWin("p1");
+        reopened.close();
+        try (FileChannel channel = FileChannel.open(reopened.shardFor("p1").logPath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 7);
+        }
+        RecordManager torn = new RecordManager(file);
+        System.setOut(out);
+        SelfTest.check("잘린 마지막 항목은 버림", beforeTorn.equals(summarize(torn)));
+        
+        // 스냅샷을 바꾼 뒤 로그를 비우기 전에 종료된 경우 - 이전 세대 로그는 적용하지 않음
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        torn.recordGameResult("p3", "p4");
+        Map<String, String> saved = summarize(torn);
+        torn.flush();
+        byte[][] oldLogs = new byte[torn.shards.length][];
+        for (int i = 0; i < oldLogs.length; i++) {
+            oldLogs[i] = Files.readAllBytes(torn.shards[i].logPath);
+        }
+        torn.saveRecords();
+        torn.close();
+        for (int i = 0; i < oldLogs.length; i++) {
+            Files.write(torn.shards[i].logPath, oldLogs[i]);
+        }
+        RecordManager recovered = new RecordManager(file);
+        System.setOut(out);
+        SelfTest.check("이전 세대 로그는 무시", saved.equals(summarize(recovered)));
+        recovered.close();
+        
+        // 여러 게임 스레드가 동시에 결과를 기록 - 묶어서 커밋되고 닫으면 모두 남음
+        deleteStore(file);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager grouped = new RecordManager(file, 1, 256, 5);
+        int threads = 8;
+        int perThread = 2_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                Random threadRandom = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    grouped.recordGameResult("p" + threadRandom.nextInt(players), "p" + threadRandom.nextInt(players));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        grouped.close();
+        RecordManager groupedReopened = new RecordManager(file);
+        System.setOut(out);
+        int totalWins = 0;
+        for (PlayerRecord record : groupedReopened.allRecords()) {
+            totalWins += record.getWins();
+        }
+        SelfTest.check("닫으면 대기 중인 변경까지 모두 저장", totalWins == threads * perThread);
+        SelfTest.check("여러 변경을 묶어서 커밋", grouped.commits.sum() * 10 < grouped.committedChanges.sum());
+        System.out.println("그룹 커밋: " + grouped.persistenceSummary());
+        groupedReopened.close();
+        
+        deleteStore(file);
+    }
     
-    public PlayerRecord(String nickname) {
-        this.nickname = nickname;
-        this.wins = 0;
-        this.losses = 0;
-        this.lastPlayDate = new Date();
+    /**
+     * 등록/삭제/결과 기록과 스냅샷 압축이 동시에 일어나도 다시 열면 같은 전적인지 확인
+     * (압축이 맵에 아직 보이지 않는 추가를 빠뜨리거나, 이미 로그에 쓴 삭제를 스냅샷에 남기면 실패)
+     */
+    private static void testCompactionRace() throws IOException, InterruptedException {
+        String file = "test_records_race.dat";
+        deleteStore(file);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager manager = new RecordManager(file, 64, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread compactor = new Thread(() -> {
+            while (running.get()) {
+                manager.saveRecords();
+            }
+        });
+        compactor.start();
+        int threads = 4;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20_000; i++) {
+                    String nickname = "r" + random.nextInt(400);
+                    switch (random.nextInt(3)) {
+                        case 0 -> manager.registerPlayer(nickname);
+                        case 1 -> manager.deleteRecord(nickname);
+                        default -> manager.recordGameResult(nickname, "r" + random.nextInt(400));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        running.set(false);
+        compactor.join();
+        Map<String, String> expected = summarize(manager);
+        manager.close();
+        RecordManager reopened = new RecordManager(file);
+        System.setOut(out);
+        SelfTest.check("압축 중 등록/삭제해도 다시 열면 같은 전적", expected.equals(summarize(reopened)));
+        reopened.close();
+        deleteStore(file);
     }
     
-    public void addWin() {
-        wins++;
-        lastPlayDate = new Date();
+    /**
+     * 변경을 로그 큐에 넣은 뒤 맵에 보이기 전에 압축이 끼어드는 순서를 그대로 재현
+     * 등록/삭제를 compute 안의 순위표 갱신 직전에 멈춰 두고, 그 사이에 스냅샷을 저장
+     */
+    private static void testCompactionInterleaving() throws IOException, InterruptedException {
+        String file = "test_records_race.dat";
+        deleteStore(file);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager manager = new RecordManager(file, 64, 0);
+        manager.registerPlayer("삭제");
+        saveWhilePaused(manager, new Thread(() -> manager.registerPlayer("등록")));
+        saveWhilePaused(manager, new Thread(() -> manager.deleteRecord("삭제")));
+        Map<String, String> expected = summarize(manager);
+        manager.close();
+        RecordManager reopened = new RecordManager(file);
+        System.setOut(out);
+        SelfTest.check("맵에 보이기 전 압축이 끼어들어도 다시 열면 같은 전적", expected.equals(summarize(reopened)));
+        reopened.close();
+        deleteStore(file);
     }
     
-    public void addLoss() {
-        losses++;
-        lastPlayDate = new Date();
+    /**
+     * 변경 스레드가 순위표 갱신 직전에 멈춘 동안 스냅샷을 저장
+     */
+    private static void saveWhilePaused(RecordManager manager, Thread change) throws InterruptedException {
+        CountDownLatch reached = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        manager.leaderboard.beforeChange = () -> {
+            reached.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        change.start();
+        reached.await();
+        manager.saveRecords();
+        release.countDown();
+        change.join();
+        manager.leaderboard.beforeChange = null;
     }
     
-    public String getNickname() {
-        return nickname;
+    /**
+     * 같은 변경을 두 방식에 적용하면 조회/순위 결과가 같은지 확인
+     */
+    private static void testMapped() throws IOException {
+        String file = "test_records_cmp.dat";
+        String base = "test_records_mapped";
+        deleteStore(file);
+        for (String path : new String[] {base + ".slots", base + ".names", base + ".index"}) {
+            Files.deleteIfExists(Paths.get(path));
+        }
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        RecordManager logged = new RecordManager(file);
+        RecordManager mapped = RecordManager.openMapped(base);
+        Random random = new Random(3);
+        for (int i = 0; i < 5_000; i++) {
+            String winner = "p" + random.nextInt(300);
+            String loser = "p" + random.nextInt(300);
+            logged.recordGameResult(winner, loser);
+            mapped.recordGameResult(winner, loser);
+            if (i % 1000 == 0) {
+                logged.deleteRecord(loser);
+                mapped.deleteRecord(loser);
+            }
+        }
+        mapped.close();
+        mapped = RecordManager.openMapped(base);
+        System.setOut(out);
+        
+        boolean same = logged.getTotalPlayers() == mapped.getTotalPlayers();
+        for (PlayerRecord record : logged.allRecords()) {
+            PlayerRecord other = mapped.getRecord(record.getNickname());
+            same &= other != null && other.getWins() == record.getWins() && other.getLosses() == record.getLosses();
+        }
+        SelfTest.check("기존 방식과 같은 전적", same);
+        SelfTest.check("같은 승수 순위", winsOf(logged.getRankingByWins(20)).equals(winsOf(mapped.getRankingByWins(20))));
+        SelfTest.check("같은 승률 순위", rateOf(logged.getRankingByWinRate(20)).equals(rateOf(mapped.getRankingByWinRate(20))));
+        
+        // 순위표는 다시 열 때 스냅샷 + 로그로 새로 만들어짐
+        logged.close();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        logged = new RecordManager(file);
+        System.setOut(out);
+        List<PlayerRecord> byRate = logged.getRankingByWinRate(0);
+        List<PlayerRecord> byWins = logged.getRankingByWins(0);
+        // 순위 = 1 + 순서가 앞선 플레이어 수 (같은 순서면 같은 순위)
+        boolean ranks = byRate.size() == logged.getTotalPlayers() && logged.getWinRateRank("없음") == -1;
+        int rateRank = 0;
+        int winsRank = 0;
+        for (int i = 0; i < byRate.size(); i++) {
+            if (i == 0 || WIN_RATE_ORDER.compare(byRate.get(i - 1), byRate.get(i)) != 0) rateRank = i + 1;
+            if (i == 0 || WINS_ORDER.compare(byWins.get(i - 1), byWins.get(i)) != 0) winsRank = i + 1;
+            String nickname = byRate.get(i).getNickname();
+            ranks &= logged.getWinRateRank(nickname) == rateRank && mapped.getWinRateRank(nickname) == rateRank;
+            nickname = byWins.get(i).getNickname();
+            ranks &= logged.getWinsRank(nickname) == winsRank && mapped.getWinsRank(nickname) == winsRank;
+        }
+        SelfTest.check("플레이어 순위 조회", ranks);
+        
+        // 서버 종료 경로처럼 두 번 닫아도 안전하고, 닫힌 매핑 저장소는 변경을 거부
+        logged.close();
+        mapped.close();
+        logged.close();
+        mapped.close();
+        boolean rejected = false;
+        try {
+            mapped.recordGameResult("p1", "p2");
+        } catch (IllegalStateException e) {
+            rejected = true;
+        }
+        SelfTest.check("두 번 닫기와 닫은 뒤 변경 거부", rejected);
+        deleteStore(file);
+        for (String path : new String[] {base + ".slots", base + ".names", base + ".index"}) {
+            Files.deleteIfExists(Paths.get(path));
+        }
     }
     
-    public int getWins() {
-        return wins;
+    /**
+     * 여러 스레드가 동시에 경기 결과를 기록하고 한 스레드가 계속 조회/순위를 요청하는 부하 측정
+     * 끝나면 승 합계 = 패 합계 = 기록한 경기 수인지, 다시 열어도 같은지 확인
+     */
+    private static void stress(int threads, int seconds, int players) throws Exception {
+        String file = "stress_records.dat";
+        deleteStore(file);
+        PrintStream out = System.out;
+        // 결과 기록마다 찍는 줄이 PrintStream 잠금을 거치지 않게 함 (잠금 대기는 전적 저장소와 순위표의 것만 셈)
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()) {
+            @Override
+            public void println(String line) {
+            }
+        });
+        RecordManager manager = new RecordManager(file);
+        
+        // 쓰기 스레드가 잠금(모니터)을 기다린 횟수와 시간 - 순위표 등에서 서로 막는지 확인
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        boolean contention = threadBean.isThreadContentionMonitoringSupported();
+        if (contention) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long[] games = new long[threads];
+        long[] blockedCount = new long[threads];
+        long[] blockedMillis = new long[threads];
+        long[] reads = new long[1];
+        Throwable[] failure = new Throwable[1];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers.add(new Thread(() -> {
+                Random random = new Random(index);
+                while (System.nanoTime() < deadline) {
+                    manager.recordGameResult("p" + random.nextInt(players), "p" + random.nextInt(players));
+                    games[index]++;
+                }
+                if (contention) {
+                    ThreadInfo info = threadBean.getThreadInfo(Thread.currentThread().getId());
+                    blockedCount[index] = info.getBlockedCount();
+                    blockedMillis[index] = info.getBlockedTime();
+                }
+            }));
+        }
+        workers.add(new Thread(() -> {
+            Random random = new Random(-1);
+            try {
+                while (System.nanoTime() < deadline) {
+                    manager.getRecord("p" + random.nextInt(players));
+                    if (++reads[0] % 1000 == 0) {
+                        manager.getRankingByWins(10);
+                    }
+                }
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }));
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        manager.close();
+        
+        long totalGames = 0;
+        long totalBlocked = 0;
+        long totalBlockedMillis = 0;
+        for (int t = 0; t < threads; t++) {
+            totalGames += games[t];
+            totalBlocked += blockedCount[t];
+            totalBlockedMillis += blockedMillis[t];
+        }
+        RecordManager reopened = new RecordManager(file);
+        System.setOut(out);
+        
+        System.out.printf("쓰기 %d스레드, %d초, 플레이어 %,d명%n", threads, seconds, players);
+        System.out.printf("경기 결과: %,d건 (%,.0f건/초), 조회: %,d건 (%,.0f건/초)%n",
+            totalGames, (double) totalGames / seconds, reads[0], (double) reads[0] / seconds);
+        if (contention) {
+            System.out.printf("쓰기 스레드 잠금 대기: %,d회 (경기 1만 건당 %.1f회), 총 %,dms%n", totalBlocked,
+                totalGames == 0 ? 0.0 : totalBlocked * 10_000.0 / totalGames, totalBlockedMillis);
+        }
+        System.out.println("저장: " + manager.persistenceSummary());
+        SelfTest.check("조회 중 예외 없음", failure[0] == null);
+        SelfTest.check("승 합계 = 패 합계 = 경기 수", sumsMatch(manager, totalGames));
+        SelfTest.check("순위표 = 전적", rankingMatches(manager));
+        SelfTest.check("다시 열어도 같은 합계", sumsMatch(reopened, totalGames));
+        reopened.close();
+        deleteStore(file);
     }
     
-    public int getLosses() {
-        return losses;
+    /**
+     * 이전 단일 파일 저장소를 샤드로 옮기고, 다시 열어도 같은지, 변경이 한 샤드의 로그에만 쓰이는지 확인
+     */
+    private static void testShards() throws IOException {
+        String file = "test_records_shard.dat";
+        deleteStore(file);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Map<String, String> expected = writeLegacyStore(file, 3_000, 20_000);
+        
+        // 이전 스냅샷 + 로그를 샤드 4개로 나누어 엶
+        RecordManager migrated = new RecordManager(file, 4, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+        System.setOut(out);
+        SelfTest.check("이전 파일을 샤드로 옮겨도 같은 전적", expected.equals(summarize(migrated)));
+        SelfTest.check("샤드 목록으로 바뀌고 이전 로그는 삭제",
+            migrated.readShardCount() == 4 && !Files.exists(Paths.get(file + ".log"))
+            && Files.exists(Paths.get(shardPath(file, 4, 3, SHARDS_VERSION))));
+        
+        // 변경은 그 플레이어 샤드의 로그에만 쓰임
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long[] sizes = new long[migrated.shards.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = Files.size(migrated.shards[i].logPath);
+        }
+        migrated.addWin("p7");
+        migrated.flush();
+        int changed = 0;
+        boolean ownShard = false;
+        for (int i = 0; i < sizes.length; i++) {
+            if (Files.size(migrated.shards[i].logPath) != sizes[i]) {
+                changed++;
+                ownShard = migrated.shards[i] == migrated.shardFor("p7");
+            }
+        }
+        expected = summarize(migrated);
+        migrated.close();
+        
+        // 샤드 수를 정하지 않고 다시 열면 플레이어 수(3천 명)에 맞춰 샤드 하나로 합침
+        RecordManager reopened = new RecordManager(file, DEFAULT_SHARDS, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+        System.setOut(out);
+        SelfTest.check("변경은 한 샤드의 로그에만 기록", changed == 1 && ownShard);
+        SelfTest.check("플레이어 수에 맞는 샤드 수",
+            shardsFor(0) == 1 && shardsFor(3_000) == 1 && shardsFor(PLAYERS_PER_SHARD) == 1
+            && shardsFor(PLAYERS_PER_SHARD + 1) == 2 && shardsFor(200_000) == 4
+            && shardsFor(1_000_000) == MAX_SHARDS && shardsFor(100_000_000) == MAX_SHARDS);
+        SelfTest.check("다시 열면 플레이어 수에 맞춰 다시 나누고 같은 전적",
+            expected.equals(summarize(reopened)) && reopened.shards.length == 1 && reopened.readShardCount() == 1);
+        SelfTest.check("다시 나누면 이전 샤드 파일은 삭제",
+            !Files.exists(Paths.get(shardPath(file, 4, 0, SHARDS_VERSION)))
+            && !Files.exists(Paths.get(shardPath(file, 4, 0, SHARDS_VERSION) + ".log")));
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        reopened.addLoss("p7");
+        expected = summarize(reopened);
+        reopened.close();
+        
+        // 버전 1 샤드 목록(파일 이름에 샤드 수 없음)도 열고, 샤드 수를 정하면 그 수로 다시 나눔
+        String single = shardPath(file, 1, 0, SHARDS_VERSION);
+        Files.move(Paths.get(single), Paths.get(shardPath(file, 1, 0, 1)));
+        Files.move(Paths.get(single + ".log"), Paths.get(shardPath(file, 1, 0, 1) + ".log"));
+        try (DataOutputStream manifest = new DataOutputStream(new FileOutputStream(file))) {
+            manifest.writeInt(SHARDS_MAGIC);
+            manifest.writeInt(1);
+            manifest.writeInt(1);
+        }
+        RecordManager versionOne = new RecordManager(file, 1, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+        boolean versionOneSame = expected.equals(summarize(versionOne));
+        versionOne.close();
+        RecordManager resharded = new RecordManager(file, 2, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+        System.setOut(out);
+        SelfTest.check("버전 1 샤드 목록도 같은 전적", versionOneSame);
+        SelfTest.check("정한 샤드 수로 다시 나누고 같은 전적",
+            expected.equals(summarize(resharded)) && resharded.shards.length == 2
+            && !Files.exists(Paths.get(shardPath(file, 1, 0, 1))));
+        resharded.close();
+        deleteStore(file);
     }
     
-    public int getTotalGames() {
-        return wins + losses;
+    /**
+     * 샤드로 나누기 전 형식의 저장소(단일 스냅샷 + 로그)를 만듦
+     * 샤드 하나짜리 저장소에 경기를 기록한 뒤 샤드 파일을 이전 파일 이름으로 바꿈
+     * @return 기록한 전적 요약
+     */
+    private static Map<String, String> writeLegacyStore(String file, int players, int games) throws IOException {
+        RecordManager manager = new RecordManager(file, 1, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+        Random random = new Random(7);
+        for (int i = 0; i < games; i++) {
+            manager.recordGameResult("p" + random.nextInt(players), "p" + random.nextInt(players));
+        }
+        Map<String, String> summary = summarize(manager);
+        manager.close();
+        String shard = shardPath(file, 1, 0, SHARDS_VERSION);
+        Files.move(Paths.get(shard), Paths.get(file), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(Paths.get(shard + ".log"), Paths.get(file + ".log"));
+        return summary;
     }
     
-    public double getWinRate() {
-        int total = getTotalGames();
-        return total == 0 ? 0.0 : (double) wins / total;
+    private static boolean sumsMatch(RecordManager manager, long games) {
+        long wins = 0;
+        long losses = 0;
+        for (PlayerRecord record : manager.getRankingByWins(0)) {
+            wins += record.getWins();
+            losses += record.getLosses();
+        }
+        return wins == games && losses == games;
     }
     
-    public Date getLastPlayDate() {
-        return lastPlayDate;
+    /**
+     * 순위표의 모든 항목이 전적과 같은 승/패인지 확인
+     */
+    private static boolean rankingMatches(RecordManager manager) {
+        List<PlayerRecord> ranking = manager.getRankingByWinRate(0);
+        boolean same = ranking.size() == manager.getTotalPlayers();
+        for (PlayerRecord ranked : ranking) {
+            PlayerRecord record = manager.getRecord(ranked.getNickname());
+            same &= record != null && record.getWins() == ranked.getWins() && record.getLosses() == ranked.getLosses();
+        }
+        return same;
+    }
+    
+    private static List<Integer> winsOf(List<PlayerRecord> ranking) {
+        List<Integer> wins = new ArrayList<>();
+        for (PlayerRecord record : ranking) wins.add(record.getWins());
+        return wins;
     }
     
-    @Override
-    public String toString() {
-        return String.format("%s - %d승 %d패 (승률: %.1f%%, 총 %d경기)",
-            nickname, wins, losses, getWinRate() * 100, getTotalGames());
+    private static List<String> rateOf(List<PlayerRecord> ranking) {
+        List<String> rates = new ArrayList<>();
+        for (PlayerRecord record : ranking) rates.add(record.getWinRate() + "/" + record.getTotalGames());
+        return rates;
+    }
+    
+    private static Map<String, String> summarize(RecordManager manager) {
+        Map<String, String> summary = new HashMap<>();
+        for (PlayerRecord record : manager.allRecords()) {
+            summary.put(record.getNickname(), record.getWins() + "/" + record.getLosses()
+                + "/" + record.getLastPlayDate().getTime());
+        }
+        return summary;
+    }
+    
+    /**
+     * 시작/저장 시간 측정 - 플레이어 수만큼의 이전 형식 스냅샷을 샤드 하나와 여러 개로 각각 옮기고, 저장하고, 다시 염
+     * (샤드 수가 DEFAULT_SHARDS면 플레이어 수에 맞춘 수)
+     */
+    private static void load(int players, int shardCount) throws IOException {
+        String file = "load_records.dat";
+        PrintStream out = System.out;
+        System.out.printf("플레이어 %,d명, 코어 %d개%n", players, Runtime.getRuntime().availableProcessors());
+        for (int count : new int[] {1, shardCount}) {
+            deleteStore(file);
+            Map<String, PlayerRecord> legacy = new HashMap<>();
+            Random random = new Random(1);
+            for (int i = 0; i < players; i++) {
+                legacy.put("p" + i, new PlayerRecord("p" + i, random.nextInt(100), random.nextInt(100), i));
+            }
+            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+                oos.writeObject(legacy);
+            }
+            legacy = null;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            RecordManager manager = new RecordManager(file, count, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+            long migrated = System.nanoTime();
+            manager.saveRecords();
+            long saved = System.nanoTime();
+            manager.close();
+            long reopenStart = System.nanoTime();
+            RecordManager reopened = new RecordManager(file, count, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MILLIS);
+            long reopenEnd = System.nanoTime();
+            System.setOut(out);
+            System.out.printf("샤드 %2d개: 옮기기 %,.0fms, 저장 %,.0fms, 다시 열기 %,.0fms (%,d명)%n", reopened.shards.length,
+                (migrated - start) / 1e6, (saved - migrated) / 1e6, (reopenEnd - reopenStart) / 1e6,
+                reopened.getTotalPlayers());
+            reopened.close();
+        }
+        deleteStore(file);
+    }
+    
+    /**
+     * 저장소 파일(샤드 목록, 샤드 스냅샷과 로그, 이전 형식 파일) 모두 삭제 (테스트용)
+     */
+    static void deleteStore(String filePath) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path.getParent(), path.getFileName() + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * 클래스별 자체 테스트(main)에서 함께 쓰는 도구
+ * - check: 결과를 [통과]/[실패]로 출력하고, 실패하면 AssertionError로 중단
+ * - allocatedBytes: 현재 스레드가 지금까지 할당한 바이트 (구간 앞뒤 값의 차이로 할당량을 셈)
+ */
+import java.lang.management.ManagementFactory;
+
+final class SelfTest {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private SelfTest() {
+    }
+
+    static void check(String name, boolean passed) {
+        System.out.println((passed ? "[통과] " : "[실패] ") + name);
+        if (!passed) {
+            throw new AssertionError(name);
+        }
+    }
+
+    /**
+     * 현재 스레드의 누적 할당 바이트
+     */
+    static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * allocatedBytes 호출 자체의 할당량 (구간 할당량에서 뺄 값)
+     */
+    static long allocationOverhead() {
+        long before = allocatedBytes();
+        return allocatedBytes() - before;
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * 득점 기대값(RE)과 승리 확률(WP) 표
+ *
+ * 투구 하나의 결과 분포는 JudgementProcessor의 판정 확률을 무작위 투수/타자 기준
+ * (구종 균등, 구속은 구종 범위 안에서 균등, 스윙 50%)으로 평균해서 정하고,
+ * 반 이닝 안의 진행은 GameState 전이 규칙을 그대로 따름
+ *
+ * 1. 반 이닝 상황(카운트 12 x 아웃 3 x 주자 8 = 288가지, 아웃/주자만 보면 24가지)마다
+ *    이번 반 이닝에 남은 득점의 분포를 반복 계산으로 구함 (2스트라이크 파울, 득점 후 같은 상황 반복이 있어 순환)
+ * 2. 9회 말부터 거꾸로 각 반 이닝 x 상황 x 점수 차의 홈/원정 승리 확률을 계산
+ *    (다음 반 이닝 시작 확률에 남은 득점 분포를 곱해 더함, 점수 차 칸마다 병렬)
+ *
+ * 서버 시작 시 캐시 파일에서 읽고, 없거나 판정 모델이 바뀌었으면 다시 계산해 저장
+ * 경기 중 조회는 배열 인덱스 한 번 (할당 없음)
+ */
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.IntStream;
+
+public final class WinExpectancy {
+
+    private static final int HALVES = GameState.INNINGS * 2;
+    // 반 이닝 안의 상황 (스트라이크, 볼, 아웃, 주자)
+    private static final int CONTEXTS = 3 * 4 * 3 * 8;
+    // 점수 차(홈 - 원정)는 이 범위로 자름 (이보다 크면 사실상 결정된 경기)
+    private static final int MAX_DIFF = 30;
+    private static final int DIFFS = MAX_DIFF * 2 + 1;
+    // 반 이닝 득점 분포의 마지막 칸 (이 이상은 한 칸에 모음)
+    private static final int MAX_RUNS = 30;
+    private static final int MAX_ITERATIONS = 100_000;
+    private static final double TOLERANCE = 1e-13;
+
+    private static final int CACHE_MAGIC = 0x57455850; // "WEXP"
+    private static final int CACHE_VERSION = 1;
+
+    // [상황] 이번 반 이닝에 남은 기대 득점
+    private final double[] runExpectancy;
+    // [반 이닝][상황][점수 차] 홈/원정 승리 확률 (둘 다 아니면 무승부)
+    private final float[] homeWin;
+    private final float[] awayWin;
+
+    private WinExpectancy(double[] runExpectancy, float[] homeWin, float[] awayWin) {
+        this.runExpectancy = runExpectancy;
+        this.homeWin = homeWin;
+        this.awayWin = awayWin;
+    }
+
+    // ===== 생성 =====
+
+    /**
+     * 캐시 파일에서 표를 읽고, 없거나 맞지 않으면 계산해서 저장
+     * @param cachePath 캐시 파일 경로
+     */
+    public static WinExpectancy loadOrCompute(String cachePath) {
+        double[] model = pitchModel();
+        long fingerprint = fingerprint(model);
+        Path path = Paths.get(cachePath);
+
+        if (Files.exists(path)) {
+            try {
+                WinExpectancy cached = read(ByteBuffer.wrap(Files.readAllBytes(path)), fingerprint);
+                if (cached != null) {
+                    System.out.println("승리 확률 표를 불러왔습니다.");
+                    return cached;
+                }
+                System.out.println("승리 확률 표가 판정 모델과 맞지 않아 다시 계산합니다.");
+            } catch (IOException | BufferUnderflowException e) {
+                System.err.println("승리 확률 표 불러오기 실패: " + e.getMessage());
+            }
+        }
+
+        long start = System.nanoTime();
+        WinExpectancy computed = compute(model);
+        System.out.printf("승리 확률 표를 계산했습니다. (%dms)%n", (System.nanoTime() - start) / 1_000_000);
+        try {
+            Files.write(path, computed.toBytes(fingerprint));
+        } catch (IOException e) {
+            System.err.println("승리 확률 표 저장 실패: " + e.getMessage());
+        }
+        return computed;
+    }
+
+    /**
+     * 현재 판정 모델로 표 계산
+     */
+    public static WinExpectancy compute() {
+        return compute(pitchModel());
+    }
+
+    private static WinExpectancy compute(double[] model) {
+        // 상황별 판정 결과에 따른 다음 상황과 득점 (반 이닝이 끝나면 다음 상황 -1)
+        int outcomes = model.length;
+        int[][] next = new int[CONTEXTS][outcomes];
+        int[][] runs = new int[CONTEXTS][outcomes];
+        for (int context = 0; context < CONTEXTS; context++) {
+            long state = stateOf(context);
+            for (int o = 0; o < outcomes; o++) {
+                long after = GameState.applyPitch(state, Outcome.of(o));
+                next[context][o] = GameState.isHalfInningOver(after) ? -1 : contextOf(after);
+                runs[context][o] = GameState.awayScore(after);
+            }
+        }
+
+        // 1. 남은 득점 분포 (상황별로 같은 반복식을 수렴할 때까지 적용)
+        double[][] distribution = new double[CONTEXTS][MAX_RUNS + 1];
+        double[] expected = new double[CONTEXTS];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            for (int context = 0; context < CONTEXTS; context++) {
+                double[] updated = new double[MAX_RUNS + 1];
+                double value = 0;
+                for (int o = 0; o < outcomes; o++) {
+                    double p = model[o];
+                    int scored = runs[context][o];
+                    int after = next[context][o];
+                    if (after < 0) {
+                        updated[Math.min(scored, MAX_RUNS)] += p;
+                        value += p * scored;
+                    } else {
+                        double[] rest = distribution[after];
+                        for (int k = 0; k <= MAX_RUNS; k++) {
+                            updated[Math.min(k + scored, MAX_RUNS)] += p * rest[k];
+                        }
+                        value += p * (scored + expected[after]);
+                    }
+                }
+                for (int k = 0; k <= MAX_RUNS; k++) {
+                    change = Math.max(change, Math.abs(updated[k] - distribution[context][k]));
+                }
+                change = Math.max(change, Math.abs(value - expected[context]));
+                distribution[context] = updated;
+                expected[context] = value;
+            }
+            if (change < TOLERANCE) break;
+        }
+
+        // 2. 9회 말부터 거꾸로 승리 확률 (다음 반 이닝 시작 상황의 값을 남은 득점 분포로 섞음)
+        float[] homeWin = new float[HALVES * CONTEXTS * DIFFS];
+        float[] awayWin = new float[HALVES * CONTEXTS * DIFFS];
+        double[] nextHome = new double[DIFFS];
+        double[] nextAway = new double[DIFFS];
+        for (int diff = -MAX_DIFF; diff <= MAX_DIFF; diff++) {
+            // 9회 말이 끝나면 점수 차로 결정
+            nextHome[diff + MAX_DIFF] = diff > 0 ? 1 : 0;
+            nextAway[diff + MAX_DIFF] = diff < 0 ? 1 : 0;
+        }
+        for (int half = HALVES - 1; half >= 0; half--) {
+            int sign = half % 2 == 0 ? -1 : 1; // 초는 원정 득점(점수 차 감소), 말은 홈 득점
+            int base = half * CONTEXTS * DIFFS;
+            double[] home = nextHome;
+            double[] away = nextAway;
+            IntStream.range(0, CONTEXTS).parallel().forEach(context -> {
+                double[] rest = distribution[context];
+                int row = base + context * DIFFS;
+                for (int d = 0; d < DIFFS; d++) {
+                    double h = 0;
+                    double a = 0;
+                    for (int k = 0; k <= MAX_RUNS; k++) {
+                        int to = Math.max(0, Math.min(DIFFS - 1, d + sign * k));
+                        h += rest[k] * home[to];
+                        a += rest[k] * away[to];
+                    }
+                    homeWin[row + d] = (float) h;
+                    awayWin[row + d] = (float) a;
+                }
+            });
+            // 이 반 이닝 시작(상황 0) 값이 바로 앞 반 이닝의 다음 값
+            nextHome = new double[DIFFS];
+            nextAway = new double[DIFFS];
+            for (int d = 0; d < DIFFS; d++) {
+                nextHome[d] = homeWin[base + d];
+                nextAway[d] = awayWin[base + d];
+            }
+        }
+        return new WinExpectancy(expected, homeWin, awayWin);
+    }
+
+    /**
+     * 투구 하나의 판정 결과 분포 (Outcome 순서, STRIKE ~ OUT)
+     * 무작위 투수/타자 기준 - 구종 균등, 구속은 구종 범위 안에서 균등, 스윙 50%
+     */
+    static double[] pitchModel() {
+        double[] model = new double[Outcome.JUDGED_COUNT];
+        int types = PitchType.count();
+        for (PitchType type : PitchType.values()) {
+            int speeds = type.maxSpeed() - type.minSpeed() + 1;
+            for (int speed = type.minSpeed(); speed <= type.maxSpeed(); speed++) {
+                for (int swing = 0; swing < 2; swing++) {
+                    double[] p = JudgementProcessor.outcomeProbabilities(type, speed, swing == 1);
+                    for (int o = 0; o < model.length; o++) {
+                        model[o] += p[o] / (types * speeds * 2.0);
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 홈 팀 승리 확률 (반 이닝이 3아웃으로 끝난 상태는 다음 반 이닝 시작으로 봄)
+     */
+    public double homeWinProbability(long state) {
+        return winProbability(state, true);
+    }
+
+    /**
+     * 원정 팀 승리 확률
+     */
+    public double awayWinProbability(long state) {
+        return winProbability(state, false);
+    }
+
+    /**
+     * @param home 홈 팀 기준이면 true, 원정 팀 기준이면 false
+     * @return 승리 확률 (무승부 확률은 1 - 홈 - 원정)
+     */
+    public double winProbability(long state, boolean home) {
+        if (GameState.isHalfInningOver(state)) {
+            state = GameState.endHalfInning(state);
+        }
+        int diff = GameState.homeScore(state) - GameState.awayScore(state);
+        if (GameState.isGameOver(state)) {
+            return (home ? diff > 0 : diff < 0) ? 1 : 0;
+        }
+        int half = (GameState.inning(state) - 1) * 2 + (GameState.isTopHalf(state) ? 0 : 1);
+        int clamped = Math.max(-MAX_DIFF, Math.min(MAX_DIFF, diff)) + MAX_DIFF;
+        int index = (half * CONTEXTS + contextOf(state)) * DIFFS + clamped;
+        return home ? homeWin[index] : awayWin[index];
+    }
+
+    /**
+     * 이번 반 이닝에 공격 팀이 더 낼 것으로 기대되는 득점 (3아웃이면 0)
+     */
+    public double expectedRuns(long state) {
+        return GameState.isHalfInningOver(state) ? 0 : runExpectancy[contextOf(state)];
+    }
+
+    /**
+     * 아웃/주자 24가지 상황의 득점 기대값 (0-0 카운트 기준)
+     * @param outs 아웃 (0~2)
+     * @param runners 주자 비트 (비트 0: 1루, 1: 2루, 2: 3루)
+     */
+    public double runExpectancy(int outs, int runners) {
+        return runExpectancy[contextOf(0, 0, outs, runners)];
+    }
+
+    private static int contextOf(long state) {
+        return contextOf(GameState.strikes(state), GameState.balls(state), GameState.outs(state), GameState.runners(state));
+    }
+
+    private static int contextOf(int strikes, int balls, int outs, int runners) {
+        return ((outs * 8 + runners) * 4 + balls) * 3 + strikes;
+    }
+
+    /**
+     * 상황 번호에 해당하는 1회 초 0:0 상태 (득점이 원정 점수로 쌓임)
+     */
+    private static long stateOf(int context) {
+        int strikes = context % 3;
+        int balls = context / 3 % 4;
+        int runners = context / 12 % 8;
+        int outs = context / 96;
+        return GameState.of(1, true, strikes, balls, outs, runners, 0, 0);
+    }
+
+    // ===== 캐시 파일 =====
+    // [magic][version][모델 지문 8B][반 이닝 수][상황 수][점수 차 수][RE double...][홈 WP float...][원정 WP float...]
+
+    private static long fingerprint(double[] model) {
+        long hash = CACHE_VERSION;
+        for (double p : model) {
+            hash = hash * 31 + Double.doubleToLongBits(p);
+        }
+        return hash;
+    }
+
+    private byte[] toBytes(long fingerprint) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * 6 + 8 + runExpectancy.length * 8 + homeWin.length * 4 * 2);
+        buffer.putInt(CACHE_MAGIC).putInt(CACHE_VERSION).putLong(fingerprint)
+              .putInt(HALVES).putInt(CONTEXTS).putInt(DIFFS);
+        buffer.asDoubleBuffer().put(runExpectancy);
+        buffer.position(buffer.position() + runExpectancy.length * 8);
+        buffer.asFloatBuffer().put(homeWin).put(awayWin);
+        return buffer.array();
+    }
+
+    /**
+     * @return 캐시 내용 (형식, 모델 지문, 크기가 다르면 null)
+     */
+    private static WinExpectancy read(ByteBuffer buffer, long fingerprint) {
+        if (buffer.getInt() != CACHE_MAGIC || buffer.getInt() != CACHE_VERSION || buffer.getLong() != fingerprint
+                || buffer.getInt() != HALVES || buffer.getInt() != CONTEXTS || buffer.getInt() != DIFFS) {
+            return null;
+        }
+        double[] runExpectancy = new double[CONTEXTS];
+        float[] homeWin = new float[HALVES * CONTEXTS * DIFFS];
+        float[] awayWin = new float[HALVES * CONTEXTS * DIFFS];
+        buffer.asDoubleBuffer().get(runExpectancy);
+        buffer.position(buffer.position() + runExpectancy.length * 8);
+        buffer.asFloatBuffer().get(homeWin).get(awayWin);
+        return new WinExpectancy(runExpectancy, homeWin, awayWin);
+    }
+
+    // 테스트용 메인 메서드
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== 득점 기대값 / 승리 확률 테스트 ===\n");
+
+        long start = System.nanoTime();
+        WinExpectancy table = compute();
+        System.out.printf("계산: %dms%n%n", (System.nanoTime() - start) / 1_000_000);
+
+        // 24가지 아웃/주자 상황의 득점 기대값
+        System.out.println("주자          무사    1사    2사");
+        String[] bases = {"없음", "1루", "2루", "1·2루", "3루", "1·3루", "2·3루", "만루"};
+        for (int runners = 0; runners < 8; runners++) {
+            System.out.printf("%-10s %6.3f %6.3f %6.3f%n", bases[runners],
+                table.runExpectancy(0, runners), table.runExpectancy(1, runners), table.runExpectancy(2, runners));
+        }
+        System.out.println();
+
+        // 시뮬레이터(같은 판정 모델, 무작위 투수/타자)와 비교
+        int games = 200_000;
+        MatchSimulator.Stats stats = MatchSimulator.simulate(games, 11, Runtime.getRuntime().availableProcessors(),
+            MatchSimulator.RANDOM_PITCHER, MatchSimulator.RANDOM_BATTER);
+        double simulatedRuns = 0;
+        for (int runs = 0; runs < stats.teamRuns.length; runs++) {
+            simulatedRuns += (double) runs * stats.teamRuns[runs];
+        }
+        simulatedRuns /= 2.0 * games;
+        double predictedRuns = GameState.INNINGS * table.runExpectancy(0, 0);
+        double predictedHome = table.homeWinProbability(GameState.INITIAL);
+        double predictedAway = table.awayWinProbability(GameState.INITIAL);
+        System.out.printf("팀 득점: 표 %.3f, 시뮬레이션 %.3f%n", predictedRuns, simulatedRuns);
+        System.out.printf("승리 확률: 표 홈 %.3f 원정 %.3f, 시뮬레이션 홈 %.3f 원정 %.3f%n",
+            predictedHome, predictedAway, (double) stats.homeWins / games, (double) stats.awayWins / games);
+        SelfTest.check("경기당 팀 득점이 시뮬레이션과 일치", Math.abs(predictedRuns - simulatedRuns) < 0.03);
+        SelfTest.check("시작 승리 확률이 시뮬레이션과 일치", Math.abs(predictedHome - (double) stats.homeWins / games) < 0.01
+            && Math.abs(predictedAway - (double) stats.awayWins / games) < 0.01);
+
+        // 상황에 따른 방향성
+        long trailing = GameState.of(9, false, 2, 0, 2, 0, 5, 0);
+        long leading = GameState.of(9, false, 0, 0, 0, 0, 0, 5);
+        SelfTest.check("9회 말 2사 5점 뒤진 홈 팀은 거의 짐", table.homeWinProbability(trailing) < 0.001);
+        SelfTest.check("9회 말 5점 앞선 홈 팀은 이김", table.homeWinProbability(leading) == 1.0);
+        SelfTest.check("주자가 많을수록 기대 득점 증가", table.runExpectancy(0, 0b111) > table.runExpectancy(0, 0b001)
+            && table.runExpectancy(0, 0b001) > table.runExpectancy(0, 0));
+        SelfTest.check("아웃이 많을수록 기대 득점 감소", table.runExpectancy(2, 0) < table.runExpectancy(1, 0)
+            && table.runExpectancy(1, 0) < table.runExpectancy(0, 0));
+        long threeOuts = GameState.of(3, true, 0, 0, 3, 0b011, 1, 2);
+        SelfTest.check("3아웃 상태는 다음 반 이닝 시작으로 조회",
+            table.homeWinProbability(threeOuts) == table.homeWinProbability(GameState.endHalfInning(threeOuts))
+            && table.expectedRuns(threeOuts) == 0);
+        long over = GameState.endHalfInning(GameState.of(9, false, 0, 0, 3, 0, 2, 2));
+        SelfTest.check("무승부로 끝난 경기", table.homeWinProbability(over) == 0 && table.awayWinProbability(over) == 0);
+
+        // 캐시 파일 왕복
+        Path cache = Files.createTempFile("win_expectancy", ".dat");
+        try {
+            Files.delete(cache);
+            WinExpectancy computed = loadOrCompute(cache.toString());
+            WinExpectancy loaded = loadOrCompute(cache.toString());
+            SelfTest.check("캐시 파일 왕복", java.util.Arrays.equals(computed.homeWin, loaded.homeWin)
+                && java.util.Arrays.equals(computed.awayWin, loaded.awayWin)
+                && java.util.Arrays.equals(computed.runExpectancy, loaded.runExpectancy));
+            System.out.printf("캐시 크기: %,d 바이트%n", Files.size(cache));
+        } finally {
+            Files.deleteIfExists(cache);
+        }
+
+        // 조회 비용
+        long[] states = new long[4096];
+        java.util.SplittableRandom random = new java.util.SplittableRandom(3);
+        for (int i = 0; i < states.length; i++) {
+            states[i] = GameState.of(1 + random.nextInt(9), random.nextBoolean(), random.nextInt(3), random.nextInt(4),
+                random.nextInt(3), random.nextInt(8), random.nextInt(10), random.nextInt(10));
+        }
+        double sum = 0;
+        for (int round = 0; round < 5; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < 10_000_000; i++) {
+                long state = states[i & (states.length - 1)];
+                sum += table.homeWinProbability(state) + table.expectedRuns(state);
+            }
+        }
+        System.out.printf("조회 1회 (승리 확률 + 기대 득점): %.1fns%n", (System.nanoTime() - start) / 10_000_000.0);
+        if (sum == 42) System.out.print(""); // 결과 사용 (JIT 제거 방지)
+    }
+}